@@ -0,0 +1,598 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt2Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Reads the values of a Parquet column into an Arrow vector, assembling the vectors of its path on the way.
+ * <p>
+ * The values of the columns that are not repeated are read in batch, their definition levels giving the null values.
+ * The values of the repeated columns are read one at a time as their number per row is only known from the
+ * repetition levels.
+ */
+abstract class LeafReader extends VectorNode {
+
+  // julian day of 1970-01-01
+  private static final long JULIAN_EPOCH_DAY = 2_440_588L;
+  private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+  final ColumnDescriptor descriptor;
+  private final int maxDefinitionLevel;
+  // the vectors from the top level one to this one, this reader assembles them from the index firstAssembled
+  private VectorNode[] path;
+  private int firstAssembled;
+  private int[] definitionLevels = new int[0];
+  ColumnReader reader;
+
+  LeafReader(FieldVector vector, ColumnDescriptor descriptor) {
+    super(vector, descriptor.getMaxRepetitionLevel(), descriptor.getMaxDefinitionLevel());
+    this.descriptor = descriptor;
+    this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+  }
+
+  void setPath(VectorNode[] path, int firstAssembled) {
+    this.path = path;
+    this.firstAssembled = firstAssembled;
+  }
+
+  /**
+   * Starts reading the column chunk of a new row group.
+   *
+   * @param reader the reader of the column chunk
+   */
+  void startRowGroup(ColumnReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads the values of the next rows.
+   *
+   * @param rows the number of rows to read
+   */
+  void read(int rows) {
+    if (descriptor.getMaxRepetitionLevel() == 0) {
+      readBatches(rows);
+    } else {
+      readRepeated(rows);
+    }
+  }
+
+  private void readBatches(int rows) {
+    if (definitionLevels.length < rows) {
+      definitionLevels = new int[rows];
+    }
+    for (int read = 0; read < rows; ) {
+      int n = readBatch(definitionLevels, rows - read);
+      if (n == 0) {
+        throw new ParquetDecodingException("Missing values in column " + descriptor + ": read " + read
+            + " values out of " + rows);
+      }
+      for (int i = 0; i < n; ++i) {
+        int definitionLevel = definitionLevels[i];
+        addLevels(definitionLevel, 0);
+        if (definitionLevel == maxDefinitionLevel) {
+          setBatchValue(i, count - 1);
+        }
+      }
+      read += n;
+    }
+  }
+
+  private void readRepeated(int rows) {
+    for (int row = 0; row < rows; ++row) {
+      // the repetition level of the next value is 0 at the end of the column chunk
+      do {
+        int definitionLevel = reader.getCurrentDefinitionLevel();
+        addLevels(definitionLevel, reader.getCurrentRepetitionLevel());
+        if (definitionLevel == maxDefinitionLevel) {
+          setCurrentValue(count - 1);
+        }
+        reader.consume();
+      } while (reader.getCurrentRepetitionLevel() != 0);
+    }
+  }
+
+  /**
+   * Appends the values started by a Parquet value to the vectors of the path.
+   */
+  private void addLevels(int definitionLevel, int repetitionLevel) {
+    for (int i = 0; i < path.length; ++i) {
+      VectorNode node = path[i];
+      if (repetitionLevel <= node.repetitionLevel && i >= firstAssembled) {
+        node.append(definitionLevel >= node.definitionLevel);
+      }
+      if (definitionLevel < node.childDefinitionLevel()) {
+        // a null or empty list
+        return;
+      }
+    }
+  }
+
+  @Override
+  void append(boolean defined) {
+    // the value itself is set once read
+    ++count;
+  }
+
+  /**
+   * Reads the next values of the column in batch.
+   *
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read
+   */
+  abstract int readBatch(int[] definitionLevels, int max);
+
+  /**
+   * Sets a value of the last batch read in the vector.
+   *
+   * @param index the index of the value in the batch
+   * @param slot the index of the value in the vector
+   */
+  abstract void setBatchValue(int index, int slot);
+
+  /**
+   * Sets the current value of the column reader in the vector.
+   *
+   * @param slot the index of the value in the vector
+   */
+  abstract void setCurrentValue(int slot);
+
+  interface IntSetter {
+    void set(int index, int value);
+  }
+
+  interface LongSetter {
+    void set(int index, long value);
+  }
+
+  interface BinarySetter {
+    void set(int index, Binary value);
+  }
+
+  /**
+   * @param vector the vector of the values of the column
+   * @param descriptor the column
+   * @return the reader of the column into the vector
+   * @throws UnsupportedOperationException if the values of the column cannot be stored in the vector
+   */
+  static LeafReader create(FieldVector vector, ColumnDescriptor descriptor) {
+    PrimitiveTypeName type = descriptor.getPrimitiveType().getPrimitiveTypeName();
+    switch (type) {
+      case BOOLEAN:
+        if (vector instanceof BitVector) {
+          return new BooleanReader((BitVector) vector, descriptor);
+        }
+        break;
+      case INT32:
+        IntSetter intSetter = intSetter(vector);
+        if (intSetter != null) {
+          return new IntReader(vector, descriptor, intSetter);
+        }
+        break;
+      case INT64:
+        LongSetter longSetter = longSetter(vector);
+        if (longSetter != null) {
+          return new LongReader(vector, descriptor, longSetter);
+        }
+        break;
+      case FLOAT:
+        if (vector instanceof Float4Vector) {
+          return new FloatReader((Float4Vector) vector, descriptor);
+        }
+        break;
+      case DOUBLE:
+        if (vector instanceof Float8Vector) {
+          return new DoubleReader((Float8Vector) vector, descriptor);
+        }
+        break;
+      case INT96:
+        if (vector instanceof TimeStampVector) {
+          TimeStampVector timestamps = (TimeStampVector) vector;
+          return new BinaryReader(vector, descriptor, (index, value) -> timestamps.setSafe(index, int96ToNanos(value)));
+        }
+        // fall through
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+        BinarySetter binarySetter = binarySetter(vector);
+        if (binarySetter != null) {
+          return new BinaryReader(vector, descriptor, binarySetter);
+        }
+        break;
+      default:
+    }
+    throw new UnsupportedOperationException("Cannot read the column " + descriptor + " into a "
+        + vector.getClass().getSimpleName());
+  }
+
+  private static IntSetter intSetter(FieldVector vector) {
+    if (vector instanceof IntVector) {
+      return ((IntVector) vector)::setSafe;
+    } else if (vector instanceof SmallIntVector) {
+      SmallIntVector shorts = (SmallIntVector) vector;
+      return (index, value) -> shorts.setSafe(index, (short) value);
+    } else if (vector instanceof TinyIntVector) {
+      TinyIntVector bytes = (TinyIntVector) vector;
+      return (index, value) -> bytes.setSafe(index, (byte) value);
+    } else if (vector instanceof UInt1Vector) {
+      UInt1Vector bytes = (UInt1Vector) vector;
+      return (index, value) -> bytes.setSafe(index, value);
+    } else if (vector instanceof UInt2Vector) {
+      UInt2Vector shorts = (UInt2Vector) vector;
+      return (index, value) -> shorts.setSafe(index, value);
+    } else if (vector instanceof UInt4Vector) {
+      return ((UInt4Vector) vector)::setSafe;
+    } else if (vector instanceof DateDayVector) {
+      return ((DateDayVector) vector)::setSafe;
+    } else if (vector instanceof TimeMilliVector) {
+      return ((TimeMilliVector) vector)::setSafe;
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimals = (DecimalVector) vector;
+      return (index, value) -> decimals.setSafe(index, BigDecimal.valueOf(value, decimals.getScale()));
+    }
+    return null;
+  }
+
+  private static LongSetter longSetter(FieldVector vector) {
+    if (vector instanceof BigIntVector) {
+      return ((BigIntVector) vector)::setSafe;
+    } else if (vector instanceof UInt8Vector) {
+      return ((UInt8Vector) vector)::setSafe;
+    } else if (vector instanceof TimeMicroVector) {
+      return ((TimeMicroVector) vector)::setSafe;
+    } else if (vector instanceof TimeNanoVector) {
+      return ((TimeNanoVector) vector)::setSafe;
+    } else if (vector instanceof TimeStampVector) {
+      return ((TimeStampVector) vector)::setSafe;
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimals = (DecimalVector) vector;
+      return (index, value) -> decimals.setSafe(index, BigDecimal.valueOf(value, decimals.getScale()));
+    }
+    // the narrower integer types annotating the int64 columns
+    IntSetter intSetter = intSetter(vector);
+    return intSetter == null ? null : (index, value) -> intSetter.set(index, (int) value);
+  }
+
+  private static BinarySetter binarySetter(FieldVector vector) {
+    if (vector instanceof BaseVariableWidthVector) {
+      BaseVariableWidthVector bytes = (BaseVariableWidthVector) vector;
+      return (index, value) -> {
+        ByteBuffer buffer = value.toByteBuffer();
+        bytes.setSafe(index, buffer, buffer.position(), buffer.remaining());
+      };
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimals = (DecimalVector) vector;
+      return (index, value) -> decimals.setSafe(index,
+          new BigDecimal(new BigInteger(value.getBytesUnsafe()), decimals.getScale()));
+    }
+    return null;
+  }
+
+  /**
+   * @param value an int96 timestamp: the nanoseconds of the day and the julian day, little endian
+   * @return the nanoseconds since the epoch
+   */
+  private static long int96ToNanos(Binary value) {
+    ByteBuffer buffer = value.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    long nanosOfDay = buffer.getLong();
+    long julianDay = buffer.getInt();
+    return (julianDay - JULIAN_EPOCH_DAY) * NANOS_PER_DAY + nanosOfDay;
+  }
+
+  private static class BooleanReader extends LeafReader {
+    private final BitVector bits;
+    private boolean[] values = new boolean[0];
+
+    BooleanReader(BitVector vector, ColumnDescriptor descriptor) {
+      super(vector, descriptor);
+      this.bits = vector;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new boolean[max];
+      }
+      return reader.readBooleans(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      bits.setSafe(slot, values[index] ? 1 : 0);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      bits.setSafe(slot, reader.getBoolean() ? 1 : 0);
+    }
+  }
+
+  private static class IntReader extends LeafReader {
+    private final IntSetter setter;
+    private int[] values = new int[0];
+
+    IntReader(FieldVector vector, ColumnDescriptor descriptor, IntSetter setter) {
+      super(vector, descriptor);
+      this.setter = setter;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new int[max];
+      }
+      return reader.readInts(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      setter.set(slot, values[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      setter.set(slot, reader.getInteger());
+    }
+  }
+
+  private static class LongReader extends LeafReader {
+    private final LongSetter setter;
+    private long[] values = new long[0];
+
+    LongReader(FieldVector vector, ColumnDescriptor descriptor, LongSetter setter) {
+      super(vector, descriptor);
+      this.setter = setter;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new long[max];
+      }
+      return reader.readLongs(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      setter.set(slot, values[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      setter.set(slot, reader.getLong());
+    }
+  }
+
+  private static class FloatReader extends LeafReader {
+    private final Float4Vector floats;
+    private float[] values = new float[0];
+
+    FloatReader(Float4Vector vector, ColumnDescriptor descriptor) {
+      super(vector, descriptor);
+      this.floats = vector;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new float[max];
+      }
+      return reader.readFloats(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      floats.setSafe(slot, values[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      floats.setSafe(slot, reader.getFloat());
+    }
+  }
+
+  private static class DoubleReader extends LeafReader {
+    private final Float8Vector doubles;
+    private double[] values = new double[0];
+
+    DoubleReader(Float8Vector vector, ColumnDescriptor descriptor) {
+      super(vector, descriptor);
+      this.doubles = vector;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new double[max];
+      }
+      return reader.readDoubles(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      doubles.setSafe(slot, values[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      doubles.setSafe(slot, reader.getDouble());
+    }
+  }
+
+  private static class BinaryReader extends LeafReader {
+    private final BinarySetter setter;
+    private Binary[] values = new Binary[0];
+
+    BinaryReader(FieldVector vector, ColumnDescriptor descriptor, BinarySetter setter) {
+      super(vector, descriptor);
+      this.setter = setter;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (values.length < max) {
+        values = new Binary[max];
+      }
+      return reader.readBinaries(values, definitionLevels, max);
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      setter.set(slot, values[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      setter.set(slot, reader.getBinary());
+    }
+  }
+
+  /**
+   * Reads the binary values of a column that is not repeated as the indexes of the values in a dictionary vector.
+   * The dictionary vector starts with the values of the dictionary of the column chunk, the dictionary ids of the
+   * dictionary encoded pages are then the indexes as is; the values of the pages that are not dictionary encoded
+   * are appended to it.
+   */
+  static class DictionaryReader extends LeafReader {
+    private final IntVector indexes;
+    private final BaseVariableWidthVector dictionaryVector;
+    private int[] ids = new int[0];
+    private Binary[] values = new Binary[0];
+    private Dictionary dictionary;
+    private int dictionarySize;
+    // the indexes of the values of the dictionary vector, built once a page is not dictionary encoded
+    private Map<Binary, Integer> dictionaryIndexes;
+
+    DictionaryReader(IntVector vector, ColumnDescriptor descriptor, BaseVariableWidthVector dictionaryVector) {
+      super(vector, descriptor);
+      if (descriptor.getMaxRepetitionLevel() > 0) {
+        throw new UnsupportedOperationException("Cannot read the repeated column " + descriptor
+            + " as dictionary indexes");
+      }
+      this.indexes = vector;
+      this.dictionaryVector = dictionaryVector;
+    }
+
+    @Override
+    void startRowGroup(ColumnReader reader) {
+      super.startRowGroup(reader);
+      dictionaryVector.clear();
+      dictionaryVector.allocateNew();
+      dictionary = reader.getDictionary();
+      dictionarySize = 0;
+      dictionaryIndexes = null;
+      if (dictionary != null) {
+        for (int id = 0, max = dictionary.getMaxId(); id <= max; ++id) {
+          setDictionaryValue(dictionary.decodeToBinary(id));
+        }
+      }
+    }
+
+    private int setDictionaryValue(Binary value) {
+      ByteBuffer buffer = value.toByteBuffer();
+      dictionaryVector.setSafe(dictionarySize, buffer, buffer.position(), buffer.remaining());
+      return dictionarySize++;
+    }
+
+    @Override
+    int readBatch(int[] definitionLevels, int max) {
+      if (ids.length < max) {
+        ids = new int[max];
+        values = new Binary[max];
+      }
+      if (reader.isCurrentPageDictionaryEncoded()) {
+        int n = reader.readDictionaryIds(ids, definitionLevels, max);
+        if (n > 0) {
+          return n;
+        }
+      }
+      int n = reader.readBinaries(values, definitionLevels, max);
+      for (int i = 0; i < n; ++i) {
+        if (definitionLevels[i] == descriptor.getMaxDefinitionLevel()) {
+          ids[i] = index(values[i]);
+        }
+      }
+      return n;
+    }
+
+    private int index(Binary value) {
+      if (dictionaryIndexes == null) {
+        dictionaryIndexes = new HashMap<>();
+        if (dictionary != null) {
+          for (int id = 0, max = dictionary.getMaxId(); id <= max; ++id) {
+            dictionaryIndexes.put(dictionary.decodeToBinary(id), id);
+          }
+        }
+      }
+      Integer index = dictionaryIndexes.get(value);
+      if (index == null) {
+        index = setDictionaryValue(value);
+        dictionaryIndexes.put(value.copy(), index);
+      }
+      return index;
+    }
+
+    @Override
+    void setBatchValue(int index, int slot) {
+      indexes.setSafe(slot, ids[index]);
+    }
+
+    @Override
+    void setCurrentValue(int slot) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    void finish() {
+      dictionaryVector.setValueCount(dictionarySize);
+    }
+  }
+}
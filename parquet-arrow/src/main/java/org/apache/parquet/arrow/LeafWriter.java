@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ArrowBuf;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt2Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Writes the values of an Arrow vector to a Parquet column, the slots of the vector giving their levels.
+ */
+abstract class LeafWriter extends VectorWriter {
+
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+
+  final ColumnDescriptor descriptor;
+  private final int maxDefinitionLevel;
+  ColumnWriter writer;
+
+  LeafWriter(ColumnDescriptor descriptor, boolean optional) {
+    super(descriptor.getMaxDefinitionLevel(), optional);
+    this.descriptor = descriptor;
+    this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+  }
+
+  @Override
+  void startRowGroup(ColumnWriteStore columns) {
+    this.writer = columns.getColumnWriter(descriptor);
+  }
+
+  @Override
+  void write(FieldVector vector, Slots slots) {
+    defineValues(vector, slots);
+    bind(vector);
+    int[] indexes = slots.indexes;
+    int[] repetitionLevels = slots.repetitionLevels;
+    int[] definitionLevels = slots.definitionLevels;
+    for (int i = 0, n = slots.size; i < n; ++i) {
+      int index = indexes[i];
+      if (index >= 0) {
+        writeValue(index, repetitionLevels[i], maxDefinitionLevel);
+      } else {
+        writer.writeNull(repetitionLevels[i], definitionLevels[i]);
+      }
+    }
+  }
+
+  /**
+   * Binds the accessors of the values to the vector of the batch being written.
+   *
+   * @param vector the vector of the values of the column
+   * @throws UnsupportedOperationException if the values of the vector cannot be written to the column
+   */
+  abstract void bind(FieldVector vector);
+
+  /**
+   * Writes a value of the vector.
+   *
+   * @param index the index of the value in the vector
+   * @param repetitionLevel the repetition level of the value
+   * @param definitionLevel the definition level of the value
+   */
+  abstract void writeValue(int index, int repetitionLevel, int definitionLevel);
+
+  UnsupportedOperationException unsupported(FieldVector vector) {
+    return new UnsupportedOperationException("Cannot write a " + vector.getClass().getSimpleName()
+        + " to the column " + descriptor);
+  }
+
+  interface IntGetter {
+    int get(int index);
+  }
+
+  interface LongGetter {
+    long get(int index);
+  }
+
+  interface BinaryGetter {
+    Binary get(int index);
+  }
+
+  /**
+   * @param descriptor the column
+   * @param optional whether the column is optional
+   * @return the writer of the values of the vectors to the column
+   * @throws UnsupportedOperationException if the column is of a type that cannot be written from a vector
+   */
+  static LeafWriter create(ColumnDescriptor descriptor, boolean optional) {
+    PrimitiveTypeName type = descriptor.getPrimitiveType().getPrimitiveTypeName();
+    switch (type) {
+      case BOOLEAN:
+        return new BooleanWriter(descriptor, optional);
+      case INT32:
+        return new IntWriter(descriptor, optional);
+      case INT64:
+        return new LongWriter(descriptor, optional);
+      case FLOAT:
+        return new FloatWriter(descriptor, optional);
+      case DOUBLE:
+        return new DoubleWriter(descriptor, optional);
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+        return new BinaryWriter(descriptor, optional);
+      default:
+        throw new UnsupportedOperationException("Cannot write the column " + descriptor);
+    }
+  }
+
+  private static IntGetter intGetter(FieldVector vector) {
+    if (vector instanceof IntVector) {
+      return ((IntVector) vector)::get;
+    } else if (vector instanceof SmallIntVector) {
+      return ((SmallIntVector) vector)::get;
+    } else if (vector instanceof TinyIntVector) {
+      return ((TinyIntVector) vector)::get;
+    } else if (vector instanceof UInt1Vector) {
+      UInt1Vector bytes = (UInt1Vector) vector;
+      return index -> bytes.get(index) & 0xFF;
+    } else if (vector instanceof UInt2Vector) {
+      return ((UInt2Vector) vector)::get;
+    } else if (vector instanceof UInt4Vector) {
+      return ((UInt4Vector) vector)::get;
+    } else if (vector instanceof DateDayVector) {
+      return ((DateDayVector) vector)::get;
+    } else if (vector instanceof DateMilliVector) {
+      DateMilliVector dates = (DateMilliVector) vector;
+      return index -> Math.toIntExact(Math.floorDiv(dates.get(index), MILLIS_PER_DAY));
+    } else if (vector instanceof TimeMilliVector) {
+      return ((TimeMilliVector) vector)::get;
+    } else if (vector instanceof DecimalVector) {
+      LongGetter unscaled = decimalGetter((DecimalVector) vector);
+      return index -> (int) unscaled.get(index);
+    }
+    return null;
+  }
+
+  private static LongGetter longGetter(FieldVector vector) {
+    if (vector instanceof BigIntVector) {
+      return ((BigIntVector) vector)::get;
+    } else if (vector instanceof UInt8Vector) {
+      return ((UInt8Vector) vector)::get;
+    } else if (vector instanceof TimeMicroVector) {
+      return ((TimeMicroVector) vector)::get;
+    } else if (vector instanceof TimeNanoVector) {
+      return ((TimeNanoVector) vector)::get;
+    } else if (vector instanceof TimeStampVector) {
+      return ((TimeStampVector) vector)::get;
+    } else if (vector instanceof DecimalVector) {
+      return decimalGetter((DecimalVector) vector);
+    }
+    return null;
+  }
+
+  /**
+   * The decimals of a precision up to 18 are the low 8 bytes of their little endian two's complement unscaled value.
+   */
+  private static LongGetter decimalGetter(DecimalVector vector) {
+    ArrowBuf data = vector.getDataBuffer();
+    return index -> data.getLong(index * DecimalVector.TYPE_WIDTH);
+  }
+
+  private static BinaryGetter binaryGetter(FieldVector vector) {
+    if (vector instanceof BaseVariableWidthVector) {
+      ArrowBuf offsets = ((BaseVariableWidthVector) vector).getOffsetBuffer();
+      int length = offsets.getInt(vector.getValueCount() * BaseVariableWidthVector.OFFSET_WIDTH);
+      // the values are slices of the data buffer, the buffer being reused they are copied if kept
+      ByteBuffer data = ((BaseVariableWidthVector) vector).getDataBuffer().nioBuffer(0, length);
+      return index -> {
+        int start = offsets.getInt(index * BaseVariableWidthVector.OFFSET_WIDTH);
+        int end = offsets.getInt((index + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+        return Binary.fromReusedByteBuffer(data, start, end - start);
+      };
+    } else if (vector instanceof FixedSizeBinaryVector) {
+      int width = ((FixedSizeBinaryVector) vector).getByteWidth();
+      ByteBuffer data = ((FixedSizeBinaryVector) vector).getDataBuffer().nioBuffer(0, vector.getValueCount() * width);
+      return index -> Binary.fromReusedByteBuffer(data, index * width, width);
+    } else if (vector instanceof DecimalVector) {
+      // the big endian two's complement unscaled value
+      DecimalVector decimals = (DecimalVector) vector;
+      return index -> Binary.fromConstantByteArray(decimals.getObject(index).unscaledValue().toByteArray());
+    }
+    return null;
+  }
+
+  private static class BooleanWriter extends LeafWriter {
+    private BitVector vector;
+
+    BooleanWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      if (!(vector instanceof BitVector)) {
+        throw unsupported(vector);
+      }
+      this.vector = (BitVector) vector;
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(vector.get(index) != 0, repetitionLevel, definitionLevel);
+    }
+  }
+
+  private static class IntWriter extends LeafWriter {
+    private IntGetter getter;
+
+    IntWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      getter = intGetter(vector);
+      if (getter == null) {
+        throw unsupported(vector);
+      }
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(getter.get(index), repetitionLevel, definitionLevel);
+    }
+  }
+
+  private static class LongWriter extends LeafWriter {
+    private LongGetter getter;
+
+    LongWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      getter = longGetter(vector);
+      if (getter == null) {
+        throw unsupported(vector);
+      }
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(getter.get(index), repetitionLevel, definitionLevel);
+    }
+  }
+
+  private static class FloatWriter extends LeafWriter {
+    private Float4Vector vector;
+
+    FloatWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      if (!(vector instanceof Float4Vector)) {
+        throw unsupported(vector);
+      }
+      this.vector = (Float4Vector) vector;
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(vector.get(index), repetitionLevel, definitionLevel);
+    }
+  }
+
+  private static class DoubleWriter extends LeafWriter {
+    private Float8Vector vector;
+
+    DoubleWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      if (!(vector instanceof Float8Vector)) {
+        throw unsupported(vector);
+      }
+      this.vector = (Float8Vector) vector;
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(vector.get(index), repetitionLevel, definitionLevel);
+    }
+  }
+
+  private static class BinaryWriter extends LeafWriter {
+    private BinaryGetter getter;
+
+    BinaryWriter(ColumnDescriptor descriptor, boolean optional) {
+      super(descriptor, optional);
+    }
+
+    @Override
+    void bind(FieldVector vector) {
+      getter = binaryGetter(vector);
+      if (getter == null) {
+        throw unsupported(vector);
+      }
+    }
+
+    @Override
+    void writeValue(int index, int repetitionLevel, int definitionLevel) {
+      writer.write(getter.get(index), repetitionLevel, definitionLevel);
+    }
+  }
+}
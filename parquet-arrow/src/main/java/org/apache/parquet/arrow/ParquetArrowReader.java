@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.Preconditions;
+import org.apache.parquet.arrow.schema.SchemaConverter;
+import org.apache.parquet.arrow.schema.SchemaMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.PrimitiveTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.TypeMapping;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+
+/**
+ * Reads a Parquet file into Arrow vectors, decoding the column chunks straight into the vectors of a
+ * {@link VectorSchemaRoot} instead of going through records.
+ * <p>
+ * The Arrow schema is converted from the Parquet one by {@link SchemaConverter}. The null values are given by the
+ * definition levels and the offsets of the lists by the repetition levels; the values of the columns that are not
+ * repeated are read in batch. The binary columns of the top level can be read as dictionary encoded vectors, see
+ * {@link Builder#withDictionaryEncoding(boolean)}.
+ * <p>
+ * Each call to {@link #loadNextBatch()} replaces the vectors of the root with the next rows of the current row group:
+ * a batch does not span row groups. The row groups are filtered by the filter of the read options with the
+ * statistics, the dictionaries and the bloom filters, then the pages with the column indexes. The rows of the pages
+ * that are read are not filtered any further.
+ * <pre>
+ * try (ParquetArrowReader reader = ParquetArrowReader.builder(file, allocator).withBatchSize(4096).build()) {
+ *   VectorSchemaRoot root = reader.getVectorSchemaRoot();
+ *   while (reader.loadNextBatch()) {
+ *     // root.getRowCount() rows
+ *   }
+ * }
+ * </pre>
+ */
+public class ParquetArrowReader implements Closeable {
+
+  private final ParquetFileReader reader;
+  private final MessageType schema;
+  private final String createdBy;
+  private final int batchSize;
+  private final VectorSchemaRoot root;
+  private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+  private final Map<String, BaseVariableWidthVector> dictionaryVectors = new HashMap<>();
+  private final VectorLoader loader;
+  private long rowsLeft;
+
+  private ParquetArrowReader(Builder builder) throws IOException {
+    FilterCompat.Filter filter = builder.filter;
+    ParquetReadOptions options = filter == null ? builder.options
+        : ParquetReadOptions.builder().copy(builder.options).withRecordFilter(filter).build();
+    this.reader = new ParquetFileReader(builder.file, options);
+    try {
+      MessageType fileSchema = reader.getFileMetaData().getSchema();
+      this.schema = builder.projection == null ? fileSchema : project(fileSchema, builder.projection);
+      reader.setRequestedSchema(schema);
+      this.createdBy = reader.getFileMetaData().getCreatedBy();
+      this.batchSize = builder.batchSize;
+
+      SchemaMapping mapping = new SchemaConverter(builder.convertInt96ToArrowTimestamp).fromParquet(schema);
+      List<TypeMapping> mappings = mapping.getChildren();
+      List<Field> fields = new ArrayList<>(mappings.size());
+      for (int i = 0; i < mappings.size(); ++i) {
+        TypeMapping typeMapping = mappings.get(i);
+        Field field = typeMapping.getArrowField();
+        if (builder.dictionaryEncoding && isDictionaryEncodable(typeMapping)) {
+          DictionaryEncoding encoding = new DictionaryEncoding(i, false, new ArrowType.Int(32, true));
+          BaseVariableWidthVector dictionaryVector = (BaseVariableWidthVector) field.createVector(builder.allocator);
+          dictionaryVectors.put(typeMapping.getParquetType().getName(), dictionaryVector);
+          dictionaries.put(new Dictionary(dictionaryVector, encoding));
+          field = new Field(field.getName(),
+              new FieldType(field.isNullable(), encoding.getIndexType(), encoding, field.getMetadata()), null);
+        }
+        fields.add(field);
+      }
+      this.root = VectorSchemaRoot.create(new Schema(fields), builder.allocator);
+      this.loader = new VectorLoader(schema, mappings, root, dictionaryVectors);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private static MessageType project(MessageType fileSchema, List<String> columns) {
+    List<Type> fields = new ArrayList<>(columns.size());
+    for (String column : columns) {
+      fields.add(fileSchema.getType(column));
+    }
+    return new MessageType(fileSchema.getName(), fields);
+  }
+
+  private static boolean isDictionaryEncodable(TypeMapping mapping) {
+    if (!(mapping instanceof PrimitiveTypeMapping)) {
+      return false;
+    }
+    PrimitiveTypeName type = mapping.getParquetType().asPrimitiveType().getPrimitiveTypeName();
+    ArrowType arrowType = mapping.getArrowField().getType();
+    return (type == PrimitiveTypeName.BINARY || type == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY)
+        && (arrowType instanceof ArrowType.Utf8 || arrowType instanceof ArrowType.Binary);
+  }
+
+  /**
+   * @return the root of the vectors of the batches, the same one for all the batches
+   */
+  public VectorSchemaRoot getVectorSchemaRoot() {
+    return root;
+  }
+
+  /**
+   * @return the dictionaries of the dictionary encoded vectors, their values are replaced with each row group
+   */
+  public DictionaryProvider getDictionaryProvider() {
+    return dictionaries;
+  }
+
+  /**
+   * @return the Parquet schema read, the projection of the schema of the file
+   */
+  public MessageType getParquetSchema() {
+    return schema;
+  }
+
+  /**
+   * Loads the next rows into the vectors of the root.
+   *
+   * @return whether rows were loaded, {@code false} once all the rows have been read
+   * @throws IOException if the next row group cannot be read
+   */
+  public boolean loadNextBatch() throws IOException {
+    while (rowsLeft == 0) {
+      PageReadStore rowGroup = reader.readNextFilteredRowGroup();
+      if (rowGroup == null) {
+        root.setRowCount(0);
+        return false;
+      }
+      rowsLeft = rowGroup.getRowCount();
+      loader.startRowGroup(rowGroup, createdBy);
+    }
+    int rows = (int) Math.min(batchSize, rowsLeft);
+    loader.load(rows);
+    rowsLeft -= rows;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (root != null) {
+        root.close();
+      }
+      for (FieldVector dictionaryVector : dictionaryVectors.values()) {
+        dictionaryVector.close();
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * @param file the file to read
+   * @param allocator the allocator of the vectors
+   * @return a builder of a reader of the file
+   */
+  public static Builder builder(InputFile file, BufferAllocator allocator) {
+    return new Builder(file, allocator);
+  }
+
+  public static class Builder {
+    private final InputFile file;
+    private final BufferAllocator allocator;
+    private ParquetReadOptions options = ParquetReadOptions.builder().build();
+    private FilterCompat.Filter filter;
+    private List<String> projection;
+    private int batchSize = 4096;
+    private boolean dictionaryEncoding;
+    private boolean convertInt96ToArrowTimestamp;
+
+    private Builder(InputFile file, BufferAllocator allocator) {
+      this.file = file;
+      this.allocator = allocator;
+    }
+
+    /**
+     * @param options the options of the reads of the file
+     * @return this builder for method chaining
+     */
+    public Builder withReadOptions(ParquetReadOptions options) {
+      this.options = options;
+      return this;
+    }
+
+    /**
+     * @param filter the filter of the row groups and the pages, overriding the one of the read options
+     * @return this builder for method chaining
+     */
+    public Builder withFilter(FilterCompat.Filter filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * @param columns the names of the fields of the top level to read, all of them by default
+     * @return this builder for method chaining
+     */
+    public Builder withProjection(String... columns) {
+      this.projection = Arrays.asList(columns);
+      return this;
+    }
+
+    /**
+     * @param batchSize the maximum number of rows of a batch
+     * @return this builder for method chaining
+     */
+    public Builder withBatchSize(int batchSize) {
+      Preconditions.checkArgument(batchSize > 0, "Invalid batch size: %s", batchSize);
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Reads the binary columns of the top level as dictionary encoded vectors, the indexes of their values in the
+     * vectors of the {@link ParquetArrowReader#getDictionaryProvider() dictionaries}. The dictionary of a column
+     * starts with the values of the dictionary of its column chunk so the dictionary encoded pages are read without
+     * decoding the values; the values of the other pages are appended to it.
+     *
+     * @param dictionaryEncoding whether the binary columns are read as dictionary encoded vectors
+     * @return this builder for method chaining
+     */
+    public Builder withDictionaryEncoding(boolean dictionaryEncoding) {
+      this.dictionaryEncoding = dictionaryEncoding;
+      return this;
+    }
+
+    /**
+     * @param convertInt96ToArrowTimestamp whether the int96 columns are read as timestamps instead of binaries
+     * @return this builder for method chaining
+     */
+    public Builder withInt96AsTimestamp(boolean convertInt96ToArrowTimestamp) {
+      this.convertInt96ToArrowTimestamp = convertInt96ToArrowTimestamp;
+      return this;
+    }
+
+    /**
+     * @return the reader
+     * @throws IOException if the footer of the file cannot be read
+     * @throws UnsupportedOperationException if the schema of the file cannot be converted to Arrow
+     */
+    public ParquetArrowReader build() throws IOException {
+      return new ParquetArrowReader(this);
+    }
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import static java.lang.Math.min;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.Preconditions;
+import org.apache.parquet.arrow.schema.SchemaConverter;
+import org.apache.parquet.arrow.schema.SchemaMapping;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.crypto.FileEncryptionProperties;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.RowGroupWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Writes Arrow vectors to a Parquet file, the values of each vector being written straight to the writers of its
+ * columns instead of going through records.
+ * <p>
+ * The Parquet schema is converted from the Arrow one by {@link SchemaConverter}. The definition levels of the values
+ * are given by the validity of the vectors and the repetition levels by the offsets of the lists; the rows of a batch
+ * are written one column at a time, in slices ending where the sizes of the pages are checked so the pages and the row
+ * groups are closed on the same rows as with a {@link ParquetWriter}. The dictionary encoded vectors are not
+ * supported.
+ * <pre>
+ * try (ParquetArrowWriter writer = ParquetArrowWriter.builder(file, root.getSchema()).build()) {
+ *   while (...) {
+ *     // fill the vectors of the root
+ *     writer.write(root);
+ *   }
+ * }
+ * </pre>
+ */
+public class ParquetArrowWriter implements Closeable {
+
+  /**
+   * The name of the object model written to the footer of the files.
+   */
+  public static final String OBJECT_MODEL_NAME = "arrow";
+
+  private final ParquetFileWriter fileWriter;
+  private final Schema arrowSchema;
+  private final MessageType schema;
+  private final CodecFactory codecFactory;
+  private final Map<String, String> extraMetaData;
+  private final VectorUnloader unloader;
+  private final RowGroupWriter rowGroupWriter;
+  private ColumnWriteStore columnStore;
+  private boolean closed;
+
+  private ParquetArrowWriter(Builder builder) throws IOException {
+    this.arrowSchema = builder.schema;
+    checkNotDictionaryEncoded(arrowSchema.getFields());
+    SchemaMapping mapping = new SchemaConverter().fromArrow(arrowSchema);
+    this.schema = mapping.getParquetSchema();
+    ParquetProperties props = builder.props;
+    this.extraMetaData = builder.extraMetaData;
+    this.unloader = new VectorUnloader(schema, mapping.getChildren());
+
+    this.fileWriter = new ParquetFileWriter(builder.file, schema, builder.mode, builder.rowGroupSize,
+        builder.maxPaddingSize, props.getColumnIndexTruncateLength(), props.getStatisticsTruncateLength(),
+        props.getPageWriteChecksumEnabled(), builder.encryptionProperties);
+    fileWriter.start();
+    this.codecFactory = new CodecFactory(builder.conf, props.getPageSizeThreshold());
+    this.rowGroupWriter = new RowGroupWriter(fileWriter, schema, codecFactory.getCompressor(builder.codecName), props,
+        builder.rowGroupSize, columnStore -> {
+          this.columnStore = columnStore;
+          unloader.startRowGroup(columnStore);
+        });
+  }
+
+  private static void checkNotDictionaryEncoded(List<Field> fields) {
+    for (Field field : fields) {
+      if (field.getDictionary() != null) {
+        throw new UnsupportedOperationException("Cannot write the dictionary encoded field " + field);
+      }
+      checkNotDictionaryEncoded(field.getChildren());
+    }
+  }
+
+  /**
+   * @return the Parquet schema written, converted from the Arrow one
+   */
+  public MessageType getParquetSchema() {
+    return schema;
+  }
+
+  /**
+   * Writes the rows of the vectors of a root.
+   *
+   * @param root the vectors to write, of the schema of this writer
+   * @throws IOException if a row group cannot be written
+   * @throws IllegalArgumentException if the schema of the vectors is not the one of this writer
+   */
+  public void write(VectorSchemaRoot root) throws IOException {
+    Preconditions.checkState(!closed, "The writer is closed");
+    Preconditions.checkArgument(root.getSchema().getFields().equals(arrowSchema.getFields()),
+        "The schema of the vectors %s is not the one of the file %s", root.getSchema(), arrowSchema);
+    List<FieldVector> vectors = root.getFieldVectors();
+    int rowCount = root.getRowCount();
+    for (int row = 0; row < rowCount; ) {
+      // the values of the slice are written a column at a time as the pages and the row group can only be closed
+      // after its last row
+      int rows = (int) min(rowCount - row,
+          min(columnStore.getRecordCountUntilSizeCheck(), rowGroupWriter.getRecordCountUntilSizeCheck()));
+      unloader.write(vectors, row, rows);
+      for (int i = 0; i < rows; ++i) {
+        columnStore.endRecord();
+      }
+      row += rows;
+      rowGroupWriter.endRecords(rows);
+    }
+  }
+
+  /**
+   * @return the total size of data written to the file and buffered in memory
+   */
+  public long getDataSize() {
+    return rowGroupWriter.getDataSize();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      try {
+        rowGroupWriter.close();
+        Map<String, String> metaData = new HashMap<>(extraMetaData);
+        metaData.put(ParquetWriter.OBJECT_MODEL_NAME_PROP, OBJECT_MODEL_NAME);
+        fileWriter.end(metaData);
+      } finally {
+        codecFactory.release();
+      }
+    }
+  }
+
+  /**
+   * @param file the file to write
+   * @param schema the schema of the vectors to write
+   * @return a builder of a writer of the file
+   */
+  public static Builder builder(OutputFile file, Schema schema) {
+    return new Builder(file, schema);
+  }
+
+  public static class Builder {
+    private final OutputFile file;
+    private final Schema schema;
+    private Configuration conf = new Configuration();
+    private ParquetFileWriter.Mode mode = ParquetFileWriter.Mode.CREATE;
+    private CompressionCodecName codecName = ParquetWriter.DEFAULT_COMPRESSION_CODEC_NAME;
+    private long rowGroupSize = ParquetWriter.DEFAULT_BLOCK_SIZE;
+    private int maxPaddingSize = ParquetWriter.MAX_PADDING_SIZE_DEFAULT;
+    private FileEncryptionProperties encryptionProperties;
+    private ParquetProperties props = ParquetProperties.builder().build();
+    private Map<String, String> extraMetaData = new HashMap<>();
+
+    private Builder(OutputFile file, Schema schema) {
+      this.file = file;
+      this.schema = schema;
+    }
+
+    /**
+     * @param conf the configuration of the compression codecs
+     * @return this builder for method chaining
+     */
+    public Builder withConf(Configuration conf) {
+      this.conf = conf;
+      return this;
+    }
+
+    /**
+     * @param mode whether an existing file is overwritten
+     * @return this builder for method chaining
+     */
+    public Builder withWriteMode(ParquetFileWriter.Mode mode) {
+      this.mode = mode;
+      return this;
+    }
+
+    /**
+     * @param codecName the compression codec of the pages
+     * @return this builder for method chaining
+     */
+    public Builder withCompressionCodec(CompressionCodecName codecName) {
+      this.codecName = codecName;
+      return this;
+    }
+
+    /**
+     * @param rowGroupSize the approximate size of the row groups in bytes
+     * @return this builder for method chaining
+     */
+    public Builder withRowGroupSize(long rowGroupSize) {
+      this.rowGroupSize = rowGroupSize;
+      return this;
+    }
+
+    /**
+     * @param maxPaddingSize the maximum size of the padding aligning the row groups to the blocks of the file system
+     * @return this builder for method chaining
+     */
+    public Builder withMaxPaddingSize(int maxPaddingSize) {
+      this.maxPaddingSize = maxPaddingSize;
+      return this;
+    }
+
+    /**
+     * @param encryptionProperties the encryption of the file
+     * @return this builder for method chaining
+     */
+    public Builder withEncryption(FileEncryptionProperties encryptionProperties) {
+      this.encryptionProperties = encryptionProperties;
+      return this;
+    }
+
+    /**
+     * @param props the properties of the pages: their sizes, the encodings, the statistics...
+     * @return this builder for method chaining
+     */
+    public Builder withProperties(ParquetProperties props) {
+      this.props = props;
+      return this;
+    }
+
+    /**
+     * @param extraMetaData the key values to write in the footer of the file
+     * @return this builder for method chaining
+     */
+    public Builder withExtraMetaData(Map<String, String> extraMetaData) {
+      this.extraMetaData = extraMetaData;
+      return this;
+    }
+
+    /**
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     * @throws UnsupportedOperationException if the schema cannot be written to Parquet
+     */
+    public ParquetArrowWriter build() throws IOException {
+      return new ParquetArrowWriter(this);
+    }
+  }
+}
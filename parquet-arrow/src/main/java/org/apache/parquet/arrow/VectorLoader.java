@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.parquet.arrow.schema.SchemaMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.ListTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.PrimitiveTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.RepeatedTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.StructTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.TypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.UnionTypeMapping;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.DummyRecordConverter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Loads the rows of the row groups into the vectors of a {@link VectorSchemaRoot}, one column at a time.
+ */
+class VectorLoader {
+
+  private final MessageType schema;
+  private final VectorSchemaRoot root;
+  private final GroupConverter converter;
+  private final List<VectorNode> nodes = new ArrayList<>();
+  private final List<LeafReader> leaves = new ArrayList<>();
+  // the vectors of the path of the column being added, the ones from the index assembled have a column assembling them
+  private final List<VectorNode> path = new ArrayList<>();
+  private int assembled;
+
+  /**
+   * @param schema the Parquet schema read
+   * @param mappings the mappings of the fields of the schema
+   * @param root the root of the vectors of the fields
+   * @param dictionaryVectors the dictionary vectors of the dictionary encoded fields by name
+   */
+  VectorLoader(MessageType schema, List<TypeMapping> mappings, VectorSchemaRoot root,
+      Map<String, BaseVariableWidthVector> dictionaryVectors) {
+    this.schema = schema;
+    this.root = root;
+    this.converter = new DummyRecordConverter(schema).getRootConverter();
+    for (TypeMapping mapping : mappings) {
+      String name = mapping.getParquetType().getName();
+      FieldVector vector = root.getVector(mapping.getArrowField().getName());
+      BaseVariableWidthVector dictionaryVector = dictionaryVectors.get(name);
+      if (dictionaryVector != null) {
+        LeafReader leaf = new LeafReader.DictionaryReader((IntVector) vector,
+            schema.getColumnDescription(new String[] { name }), dictionaryVector);
+        leaf.setPath(new VectorNode[] { leaf }, 0);
+        nodes.add(leaf);
+        leaves.add(leaf);
+      } else {
+        add(mapping, vector, new String[] { name }, 0);
+      }
+    }
+  }
+
+  /**
+   * Adds the readers of the columns below a field.
+   *
+   * @param mapping the mapping of the field
+   * @param vector the vector of the field
+   * @param parquetPath the path of the Parquet type of the field
+   * @param repetitionLevel the number of lists above the field
+   */
+  private void add(TypeMapping mapping, FieldVector vector, String[] parquetPath, int repetitionLevel) {
+    mapping.accept(new SchemaMapping.TypeMappingVisitor<Void>() {
+      @Override
+      public Void visit(PrimitiveTypeMapping primitiveTypeMapping) {
+        LeafReader leaf = LeafReader.create(vector, schema.getColumnDescription(parquetPath));
+        path.add(leaf);
+        leaf.setPath(path.toArray(new VectorNode[0]), assembled);
+        nodes.add(leaf);
+        leaves.add(leaf);
+        // the vectors of the path without a column assembling them get this one
+        assembled = path.size();
+        pop();
+        return null;
+      }
+
+      @Override
+      public Void visit(StructTypeMapping structTypeMapping) {
+        push(new VectorNode.StructNode(vector, repetitionLevel, schema.getMaxDefinitionLevel(parquetPath)));
+        List<TypeMapping> children = structTypeMapping.getChildren();
+        List<FieldVector> childVectors = vector.getChildrenFromFields();
+        for (int i = 0; i < children.size(); ++i) {
+          TypeMapping child = children.get(i);
+          add(child, childVectors.get(i), append(parquetPath, child.getParquetType().getName()), repetitionLevel);
+        }
+        pop();
+        return null;
+      }
+
+      @Override
+      public Void visit(UnionTypeMapping unionTypeMapping) {
+        throw new UnsupportedOperationException("Cannot read the union " + unionTypeMapping.getParquetType());
+      }
+
+      @Override
+      public Void visit(ListTypeMapping listTypeMapping) {
+        // a standard 3 levels list: the list, the repeated group and the element
+        GroupType repeated = listTypeMapping.getParquetType().asGroupType().getType(0).asGroupType();
+        String[] repeatedPath = append(parquetPath, repeated.getName());
+        VectorNode.ListNode list = new VectorNode.ListNode((ListVector) vector, repetitionLevel,
+            schema.getMaxDefinitionLevel(parquetPath), schema.getMaxDefinitionLevel(repeatedPath));
+        addList(list, listTypeMapping.getChild(), append(repeatedPath, repeated.getType(0).getName()));
+        return null;
+      }
+
+      @Override
+      public Void visit(RepeatedTypeMapping repeatedTypeMapping) {
+        // the repeated field itself is the element, the list is defined with its parent
+        int definitionLevel = schema.getMaxDefinitionLevel(parquetPath);
+        VectorNode.ListNode list = new VectorNode.ListNode((ListVector) vector, repetitionLevel,
+            definitionLevel - 1, definitionLevel);
+        addList(list, repeatedTypeMapping.getChild(), parquetPath);
+        return null;
+      }
+
+      private void addList(VectorNode.ListNode list, TypeMapping element, String[] elementPath) {
+        push(list);
+        int index = nodes.size();
+        add(element, ((ListVector) vector).getDataVector(), elementPath, repetitionLevel + 1);
+        // the vector of the element is the first one added below the list
+        list.setElement(nodes.get(index));
+        pop();
+      }
+    });
+  }
+
+  private void push(VectorNode node) {
+    path.add(node);
+    nodes.add(node);
+  }
+
+  private void pop() {
+    path.remove(path.size() - 1);
+    assembled = Math.min(assembled, path.size());
+  }
+
+  private static String[] append(String[] path, String name) {
+    String[] result = Arrays.copyOf(path, path.length + 1);
+    result[path.length] = name;
+    return result;
+  }
+
+  /**
+   * Starts loading the rows of a row group.
+   *
+   * @param rowGroup the pages of the row group
+   * @param createdBy the writer of the file
+   */
+  void startRowGroup(PageReadStore rowGroup, String createdBy) {
+    ColumnReadStoreImpl columns = new ColumnReadStoreImpl(rowGroup, converter, schema, createdBy);
+    for (LeafReader leaf : leaves) {
+      leaf.startRowGroup(columns.getColumnReader(leaf.descriptor));
+    }
+  }
+
+  /**
+   * Replaces the vectors of the root with the next rows of the current row group.
+   *
+   * @param rows the number of rows to load, at most the number of rows left in the row group
+   */
+  void load(int rows) {
+    for (FieldVector vector : root.getFieldVectors()) {
+      vector.clear();
+      vector.setInitialCapacity(rows);
+      vector.allocateNew();
+    }
+    for (VectorNode node : nodes) {
+      node.reset();
+    }
+    for (LeafReader leaf : leaves) {
+      leaf.read(rows);
+    }
+    for (VectorNode node : nodes) {
+      node.finish();
+    }
+    root.setRowCount(rows);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.complex.ListVector;
+
+/**
+ * A vector of the Arrow tree assembled from the levels of the Parquet columns, with the levels delimiting its values.
+ * <p>
+ * The values of a vector are the rows for the top level vectors, the elements of the enclosing list otherwise. A new
+ * value starts with each Parquet value of a repetition level lower than or equal to {@link #repetitionLevel}, it is
+ * not null if its definition level is at least {@link #definitionLevel}. The vectors of the nested types are shared by
+ * several columns, only the first column below a vector assembles it; the others only go through it.
+ */
+abstract class VectorNode {
+
+  final FieldVector vector;
+  // the repetition level of the values of this vector, the number of lists above it
+  final int repetitionLevel;
+  // the definition level from which a value of this vector is not null
+  final int definitionLevel;
+  // the number of values of this vector in the current batch
+  int count;
+
+  VectorNode(FieldVector vector, int repetitionLevel, int definitionLevel) {
+    this.vector = vector;
+    this.repetitionLevel = repetitionLevel;
+    this.definitionLevel = definitionLevel;
+  }
+
+  /**
+   * @return the definition level from which the children of the current value exist; the values of a lower
+   *         definition level stop at this vector
+   */
+  int childDefinitionLevel() {
+    return 0;
+  }
+
+  /**
+   * Appends a value to this vector.
+   *
+   * @param defined whether the value is not null
+   */
+  abstract void append(boolean defined);
+
+  /**
+   * Starts a new batch, the vector being reallocated.
+   */
+  void reset() {
+    count = 0;
+  }
+
+  /**
+   * Completes the values of this vector once the batch is read.
+   */
+  void finish() {
+  }
+
+  /**
+   * A struct: its values are the values of its children.
+   */
+  static class StructNode extends VectorNode {
+
+    StructNode(FieldVector vector, int repetitionLevel, int definitionLevel) {
+      super(vector, repetitionLevel, definitionLevel);
+    }
+
+    @Override
+    void append(boolean defined) {
+      int index = count++;
+      if (defined) {
+        while (index >= vector.getValueCapacity()) {
+          vector.reAlloc();
+        }
+        BitVectorHelper.setValidityBitToOne(vector.getValidityBuffer(), index);
+      }
+    }
+  }
+
+  /**
+   * A list: its values are ranges of the values of its element vector. The elements of a list start with the values
+   * of the definition level of the repeated field.
+   */
+  static class ListNode extends VectorNode {
+
+    private final int elementDefinitionLevel;
+    private VectorNode element;
+    // the index of the current list and the index of its first element, -1 if it is null
+    private int current = -1;
+    private int start;
+
+    ListNode(ListVector vector, int repetitionLevel, int definitionLevel, int elementDefinitionLevel) {
+      super(vector, repetitionLevel, definitionLevel);
+      this.elementDefinitionLevel = elementDefinitionLevel;
+    }
+
+    void setElement(VectorNode element) {
+      this.element = element;
+    }
+
+    @Override
+    int childDefinitionLevel() {
+      return elementDefinitionLevel;
+    }
+
+    @Override
+    void append(boolean defined) {
+      endCurrent();
+      int index = count++;
+      if (defined) {
+        start = ((ListVector) vector).startNewValue(index);
+        current = index;
+      }
+    }
+
+    private void endCurrent() {
+      if (current >= 0) {
+        ((ListVector) vector).endValue(current, element.count - start);
+        current = -1;
+      }
+    }
+
+    @Override
+    void reset() {
+      super.reset();
+      current = -1;
+    }
+
+    @Override
+    void finish() {
+      endCurrent();
+    }
+  }
+}
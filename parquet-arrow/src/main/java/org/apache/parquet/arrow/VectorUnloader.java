@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.parquet.arrow.schema.SchemaMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.ListTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.PrimitiveTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.RepeatedTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.StructTypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.TypeMapping;
+import org.apache.parquet.arrow.schema.SchemaMapping.UnionTypeMapping;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * Writes the rows of Arrow vectors to the columns of a row group, one vector at a time.
+ */
+class VectorUnloader {
+
+  private final MessageType schema;
+  private final List<VectorWriter> writers = new ArrayList<>();
+  private final VectorWriter.Slots slots = new VectorWriter.Slots();
+
+  /**
+   * @param schema the Parquet schema written
+   * @param mappings the mappings of the fields of the schema
+   */
+  VectorUnloader(MessageType schema, List<TypeMapping> mappings) {
+    this.schema = schema;
+    for (TypeMapping mapping : mappings) {
+      writers.add(create(mapping, new String[] { mapping.getParquetType().getName() }));
+    }
+  }
+
+  /**
+   * @param mapping the mapping of a field
+   * @param path the path of the Parquet type of the field
+   * @return the writer of the vectors of the field
+   */
+  private VectorWriter create(TypeMapping mapping, String[] path) {
+    Type type = mapping.getParquetType();
+    boolean optional = !type.isRepetition(Type.Repetition.REQUIRED);
+    int definitionLevel = schema.getMaxDefinitionLevel(path);
+    return mapping.accept(new SchemaMapping.TypeMappingVisitor<VectorWriter>() {
+      @Override
+      public VectorWriter visit(PrimitiveTypeMapping primitiveTypeMapping) {
+        return LeafWriter.create(schema.getColumnDescription(path), optional);
+      }
+
+      @Override
+      public VectorWriter visit(StructTypeMapping structTypeMapping) {
+        List<VectorWriter> children = new ArrayList<>();
+        for (TypeMapping child : structTypeMapping.getChildren()) {
+          children.add(create(child, append(path, child.getParquetType().getName())));
+        }
+        return new VectorWriter.StructWriter(definitionLevel, optional, children);
+      }
+
+      @Override
+      public VectorWriter visit(UnionTypeMapping unionTypeMapping) {
+        throw new UnsupportedOperationException("Cannot write the union " + unionTypeMapping.getArrowField());
+      }
+
+      @Override
+      public VectorWriter visit(ListTypeMapping listTypeMapping) {
+        // a standard 3 levels list: the list, the repeated group and the element
+        GroupType repeated = type.asGroupType().getType(0).asGroupType();
+        String[] repeatedPath = append(path, repeated.getName());
+        VectorWriter element = create(listTypeMapping.getChild(), append(repeatedPath, repeated.getType(0).getName()));
+        return new VectorWriter.ListWriter(definitionLevel, optional, schema.getMaxRepetitionLevel(repeatedPath),
+            schema.getMaxDefinitionLevel(repeatedPath), element);
+      }
+
+      @Override
+      public VectorWriter visit(RepeatedTypeMapping repeatedTypeMapping) {
+        // only converted from Parquet schemas
+        throw new UnsupportedOperationException("Cannot write the repeated field " + type);
+      }
+    });
+  }
+
+  private static String[] append(String[] path, String name) {
+    String[] result = Arrays.copyOf(path, path.length + 1);
+    result[path.length] = name;
+    return result;
+  }
+
+  /**
+   * Starts writing a new row group.
+   *
+   * @param columns the writers of the columns of the row group
+   */
+  void startRowGroup(ColumnWriteStore columns) {
+    for (VectorWriter writer : writers) {
+      writer.startRowGroup(columns);
+    }
+  }
+
+  /**
+   * Writes the values of rows to the columns, the records are not ended.
+   *
+   * @param vectors the vectors of the fields
+   * @param from the index of the first row
+   * @param rows the number of rows
+   */
+  void write(List<FieldVector> vectors, int from, int rows) {
+    for (int i = 0; i < writers.size(); ++i) {
+      slots.setRows(from, rows);
+      writers.get(i).write(vectors.get(i), slots);
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.netty.buffer.ArrowBuf;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.parquet.column.ColumnWriteStore;
+
+/**
+ * Writes the values of an Arrow vector to the Parquet columns below it, the levels of the values being given by the
+ * validity and the offsets of the vectors.
+ * <p>
+ * The rows of a batch are written one vector at a time, from the top level vectors down to the leaves: the
+ * {@link Slots} of a vector are the values of the enclosing vector with their levels so far, each slot either the
+ * index of a value of the vector or an empty slot standing for a null or an empty list above it.
+ */
+abstract class VectorWriter {
+
+  // the definition level of the values of this vector that are not null
+  final int definitionLevel;
+  // whether the values of this vector can be null, the Parquet type being optional
+  private final boolean optional;
+
+  VectorWriter(int definitionLevel, boolean optional) {
+    this.definitionLevel = definitionLevel;
+    this.optional = optional;
+  }
+
+  /**
+   * Starts writing a new row group.
+   *
+   * @param columns the writers of the columns of the row group
+   */
+  abstract void startRowGroup(ColumnWriteStore columns);
+
+  /**
+   * Writes the values of the vector at the slots to the columns below it.
+   *
+   * @param vector the vector to write
+   * @param slots the slots of the values to write, modified by the writes
+   */
+  abstract void write(FieldVector vector, Slots slots);
+
+  /**
+   * Sets the definition level of the slots of the values that are not null and empties the ones of the null values.
+   */
+  final void defineValues(FieldVector vector, Slots slots) {
+    if (!optional) {
+      return;
+    }
+    int[] indexes = slots.indexes;
+    int[] definitionLevels = slots.definitionLevels;
+    // the validity is only checked if there is a null value
+    boolean noNulls = vector.getNullCount() == 0;
+    for (int i = 0, n = slots.size; i < n; ++i) {
+      int index = indexes[i];
+      if (index >= 0) {
+        if (noNulls || !vector.isNull(index)) {
+          definitionLevels[i] = definitionLevel;
+        } else {
+          indexes[i] = -1;
+        }
+      }
+    }
+  }
+
+  /**
+   * The values of a vector to write with their levels.
+   */
+  static final class Slots {
+    // the indexes of the values in the vector, -1 for an empty slot
+    int[] indexes = new int[0];
+    int[] repetitionLevels = new int[0];
+    int[] definitionLevels = new int[0];
+    int size;
+
+    /**
+     * Resets the slots to rows of the top level vectors.
+     *
+     * @param from the index of the first row
+     * @param rows the number of rows
+     */
+    void setRows(int from, int rows) {
+      ensureCapacity(rows);
+      for (int i = 0; i < rows; ++i) {
+        indexes[i] = from + i;
+      }
+      Arrays.fill(repetitionLevels, 0, rows, 0);
+      Arrays.fill(definitionLevels, 0, rows, 0);
+      size = rows;
+    }
+
+    void copyFrom(Slots slots) {
+      ensureCapacity(slots.size);
+      System.arraycopy(slots.indexes, 0, indexes, 0, slots.size);
+      System.arraycopy(slots.repetitionLevels, 0, repetitionLevels, 0, slots.size);
+      System.arraycopy(slots.definitionLevels, 0, definitionLevels, 0, slots.size);
+      size = slots.size;
+    }
+
+    void add(int index, int repetitionLevel, int definitionLevel) {
+      if (size == indexes.length) {
+        ensureCapacity(Math.max(16, size * 2));
+      }
+      indexes[size] = index;
+      repetitionLevels[size] = repetitionLevel;
+      definitionLevels[size] = definitionLevel;
+      ++size;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (indexes.length < capacity) {
+        indexes = Arrays.copyOf(indexes, capacity);
+        repetitionLevels = Arrays.copyOf(repetitionLevels, capacity);
+        definitionLevels = Arrays.copyOf(definitionLevels, capacity);
+      }
+    }
+  }
+
+  /**
+   * A struct: its children get the slots of its values.
+   */
+  static class StructWriter extends VectorWriter {
+    private final VectorWriter[] children;
+    private final Slots childSlots = new Slots();
+
+    StructWriter(int definitionLevel, boolean optional, List<VectorWriter> children) {
+      super(definitionLevel, optional);
+      this.children = children.toArray(new VectorWriter[0]);
+    }
+
+    @Override
+    void startRowGroup(ColumnWriteStore columns) {
+      for (VectorWriter child : children) {
+        child.startRowGroup(columns);
+      }
+    }
+
+    @Override
+    void write(FieldVector vector, Slots slots) {
+      defineValues(vector, slots);
+      List<FieldVector> childVectors = vector.getChildrenFromFields();
+      int last = children.length - 1;
+      for (int i = 0; i < last; ++i) {
+        childSlots.copyFrom(slots);
+        children[i].write(childVectors.get(i), childSlots);
+      }
+      // the last child can have the slots themselves
+      children[last].write(childVectors.get(last), slots);
+    }
+  }
+
+  /**
+   * A list: its values are expanded to the slots of their elements, an empty list keeping an empty slot.
+   */
+  static class ListWriter extends VectorWriter {
+    // the repetition level of the elements but the first one of a list
+    private final int repetitionLevel;
+    // the definition level of the lists that are not empty
+    private final int elementsDefinitionLevel;
+    private final VectorWriter element;
+    private final Slots elements = new Slots();
+
+    ListWriter(int definitionLevel, boolean optional, int repetitionLevel, int elementsDefinitionLevel,
+        VectorWriter element) {
+      super(definitionLevel, optional);
+      this.repetitionLevel = repetitionLevel;
+      this.elementsDefinitionLevel = elementsDefinitionLevel;
+      this.element = element;
+    }
+
+    @Override
+    void startRowGroup(ColumnWriteStore columns) {
+      element.startRowGroup(columns);
+    }
+
+    @Override
+    void write(FieldVector vector, Slots slots) {
+      defineValues(vector, slots);
+      ArrowBuf offsets = null;
+      int listSize = 0;
+      FieldVector dataVector;
+      if (vector instanceof ListVector) {
+        offsets = ((ListVector) vector).getOffsetBuffer();
+        dataVector = ((ListVector) vector).getDataVector();
+      } else {
+        listSize = ((FixedSizeListVector) vector).getListSize();
+        dataVector = ((FixedSizeListVector) vector).getDataVector();
+      }
+      elements.size = 0;
+      for (int i = 0, n = slots.size; i < n; ++i) {
+        int index = slots.indexes[i];
+        int start = 0;
+        int end = 0;
+        if (index >= 0) {
+          if (offsets != null) {
+            start = offsets.getInt(index * ListVector.OFFSET_WIDTH);
+            end = offsets.getInt((index + 1) * ListVector.OFFSET_WIDTH);
+          } else {
+            start = index * listSize;
+            end = start + listSize;
+          }
+        }
+        if (start == end) {
+          // a null or empty list
+          elements.add(-1, slots.repetitionLevels[i], slots.definitionLevels[i]);
+        } else {
+          elements.add(start, slots.repetitionLevels[i], elementsDefinitionLevel);
+          for (int j = start + 1; j < end; ++j) {
+            elements.add(j, repetitionLevel, elementsDefinitionLevel);
+          }
+        }
+      }
+      element.write(dataVector, elements);
+    }
+  }
+}
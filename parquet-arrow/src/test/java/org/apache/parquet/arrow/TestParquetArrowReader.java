@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.util.Text;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestParquetArrowReader {
+
+  static final int RECORD_COUNT = 1000;
+
+  static final MessageType SCHEMA = MessageTypeParser.parseMessageType(
+      "message test {\n"
+      + "  required int32 id;\n"
+      + "  optional binary name (UTF8);\n"
+      + "  optional group s {\n"
+      + "    optional double d;\n"
+      + "    required int64 l;\n"
+      + "  }\n"
+      + "  optional group ints (LIST) {\n"
+      + "    repeated group list {\n"
+      + "      optional int32 element;\n"
+      + "    }\n"
+      + "  }\n"
+      + "  repeated int32 tags;\n"
+      + "  optional group nested (LIST) {\n"
+      + "    repeated group list {\n"
+      + "      optional group element (LIST) {\n"
+      + "        repeated group list {\n"
+      + "          required binary element (UTF8);\n"
+      + "        }\n"
+      + "      }\n"
+      + "    }\n"
+      + "  }\n"
+      + "  optional group structs (LIST) {\n"
+      + "    repeated group list {\n"
+      + "      optional group element {\n"
+      + "        optional int32 a;\n"
+      + "        optional binary b (UTF8);\n"
+      + "      }\n"
+      + "    }\n"
+      + "  }\n"
+      + "}");
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] { { WriterVersion.PARQUET_1_0 }, { WriterVersion.PARQUET_2_0 } });
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion writerVersion;
+  private LocalInputFile file;
+  private BufferAllocator allocator;
+
+  public TestParquetArrowReader(WriterVersion writerVersion) {
+    this.writerVersion = writerVersion;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    Path path = temp.getRoot().toPath().resolve("test.parquet");
+    writeRecords(path, writerVersion);
+    file = new LocalInputFile(path);
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  /**
+   * Writes the expected records to a file of several row groups with several pages per column chunk.
+   */
+  static void writeRecords(Path path, WriterVersion writerVersion) throws IOException {
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withWriterVersion(writerVersion)
+        .withRowGroupSize(16 * 1024)
+        .withPageRowCountLimit(50)
+        // the dictionary of the names is full after some pages so the next ones are plain encoded
+        .withDictionaryPageSize(256)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        writer.write(group(factory, i));
+      }
+    }
+  }
+
+  @After
+  public void closeAllocator() {
+    allocator.close();
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    for (int batchSize : new int[] { 1, 7, 4096 }) {
+      try (ParquetArrowReader reader = ParquetArrowReader.builder(file, allocator)
+          .withBatchSize(batchSize)
+          .build()) {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        int id = 0;
+        while (reader.loadNextBatch()) {
+          assertTrue(root.getRowCount() <= batchSize);
+          for (int row = 0; row < root.getRowCount(); ++row, ++id) {
+            assertEquals(expected(id), values(root, row));
+          }
+        }
+        assertEquals(RECORD_COUNT, id);
+        assertFalse(reader.loadNextBatch());
+      }
+    }
+  }
+
+  @Test
+  public void testProjection() throws IOException {
+    try (ParquetArrowReader reader = ParquetArrowReader.builder(file, allocator)
+        .withProjection("structs", "id")
+        .build()) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertEquals(2, root.getFieldVectors().size());
+      assertEquals("structs", root.getFieldVectors().get(0).getField().getName());
+      int id = 0;
+      while (reader.loadNextBatch()) {
+        for (int row = 0; row < root.getRowCount(); ++row, ++id) {
+          List<Object> expected = expected(id);
+          assertEquals(Arrays.asList(expected.get(6), expected.get(0)), values(root, row));
+        }
+      }
+      assertEquals(RECORD_COUNT, id);
+    }
+  }
+
+  @Test
+  public void testDictionaryEncoding() throws IOException {
+    try (ParquetArrowReader reader = ParquetArrowReader.builder(file, allocator)
+        .withDictionaryEncoding(true)
+        .withBatchSize(100)
+        .build()) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      FieldVector names = root.getVector("name");
+      DictionaryEncoding encoding = names.getField().getDictionary();
+      assertTrue(names instanceof IntVector);
+      int id = 0;
+      while (reader.loadNextBatch()) {
+        Dictionary dictionary = reader.getDictionaryProvider().lookup(encoding.getId());
+        for (int row = 0; row < root.getRowCount(); ++row, ++id) {
+          Integer index = ((IntVector) names).getObject(row);
+          if (index == null) {
+            assertNull(expected(id).get(1));
+          } else {
+            assertEquals(expected(id).get(1), normalize(dictionary.getVector().getObject(index)));
+          }
+        }
+      }
+      assertEquals(RECORD_COUNT, id);
+    }
+  }
+
+  @Test
+  public void testFilter() throws IOException {
+    try (ParquetArrowReader reader = ParquetArrowReader.builder(file, allocator)
+        .withFilter(FilterCompat.get(gtEq(intColumn("id"), 950)))
+        .build()) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      List<Integer> ids = new ArrayList<>();
+      while (reader.loadNextBatch()) {
+        for (int row = 0; row < root.getRowCount(); ++row) {
+          List<Object> values = values(root, row);
+          // the row groups and the pages are filtered, not the rows
+          assertEquals(expected((Integer) values.get(0)), values);
+          ids.add((Integer) values.get(0));
+        }
+      }
+      assertTrue(ids.size() < RECORD_COUNT);
+      assertEquals(RECORD_COUNT - 1, (int) ids.get(ids.size() - 1));
+      assertTrue(ids.get(0) <= 950);
+    }
+  }
+
+  static List<Object> values(VectorSchemaRoot root, int row) {
+    List<Object> values = new ArrayList<>();
+    for (FieldVector vector : root.getFieldVectors()) {
+      values.add(normalize(vector.getObject(row)));
+    }
+    return values;
+  }
+
+  // the binaries are read as Text and the lists and structs as JSON friendly collections
+  private static Object normalize(Object value) {
+    if (value instanceof Text) {
+      return value.toString();
+    } else if (value instanceof List) {
+      List<Object> list = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        list.add(normalize(element));
+      }
+      return list;
+    } else if (value instanceof Map) {
+      Map<Object, Object> map = new HashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        map.put(entry.getKey(), normalize(entry.getValue()));
+      }
+      return map;
+    }
+    return value;
+  }
+
+  private static Map<String, Object> struct(Object... keysAndValues) {
+    Map<String, Object> struct = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      if (keysAndValues[i + 1] != null) {
+        struct.put((String) keysAndValues[i], keysAndValues[i + 1]);
+      }
+    }
+    return struct;
+  }
+
+  static List<Object> expected(int i) {
+    String name = i % 3 == 0 ? null : "name_" + (i % 50);
+    Map<String, Object> s = i % 5 == 0 ? null : struct("d", i % 2 == 0 ? null : i * 0.5, "l", (long) i);
+    List<Object> ints = null;
+    if (i % 4 != 0) {
+      ints = new ArrayList<>();
+      for (int j = 0; j < i % 3; ++j) {
+        ints.add(j == 1 ? null : i + j);
+      }
+    }
+    List<Object> tags = new ArrayList<>();
+    for (int j = 0; j < i % 3; ++j) {
+      tags.add(i * 10 + j);
+    }
+    List<Object> nested = null;
+    if (i % 6 != 0) {
+      nested = new ArrayList<>();
+      for (int j = 0; j < i % 3; ++j) {
+        List<Object> inner = null;
+        if (j != 0) {
+          inner = new ArrayList<>();
+          for (int k = 0; k < j + i % 2; ++k) {
+            inner.add("x" + i + "_" + j + "_" + k);
+          }
+        }
+        nested.add(inner);
+      }
+    }
+    List<Object> structs = null;
+    if (i % 7 != 0) {
+      structs = new ArrayList<>();
+      for (int j = 0; j < i % 3; ++j) {
+        structs.add(j == 0 ? null : struct("a", i + j, "b", j == 2 ? null : "b" + j));
+      }
+    }
+    return Arrays.asList(i, name, s, ints, tags, nested, structs);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Group group(SimpleGroupFactory factory, int i) {
+    List<Object> values = expected(i);
+    Group group = factory.newGroup().append("id", i);
+    if (values.get(1) != null) {
+      group.append("name", (String) values.get(1));
+    }
+    Map<String, Object> s = (Map<String, Object>) values.get(2);
+    if (s != null) {
+      Group struct = group.addGroup("s");
+      if (s.containsKey("d")) {
+        struct.append("d", (Double) s.get("d"));
+      }
+      struct.append("l", (Long) s.get("l"));
+    }
+    if (values.get(3) != null) {
+      Group ints = group.addGroup("ints");
+      for (Object element : (List<Object>) values.get(3)) {
+        Group list = ints.addGroup("list");
+        if (element != null) {
+          list.append("element", (Integer) element);
+        }
+      }
+    }
+    for (Object tag : (List<Object>) values.get(4)) {
+      group.append("tags", (Integer) tag);
+    }
+    if (values.get(5) != null) {
+      Group nested = group.addGroup("nested");
+      for (Object element : (List<Object>) values.get(5)) {
+        Group list = nested.addGroup("list");
+        if (element != null) {
+          Group inner = list.addGroup("element");
+          for (Object value : (List<Object>) element) {
+            inner.addGroup("list").append("element", (String) value);
+          }
+        }
+      }
+    }
+    if (values.get(6) != null) {
+      Group structs = group.addGroup("structs");
+      for (Object element : (List<Object>) values.get(6)) {
+        Group list = structs.addGroup("list");
+        if (element != null) {
+          Map<String, Object> struct = (Map<String, Object>) element;
+          Group fields = list.addGroup("element");
+          fields.append("a", (Integer) struct.get("a"));
+          if (struct.containsKey("b")) {
+            fields.append("b", (String) struct.get("b"));
+          }
+        }
+      }
+    }
+    return group;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.arrow;
+
+import static org.apache.parquet.arrow.TestParquetArrowReader.RECORD_COUNT;
+import static org.apache.parquet.arrow.TestParquetArrowReader.expected;
+import static org.apache.parquet.arrow.TestParquetArrowReader.values;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestParquetArrowWriter {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] { { WriterVersion.PARQUET_1_0 }, { WriterVersion.PARQUET_2_0 } });
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final WriterVersion writerVersion;
+  private LocalInputFile records;
+  private BufferAllocator allocator;
+
+  public TestParquetArrowWriter(WriterVersion writerVersion) {
+    this.writerVersion = writerVersion;
+  }
+
+  @Before
+  public void writeRecords() throws IOException {
+    Path path = temp.getRoot().toPath().resolve("records.parquet");
+    TestParquetArrowReader.writeRecords(path, writerVersion);
+    records = new LocalInputFile(path);
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void closeAllocator() {
+    allocator.close();
+  }
+
+  @Test
+  public void testWriteVectors() throws IOException {
+    for (int batchSize : new int[] { 7, 4096 }) {
+      Path path = temp.getRoot().toPath().resolve("vectors_" + batchSize + ".parquet");
+      // the vectors read from the file of records are written back
+      try (ParquetArrowReader reader = ParquetArrowReader.builder(records, allocator)
+          .withBatchSize(batchSize)
+          .build()) {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        try (ParquetArrowWriter writer = ParquetArrowWriter.builder(new LocalOutputFile(path), root.getSchema())
+            .withRowGroupSize(16 * 1024)
+            .withProperties(ParquetProperties.builder()
+                .withWriterVersion(writerVersion)
+                .withPageRowCountLimit(50)
+                .build())
+            .build()) {
+          while (reader.loadNextBatch()) {
+            writer.write(root);
+          }
+        }
+      }
+
+      try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path),
+          ParquetReadOptions.builder().build())) {
+        assertTrue(reader.getRowGroups().size() > 1);
+        assertEquals(ParquetArrowWriter.OBJECT_MODEL_NAME,
+            reader.getFileMetaData().getKeyValueMetaData().get(ParquetWriter.OBJECT_MODEL_NAME_PROP));
+      }
+      try (ParquetArrowReader reader = ParquetArrowReader.builder(new LocalInputFile(path), allocator).build()) {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        int id = 0;
+        while (reader.loadNextBatch()) {
+          for (int row = 0; row < root.getRowCount(); ++row, ++id) {
+            assertEquals(expected(id), values(root, row));
+          }
+        }
+        assertEquals(RECORD_COUNT, id);
+      }
+    }
+  }
+
+  @Test
+  public void testSchemaMismatch() throws IOException {
+    Schema schema = new Schema(Collections.singletonList(
+        new Field("id", new FieldType(true, new ArrowType.Int(64, true), null), null)));
+    Path path = temp.getRoot().toPath().resolve("mismatch.parquet");
+    try (ParquetArrowReader reader = ParquetArrowReader.builder(records, allocator).build();
+        ParquetArrowWriter writer = ParquetArrowWriter.builder(new LocalOutputFile(path), schema).build()) {
+      reader.loadNextBatch();
+      assertThrows(IllegalArgumentException.class, () -> writer.write(reader.getVectorSchemaRoot()));
+    }
+  }
+
+  @Test
+  public void testDictionaryEncodedField() throws IOException {
+    DictionaryEncoding encoding = new DictionaryEncoding(0, false, new ArrowType.Int(32, true));
+    Schema schema = new Schema(Collections.singletonList(
+        new Field("name", new FieldType(true, new ArrowType.Int(32, true), encoding), null)));
+    Path path = temp.getRoot().toPath().resolve("dictionary.parquet");
+    assertThrows(UnsupportedOperationException.class,
+        () -> ParquetArrowWriter.builder(new LocalOutputFile(path), schema).build());
+  }
+}
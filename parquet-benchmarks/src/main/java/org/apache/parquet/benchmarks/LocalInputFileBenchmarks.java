@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.benchmarks;
+
+import static org.apache.parquet.benchmarks.BenchmarkFiles.configuration;
+import static org.apache.parquet.benchmarks.BenchmarkFiles.file_1M;
+import static org.apache.parquet.benchmarks.BenchmarkFiles.file_1M_SNAPPY;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares reading the pages of local files through {@link HadoopInputFile} (the Hadoop local file system) and
+ * through {@link LocalInputFile} with positional channel reads or memory mapping.
+ */
+@State(Scope.Benchmark)
+public class LocalInputFileBenchmarks {
+
+  @Param({ "UNCOMPRESSED", "SNAPPY" })
+  public String codec;
+
+  private Path file;
+
+  /**
+   * This needs to be done exactly once.  To avoid needlessly regenerating the files for reading, they aren't cleaned
+   * as part of the benchmark.  If the files exist, a message will be printed and they will not be regenerated.
+   */
+  @Setup(Level.Trial)
+  public void generateFilesForRead() {
+    new DataGenerator().generateAll();
+    file = "SNAPPY".equals(codec) ? file_1M_SNAPPY : file_1M;
+  }
+
+  private void readPages(InputFile inputFile, ParquetReadOptions options, Blackhole blackhole) throws IOException {
+    try (ParquetFileReader reader = new ParquetFileReader(inputFile, options)) {
+      PageReadStore rowGroup;
+      while ((rowGroup = reader.readNextRowGroup()) != null) {
+        for (ColumnDescriptor column : reader.getFileMetaData().getSchema().getColumns()) {
+          PageReader pageReader = rowGroup.getPageReader(column);
+          blackhole.consume(pageReader.readDictionaryPage());
+          DataPage page;
+          while ((page = pageReader.readPage()) != null) {
+            blackhole.consume(page.accept(new DataPage.Visitor<Object>() {
+              @Override
+              public Object visit(DataPageV1 dataPageV1) {
+                try {
+                  return dataPageV1.getBytes().toByteBuffer();
+                } catch (IOException e) {
+                  throw new RuntimeException(e);
+                }
+              }
+
+              @Override
+              public Object visit(DataPageV2 dataPageV2) {
+                try {
+                  return dataPageV2.getData().toByteBuffer();
+                } catch (IOException e) {
+                  throw new RuntimeException(e);
+                }
+              }
+            }));
+          }
+        }
+      }
+    }
+  }
+
+  private LocalInputFile localInputFile(boolean memoryMapped) {
+    return new LocalInputFile(Paths.get(file.toUri().getPath()), memoryMapped);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public void readHadoopInputFile(Blackhole blackhole) throws IOException {
+    readPages(HadoopInputFile.fromPath(file, configuration), ParquetReadOptions.builder().build(), blackhole);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public void readLocalInputFileChannel(Blackhole blackhole) throws IOException {
+    readPages(localInputFile(false), ParquetReadOptions.builder().build(), blackhole);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public void readLocalInputFileMapped(Blackhole blackhole) throws IOException {
+    readPages(localInputFile(true), ParquetReadOptions.builder().build(), blackhole);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public void readLocalInputFileMappedZeroCopy(Blackhole blackhole) throws IOException {
+    // the vectored reads return slices of the mapping instead of copies
+    readPages(localInputFile(true), ParquetReadOptions.builder().useVectoredIo().build(), blackhole);
+  }
+}
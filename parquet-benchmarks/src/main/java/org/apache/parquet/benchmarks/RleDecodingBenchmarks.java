@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.benchmarks;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares decoding the RLE/bit-packing hybrid encoding of the levels and the dictionary ids one value at a time and
+ * in bulk. The results are given per decoded value.
+ * <p>
+ * The runs are either long RLE runs (like the definition levels of a column with few nulls), bit-packed runs (like
+ * the ids of a large dictionary) or a mix of both.
+ *
+ * <pre>
+ * mvn clean package &amp;&amp; java -jar target/parquet-benchmarks.jar org.apache.parquet.benchmarks.RleDecodingBenchmarks -rf json
+ * </pre>
+ */
+@BenchmarkMode(AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(NANOSECONDS)
+@State(Benchmark)
+public class RleDecodingBenchmarks {
+  private static final int VALUE_COUNT = 100_000;
+  private static final int BATCH_SIZE = 1024;
+
+  @Param({ "1", "4", "12" })
+  public int bitWidth;
+
+  @Param({ "RLE", "PACKED", "MIXED" })
+  public String runs;
+
+  private ByteBuffer encoded;
+  private final int[] batch = new int[BATCH_SIZE];
+
+  @Setup
+  public void encode() throws IOException {
+    Random random = new Random(42);
+    int max = 1 << bitWidth;
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(bitWidth, 64 * 1024,
+        1024 * 1024, new HeapByteBufferAllocator());
+    int i = 0;
+    while (i < VALUE_COUNT) {
+      boolean rle = "RLE".equals(runs) || ("MIXED".equals(runs) && random.nextBoolean());
+      int length = Math.min(VALUE_COUNT - i, 16 + random.nextInt(256));
+      int value = random.nextInt(max);
+      for (int j = 0; j < length; ++j) {
+        encoder.writeInt(rle ? value : random.nextInt(max));
+      }
+      i += length;
+    }
+    encoded = encoder.toBytes().toByteBuffer();
+  }
+
+  private RunLengthBitPackingHybridDecoder newDecoder() {
+    return new RunLengthBitPackingHybridDecoder(bitWidth, ByteBufferInputStream.wrap(encoded.duplicate()));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void readInt(Blackhole blackhole) throws IOException {
+    RunLengthBitPackingHybridDecoder decoder = newDecoder();
+    for (int i = 0; i < VALUE_COUNT; ++i) {
+      blackhole.consume(decoder.readInt());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(VALUE_COUNT)
+  public void readInts(Blackhole blackhole) throws IOException {
+    RunLengthBitPackingHybridDecoder decoder = newDecoder();
+    for (int i = 0; i < VALUE_COUNT; i += BATCH_SIZE) {
+      decoder.readInts(batch, 0, Math.min(BATCH_SIZE, VALUE_COUNT - i));
+      blackhole.consume(batch);
+    }
+  }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.parquet.column;
 
+import java.util.BitSet;
+
 import org.apache.parquet.io.api.Binary;
 
 /**
@@ -114,4 +116,209 @@ public interface ColumnReader {
    */
   ColumnDescriptor getDescriptor();
 
+  /**
+   * Reads the next values of a column that is not repeated in batch, starting with the current one, as if
+   * {@link #consume()} was called after each of them. The values are decoded straight from the pages into the array,
+   * the reader is then positioned on the value following the last one read.
+   * <p>
+   * The value and the definition level of the i-th value read are stored at index i of the arrays. The value is only
+   * set if the definition level is the maximum definition level of the column, it is undefined otherwise.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read, at most the length of the arrays
+   * @return the number of values read, {@code 0} if all the values have been read
+   * @throws UnsupportedOperationException if the column is repeated or its values are not integers
+   */
+  default int readInts(int[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values of a column that is not repeated in batch, like {@link #readInts(int[], int[], int)}, but
+   * returns the null values in a bitmap instead of the definition levels: the bit i of the bitmap is set if the i-th
+   * value read is null, its value is then undefined.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read, at most the length of the array
+   * @return the number of values read, {@code 0} if all the values have been read
+   * @throws UnsupportedOperationException if the column is repeated or its values are not integers
+   */
+  default int readInts(int[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], int[], int)}.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readLongs(long[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readLongs(long[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], int[], int)}.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readFloats(float[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readFloats(float[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], int[], int)}.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readDoubles(double[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readDoubles(double[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], int[], int)}.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readBooleans(boolean[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readBooleans(boolean[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], int[], int)}.
+   *
+   * @param values the array to store the values in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readBinaries(Binary[] values, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the next values in batch, see {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param values the array to store the values in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read
+   */
+  default int readBinaries(Binary[] values, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @return the dictionary of the column chunk, {@code null} if it has none
+   */
+  default Dictionary getDictionary() {
+    return null;
+  }
+
+  /**
+   * @return whether the values of the current page are dictionary encoded, {@code false} once all the values have
+   *         been read
+   */
+  default boolean isCurrentPageDictionaryEncoded() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the ids in the {@link #getDictionary() dictionary} of the next values of a column that is not repeated in
+   * batch instead of their decoded values, like {@link #readInts(int[], int[], int)}. The values can then be
+   * decoded only when needed, through the dictionary.
+   * <p>
+   * The writers fall back to plain encoded pages when the dictionary grows too large, so the read stops before the
+   * first value of a page that is not dictionary encoded: when it returns fewer values than requested while
+   * {@link #isCurrentPageDictionaryEncoded()} is {@code false}, the next values are to be read decoded, with the
+   * batch read of their type. The ids must be read before any other value of the page of the current value, they
+   * cannot be read once the current value is decoded.
+   *
+   * @param ids the array to store the dictionary ids in
+   * @param definitionLevels the array to store the definition levels in
+   * @param max the maximum number of values to read, at most the length of the arrays
+   * @return the number of values read, {@code 0} if all the values have been read or the current page is not
+   *         dictionary encoded
+   * @throws UnsupportedOperationException if the column is repeated
+   * @throws IllegalStateException if the current value is already decoded
+   */
+  default int readDictionaryIds(int[] ids, int[] definitionLevels, int max) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Reads the dictionary ids of the next values in batch, see {@link #readDictionaryIds(int[], int[], int)} and
+   * {@link #readInts(int[], BitSet, int)}.
+   *
+   * @param ids the array to store the dictionary ids in
+   * @param nulls the bitmap of the null values, cleared for the values read that are not null
+   * @param max the maximum number of values to read
+   * @return the number of values read, {@code 0} if all the values have been read or the current page is not
+   *         dictionary encoded
+   */
+  default int readDictionaryIds(int[] ids, BitSet nulls, int max) {
+    throw new UnsupportedOperationException();
+  }
+
 }
@@ -72,4 +72,15 @@ public interface ColumnWriteStore {
   default boolean isColumnFlushNeeded() {
     return false;
   }
+
+  /**
+   * Returns the number of records that can be written before the sizes of the pages are checked again. The values of
+   * these records can be written one column at a time before calling {@link #endRecord()} for each of them without
+   * changing where the pages are closed.
+   *
+   * @return the number of records that can be written column by column, at least 1
+   */
+  default int getRecordCountUntilSizeCheck() {
+    return 1;
+  }
 }
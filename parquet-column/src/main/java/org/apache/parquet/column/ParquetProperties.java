@@ -108,6 +108,7 @@ public class ParquetProperties {
   private final int pageRowCountLimit;
   private final boolean pageWriteChecksumEnabled;
   private final boolean enableByteStreamSplit;
+  private final ParquetWriteMetrics writeMetrics;
 
   private ParquetProperties(Builder builder) {
     this.pageSizeThreshold = builder.pageSize;
@@ -131,6 +132,7 @@ public class ParquetProperties {
     this.pageRowCountLimit = builder.pageRowCountLimit;
     this.pageWriteChecksumEnabled = builder.pageWriteChecksumEnabled;
     this.enableByteStreamSplit = builder.enableByteStreamSplit;
+    this.writeMetrics = builder.writeMetrics;
   }
 
   public ValuesWriter newRepetitionLevelWriter(ColumnDescriptor path) {
@@ -275,6 +277,13 @@ public class ParquetProperties {
     return maxBloomFilterBytes;
   }
 
+  /**
+   * @return the listener of the work done by the writers, or {@code null} if none is set
+   */
+  public ParquetWriteMetrics getWriteMetrics() {
+    return writeMetrics;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -321,6 +330,7 @@ public class ParquetProperties {
     private int pageRowCountLimit = DEFAULT_PAGE_ROW_COUNT_LIMIT;
     private boolean pageWriteChecksumEnabled = DEFAULT_PAGE_WRITE_CHECKSUM_ENABLED;
     private boolean enableByteStreamSplit = DEFAULT_IS_BYTE_STREAM_SPLIT_ENABLED;
+    private ParquetWriteMetrics writeMetrics = null;
 
     private Builder() {
       enableDict = ColumnProperty.<Boolean>builder().withDefaultValue(DEFAULT_IS_DICTIONARY_ENABLED);
@@ -346,6 +356,7 @@ public class ParquetProperties {
       this.bloomFilterEnabled = ColumnProperty.<Boolean>builder(toCopy.bloomFilterEnabled);
       this.maxBloomFilterBytes = toCopy.maxBloomFilterBytes;
       this.enableByteStreamSplit = toCopy.enableByteStreamSplit;
+      this.writeMetrics = toCopy.writeMetrics;
     }
 
     /**
@@ -530,6 +541,18 @@ public class ParquetProperties {
       return this;
     }
 
+    /**
+     * Reports the encoding and the compression of the pages, the dictionary fallbacks, the Bloom filters and the row
+     * group flushes to the given listener.
+     *
+     * @param writeMetrics the listener, or {@code null} to not report anything
+     * @return this builder for method chaining
+     */
+    public Builder withWriteMetrics(ParquetWriteMetrics writeMetrics) {
+      this.writeMetrics = writeMetrics;
+      return this;
+    }
+
     public ParquetProperties build() {
       ParquetProperties properties = new ParquetProperties(this);
       // we pass a constructed but uninitialized factory to ParquetProperties above as currently
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column;
+
+/**
+ * A listener of the work done by the writers configured with it (see
+ * {@link ParquetProperties.Builder#withWriteMetrics(ParquetWriteMetrics)}), to find out which columns cost the most
+ * to encode and compress and how long the row groups take to be flushed.
+ * <p>
+ * All the methods do nothing by default. They are called on the thread writing the records, so implementations
+ * should be fast; they must be thread-safe if the listener is shared by several writers.
+ */
+public interface ParquetWriteMetrics {
+
+  /**
+   * Called when the values of a data page have been encoded, before the page is compressed. The encoding time is the
+   * time spent producing the encoded levels and values of the page from the values buffered by the column writer
+   * (e.g. flushing the RLE/bit-packed runs or the dictionary ids); buffering the values as they are written is not
+   * timed so the writes of single values are not slowed down.
+   *
+   * @param column the column of the page
+   * @param valueCount the number of values in the page, nulls included
+   * @param encodedSize the size of the encoded page
+   * @param encodeNanos the time spent encoding the page
+   */
+  default void pageEncoded(ColumnDescriptor column, int valueCount, long encodedSize, long encodeNanos) {
+  }
+
+  /**
+   * Called when a data or dictionary page has been compressed.
+   *
+   * @param column the column of the page
+   * @param uncompressedSize the size of the compressed part of the page before compression
+   * @param compressedSize the size of the compressed part of the page after compression
+   * @param compressNanos the time spent compressing the page
+   */
+  default void pageCompressed(ColumnDescriptor column, long uncompressedSize, long compressedSize,
+      long compressNanos) {
+  }
+
+  /**
+   * Called when the dictionary encoding of a column chunk falls back to the fallback encoding, either because the
+   * dictionary grew too large or because it did not compress the first page enough.
+   *
+   * @param column the column of the column chunk
+   */
+  default void dictionaryFallback(ColumnDescriptor column) {
+  }
+
+  /**
+   * Called when the Bloom filter of a column chunk is written.
+   *
+   * @param column the column of the column chunk
+   * @param size the size of the bitset of the Bloom filter
+   */
+  default void bloomFilterWritten(ColumnDescriptor column, int size) {
+  }
+
+  /**
+   * Called when a row group has been flushed to the file.
+   *
+   * @param rowCount the number of rows of the row group
+   * @param size the size of the row group in the file
+   * @param flushNanos the time spent flushing the row group, from the last pages of its columns to the end of the
+   *                   block
+   * @param endBlockNanos the part of the flush spent ending the block in the file
+   */
+  default void rowGroupFlushed(long rowCount, long size, long flushNanos, long endBlockNanos) {
+  }
+}
@@ -24,6 +24,8 @@ import static org.apache.parquet.column.ValuesType.REPETITION_LEVEL;
 import static org.apache.parquet.column.ValuesType.VALUES;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Objects;
 
 import org.apache.parquet.CorruptDeltaByteArrays;
@@ -43,6 +45,8 @@ import org.apache.parquet.column.page.PageReader;
 import org.apache.parquet.column.values.RequiresPreviousReader;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+import org.apache.parquet.events.ParquetEvents;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.PrimitiveConverter;
@@ -161,8 +165,56 @@ abstract class ColumnReaderBase implements ColumnReader {
   // this is needed because we will attempt to read the value twice when filtering
   // TODO: rework that
   private boolean valueRead;
+  // whether all the values have been consumed, there is no current value anymore
+  private boolean endReached;
+  // the definition levels of the batch reads returning the nulls in a bitmap
+  private int[] batchDefinitionLevels = new int[0];
+  // whether the dictionary ids are read, the dictionary encoded values are then bound to their ids
+  private boolean dictionaryIdsRead;
+  private boolean boundToDictionary;
+
+  /**
+   * Reads the values of a page in batch into an array of the type of the values.
+   */
+  private abstract class Batch {
+    final Object array;
+
+    Batch(Object array, PrimitiveTypeName... types) {
+      if (path.getMaxRepetitionLevel() > 0) {
+        throw new UnsupportedOperationException("Cannot read the values of the repeated column " + path + " in batch");
+      }
+      if (!Arrays.asList(types).contains(path.getPrimitiveType().getPrimitiveTypeName())) {
+        throw new UnsupportedOperationException("Cannot read the values of the column " + path + " as "
+            + array.getClass().getComponentType().getSimpleName());
+      }
+      this.array = array;
+    }
+
+    /**
+     * stores the current value, read into the binding, in the array
+     *
+     * @param index the index of the value in the array
+     */
+    abstract void setCurrent(int index);
+
+    /**
+     * reads the next values from the page into the array
+     *
+     * @param index the index in the array of the first value
+     * @param count the number of values to read
+     */
+    abstract void read(int index, int count);
+
+    /**
+     * @return whether the values of the current page can be read into the array
+     */
+    boolean canRead() {
+      return true;
+    }
+  }
 
   private void bindToDictionary(final Dictionary dictionary) {
+    boundToDictionary = true;
     binding =
         new Binding() {
           @Override
@@ -213,6 +265,7 @@ abstract class ColumnReaderBase implements ColumnReader {
   }
 
   private void bind(PrimitiveTypeName type) {
+    boundToDictionary = false;
     binding = type.convert(new PrimitiveTypeNameConverter<Binding, RuntimeException>() {
       @Override
       public Binding convertFLOAT(PrimitiveTypeName primitiveTypeName) throws RuntimeException {
@@ -410,7 +463,7 @@ abstract class ColumnReaderBase implements ColumnReader {
     DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
     if (dictionaryPage != null) {
       try {
-        this.dictionary = dictionaryPage.getEncoding().initDictionary(path, dictionaryPage);
+        this.dictionary = dictionaryPage.decode(path);
         if (converter.hasDictionarySupport()) {
           converter.setDictionary(dictionary);
         }
@@ -589,6 +642,7 @@ abstract class ColumnReaderBase implements ColumnReader {
         if (isFullyConsumed()) {
           LOG.debug("end reached");
           repetitionLevel = 0; // the next repetition level
+          endReached = true;
           return;
         }
         readPage();
@@ -614,6 +668,290 @@ abstract class ColumnReaderBase implements ColumnReader {
    */
   abstract boolean skipRL(int rl);
 
+  /*
+   * Returns if all the values of the pages are read, none is skipped by skipRL, so they can be read in batch.
+   */
+  boolean readsAllValues() {
+    return false;
+  }
+
+  @Override
+  public int readInts(int[] values, int[] definitionLevels, int max) {
+    return readBatch(newIntsBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readInts(int[] values, BitSet nulls, int max) {
+    return readBatch(newIntsBatch(values), nulls, max);
+  }
+
+  private Batch newIntsBatch(int[] values) {
+    return new Batch(values, PrimitiveTypeName.INT32) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getInteger();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readIntegers(values, index, count);
+      }
+    };
+  }
+
+  @Override
+  public int readLongs(long[] values, int[] definitionLevels, int max) {
+    return readBatch(newLongsBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readLongs(long[] values, BitSet nulls, int max) {
+    return readBatch(newLongsBatch(values), nulls, max);
+  }
+
+  private Batch newLongsBatch(long[] values) {
+    return new Batch(values, PrimitiveTypeName.INT64) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getLong();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readLongs(values, index, count);
+      }
+    };
+  }
+
+  @Override
+  public int readFloats(float[] values, int[] definitionLevels, int max) {
+    return readBatch(newFloatsBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readFloats(float[] values, BitSet nulls, int max) {
+    return readBatch(newFloatsBatch(values), nulls, max);
+  }
+
+  private Batch newFloatsBatch(float[] values) {
+    return new Batch(values, PrimitiveTypeName.FLOAT) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getFloat();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readFloats(values, index, count);
+      }
+    };
+  }
+
+  @Override
+  public int readDoubles(double[] values, int[] definitionLevels, int max) {
+    return readBatch(newDoublesBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readDoubles(double[] values, BitSet nulls, int max) {
+    return readBatch(newDoublesBatch(values), nulls, max);
+  }
+
+  private Batch newDoublesBatch(double[] values) {
+    return new Batch(values, PrimitiveTypeName.DOUBLE) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getDouble();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readDoubles(values, index, count);
+      }
+    };
+  }
+
+  @Override
+  public int readBooleans(boolean[] values, int[] definitionLevels, int max) {
+    return readBatch(newBooleansBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readBooleans(boolean[] values, BitSet nulls, int max) {
+    return readBatch(newBooleansBatch(values), nulls, max);
+  }
+
+  private Batch newBooleansBatch(boolean[] values) {
+    return new Batch(values, PrimitiveTypeName.BOOLEAN) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getBoolean();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readBooleans(values, index, count);
+      }
+    };
+  }
+
+  @Override
+  public int readBinaries(Binary[] values, int[] definitionLevels, int max) {
+    return readBatch(newBinariesBatch(values), definitionLevels, max);
+  }
+
+  @Override
+  public int readBinaries(Binary[] values, BitSet nulls, int max) {
+    return readBatch(newBinariesBatch(values), nulls, max);
+  }
+
+  private Batch newBinariesBatch(Binary[] values) {
+    return new Batch(values, PrimitiveTypeName.BINARY, PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY,
+        PrimitiveTypeName.INT96) {
+      @Override
+      void setCurrent(int index) {
+        values[index] = binding.getBinary();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readBinaries(values, index, count);
+      }
+    };
+  }
+
+  private int readBatch(Batch batch, BitSet nulls, int max) {
+    if (batchDefinitionLevels.length < max) {
+      batchDefinitionLevels = new int[max];
+    }
+    int count = readBatch(batch, batchDefinitionLevels, max);
+    if (maxDefinitionLevel == 0) {
+      nulls.clear(0, count);
+    } else {
+      for (int i = 0; i < count; ++i) {
+        nulls.set(i, batchDefinitionLevels[i] != maxDefinitionLevel);
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public Dictionary getDictionary() {
+    return dictionary;
+  }
+
+  @Override
+  public boolean isCurrentPageDictionaryEncoded() {
+    return !endReached && currentEncoding.usesDictionary();
+  }
+
+  @Override
+  public int readDictionaryIds(int[] ids, int[] definitionLevels, int max) {
+    return readBatch(newDictionaryIdsBatch(ids), definitionLevels, max);
+  }
+
+  @Override
+  public int readDictionaryIds(int[] ids, BitSet nulls, int max) {
+    return readBatch(newDictionaryIdsBatch(ids), nulls, max);
+  }
+
+  private Batch newDictionaryIdsBatch(int[] ids) {
+    Batch batch = new Batch(ids, PrimitiveTypeName.values()) {
+      @Override
+      void setCurrent(int index) {
+        ids[index] = binding.getDictionaryId();
+      }
+      @Override
+      void read(int index, int count) {
+        dataColumn.readValueDictionaryIds(ids, index, count);
+      }
+      @Override
+      boolean canRead() {
+        return currentEncoding.usesDictionary();
+      }
+    };
+    // the next dictionary encoded pages are bound to the ids whatever the converter
+    dictionaryIdsRead = true;
+    if (isCurrentPageDictionaryEncoded() && !boundToDictionary) {
+      if (valueRead) {
+        throw new IllegalStateException("Cannot read the dictionary ids of the column " + path
+            + " as its current value is already decoded");
+      }
+      bindToDictionary(dictionary);
+    }
+    return batch;
+  }
+
+  private int readBatch(Batch batch, int[] definitionLevels, int max) {
+    int n = 0;
+    while (n < max && !endReached && batch.canRead()) {
+      // the current value, its levels are already read
+      definitionLevels[n] = definitionLevel;
+      if (definitionLevel == maxDefinitionLevel) {
+        readValue();
+        batch.setCurrent(n);
+      }
+      ++n;
+      if (readsAllValues()) {
+        int count = (int) Math.min(max - n, endOfPageValueCount - readValues);
+        if (count > 0) {
+          readPageBatch(batch, definitionLevels, n, count);
+          n += count;
+        }
+      }
+      consume();
+    }
+    return n;
+  }
+
+  /**
+   * Reads the next values of the current page in batch, the first one following the current value.
+   */
+  private void readPageBatch(Batch batch, int[] definitionLevels, int index, int count) {
+    // the column is not repeated so its repetition levels are all 0 and are not read
+    int defined = count;
+    if (maxDefinitionLevel == 0) {
+      Arrays.fill(definitionLevels, index, index + count, 0);
+    } else {
+      definitionLevelColumn.nextInts(definitionLevels, index, count);
+      defined = 0;
+      for (int i = index, end = index + count; i < end; ++i) {
+        if (definitionLevels[i] == maxDefinitionLevel) {
+          ++defined;
+        }
+      }
+    }
+    try {
+      batch.read(index, defined);
+    } catch (RuntimeException e) {
+      throw new ParquetDecodingException(
+          format("Can't read %d values in column %s at value %d out of %d, %d out of %d in currentPage",
+              defined, path, readValues, totalValueCount, readValues - (endOfPageValueCount - pageValueCount),
+              pageValueCount),
+          e);
+    }
+    if (defined < count) {
+      spread(batch.array, definitionLevels, index, count, defined);
+    }
+    readValues += count;
+  }
+
+  /**
+   * Moves the values read contiguously to the positions of the values that are not null, one run of values that
+   * are not null at a time, starting from the last one.
+   */
+  private void spread(Object values, int[] definitionLevels, int index, int count, int defined) {
+    int from = index + defined;
+    int to = index + count;
+    while (from > index) {
+      while (definitionLevels[to - 1] != maxDefinitionLevel) {
+        --to;
+      }
+      int end = to;
+      while (to > index && definitionLevels[to - 1] == maxDefinitionLevel) {
+        --to;
+      }
+      from -= end - to;
+      if (from != to) {
+        System.arraycopy(values, from, values, to, end - to);
+      }
+    }
+  }
+
   private void readPage() {
     LOG.debug("loading page");
     DataPage page = pageReader.readPage();
@@ -631,6 +969,13 @@ abstract class ColumnReaderBase implements ColumnReader {
     });
   }
 
+  private void pageDecoded(ParquetEvents.Event event, DataPage page) {
+    if (event != null) {
+      event.commit(null, ColumnPath.get(path.getPath()).toDotString(), page.getUncompressedSize(),
+          page.getValueCount());
+    }
+  }
+
   private void initDataReader(Encoding dataEncoding, ByteBufferInputStream in, int valueCount) {
     ValuesReader previousReader = this.dataColumn;
 
@@ -646,9 +991,12 @@ abstract class ColumnReaderBase implements ColumnReader {
       this.dataColumn = dataEncoding.getDictionaryBasedValuesReader(path, VALUES, dictionary);
     } else {
       this.dataColumn = dataEncoding.getValuesReader(path, VALUES);
+      if (converter.hasReusedBinarySupport()) {
+        dataColumn.setReuseBinaries(true);
+      }
     }
 
-    if (dataEncoding.usesDictionary() && converter.hasDictionarySupport()) {
+    if (dataEncoding.usesDictionary() && (converter.hasDictionarySupport() || dictionaryIdsRead)) {
       bindToDictionary(dictionary);
     } else {
       bind(path.getType());
@@ -673,11 +1021,14 @@ abstract class ColumnReaderBase implements ColumnReader {
     this.repetitionLevelColumn = new ValuesReaderIntIterator(rlReader);
     this.definitionLevelColumn = new ValuesReaderIntIterator(dlReader);
     int valueCount = page.getValueCount();
+    ParquetEvents.Event event;
     try {
       BytesInput bytes = page.getBytes();
       LOG.debug("page size {} bytes and {} values", bytes.size(), valueCount);
       LOG.debug("reading repetition levels at 0");
       ByteBufferInputStream in = bytes.toInputStream();
+      // the page is decompressed once its bytes are read, so the decoding starts here
+      event = ParquetEvents.begin(ParquetEvents.Type.PAGE_DECODE);
       rlReader.initFromPage(valueCount, in);
       LOG.debug("reading definition levels at {}", in.position());
       dlReader.initFromPage(valueCount, in);
@@ -687,19 +1038,25 @@ abstract class ColumnReaderBase implements ColumnReader {
       throw new ParquetDecodingException("could not read page " + page + " in col " + path, e);
     }
     newPageInitialized(page);
+    pageDecoded(event, page);
   }
 
   private void readPageV2(DataPageV2 page) {
-    this.repetitionLevelColumn = newRLEIterator(path.getMaxRepetitionLevel(), page.getRepetitionLevels());
-    this.definitionLevelColumn = newRLEIterator(path.getMaxDefinitionLevel(), page.getDefinitionLevels());
     int valueCount = page.getValueCount();
     LOG.debug("page data size {} bytes and {} values", page.getData().size(), valueCount);
+    ParquetEvents.Event event;
     try {
-      initDataReader(page.getDataEncoding(), page.getData().toInputStream(), valueCount);
+      ByteBufferInputStream in = page.getData().toInputStream();
+      // the page is decompressed once its bytes are read, so the decoding starts here
+      event = ParquetEvents.begin(ParquetEvents.Type.PAGE_DECODE);
+      this.repetitionLevelColumn = newRLEIterator(path.getMaxRepetitionLevel(), page.getRepetitionLevels());
+      this.definitionLevelColumn = newRLEIterator(path.getMaxDefinitionLevel(), page.getDefinitionLevels());
+      initDataReader(page.getDataEncoding(), in, valueCount);
     } catch (IOException e) {
       throw new ParquetDecodingException("could not read page " + page + " in col " + path, e);
     }
     newPageInitialized(page);
+    pageDecoded(event, page);
   }
 
   final int getPageValueCount() {
@@ -748,6 +1105,12 @@ abstract class ColumnReaderBase implements ColumnReader {
 
   static abstract class IntIterator {
     abstract int nextInt();
+
+    void nextInts(int[] values, int offset, int length) {
+      for (int i = offset, end = offset + length; i < end; ++i) {
+        values[i] = nextInt();
+      }
+    }
   }
 
   static class ValuesReaderIntIterator extends IntIterator {
@@ -762,6 +1125,11 @@ abstract class ColumnReaderBase implements ColumnReader {
     int nextInt() {
       return delegate.readInteger();
     }
+
+    @Override
+    void nextInts(int[] values, int offset, int length) {
+      delegate.readIntegers(values, offset, length);
+    }
   }
 
   static class RLEIntIterator extends IntIterator {
@@ -779,6 +1147,15 @@ abstract class ColumnReaderBase implements ColumnReader {
         throw new ParquetDecodingException(e);
       }
     }
+
+    @Override
+    void nextInts(int[] values, int offset, int length) {
+      try {
+        delegate.readInts(values, offset, length);
+      } catch (IOException e) {
+        throw new ParquetDecodingException(e);
+      }
+    }
   }
 
   private static final class NullIntIterator extends IntIterator {
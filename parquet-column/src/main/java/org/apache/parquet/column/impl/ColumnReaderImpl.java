@@ -52,6 +52,11 @@ public class ColumnReaderImpl extends ColumnReaderBase {
     return false;
   }
 
+  @Override
+  boolean readsAllValues() {
+    return true;
+  }
+
   @Override
   void newPageInitialized(DataPage page) {
   }
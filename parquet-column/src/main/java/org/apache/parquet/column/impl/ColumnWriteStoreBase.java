@@ -270,4 +270,9 @@ abstract class ColumnWriteStoreBase implements ColumnWriteStore {
   public boolean isColumnFlushNeeded() {
     return rowCount + 1 >= rowCountForNextSizeCheck;
   }
+
+  @Override
+  public int getRecordCountUntilSizeCheck() {
+    return (int) max(1, min(Integer.MAX_VALUE, rowCountForNextSizeCheck - rowCount));
+  }
 }
@@ -25,6 +25,7 @@ import java.util.OptionalLong;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetWriteMetrics;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriter;
 import org.apache.parquet.column.statistics.Statistics;
@@ -32,6 +33,7 @@ import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.column.values.bloomfilter.BloomFilterWriter;
+import org.apache.parquet.column.values.fallback.FallbackValuesWriter;
 import org.apache.parquet.io.ParquetEncodingException;
 import org.apache.parquet.io.api.Binary;
 import org.slf4j.Logger;
@@ -62,6 +64,10 @@ abstract class ColumnWriterBase implements ColumnWriter {
   private final BloomFilterWriter bloomFilterWriter;
   private final BloomFilter bloomFilter;
 
+  // the listener of the writes, see ParquetProperties#getWriteMetrics
+  final ParquetWriteMetrics metrics;
+  private boolean fallbackReported = false;
+
   ColumnWriterBase(
       ColumnDescriptor path,
       PageWriter pageWriter,
@@ -82,6 +88,7 @@ abstract class ColumnWriterBase implements ColumnWriter {
     this.repetitionLevelColumn = createRLWriter(props, path);
     this.definitionLevelColumn = createDLWriter(props, path);
     this.dataColumn = props.newValuesWriter(path);
+    this.metrics = props.getWriteMetrics();
 
     this.bloomFilterWriter = bloomFilterWriter;
     if (bloomFilterWriter == null) {
@@ -316,9 +323,13 @@ abstract class ColumnWriterBase implements ColumnWriter {
       }
       dataColumn.resetDictionary();
     }
+    fallbackReported = false;
 
     if (bloomFilterWriter != null && bloomFilter != null) {
       bloomFilterWriter.writeBloomFilter(bloomFilter);
+      if (metrics != null) {
+        metrics.bloomFilterWritten(path, bloomFilter.getBitsetSize());
+      }
     }
   }
 
@@ -390,6 +401,12 @@ abstract class ColumnWriterBase implements ColumnWriter {
     } catch (IOException e) {
       throw new ParquetEncodingException("could not write page for " + path, e);
     }
+    if (metrics != null && !fallbackReported && dataColumn instanceof FallbackValuesWriter
+        && ((FallbackValuesWriter<?, ?>) dataColumn).hasFallenBack()) {
+      // the fallback happens while the values are written or when the first page is encoded
+      metrics.dictionaryFallback(path);
+      fallbackReported = true;
+    }
     repetitionLevelColumn.reset();
     definitionLevelColumn.reset();
     dataColumn.reset();
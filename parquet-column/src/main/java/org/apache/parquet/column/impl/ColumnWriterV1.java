@@ -22,6 +22,7 @@ import static org.apache.parquet.bytes.BytesInput.concat;
 
 import java.io.IOException;
 
+import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.page.PageWriter;
@@ -56,8 +57,13 @@ final class ColumnWriterV1 extends ColumnWriterBase {
   @Override
   void writePage(int rowCount, int valueCount, Statistics<?> statistics, ValuesWriter repetitionLevels,
       ValuesWriter definitionLevels, ValuesWriter values) throws IOException {
+    long start = metrics == null ? 0 : System.nanoTime();
+    BytesInput bytes = concat(repetitionLevels.getBytes(), definitionLevels.getBytes(), values.getBytes());
+    if (metrics != null) {
+      metrics.pageEncoded(path, valueCount, bytes.size(), System.nanoTime() - start);
+    }
     pageWriter.writePage(
-        concat(repetitionLevels.getBytes(), definitionLevels.getBytes(), values.getBytes()),
+        bytes,
         valueCount,
         rowCount,
         statistics,
@@ -79,14 +79,21 @@ final class ColumnWriterV2 extends ColumnWriterBase {
   void writePage(int rowCount, int valueCount, Statistics<?> statistics, ValuesWriter repetitionLevels,
       ValuesWriter definitionLevels, ValuesWriter values) throws IOException {
     // TODO: rework this API. The bytes shall be retrieved before the encoding (encoding might be different otherwise)
+    long start = metrics == null ? 0 : System.nanoTime();
     BytesInput bytes = values.getBytes();
     Encoding encoding = values.getEncoding();
+    BytesInput repetitionLevelBytes = repetitionLevels.getBytes();
+    BytesInput definitionLevelBytes = definitionLevels.getBytes();
+    if (metrics != null) {
+      metrics.pageEncoded(path, valueCount,
+          repetitionLevelBytes.size() + definitionLevelBytes.size() + bytes.size(), System.nanoTime() - start);
+    }
     pageWriter.writePageV2(
         rowCount,
         Math.toIntExact(statistics.getNumNulls()),
         valueCount,
-        repetitionLevels.getBytes(),
-        definitionLevels.getBytes(),
+        repetitionLevelBytes,
+        definitionLevelBytes,
         encoding,
         bytes,
         statistics);
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.Objects;
 
 import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
 import org.apache.parquet.column.Encoding;
 
 /**
@@ -32,6 +34,8 @@ public class DictionaryPage extends Page {
   private final BytesInput bytes;
   private final int dictionarySize;
   private final Encoding encoding;
+  // the dictionary decoded from this page, see decode
+  private volatile Dictionary dictionary;
 
   /**
    * creates an uncompressed page
@@ -69,6 +73,28 @@ public class DictionaryPage extends Page {
     return encoding;
   }
 
+  /**
+   * Decodes the dictionary of this uncompressed page. The dictionary is decoded once and shared by the callers, e.g.
+   * the dictionary filter and the column reader of a row group read with the page the filter has read.
+   *
+   * @param descriptor the column of this page
+   * @return the dictionary
+   * @throws IOException if the dictionary cannot be decoded
+   */
+  public Dictionary decode(ColumnDescriptor descriptor) throws IOException {
+    Dictionary decoded = dictionary;
+    if (decoded == null) {
+      synchronized (this) {
+        decoded = dictionary;
+        if (decoded == null) {
+          decoded = encoding.initDictionary(descriptor, this);
+          dictionary = decoded;
+        }
+      }
+    }
+    return decoded;
+  }
+
   public DictionaryPage copy() throws IOException {
     return new DictionaryPage(BytesInput.copy(bytes), getUncompressedSize(), dictionarySize, encoding);
   }
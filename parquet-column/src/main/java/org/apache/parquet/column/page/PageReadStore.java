@@ -27,7 +27,7 @@ import org.apache.parquet.column.ColumnDescriptor;
  *
  * TODO: rename to RowGroup?
  */
-public interface PageReadStore {
+public interface PageReadStore extends AutoCloseable {
 
   /**
    *
@@ -61,4 +61,13 @@ public interface PageReadStore {
   default Optional<PrimitiveIterator.OfLong> getRowIndexes() {
     return Optional.empty();
   }
+
+  /**
+   * Releases the resources (e.g. the buffers holding the pages) of this row group. The pages, and the values read from
+   * them, shall not be used afterwards.
+   */
+  @Override
+  default void close() {
+    // no-op by default
+  }
 }
@@ -185,6 +185,138 @@ public abstract class ValuesReader {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Reads the next dictionary ids from the page, like calling {@link #readValueDictionaryId()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readValueDictionaryIds(int[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readValueDictionaryId();
+    }
+  }
+
+  /**
+   * Reads the next booleans from the page, like calling {@link #readBoolean()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readBooleans(boolean[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readBoolean();
+    }
+  }
+
+  /**
+   * Reads the next Binaries from the page, like calling {@link #readBytes()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readBinaries(Binary[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readBytes();
+    }
+  }
+
+  /**
+   * Reads the next Binaries from the page as slices of a buffer shared by the values: the i-th value read is the
+   * {@code lengths[offset + i]} bytes at index {@code offsets[offset + i]} of the buffer returned, whatever its
+   * position. The readers of the byte arrays return their own buffer of the page, without copying the values, so
+   * the bytes of the buffer must not be modified.
+   *
+   * @param offsets the array to store the indexes of the values in the buffer in
+   * @param lengths the array to store the lengths of the values in
+   * @param offset the index in the arrays of the first value
+   * @param length the number of values to read
+   * @return the buffer of the values, valid until the next page is read
+   */
+  public ByteBuffer readBinarySlices(int[] offsets, int[] lengths, int offset, int length) {
+    Binary[] values = new Binary[length];
+    readBinaries(values, 0, length);
+    int size = 0;
+    for (Binary value : values) {
+      size += value.length();
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < length; ++i) {
+      offsets[offset + i] = buffer.position();
+      lengths[offset + i] = values[i].length();
+      buffer.put(values[i].toByteBuffer());
+    }
+    return buffer;
+  }
+
+  /**
+   * Makes {@link #readBytes()} return the same {@link Binary#isBackingBytesReused() reused} binary for all the
+   * values instead of a binary per value, for the readers of the byte arrays. The binary views the bytes of the page
+   * so its {@link Binary#toByteBuffer() buffer} stays valid until the next page, but the binary itself changes with
+   * the next value. The batch reads still return a binary per value. The other readers ignore it.
+   * <p>
+   * It must be set before {@link #initFromPage(int, ByteBufferInputStream)}.
+   *
+   * @param reuse whether the binaries are reused
+   */
+  public void setReuseBinaries(boolean reuse) {
+  }
+
+  /**
+   * Reads the next floats from the page, like calling {@link #readFloat()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readFloats(float[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readFloat();
+    }
+  }
+
+  /**
+   * Reads the next doubles from the page, like calling {@link #readDouble()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readDoubles(double[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readDouble();
+    }
+  }
+
+  /**
+   * Reads the next integers from the page, like calling {@link #readInteger()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readIntegers(int[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readInteger();
+    }
+  }
+
+  /**
+   * Reads the next longs from the page, like calling {@link #readLong()} for each of them.
+   *
+   * @param values the array to store the values in
+   * @param offset the index in the array of the first value
+   * @param length the number of values to read
+   */
+  public void readLongs(long[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = readLong();
+    }
+  }
+
   /**
    * Skips the next value in the page
    */
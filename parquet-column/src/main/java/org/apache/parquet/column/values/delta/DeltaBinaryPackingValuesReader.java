@@ -1,4 +1,4 @@
-/* 
+/*
  * Licensed to the Apache Software Foundation (ASF) under one
  * or more contributor license agreements.  See the NOTICE file
  * distributed with this work for additional information
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -28,9 +28,14 @@ import org.apache.parquet.column.values.bitpacking.Packer;
 import org.apache.parquet.io.ParquetDecodingException;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * Read values written by {@link DeltaBinaryPackingValuesWriter}
+ * <p>
+ * The headers of the blocks are read when the page is initialized but the values are decoded lazily, a mini block at
+ * a time. Skipping whole mini blocks only adds up their deltas to the running value, without unpacking the mini
+ * blocks of bit width 0.
  */
 public class DeltaBinaryPackingValuesReader extends ValuesReader {
   private int totalValueCount;
@@ -38,56 +43,110 @@ public class DeltaBinaryPackingValuesReader extends ValuesReader {
    * values read by the caller
    */
   private int valuesRead;
-  private long minDeltaInCurrentBlock;
+  private DeltaBinaryPackingConfig config;
+  private long firstValue;
 
   /**
-   * stores the decoded values including the first value which is written to the header
+   * min delta of each block
    */
-  private long[] valuesBuffer;
+  private long[] minDeltas;
   /**
-   * values loaded to the buffer, it could be bigger than the totalValueCount
-   * when data is not aligned to mini block, which means padding 0s are in the buffer
+   * the bytes of each block, without its header
+   */
+  private ByteBuffer[] blockBuffers;
+  /**
+   * bit width of each mini block containing values
    */
-  private int valuesBuffered;
-  private ByteBufferInputStream in;
-  private DeltaBinaryPackingConfig config;
   private int[] bitWidths;
+  /**
+   * position of each mini block in the buffer of its block
+   */
+  private int[] miniBlockPositions;
+  private int miniBlockCount;
+
+  /**
+   * the next mini block to decode or skip
+   */
+  private int nextMiniBlock;
+  /**
+   * the last value of the mini block preceding nextMiniBlock, or the first value
+   */
+  private long previousValue;
+  /**
+   * the values of the mini block preceding nextMiniBlock when it was decoded, it could contain values past the
+   * totalValueCount in the last mini block, since data is flushed on a mini block basis
+   */
+  private long[] miniBlockValues;
+  /**
+   * the position of the next value to read in miniBlockValues, miniBlockSizeInValues when the next mini block has to
+   * be decoded first
+   */
+  private int miniBlockPos;
 
   /**
-   * eagerly loads all the data into memory
+   * reads the headers of the blocks and consumes the data of the page, the values are decoded when they are read
    */
   @Override
-  public void initFromPage(int valueCount, ByteBufferInputStream stream) throws IOException {
-    this.in = stream;
+  public void initFromPage(int valueCount, ByteBufferInputStream in) throws IOException {
     long startPos = in.position();
     this.config = DeltaBinaryPackingConfig.readConfig(in);
     this.totalValueCount = BytesUtils.readUnsignedVarInt(in);
-    allocateValuesBuffer();
-    bitWidths = new int[config.miniBlockNumInABlock];
-
     //read first value from header
-    valuesBuffer[valuesBuffered++] = BytesUtils.readZigZagVarLong(in);
+    this.firstValue = BytesUtils.readZigZagVarLong(in);
 
-    while (valuesBuffered < totalValueCount) { //values Buffered could be more than totalValueCount, since we flush on a mini block basis
-      loadNewBlockToBuffer();
+    // the first value is not part of the mini blocks
+    miniBlockCount = totalValueCount <= 1 ? 0 : (totalValueCount - 2) / config.miniBlockSizeInValues + 1;
+    int blockCount = (miniBlockCount + config.miniBlockNumInABlock - 1) / config.miniBlockNumInABlock;
+    allocateBuffers(blockCount);
+    for (int block = 0, miniBlock = 0; block < blockCount; block++) {
+      minDeltas[block] = BytesUtils.readZigZagVarLong(in);
+      // the bit widths of all the mini blocks are written but only the mini blocks containing values are
+      int firstMiniBlock = miniBlock;
+      int blockLength = 0;
+      for (int i = 0; i < config.miniBlockNumInABlock; i++) {
+        int bitWidth = BytesUtils.readIntLittleEndianOnOneByte(in);
+        if (miniBlock < miniBlockCount) {
+          bitWidths[miniBlock] = bitWidth;
+          miniBlockPositions[miniBlock++] = blockLength;
+          blockLength += bitWidth * config.miniBlockSizeInValues / 8;
+        }
+      }
+      ByteBuffer buffer = in.slice(blockLength);
+      blockBuffers[block] = buffer;
+      for (int i = firstMiniBlock; i < miniBlock; i++) {
+        miniBlockPositions[i] += buffer.position();
+      }
     }
+    valuesRead = 0;
+    nextMiniBlock = 0;
+    previousValue = firstValue;
+    miniBlockPos = config.miniBlockSizeInValues;
     updateNextOffset((int) (in.position() - startPos));
   }
 
   /**
-   * the value buffer is allocated so that the size of it is multiple of mini block
-   * because when writing, data is flushed on a mini block basis
+   * the buffers are reused by the next pages when they are large enough
    */
-  private void allocateValuesBuffer() {
-    int totalMiniBlockCount = (int) Math.ceil((double) totalValueCount / config.miniBlockSizeInValues);
-    //+ 1 because first value written to header is also stored in values buffer
-    valuesBuffer = new long[totalMiniBlockCount * config.miniBlockSizeInValues + 1];
+  private void allocateBuffers(int blockCount) {
+    if (minDeltas == null || minDeltas.length < blockCount) {
+      minDeltas = new long[blockCount];
+      blockBuffers = new ByteBuffer[blockCount];
+    } else {
+      // do not retain the buffers of the previous page
+      Arrays.fill(blockBuffers, null);
+    }
+    if (bitWidths == null || bitWidths.length < miniBlockCount) {
+      bitWidths = new int[miniBlockCount];
+      miniBlockPositions = new int[miniBlockCount];
+    }
+    if (miniBlockValues == null || miniBlockValues.length != config.miniBlockSizeInValues) {
+      miniBlockValues = new long[config.miniBlockSizeInValues];
+    }
   }
 
   @Override
   public void skip() {
-    checkRead();
-    valuesRead++;
+    skip(1);
   }
 
   @Override
@@ -96,76 +155,159 @@ public class DeltaBinaryPackingValuesReader extends ValuesReader {
     valuesRead += n - 1;
     checkRead();
     ++valuesRead;
+
+    int deltasRead = Math.max(valuesRead - 1, 0);
+    if (deltasRead <= nextMiniBlock * config.miniBlockSizeInValues) {
+      // the next value is in the mini block already decoded, or the first of the next one
+      miniBlockPos = deltasRead - (nextMiniBlock - 1) * config.miniBlockSizeInValues;
+      return;
+    }
+    // the mini blocks of the values skipped are only decoded if the next value to read is in the middle of one
+    while ((nextMiniBlock + 1) * config.miniBlockSizeInValues <= deltasRead) {
+      skipMiniBlock();
+    }
+    miniBlockPos = deltasRead - nextMiniBlock * config.miniBlockSizeInValues;
+    if (miniBlockPos > 0) {
+      decodeMiniBlock(miniBlockValues, 0);
+    } else {
+      miniBlockPos = config.miniBlockSizeInValues;
+    }
   }
 
   @Override
   public int readInteger() {
-    // TODO: probably implement it separately
     return (int) readLong();
   }
 
   @Override
   public long readLong() {
     checkRead();
-    return valuesBuffer[valuesRead++];
+    if (valuesRead == 0) {
+      valuesRead++;
+      return firstValue;
+    }
+    valuesRead++;
+    if (miniBlockPos == config.miniBlockSizeInValues) {
+      decodeMiniBlock(miniBlockValues, 0);
+      miniBlockPos = 0;
+    }
+    return miniBlockValues[miniBlockPos++];
   }
 
-  private void checkRead() {
-    if (valuesRead >= totalValueCount) {
-      throw new ParquetDecodingException("no more value to read, total value count is " + totalValueCount);
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    checkRead(length);
+    int end = offset + length;
+    if (offset < end && valuesRead == 0) {
+      values[offset++] = (int) firstValue;
+      valuesRead++;
+    }
+    while (offset < end) {
+      if (miniBlockPos == config.miniBlockSizeInValues) {
+        decodeMiniBlock(miniBlockValues, 0);
+        miniBlockPos = 0;
+      }
+      int n = Math.min(end - offset, config.miniBlockSizeInValues - miniBlockPos);
+      for (int i = 0; i < n; i++) {
+        values[offset + i] = (int) miniBlockValues[miniBlockPos + i];
+      }
+      offset += n;
+      valuesRead += n;
+      miniBlockPos += n;
     }
   }
 
-  private void loadNewBlockToBuffer() throws IOException {
-    try {
-      minDeltaInCurrentBlock = BytesUtils.readZigZagVarLong(in);
-    } catch (IOException e) {
-      throw new ParquetDecodingException("can not read min delta in current block", e);
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    checkRead(length);
+    int end = offset + length;
+    if (offset < end && valuesRead == 0) {
+      values[offset++] = firstValue;
+      valuesRead++;
     }
+    while (offset < end) {
+      int n;
+      if (miniBlockPos == config.miniBlockSizeInValues && end - offset >= config.miniBlockSizeInValues) {
+        // the whole mini block is read so it is decoded directly into the values
+        decodeMiniBlock(values, offset);
+        n = config.miniBlockSizeInValues;
+      } else {
+        if (miniBlockPos == config.miniBlockSizeInValues) {
+          decodeMiniBlock(miniBlockValues, 0);
+          miniBlockPos = 0;
+        }
+        n = Math.min(end - offset, config.miniBlockSizeInValues - miniBlockPos);
+        System.arraycopy(miniBlockValues, miniBlockPos, values, offset, n);
+        miniBlockPos += n;
+      }
+      offset += n;
+      valuesRead += n;
+    }
+  }
 
-    readBitWidthsForMiniBlocks();
-
-    // mini block is atomic for reading, we read a mini block when there are more values left
-    int i;
-    for (i = 0; i < config.miniBlockNumInABlock && valuesBuffered < totalValueCount; i++) {
-      BytePackerForLong packer = Packer.LITTLE_ENDIAN.newBytePackerForLong(bitWidths[i]);
-      unpackMiniBlock(packer);
+  private void checkRead() {
+    if (valuesRead >= totalValueCount) {
+      throw new ParquetDecodingException("no more value to read, total value count is " + totalValueCount);
     }
+  }
 
-    //calculate values from deltas unpacked for current block
-    int valueUnpacked=i*config.miniBlockSizeInValues;
-    for (int j = valuesBuffered-valueUnpacked; j < valuesBuffered; j++) {
-      int index = j;
-      valuesBuffer[index] += minDeltaInCurrentBlock + valuesBuffer[index - 1];
+  private void checkRead(int length) {
+    if (length > totalValueCount - valuesRead) {
+      throw new ParquetDecodingException("no more value to read, total value count is " + totalValueCount);
     }
   }
 
   /**
-   * mini block has a size of 8*n, unpack 8 value each time
+   * decodes the next mini block into the values and updates the running value
    *
-   * @param packer the packer created from bitwidth of current mini block
+   * @param values the array to store the values of the mini block in
+   * @param offset the index in the array of the first value
    */
-  private void unpackMiniBlock(BytePackerForLong packer) throws IOException {
-    for (int j = 0; j < config.miniBlockSizeInValues; j += 8) {
-      unpack8Values(packer);
+  private void decodeMiniBlock(long[] values, int offset) {
+    long minDelta = minDeltas[nextMiniBlock / config.miniBlockNumInABlock];
+    unpackMiniBlock(values, offset);
+    long value = previousValue;
+    for (int i = offset, end = offset + config.miniBlockSizeInValues; i < end; i++) {
+      value += values[i] + minDelta;
+      values[i] = value;
     }
+    previousValue = value;
+    nextMiniBlock++;
   }
 
-  private void unpack8Values(BytePackerForLong packer) throws IOException {
-    // get a single buffer of 8 values. most of the time, this won't require a copy
-    // TODO: update the packer to consume from an InputStream
-    ByteBuffer buffer = in.slice(packer.getBitWidth());
-    packer.unpack8Values(buffer, buffer.position(), valuesBuffer, valuesBuffered);
-    this.valuesBuffered += 8;
+  /**
+   * adds up the deltas of the next mini block to the running value, without unpacking it if its bit width is 0
+   */
+  private void skipMiniBlock() {
+    long minDelta = minDeltas[nextMiniBlock / config.miniBlockNumInABlock];
+    long sum = minDelta * config.miniBlockSizeInValues;
+    if (bitWidths[nextMiniBlock] != 0) {
+      unpackMiniBlock(miniBlockValues, 0);
+      for (long delta : miniBlockValues) {
+        sum += delta;
+      }
+    }
+    previousValue += sum;
+    nextMiniBlock++;
   }
 
-  private void readBitWidthsForMiniBlocks() {
-    for (int i = 0; i < config.miniBlockNumInABlock; i++) {
-      try {
-        bitWidths[i] = BytesUtils.readIntLittleEndianOnOneByte(in);
-      } catch (IOException e) {
-        throw new ParquetDecodingException("Can not decode bitwidth in block header", e);
-      }
+  /**
+   * mini block has a size of 8*n, unpack 8 value each time
+   */
+  private void unpackMiniBlock(long[] values, int offset) {
+    if (nextMiniBlock >= miniBlockCount) {
+      throw new ParquetDecodingException("no more mini block to read, mini block count is " + miniBlockCount);
+    }
+    int bitWidth = bitWidths[nextMiniBlock];
+    if (bitWidth == 0) {
+      Arrays.fill(values, offset, offset + config.miniBlockSizeInValues, 0);
+      return;
+    }
+    BytePackerForLong packer = Packer.LITTLE_ENDIAN.newBytePackerForLong(bitWidth);
+    ByteBuffer buffer = blockBuffers[nextMiniBlock / config.miniBlockNumInABlock];
+    int pos = miniBlockPositions[nextMiniBlock];
+    for (int i = offset, end = offset + config.miniBlockSizeInValues; i < end; i += 8, pos += bitWidth) {
+      packer.unpack8Values(buffer, pos, values, i);
     }
   }
 }
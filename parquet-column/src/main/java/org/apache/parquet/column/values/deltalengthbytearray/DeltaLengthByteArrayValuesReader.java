@@ -20,6 +20,8 @@ package org.apache.parquet.column.values.deltalengthbytearray;
 
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesReader;
@@ -35,29 +37,67 @@ public class DeltaLengthByteArrayValuesReader extends ValuesReader {
 
   private static final Logger LOG = LoggerFactory.getLogger(DeltaLengthByteArrayValuesReader.class);
   private ValuesReader lengthReader;
-  private ByteBufferInputStream in;
+  // the values are read from the bytes of the page without slicing them
+  private ByteBuffer buffer;
+  private int position;
+  private Binary.ReusedByteBufferBinary reused;
 
   public DeltaLengthByteArrayValuesReader() {
     this.lengthReader = new DeltaBinaryPackingValuesReader();
   }
 
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusedByteBufferBinary() : null;
+  }
+
   @Override
   public void initFromPage(int valueCount, ByteBufferInputStream stream)
       throws IOException {
     LOG.debug("init from page at offset {} for length {}",
         stream.position(), stream.available());
     lengthReader.initFromPage(valueCount, stream);
-    this.in = stream.remainingStream();
+    this.buffer = stream.slice(stream.available());
+    this.position = buffer.position();
+  }
+
+  /**
+   * @param length the length of the next value
+   * @return the index in the buffer of the next value
+   */
+  private int next(int length) {
+    if (length < 0 || length > buffer.limit() - position) {
+      throw new ParquetDecodingException("Failed to read " + length + " bytes");
+    }
+    int offset = position;
+    position += length;
+    return offset;
   }
 
   @Override
   public Binary readBytes() {
     int length = lengthReader.readInteger();
-    try {
-      return Binary.fromConstantByteBuffer(in.slice(length));
-    } catch (IOException e) {
-      throw new ParquetDecodingException("Failed to read " + length + " bytes");
+    int offset = next(length);
+    return reused != null
+        ? reused.set(buffer, offset, length)
+        : Binary.fromConstantByteBuffer(buffer, offset, length);
+  }
+
+  @Override
+  public void readBinaries(Binary[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      int valueLength = lengthReader.readInteger();
+      values[i] = Binary.fromConstantByteBuffer(buffer, next(valueLength), valueLength);
+    }
+  }
+
+  @Override
+  public ByteBuffer readBinarySlices(int[] offsets, int[] lengths, int offset, int length) {
+    lengthReader.readIntegers(lengths, offset, length);
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      offsets[i] = next(lengths[i]);
     }
+    return buffer;
   }
 
   @Override
@@ -71,10 +111,9 @@ public class DeltaLengthByteArrayValuesReader extends ValuesReader {
     for (int i = 0; i < n; ++i) {
       length += lengthReader.readInteger();
     }
-    try {
-      in.skipFully(length);
-    } catch (IOException e) {
+    if (length < 0 || length > buffer.limit() - position) {
       throw new ParquetDecodingException("Failed to skip " + length + " bytes");
     }
+    position += length;
   }
 }
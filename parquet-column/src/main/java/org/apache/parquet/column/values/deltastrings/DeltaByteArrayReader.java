@@ -19,11 +19,15 @@
 package org.apache.parquet.column.values.deltastrings;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.column.values.RequiresPreviousReader;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.column.values.delta.DeltaBinaryPackingValuesReader;
 import org.apache.parquet.column.values.deltalengthbytearray.DeltaLengthByteArrayValuesReader;
+import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
 
 /**
@@ -33,12 +37,24 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
   private ValuesReader prefixLengthReader;
   private ValuesReader suffixReader;
 
-  private Binary previous;
+  // the values of the page are materialized one after the other in the same array, the binaries view them
+  private byte[] values = new byte[0];
+  private ByteBuffer valuesBuffer = ByteBuffer.wrap(values);
+  private int valuesLength;
+  private int previousOffset;
+  private int previousLength;
+  private Binary.ReusedByteBufferBinary reused;
+  private final int[] suffixOffset = new int[1];
+  private final int[] suffixLength = new int[1];
 
   public DeltaByteArrayReader() {
     this.prefixLengthReader = new DeltaBinaryPackingValuesReader();
     this.suffixReader = new DeltaLengthByteArrayValuesReader();
-    this.previous = Binary.fromConstantByteArray(new byte[0]);
+  }
+
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusedByteBufferBinary() : null;
   }
 
   @Override
@@ -46,37 +62,89 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
       throws IOException {
     prefixLengthReader.initFromPage(valueCount, stream);
     suffixReader.initFromPage(valueCount, stream);
+    // the binaries of the previous page still view its values so they are not overwritten
+    setPrevious(values, previousOffset, previousLength);
+  }
+
+  private void setPrevious(byte[] previous, int offset, int length) {
+    byte[] newValues = new byte[Math.max(values.length, length)];
+    System.arraycopy(previous, offset, newValues, 0, length);
+    values = newValues;
+    valuesBuffer = ByteBuffer.wrap(newValues);
+    valuesLength = length;
+    previousOffset = 0;
+    previousLength = length;
   }
 
   @Override
   public void skip() {
     // read the next value to skip so that previous is correct.
-    readBytes();
+    readNext();
   }
 
   @Override
   public Binary readBytes() {
+    int offset = readNext();
+    return reused != null
+        ? reused.set(valuesBuffer, offset, previousLength)
+        : Binary.fromConstantByteArray(values, offset, previousLength);
+  }
+
+  @Override
+  public void readBinaries(Binary[] binaries, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      // the array of the values may grow while reading the next one
+      int valueOffset = readNext();
+      binaries[i] = Binary.fromConstantByteArray(values, valueOffset, previousLength);
+    }
+  }
+
+  @Override
+  public ByteBuffer readBinarySlices(int[] offsets, int[] lengths, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      offsets[i] = readNext();
+      lengths[i] = previousLength;
+    }
+    return valuesBuffer;
+  }
+
+  /**
+   * Materializes the next value after the previous one, without allocating it.
+   *
+   * @return the index of the value in the array of the values
+   */
+  private int readNext() {
     int prefixLength = prefixLengthReader.readInteger();
     // This does not copy bytes
-    Binary suffix = suffixReader.readBytes();
-    int length = prefixLength + suffix.length();
+    ByteBuffer suffixes = suffixReader.readBinarySlices(suffixOffset, suffixLength, 0, 1);
+    int length = prefixLength + suffixLength[0];
 
     // NOTE: due to PARQUET-246, it is important that we
     // respect prefixLength which was read from prefixLengthReader,
     // even for the *first* value of a page. Even though the first
     // value of the page should have an empty prefix, it may not
     // because of PARQUET-246.
-
-    // We have to do this to materialize the output
-    if(prefixLength != 0) {
-      byte[] out = new byte[length];
-      System.arraycopy(previous.getBytesUnsafe(), 0, out, 0, prefixLength);
-      System.arraycopy(suffix.getBytesUnsafe(), 0, out, prefixLength, suffix.length());
-      previous =  Binary.fromConstantByteArray(out);
+    if (prefixLength > previousLength) {
+      throw new ParquetDecodingException(
+          "The prefix of " + prefixLength + " bytes is longer than the previous value of " + previousLength + " bytes");
+    }
+    if (values.length - valuesLength < length) {
+      values = Arrays.copyOf(values, Math.max(valuesLength + length, values.length * 2));
+      valuesBuffer = ByteBuffer.wrap(values);
+    }
+    int offset = valuesLength;
+    System.arraycopy(values, previousOffset, values, offset, prefixLength);
+    if (suffixes.hasArray()) {
+      System.arraycopy(suffixes.array(), suffixes.arrayOffset() + suffixOffset[0], values, offset + prefixLength,
+          suffixLength[0]);
     } else {
-      previous = suffix;
+      suffixes.position(suffixOffset[0]);
+      suffixes.get(values, offset + prefixLength, suffixLength[0]);
     }
-    return previous;
+    valuesLength += length;
+    previousOffset = offset;
+    previousLength = length;
+    return offset;
   }
 
   /**
@@ -90,7 +158,8 @@ public class DeltaByteArrayReader extends ValuesReader implements RequiresPrevio
   @Override
   public void setPreviousReader(ValuesReader reader) {
     if (reader != null) {
-      this.previous = ((DeltaByteArrayReader) reader).previous;
+      DeltaByteArrayReader previousReader = (DeltaByteArrayReader) reader;
+      setPrevious(previousReader.values, previousReader.previousOffset, previousReader.previousLength);
     }
   }
 }
@@ -42,6 +42,9 @@ public class DictionaryValuesReader extends ValuesReader {
 
   private RunLengthBitPackingHybridDecoder decoder;
 
+  // the ids read by the batch reads of the values that are not integers
+  private int[] ids = new int[0];
+
   public DictionaryValuesReader(Dictionary dictionary) {
     this.dictionary = dictionary;
   }
@@ -62,6 +65,11 @@ public class DictionaryValuesReader extends ValuesReader {
         public int readInt() throws IOException {
           throw new IOException("Attempt to read from empty page");
         }
+
+        @Override
+        public void readInts(int[] values, int offset, int length) throws IOException {
+          throw new IOException("Attempt to read from empty page");
+        }
       };
     }
   }
@@ -120,6 +128,64 @@ public class DictionaryValuesReader extends ValuesReader {
     }
   }
 
+  @Override
+  public void readValueDictionaryIds(int[] values, int offset, int length) {
+    try {
+      decoder.readInts(values, offset, length);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
+
+  @Override
+  public void readBinaries(Binary[] values, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; ++i) {
+      values[offset + i] = dictionary.decodeToBinary(ids[i]);
+    }
+  }
+
+  @Override
+  public void readFloats(float[] values, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; ++i) {
+      values[offset + i] = dictionary.decodeToFloat(ids[i]);
+    }
+  }
+
+  @Override
+  public void readDoubles(double[] values, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; ++i) {
+      values[offset + i] = dictionary.decodeToDouble(ids[i]);
+    }
+  }
+
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    // the ids are decoded in place
+    readValueDictionaryIds(values, offset, length);
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      values[i] = dictionary.decodeToInt(values[i]);
+    }
+  }
+
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    int[] ids = readIds(length);
+    for (int i = 0; i < length; ++i) {
+      values[offset + i] = dictionary.decodeToLong(ids[i]);
+    }
+  }
+
+  private int[] readIds(int length) {
+    if (ids.length < length) {
+      ids = new int[length];
+    }
+    readValueDictionaryIds(ids, 0, length);
+    return ids;
+  }
+
   @Override
   public void skip() {
     try {
@@ -144,6 +144,13 @@ public class FallbackValuesWriter<I extends ValuesWriter & RequiresFallback, F e
         );
   }
 
+  /**
+   * @return whether this writer has fallen back to the fallback writer for the current column chunk
+   */
+  public boolean hasFallenBack() {
+    return fellBackAlready;
+  }
+
   private void checkFallback() {
     if (!fellBackAlready && initialWriter.shouldFallBack()) {
       fallBack();
@@ -20,9 +20,10 @@ package org.apache.parquet.column.values.plain;
 
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.apache.parquet.bytes.ByteBufferInputStream;
-import org.apache.parquet.bytes.BytesUtils;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
@@ -31,26 +32,61 @@ import org.slf4j.LoggerFactory;
 
 public class BinaryPlainValuesReader extends ValuesReader {
   private static final Logger LOG = LoggerFactory.getLogger(BinaryPlainValuesReader.class);
-  private ByteBufferInputStream in;
+  // the values are read from the bytes of the page without slicing them
+  private ByteBuffer buffer;
+  private int position;
+  private Binary.ReusedByteBufferBinary reused;
+
+  @Override
+  public void setReuseBinaries(boolean reuse) {
+    this.reused = reuse ? new Binary.ReusedByteBufferBinary() : null;
+  }
+
+  /**
+   * @return the index in the buffer of the next value, after its length
+   */
+  private int next() {
+    if (buffer.limit() - position < 4) {
+      throw new ParquetDecodingException("could not read bytes at offset " + position);
+    }
+    int length = buffer.getInt(position);
+    if (length < 0 || length > buffer.limit() - position - 4) {
+      throw new ParquetDecodingException("could not read " + length + " bytes at offset " + position);
+    }
+    int offset = position + 4;
+    position = offset + length;
+    return offset;
+  }
 
   @Override
   public Binary readBytes() {
-    try {
-      int length = BytesUtils.readIntLittleEndian(in);
-      return Binary.fromConstantByteBuffer(in.slice(length));
-    } catch (IOException | RuntimeException e) {
-      throw new ParquetDecodingException("could not read bytes at offset " + in.position(), e);
+    int offset = next();
+    int length = position - offset;
+    return reused != null
+        ? reused.set(buffer, offset, length)
+        : Binary.fromConstantByteBuffer(buffer, offset, length);
+  }
+
+  @Override
+  public void readBinaries(Binary[] values, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      int valueOffset = next();
+      values[i] = Binary.fromConstantByteBuffer(buffer, valueOffset, position - valueOffset);
     }
   }
 
   @Override
-  public void skip() {
-    try {
-      int length = BytesUtils.readIntLittleEndian(in);
-      in.skipFully(length);
-    } catch (IOException | RuntimeException e) {
-      throw new ParquetDecodingException("could not skip bytes at offset " + in.position(), e);
+  public ByteBuffer readBinarySlices(int[] offsets, int[] lengths, int offset, int length) {
+    for (int i = offset, end = offset + length; i < end; ++i) {
+      offsets[i] = next();
+      lengths[i] = position - offsets[i];
     }
+    return buffer;
+  }
+
+  @Override
+  public void skip() {
+    next();
   }
 
   @Override
@@ -58,6 +94,7 @@ public class BinaryPlainValuesReader extends ValuesReader {
       throws IOException {
     LOG.debug("init from page at offset {} for length {}",
         stream.position(), (stream.available() - stream.position()));
-    this.in = stream.remainingStream();
+    this.buffer = stream.slice(stream.available()).order(ByteOrder.LITTLE_ENDIAN);
+    this.position = buffer.position();
   }
 }
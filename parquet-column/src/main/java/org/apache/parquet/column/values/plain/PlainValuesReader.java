@@ -18,7 +18,10 @@
  */
 package org.apache.parquet.column.values.plain;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.bytes.LittleEndianDataInputStream;
@@ -34,11 +37,22 @@ abstract public class PlainValuesReader extends ValuesReader {
   private static final Logger LOG = LoggerFactory.getLogger(PlainValuesReader.class);
 
   protected LittleEndianDataInputStream in;
+  // the stream read by in, sliced by the batch reads
+  private ByteBufferInputStream data;
 
   @Override
   public void initFromPage(int valueCount, ByteBufferInputStream stream) throws IOException {
     LOG.debug("init from page at offset {} for length {}", stream.position(), stream.available());
-    this.in = new LittleEndianDataInputStream(stream.remainingStream());
+    this.data = stream.remainingStream();
+    this.in = new LittleEndianDataInputStream(data);
+  }
+
+  /**
+   * @param length the number of bytes of the values to read
+   * @return the little endian bytes of the values, without copying them if they are in one buffer of the page
+   */
+  ByteBuffer slice(int length) throws EOFException {
+    return data.slice(length).order(ByteOrder.LITTLE_ENDIAN);
   }
 
   @Override
@@ -72,6 +86,15 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read double", e);
       }
     }
+
+    @Override
+    public void readDoubles(double[] values, int offset, int length) {
+      try {
+        slice(length * 8).asDoubleBuffer().get(values, offset, length);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read " + length + " doubles", e);
+      }
+    }
   }
 
   public static class FloatPlainValuesReader extends PlainValuesReader {
@@ -93,6 +116,15 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read float", e);
       }
     }
+
+    @Override
+    public void readFloats(float[] values, int offset, int length) {
+      try {
+        slice(length * 4).asFloatBuffer().get(values, offset, length);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read " + length + " floats", e);
+      }
+    }
   }
 
   public static class IntegerPlainValuesReader extends PlainValuesReader {
@@ -114,6 +146,15 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read int", e);
       }
     }
+
+    @Override
+    public void readIntegers(int[] values, int offset, int length) {
+      try {
+        slice(length * 4).asIntBuffer().get(values, offset, length);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read " + length + " ints", e);
+      }
+    }
   }
 
   public static class LongPlainValuesReader extends PlainValuesReader {
@@ -135,5 +176,14 @@ abstract public class PlainValuesReader extends ValuesReader {
         throw new ParquetDecodingException("could not read long", e);
       }
     }
+
+    @Override
+    public void readLongs(long[] values, int offset, int length) {
+      try {
+        slice(length * 8).asLongBuffer().get(values, offset, length);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read " + length + " longs", e);
+      }
+    }
   }
 }
@@ -22,6 +22,7 @@ package org.apache.parquet.column.values.rle;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import org.apache.parquet.Preconditions;
 import org.apache.parquet.bytes.BytesUtils;
@@ -46,7 +47,11 @@ public class RunLengthBitPackingHybridDecoder {
   private MODE mode;
   private int currentCount;
   private int currentValue;
-  private int[] currentBuffer;
+  // the values of the current bit-packed run, unpacked on first use
+  private int packedCount;
+  private boolean unpacked;
+  private byte[] packedBytes = new byte[0];
+  private int[] currentBuffer = new int[0];
 
   public RunLengthBitPackingHybridDecoder(int bitWidth, InputStream in) {
     LOG.debug("decoding bitWidth {}", bitWidth);
@@ -68,7 +73,10 @@ public class RunLengthBitPackingHybridDecoder {
       result = currentValue;
       break;
     case PACKED:
-      result = currentBuffer[currentBuffer.length - 1 - currentCount];
+      if (!unpacked) {
+        unpack(currentBuffer, 0);
+      }
+      result = currentBuffer[packedCount - 1 - currentCount];
       break;
     default:
       throw new ParquetDecodingException("not a valid mode " + mode);
@@ -76,6 +84,51 @@ public class RunLengthBitPackingHybridDecoder {
     return result;
   }
 
+  /**
+   * Reads the next values in bulk: the RLE runs are filled and the bit-packed runs read completely are unpacked
+   * straight into the destination.
+   *
+   * @param values the destination of the values
+   * @param offset the index of the first value to read in the destination
+   * @param length the number of values to read
+   * @throws IOException if the values cannot be read
+   */
+  public void readInts(int[] values, int offset, int length) throws IOException {
+    int end = offset + length;
+    while (offset < end) {
+      if (currentCount == 0) {
+        readNext();
+      }
+      int count = Math.min(currentCount, end - offset);
+      switch (mode) {
+      case RLE:
+        Arrays.fill(values, offset, offset + count, currentValue);
+        break;
+      case PACKED:
+        if (!unpacked && count == packedCount) {
+          unpack(values, offset);
+        } else {
+          if (!unpacked) {
+            unpack(currentBuffer, 0);
+          }
+          System.arraycopy(currentBuffer, packedCount - currentCount, values, offset, count);
+        }
+        break;
+      default:
+        throw new ParquetDecodingException("not a valid mode " + mode);
+      }
+      currentCount -= count;
+      offset += count;
+    }
+  }
+
+  private void unpack(int[] values, int offset) {
+    for (int valueIndex = 0, byteIndex = 0; valueIndex < packedCount; valueIndex += 8, byteIndex += bitWidth) {
+      packer.unpack8Values(packedBytes, byteIndex, values, offset + valueIndex);
+    }
+    unpacked = true;
+  }
+
   private void readNext() throws IOException {
     Preconditions.checkArgument(in.available() > 0, "Reading past RLE/BitPacking stream.");
     final int header = BytesUtils.readUnsignedVarInt(in);
@@ -89,16 +142,22 @@ public class RunLengthBitPackingHybridDecoder {
     case PACKED:
       int numGroups = header >>> 1;
       currentCount = numGroups * 8;
+      packedCount = currentCount;
       LOG.debug("reading {} values BIT PACKED", currentCount);
-      currentBuffer = new int[currentCount]; // TODO: reuse a buffer
-      byte[] bytes = new byte[numGroups * bitWidth];
+      if (currentBuffer.length < currentCount) {
+        currentBuffer = new int[currentCount];
+      }
+      int byteCount = numGroups * bitWidth;
+      if (packedBytes.length < byteCount) {
+        packedBytes = new byte[byteCount];
+      }
       // At the end of the file RLE data though, there might not be that many bytes left.
       int bytesToRead = (int)Math.ceil(currentCount * bitWidth / 8.0);
       bytesToRead = Math.min(bytesToRead, in.available());
-      new DataInputStream(in).readFully(bytes, 0, bytesToRead);
-      for (int valueIndex = 0, byteIndex = 0; valueIndex < currentCount; valueIndex += 8, byteIndex += bitWidth) {
-        packer.unpack8Values(bytes, byteIndex, currentBuffer, valueIndex);
-      }
+      new DataInputStream(in).readFully(packedBytes, 0, bytesToRead);
+      // the bytes missing at the end of the stream are unpacked as zeros
+      Arrays.fill(packedBytes, bytesToRead, byteCount, (byte) 0);
+      unpacked = false;
       break;
     default:
       throw new ParquetDecodingException("not a valid mode " + mode);
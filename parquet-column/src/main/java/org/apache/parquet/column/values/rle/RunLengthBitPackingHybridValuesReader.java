@@ -55,6 +55,15 @@ public class RunLengthBitPackingHybridValuesReader extends ValuesReader {
       throw new ParquetDecodingException(e);
     }
   }
+
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    try {
+      decoder.readInts(values, offset, length);
+    } catch (IOException e) {
+      throw new ParquetDecodingException(e);
+    }
+  }
   
   @Override
   public boolean readBoolean() {
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate.Visitor;
+import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.Eq;
+import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
+import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
+import org.apache.parquet.filter2.predicate.Operators.Lt;
+import org.apache.parquet.filter2.predicate.Operators.LtEq;
+import org.apache.parquet.filter2.predicate.Operators.Not;
+import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
+import org.apache.parquet.filter2.predicate.Operators.Or;
+import org.apache.parquet.filter2.predicate.Operators.UserDefined;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+
+/**
+ * Collects the paths of the columns referenced by a {@link FilterPredicate}, e.g. to read the metadata of these
+ * columns ahead of the filtering.
+ */
+public final class ReferencedColumns implements Visitor<Void> {
+
+  /**
+   * @param pred a filter predicate
+   * @return the paths of the columns referenced by the predicate
+   */
+  public static Set<ColumnPath> of(FilterPredicate pred) {
+    return of(pred, leaf -> true);
+  }
+
+  /**
+   * @param pred a filter predicate
+   * @param leafFilter selects the leaf predicates (the ones other than and, or and not) whose column is collected
+   * @return the paths of the columns referenced by the leaf predicates of the predicate selected by the filter
+   */
+  public static Set<ColumnPath> of(FilterPredicate pred, Predicate<? super FilterPredicate> leafFilter) {
+    Objects.requireNonNull(pred, "pred cannot be null");
+    ReferencedColumns columns = new ReferencedColumns(leafFilter);
+    pred.accept(columns);
+    return columns.paths;
+  }
+
+  private final Predicate<? super FilterPredicate> leafFilter;
+  private final Set<ColumnPath> paths = new HashSet<>();
+
+  private ReferencedColumns(Predicate<? super FilterPredicate> leafFilter) {
+    this.leafFilter = leafFilter;
+  }
+
+  private Void add(FilterPredicate leaf, Column<?> column) {
+    if (leafFilter.test(leaf)) {
+      paths.add(column.getColumnPath());
+    }
+    return null;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Eq<T> eq) {
+    return add(eq, eq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(NotEq<T> notEq) {
+    return add(notEq, notEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Lt<T> lt) {
+    return add(lt, lt.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(LtEq<T> ltEq) {
+    return add(ltEq, ltEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Gt<T> gt) {
+    return add(gt, gt.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(GtEq<T> gtEq) {
+    return add(gtEq, gtEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(In<T> in) {
+    return add(in, in.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(NotIn<T> notIn) {
+    return add(notIn, notIn.getColumn());
+  }
+
+  @Override
+  public Void visit(And and) {
+    and.getLeft().accept(this);
+    return and.getRight().accept(this);
+  }
+
+  @Override
+  public Void visit(Or or) {
+    or.getLeft().accept(this);
+    return or.getRight().accept(this);
+  }
+
+  @Override
+  public Void visit(Not not) {
+    return not.getPredicate().accept(this);
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(UserDefined<T, U> udp) {
+    return add(udp, udp.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(LogicalNotUserDefined<T, U> udp) {
+    return add(udp, udp.getUserDefined().getColumn());
+  }
+}
@@ -414,6 +414,13 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
       this.isBackingBytesReused = isBackingBytesReused;
     }
 
+    void setValue(ByteBuffer value, int offset, int length) {
+      this.value = value;
+      this.offset = offset;
+      this.length = length;
+      this.cachedBytes = null;
+    }
+
     @Override
     public String toStringUsingUTF8() {
       String ret;
@@ -421,16 +428,12 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
         ret = new String(value.array(), value.arrayOffset() + offset, length,
             StandardCharsets.UTF_8);
       } else {
-        int limit = value.limit();
-        value.limit(offset+length);
-        int position = value.position();
-        value.position(offset);
-        // no corresponding interface to read a subset of a buffer, would have to slice it
-        // which creates another ByteBuffer object or do what is done here to adjust the
-        // limit/offset and set them back after
-        ret = StandardCharsets.UTF_8.decode(value).toString();
-        value.limit(limit);
-        value.position(position);
+        // the buffer may be shared by the binaries of a page, read from several threads, so its position and limit
+        // are not changed
+        ByteBuffer bytes = value.duplicate();
+        bytes.limit(offset + length);
+        bytes.position(offset);
+        ret = StandardCharsets.UTF_8.decode(bytes).toString();
       }
 
       return ret;
@@ -453,14 +456,16 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
     @Override
     public byte[] getBytes() {
       byte[] bytes = new byte[length];
-
-      int limit = value.limit();
-      value.limit(offset + length);
-      int position = value.position();
-      value.position(offset);
-      value.get(bytes);
-      value.limit(limit);
-      value.position(position);
+      if (value.hasArray()) {
+        System.arraycopy(value.array(), value.arrayOffset() + offset, bytes, 0, length);
+      } else {
+        // the buffer may be shared by the binaries of a page, read from several threads, so its position and limit
+        // are not changed
+        ByteBuffer buffer = value.duplicate();
+        buffer.limit(offset + length);
+        buffer.position(offset);
+        buffer.get(bytes);
+      }
       if (!isBackingBytesReused) { // backing buffer might change
         cachedBytes = bytes;
       }
@@ -505,7 +510,7 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
 
     @Override
     boolean equals(ByteBuffer otherBytes, int otherOffset, int otherLength) {
-      return Binary.equals(value, 0, length, otherBytes, otherOffset, otherLength);
+      return Binary.equals(value, offset, length, otherBytes, otherOffset, otherLength);
     }
 
     @Override
@@ -574,6 +579,31 @@ abstract public class Binary implements Comparable<Binary>, Serializable {
 
   }
 
+  /**
+   * A reused binary viewing the bytes of a buffer, moved from one value to the next with
+   * {@link #set(ByteBuffer, int, int)} instead of allocating a binary per value. Its bytes change with each value so
+   * it must be {@link #copy() copied} to be kept.
+   */
+  public static final class ReusedByteBufferBinary extends ByteBufferBackedBinary {
+
+    public ReusedByteBufferBinary() {
+      super(ByteBuffer.wrap(new byte[0]), 0, 0, true);
+    }
+
+    /**
+     * Views the next value.
+     *
+     * @param value the buffer of the value
+     * @param offset the index of the value in the buffer
+     * @param length the length of the value
+     * @return this binary
+     */
+    public ReusedByteBufferBinary set(ByteBuffer value, int offset, int length) {
+      setValue(value, offset, length);
+      return this;
+    }
+  }
+
   public static Binary fromReusedByteBuffer(final ByteBuffer value, int offset, int length) {
     return new ByteBufferBackedBinary(value, offset, length, true);
   }
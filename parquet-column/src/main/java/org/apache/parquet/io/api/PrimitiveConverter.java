@@ -43,6 +43,17 @@ abstract public class PrimitiveConverter extends Converter {
     return false;
   }
 
+  /**
+   * if it returns true the binaries of the byte arrays that are not dictionary encoded may be passed to
+   * {@link #addBinary(Binary)} as a single {@link Binary#isBackingBytesReused() reused} binary viewing each value
+   * in turn, to save an allocation per value. The converter must then {@link Binary#copy() copy} the values it keeps,
+   * as do the converters building a new object from each value anyway.
+   * @return if reused binaries are supported
+   */
+  public boolean hasReusedBinarySupport() {
+    return false;
+  }
+
   /**
    * Set the dictionary to use if the data was encoded using dictionary encoding
    * and the converter hasDictionarySupport().
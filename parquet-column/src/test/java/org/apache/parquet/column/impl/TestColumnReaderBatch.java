@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+
+import org.apache.parquet.Version;
+import org.apache.parquet.VersionParser;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.page.mem.MemPageStore;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.Test;
+
+public class TestColumnReaderBatch {
+
+  private static final int ROWS = 13001;
+  private static final int BATCH_SIZE = 1000;
+  // the first row of the binary values that are all different
+  private static final int FALLBACK_ROW = 4000;
+
+  private interface ValueWriter {
+    void write(ColumnWriter writer, int row, int maxDefinitionLevel);
+  }
+
+  private static MemPageStore write(MessageType schema, WriterVersion version, boolean dictionary,
+      ValueWriter valueWriter) {
+    return write(schema, ParquetProperties.builder()
+        .withWriterVersion(version)
+        .withDictionaryEncoding(dictionary)
+        .withPageSize(2048)
+        .build(), valueWriter);
+  }
+
+  private static MemPageStore write(MessageType schema, ParquetProperties props, ValueWriter valueWriter) {
+    ColumnDescriptor col = schema.getColumns().get(0);
+    MemPageStore pageStore = new MemPageStore(ROWS);
+    ColumnWriteStore writeStore = props.newColumnWriteStore(schema, pageStore);
+    ColumnWriter writer = writeStore.getColumnWriter(col);
+    for (int i = 0; i < ROWS; ++i) {
+      valueWriter.write(writer, i, col.getMaxDefinitionLevel());
+      writeStore.endRecord();
+    }
+    writeStore.flush();
+    return pageStore;
+  }
+
+  private static ColumnReader newReader(MessageType schema, MemPageStore pageStore) throws Exception {
+    ColumnDescriptor col = schema.getColumns().get(0);
+    return new ColumnReaderImpl(col, pageStore.getPageReader(col), new PrimitiveConverter() {
+    }, VersionParser.parse(Version.FULL_VERSION));
+  }
+
+  private static boolean isNull(int row) {
+    return row % 3 == 1 || (row / 100) % 7 == 0;
+  }
+
+  @Test
+  public void testReadInts() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional int32 foo; }");
+    for (WriterVersion version : WriterVersion.values()) {
+      for (boolean dictionary : new boolean[] { true, false }) {
+        MemPageStore pageStore = write(schema, version, dictionary, (writer, row, maxDefinitionLevel) -> {
+          if (isNull(row)) {
+            writer.writeNull(0, 0);
+          } else {
+            writer.write(row % 100, 0, maxDefinitionLevel);
+          }
+        });
+        ColumnReader reader = newReader(schema, pageStore);
+
+        // the batch reads start at the current value
+        for (int row = 0; row < 5; ++row) {
+          assertEquals(isNull(row) ? 0 : 1, reader.getCurrentDefinitionLevel());
+          if (!isNull(row)) {
+            assertEquals(row % 100, reader.getInteger());
+          }
+          reader.consume();
+        }
+
+        int[] values = new int[BATCH_SIZE];
+        int[] definitionLevels = new int[BATCH_SIZE];
+        int row = 5;
+        int count;
+        while ((count = reader.readInts(values, definitionLevels, BATCH_SIZE)) > 0) {
+          for (int i = 0; i < count; ++i, ++row) {
+            assertEquals("row " + row, isNull(row) ? 0 : 1, definitionLevels[i]);
+            if (!isNull(row)) {
+              assertEquals("row " + row, row % 100, values[i]);
+            }
+          }
+        }
+        assertEquals(ROWS, row);
+      }
+    }
+  }
+
+  @Test
+  public void testReadDictionaryIds() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional binary foo; }");
+    for (WriterVersion version : WriterVersion.values()) {
+      // the dictionary grows too large after the first rows so the next pages are plain encoded
+      MemPageStore pageStore = write(schema, ParquetProperties.builder()
+          .withWriterVersion(version)
+          .withPageSize(2048)
+          .withDictionaryPageSize(4096)
+          .build(), (writer, row, maxDefinitionLevel) -> {
+            if (isNullId(row)) {
+              writer.writeNull(0, 0);
+            } else {
+              writer.write(binaryValue(row), 0, maxDefinitionLevel);
+            }
+          });
+      ColumnReader reader = newReader(schema, pageStore);
+      Dictionary dictionary = reader.getDictionary();
+      assertTrue(reader.isCurrentPageDictionaryEncoded());
+
+      int[] ids = new int[BATCH_SIZE];
+      BitSet nulls = new BitSet();
+      int row = 0;
+      int count;
+      while ((count = reader.readDictionaryIds(ids, nulls, BATCH_SIZE)) > 0) {
+        for (int i = 0; i < count; ++i, ++row) {
+          assertEquals("row " + row, isNullId(row), nulls.get(i));
+          if (!isNullId(row)) {
+            assertEquals("row " + row, binaryValue(row), dictionary.decodeToBinary(ids[i]));
+          }
+        }
+      }
+      assertFalse(reader.isCurrentPageDictionaryEncoded());
+      assertTrue(row > 0 && row < ROWS);
+
+      // the values of the plain encoded pages are read decoded
+      Binary[] values = new Binary[BATCH_SIZE];
+      while ((count = reader.readBinaries(values, nulls, BATCH_SIZE)) > 0) {
+        for (int i = 0; i < count; ++i, ++row) {
+          assertEquals("row " + row, isNullId(row), nulls.get(i));
+          if (!isNullId(row)) {
+            assertEquals("row " + row, binaryValue(row), values[i]);
+          }
+        }
+      }
+      assertEquals(ROWS, row);
+      assertEquals(0, reader.readDictionaryIds(ids, nulls, BATCH_SIZE));
+
+      // the ids cannot be read once the current value is decoded
+      reader = newReader(schema, write(schema, version, true, (writer, i, maxDefinitionLevel) ->
+          writer.write(binaryValue(i), 0, maxDefinitionLevel)));
+      reader.getBinary();
+      try {
+        reader.readDictionaryIds(ids, nulls, BATCH_SIZE);
+        fail("Expected an IllegalStateException");
+      } catch (IllegalStateException e) {
+        // expected
+      }
+    }
+  }
+
+  private static boolean isNullId(int row) {
+    return row % 3 == 1;
+  }
+
+  private static Binary binaryValue(int row) {
+    return Binary.fromString(row < FALLBACK_ROW ? "value " + row % 50 : "unique value " + row);
+  }
+
+  @Test
+  public void testReadLongsWithNullBitmap() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { required int64 foo; }");
+    for (WriterVersion version : WriterVersion.values()) {
+      for (boolean dictionary : new boolean[] { true, false }) {
+        MemPageStore pageStore = write(schema, version, dictionary,
+            (writer, row, maxDefinitionLevel) -> writer.write((long) row * row, 0, maxDefinitionLevel));
+        ColumnReader reader = newReader(schema, pageStore);
+        long[] values = new long[BATCH_SIZE];
+        BitSet nulls = new BitSet();
+        nulls.set(0, BATCH_SIZE);
+        int row = 0;
+        int count;
+        while ((count = reader.readLongs(values, nulls, BATCH_SIZE)) > 0) {
+          int firstNull = nulls.nextSetBit(0);
+          assertTrue(firstNull == -1 || firstNull >= count);
+          for (int i = 0; i < count; ++i, ++row) {
+            assertEquals((long) row * row, values[i]);
+          }
+        }
+        assertEquals(ROWS, row);
+      }
+    }
+  }
+
+  @Test
+  public void testReadDoubles() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional double foo; }");
+    for (WriterVersion version : WriterVersion.values()) {
+      MemPageStore pageStore = write(schema, version, false, (writer, row, maxDefinitionLevel) -> {
+        if (isNull(row)) {
+          writer.writeNull(0, 0);
+        } else {
+          writer.write(row / 2.0, 0, maxDefinitionLevel);
+        }
+      });
+      ColumnReader reader = newReader(schema, pageStore);
+      double[] values = new double[BATCH_SIZE];
+      BitSet nulls = new BitSet();
+      int row = 0;
+      int count;
+      while ((count = reader.readDoubles(values, nulls, BATCH_SIZE)) > 0) {
+        for (int i = 0; i < count; ++i, ++row) {
+          assertEquals("row " + row, isNull(row), nulls.get(i));
+          if (!isNull(row)) {
+            assertEquals(row / 2.0, values[i], 0.0);
+          }
+        }
+      }
+      assertEquals(ROWS, row);
+    }
+  }
+
+  @Test
+  public void testReadBinaries() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { optional binary foo; }");
+    IntFunction<Binary> value = row -> Binary.fromString("bar" + row % 10);
+    for (WriterVersion version : WriterVersion.values()) {
+      for (boolean dictionary : new boolean[] { true, false }) {
+        MemPageStore pageStore = write(schema, version, dictionary, (writer, row, maxDefinitionLevel) -> {
+          if (isNull(row)) {
+            writer.writeNull(0, 0);
+          } else {
+            writer.write(value.apply(row), 0, maxDefinitionLevel);
+          }
+        });
+        ColumnReader reader = newReader(schema, pageStore);
+        Binary[] values = new Binary[BATCH_SIZE];
+        int[] definitionLevels = new int[BATCH_SIZE];
+        int row = 0;
+        int count;
+        while ((count = reader.readBinaries(values, definitionLevels, 700)) > 0) {
+          for (int i = 0; i < count; ++i, ++row) {
+            if (!isNull(row)) {
+              assertEquals("row " + row, value.apply(row), values[i]);
+            }
+          }
+        }
+        assertEquals(ROWS, row);
+      }
+    }
+  }
+
+  @Test
+  public void testReadBooleans() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { required boolean foo; }");
+    MemPageStore pageStore = write(schema, WriterVersion.PARQUET_1_0, false,
+        (writer, row, maxDefinitionLevel) -> writer.write(row % 3 == 0, 0, maxDefinitionLevel));
+    ColumnReader reader = newReader(schema, pageStore);
+    boolean[] values = new boolean[ROWS];
+    int[] definitionLevels = new int[ROWS];
+    assertEquals(ROWS, reader.readBooleans(values, definitionLevels, ROWS));
+    boolean[] expected = new boolean[ROWS];
+    for (int row = 0; row < ROWS; ++row) {
+      expected[row] = row % 3 == 0;
+    }
+    assertArrayEquals(expected, values);
+    assertEquals(0, reader.readBooleans(values, definitionLevels, ROWS));
+  }
+
+  @Test
+  public void testUnsupportedColumns() throws Exception {
+    MessageType schema = MessageTypeParser.parseMessageType("message test { repeated int32 foo; }");
+    MemPageStore pageStore = write(schema, WriterVersion.PARQUET_1_0, false,
+        (writer, row, maxDefinitionLevel) -> writer.write(row, 0, maxDefinitionLevel));
+    try {
+      newReader(schema, pageStore).readInts(new int[10], new int[10], 10);
+      fail("Should not read a repeated column in batch");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+
+    schema = MessageTypeParser.parseMessageType("message test { required int32 foo; }");
+    pageStore = write(schema, WriterVersion.PARQUET_1_0, false,
+        (writer, row, maxDefinitionLevel) -> writer.write(row, 0, maxDefinitionLevel));
+    try {
+      newReader(schema, pageStore).readLongs(new long[10], new int[10], 10);
+      fail("Should not read ints as longs");
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.apache.parquet.column.statistics.BinaryStatistics;
 import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.deltastrings.DeltaByteArrayReader;
 import org.apache.parquet.column.values.deltastrings.DeltaByteArrayWriter;
+import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.PrimitiveConverter;
 import org.apache.parquet.schema.PrimitiveType;
@@ -111,7 +112,7 @@ public class TestCorruptDeltaByteArrays {
     try {
       corruptPageReader.readBytes();
       fail("Corrupt page did not throw an exception when read");
-    } catch (ArrayIndexOutOfBoundsException e) {
+    } catch (ParquetDecodingException e) {
       // expected, this is a corrupt page
     }
 
@@ -236,6 +236,69 @@ public class TestMemColumn {
     }
   }
 
+  @Test
+  public void testColumnByColumnWrites() {
+    MessageType schema = Types.buildMessage()
+        .requiredList().requiredElement(BINARY).named("binary_col")
+        .required(INT32).named("int32_col")
+        .named("msg");
+    ParquetProperties props = ParquetProperties.builder()
+        .withPageSize(1024)
+        .withPageRowCountLimit(30)
+        .withDictionaryEncoding(false)
+        .build();
+    ColumnDescriptor binaryCol = schema.getColumnDescription(new String[] { "binary_col", "list", "element" });
+    ColumnDescriptor int32Col = schema.getColumnDescription(new String[] { "int32_col" });
+
+    // one record at a time
+    MemPageStore expected = new MemPageStore(500);
+    ColumnWriteStore writeStore = new ColumnWriteStoreV2(schema, expected, props);
+    for (int i = 0; i < 500; ++i) {
+      writeBinaries(writeStore.getColumnWriter(binaryCol), i);
+      writeStore.getColumnWriter(int32Col).write(i, 0, 0);
+      writeStore.endRecord();
+    }
+    writeStore.flush();
+
+    // one column at a time for all the records until the next size check
+    MemPageStore actual = new MemPageStore(500);
+    writeStore = new ColumnWriteStoreV2(schema, actual, props);
+    for (int i = 0; i < 500; ) {
+      int n = Math.min(500 - i, writeStore.getRecordCountUntilSizeCheck());
+      for (int j = i; j < i + n; ++j) {
+        writeBinaries(writeStore.getColumnWriter(binaryCol), j);
+      }
+      for (int j = i; j < i + n; ++j) {
+        writeStore.getColumnWriter(int32Col).write(j, 0, 0);
+      }
+      for (int j = 0; j < n; ++j) {
+        writeStore.endRecord();
+      }
+      i += n;
+    }
+    writeStore.flush();
+
+    for (ColumnDescriptor column : new ColumnDescriptor[] { binaryCol, int32Col }) {
+      PageReader expectedPages = expected.getPageReader(column);
+      PageReader actualPages = actual.getPageReader(column);
+      assertEquals(expectedPages.getTotalValueCount(), actualPages.getTotalValueCount());
+      for (long values = 0; values < expectedPages.getTotalValueCount(); ) {
+        DataPage expectedPage = expectedPages.readPage();
+        DataPage actualPage = actualPages.readPage();
+        assertEquals(expectedPage.getValueCount(), actualPage.getValueCount());
+        assertEquals(expectedPage.getIndexRowCount(), actualPage.getIndexRowCount());
+        values += expectedPage.getValueCount();
+      }
+    }
+  }
+
+  private static void writeBinaries(ColumnWriter writer, int record) {
+    // from 1 to 5 values per record
+    for (int j = 0; j <= record % 5; ++j) {
+      writer.write(Binary.fromString("value_" + record + "_" + j), j == 0 ? 0 : 1, 1);
+    }
+  }
+
   private ColumnWriteStoreV1 newColumnWriteStoreImpl(MemPageStore memPageStore) {
     return new ColumnWriteStoreV1(memPageStore,
         ParquetProperties.builder()
@@ -18,6 +18,7 @@
  */
 package org.apache.parquet.column.values.delta;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -229,6 +230,60 @@ public class DeltaBinaryPackingValuesWriterForIntegerTest {
     }
   }
 
+  @Test
+  public void shouldSkipNAcrossMiniBlocks() throws IOException {
+    // mini blocks of random deltas alternate with mini blocks of a constant delta (bit width 0)
+    int[] data = new int[5 * blockSize + 7];
+    int miniBlockSize = blockSize / miniBlockNum;
+    for (int i = 1; i < data.length; i++) {
+      data[i] = data[i - 1] + ((i - 1) / miniBlockSize % 2 == 0 ? random.nextInt(1000) : 7);
+    }
+    for (int step = 1; step < data.length; step += 13) {
+      writer.reset();
+      writeData(data);
+      reader = new DeltaBinaryPackingValuesReader();
+      reader.initFromPage(100, writer.getBytes().toInputStream());
+      for (int i = 0; i < data.length; i += step + 1) {
+        assertEquals(data[i], reader.readInteger());
+        reader.skip(Math.min(step, data.length - i - 1));
+      }
+    }
+  }
+
+  @Test
+  public void shouldReadIntegersInBatch() throws IOException {
+    int[] data = new int[5 * blockSize + 7];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = random.nextInt(1000);
+    }
+    writeData(data);
+    reader = new DeltaBinaryPackingValuesReader();
+    reader.initFromPage(100, writer.getBytes().toInputStream());
+    // batches within and across mini blocks, mixed with single reads and skips
+    int[] values = new int[data.length];
+    int length = 1;
+    for (int i = 0; i < data.length; length = length * 3 % 100 + 1) {
+      int n = Math.min(length, data.length - i);
+      reader.readIntegers(values, i, n);
+      i += n;
+      if (i < data.length) {
+        values[i] = reader.readInteger();
+        i++;
+      }
+      if (i < data.length && length % 2 == 0) {
+        reader.skip();
+        values[i] = data[i];
+        i++;
+      }
+    }
+    assertArrayEquals(data, values);
+    try {
+      reader.readIntegers(values, 0, 1);
+    } catch (ParquetDecodingException e) {
+      assertEquals("no more value to read, total value count is " + data.length, e.getMessage());
+    }
+  }
+
   @Test
   public void shouldReset() throws IOException {
     shouldReadWriteWhenDataIsNotAlignedWithBlock();
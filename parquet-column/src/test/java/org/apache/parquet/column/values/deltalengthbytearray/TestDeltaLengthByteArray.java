@@ -19,6 +19,7 @@
 package org.apache.parquet.column.values.deltalengthbytearray;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.junit.Test;
 import org.junit.Assert;
@@ -88,6 +89,29 @@ public class TestDeltaLengthByteArray {
     }
   }
 
+  @Test
+  public void testReusedBinariesAndSlices() throws IOException {
+    DeltaLengthByteArrayValuesWriter writer = getDeltaLengthByteArrayValuesWriter();
+    String[] values = Utils.getRandomStringSamples(1000, 32);
+    Utils.writeData(writer, values);
+
+    DeltaLengthByteArrayValuesReader reader = new DeltaLengthByteArrayValuesReader();
+    reader.setReuseBinaries(true);
+    reader.initFromPage(values.length, writer.getBytes().toInputStream());
+    Binary first = reader.readBytes();
+    Assert.assertTrue(first.isBackingBytesReused());
+    Assert.assertEquals(Binary.fromString(values[0]), first);
+    Assert.assertSame(first, reader.readBytes());
+    Assert.assertEquals(Binary.fromString(values[1]), first);
+
+    int[] offsets = new int[values.length];
+    int[] lengths = new int[values.length];
+    ByteBuffer buffer = reader.readBinarySlices(offsets, lengths, 2, values.length - 2);
+    for (int i = 2; i < values.length; i++) {
+      Assert.assertEquals(Binary.fromString(values[i]), Binary.fromConstantByteBuffer(buffer, offsets[i], lengths[i]));
+    }
+  }
+
   @Test
   public void testLengths() throws IOException {
     DeltaLengthByteArrayValuesWriter writer = getDeltaLengthByteArrayValuesWriter();
@@ -19,6 +19,7 @@
 package org.apache.parquet.column.values.deltastrings;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.junit.Test;
@@ -117,6 +118,63 @@ public class TestDeltaByteArray {
     }
   }
 
+  @Test
+  public void testReusedBinaries() throws Exception {
+    DeltaByteArrayWriter writer = new DeltaByteArrayWriter(64 * 1024, 64 * 1024, new DirectByteBufferAllocator());
+    Utils.writeData(writer, randvalues);
+    DeltaByteArrayReader reader = new DeltaByteArrayReader();
+    reader.setReuseBinaries(true);
+    reader.initFromPage(randvalues.length, writer.getBytes().toInputStream());
+    Binary first = reader.readBytes();
+    Assert.assertTrue(first.isBackingBytesReused());
+    Assert.assertEquals(Binary.fromString(randvalues[0]), first);
+    // the buffers of the values stay valid until the next page
+    ByteBuffer firstBuffer = first.toByteBuffer();
+    for (int i = 1; i < randvalues.length; ++i) {
+      Binary binary = reader.readBytes();
+      Assert.assertSame(first, binary);
+      Assert.assertEquals(Binary.fromString(randvalues[i]), binary);
+    }
+    Assert.assertEquals(Binary.fromString(randvalues[0]), Binary.fromConstantByteBuffer(firstBuffer));
+  }
+
+  @Test
+  public void testBinarySlices() throws Exception {
+    DeltaByteArrayWriter writer = new DeltaByteArrayWriter(64 * 1024, 64 * 1024, new DirectByteBufferAllocator());
+    Utils.writeData(writer, randvalues);
+    DeltaByteArrayReader reader = new DeltaByteArrayReader();
+    reader.initFromPage(randvalues.length, writer.getBytes().toInputStream());
+    int[] offsets = new int[randvalues.length];
+    int[] lengths = new int[randvalues.length];
+    Assert.assertEquals(Binary.fromString(randvalues[0]), reader.readBytes());
+    reader.readBinarySlices(offsets, lengths, 1, 99);
+    ByteBuffer buffer = reader.readBinarySlices(offsets, lengths, 100, randvalues.length - 100);
+    for (int i = 1; i < randvalues.length; ++i) {
+      Assert.assertEquals(Binary.fromString(randvalues[i]), Binary.fromConstantByteBuffer(buffer, offsets[i], lengths[i]));
+    }
+  }
+
+  @Test
+  public void testValuesOfPreviousPages() throws Exception {
+    DeltaByteArrayWriter writer = new DeltaByteArrayWriter(64 * 1024, 64 * 1024, new DirectByteBufferAllocator());
+    DeltaByteArrayReader reader1 = new DeltaByteArrayReader();
+    Utils.writeData(writer, values);
+    Binary[] page1 = Utils.readData(reader1, writer.getBytes().toInputStream(), values.length);
+    writer.reset();
+    Utils.writeData(writer, randvalues);
+    DeltaByteArrayReader reader2 = new DeltaByteArrayReader();
+    reader2.initFromPage(randvalues.length, writer.getBytes().toInputStream());
+    reader2.setPreviousReader(reader1);
+    Binary[] page2 = new Binary[randvalues.length];
+    reader2.readBinaries(page2, 0, randvalues.length);
+    for (int i = 0; i < values.length; i++) {
+      Assert.assertEquals(Binary.fromString(values[i]), page1[i]);
+    }
+    for (int i = 0; i < randvalues.length; i++) {
+      Assert.assertEquals(Binary.fromString(randvalues[i]), page2[i]);
+    }
+  }
+
   @Test
   public void testWriterReset() throws Exception {
     DeltaByteArrayWriter writer = new DeltaByteArrayWriter(64 * 1024, 64 * 1024, new DirectByteBufferAllocator());
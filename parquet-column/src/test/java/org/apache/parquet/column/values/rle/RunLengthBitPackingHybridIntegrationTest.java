@@ -24,6 +24,7 @@ import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.junit.Test;
 import org.apache.parquet.bytes.DirectByteBufferAllocator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class RunLengthBitPackingHybridIntegrationTest {
@@ -83,4 +84,55 @@ public class RunLengthBitPackingHybridIntegrationTest {
       assertEquals(17 % modValue, decoder.readInt());
     }
   }
+
+  @Test
+  public void bulkReadTest() throws Exception {
+    for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+      for (int batchSize : new int[] { 1, 7, 8, 100, 513, 10000 }) {
+        doBulkReadTest(bitWidth, batchSize);
+      }
+    }
+  }
+
+  private void doBulkReadTest(int bitWidth, int batchSize) throws Exception {
+    long modValue = 1L << bitWidth;
+    int[] expected = new int[4900];
+    int count = 0;
+    // alternate the bit-packed and the RLE runs
+    for (int i = 0; i < 1000; i++) {
+      expected[count++] = (int) (i % modValue);
+    }
+    for (int i = 0; i < 300; i++) {
+      expected[count++] = (int) (77 % modValue);
+    }
+    for (int i = 0; i < 3000; i++) {
+      expected[count++] = (int) (i / 3 % modValue);
+    }
+    for (int i = 0; i < 600; i++) {
+      expected[count++] = (int) (i / 100 % modValue);
+    }
+
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(bitWidth, 1000, 64000, new DirectByteBufferAllocator());
+    for (int value : expected) {
+      encoder.writeInt(value);
+    }
+    RunLengthBitPackingHybridDecoder decoder = new RunLengthBitPackingHybridDecoder(bitWidth,
+        ByteBufferInputStream.wrap(encoder.toBytes().toByteBuffer()));
+
+    int[] actual = new int[expected.length + 2];
+    int index = 1;
+    while (index < expected.length + 1) {
+      // mix the single reads with the bulk reads
+      actual[index] = decoder.readInt();
+      index++;
+      int length = Math.min(batchSize, expected.length + 1 - index);
+      decoder.readInts(actual, index, length);
+      index += length;
+    }
+    int[] copy = new int[expected.length];
+    System.arraycopy(actual, 1, copy, 0, expected.length);
+    assertArrayEquals("bitWidth " + bitWidth + " batchSize " + batchSize, expected, copy);
+    assertEquals(0, actual[0]);
+    assertEquals(0, actual[expected.length + 1]);
+  }
 }
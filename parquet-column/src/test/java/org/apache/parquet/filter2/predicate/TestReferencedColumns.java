@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.not;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
+import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.filter2.predicate.Operators.LongColumn;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.junit.Test;
+
+public class TestReferencedColumns {
+  private static final IntColumn intColumn = intColumn("a.b.c");
+  private static final DoubleColumn doubleColumn = doubleColumn("x.y");
+  private static final LongColumn longColumn = longColumn("z");
+
+  private static final FilterPredicate complex =
+      and(
+          or(gt(doubleColumn, 12.0), not(eq(intColumn, 7))),
+          userDefined(longColumn, TestSchemaCompatibilityValidator.LongDummyUdp.class));
+
+  @Test
+  public void testAllColumns() {
+    assertEquals(
+        new HashSet<>(Arrays.asList(ColumnPath.fromDotString("a.b.c"), ColumnPath.fromDotString("x.y"),
+            ColumnPath.get("z"))),
+        ReferencedColumns.of(complex));
+    assertEquals(new HashSet<>(Arrays.asList(ColumnPath.fromDotString("a.b.c"))),
+        ReferencedColumns.of(eq(intColumn, 7)));
+  }
+
+  @Test
+  public void testSelectedLeaves() {
+    assertEquals(new HashSet<>(Arrays.asList(ColumnPath.fromDotString("a.b.c"))),
+        ReferencedColumns.of(complex, leaf -> leaf instanceof Operators.Eq));
+    assertEquals(new HashSet<>(), ReferencedColumns.of(complex, leaf -> false));
+  }
+}
@@ -155,6 +155,45 @@ public class TestBinary {
     assertEquals(bin1, bin2);
   }
 
+  @Test
+  public void testReusedByteBufferBinary() throws Exception {
+    ByteBuffer direct = ByteBuffer.allocateDirect(11);
+    direct.put("alice bobby".getBytes());
+    for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.wrap("alice bobby".getBytes()), direct }) {
+      Binary.ReusedByteBufferBinary binary = new Binary.ReusedByteBufferBinary();
+      assertTrue(binary.isBackingBytesReused());
+      assertSame(binary, binary.set(buffer, 1, 3));
+      assertEquals(Binary.fromString("lic"), binary);
+      assertEquals(binary, Binary.fromConstantByteBuffer(direct, 1, 3));
+      assertEquals("lic", binary.toStringUsingUTF8());
+
+      Binary copy = binary.copy();
+      binary.set(buffer, 6, 5);
+      assertEquals("bobby", binary.toStringUsingUTF8());
+      assertArrayEquals("bobby".getBytes(), binary.getBytes());
+      assertEquals(Binary.fromString("lic"), copy);
+    }
+  }
+
+  @Test
+  public void testSharedBufferNotChanged() throws Exception {
+    ByteBuffer direct = ByteBuffer.allocateDirect(11);
+    direct.put("alice bobby".getBytes());
+    for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.wrap("alice bobby".getBytes()), direct }) {
+      // the binaries of a page share its buffer, whose position and limit are not theirs
+      buffer.position(2);
+      buffer.limit(9);
+      Binary alice = Binary.fromConstantByteBuffer(buffer, 0, 5);
+      Binary bobby = Binary.fromConstantByteBuffer(buffer, 6, 5);
+      assertArrayEquals("alice".getBytes(), alice.getBytes());
+      assertEquals("bobby", bobby.toStringUsingUTF8());
+      assertArrayEquals("bobby".getBytes(), bobby.getBytes());
+      assertEquals("alice", alice.toStringUsingUTF8());
+      assertEquals(2, buffer.position());
+      assertEquals(9, buffer.limit());
+    }
+  }
+
   @Test
   public void testWriteAllTo() throws Exception {
     byte[] orig = {10, 9 ,8, 7, 6, 5, 4, 3, 2, 1};
@@ -0,0 +1,81 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Collects the buffers allocated by an allocator to release them all at once, e.g. the buffers holding the column
+ * chunks of a row group once the row group has been read.
+ */
+public class ByteBufferReleaser implements AutoCloseable {
+
+  private final ByteBufferAllocator allocator;
+  private final List<ByteBuffer> toRelease = new ArrayList<>();
+
+  /**
+   * @param allocator the allocator the buffers to release were allocated by
+   */
+  public ByteBufferReleaser(ByteBufferAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  public ByteBufferAllocator getAllocator() {
+    return allocator;
+  }
+
+  /**
+   * @param buffer a buffer to release when this releaser is closed
+   */
+  public synchronized void releaseLater(ByteBuffer buffer) {
+    toRelease.add(buffer);
+  }
+
+  /**
+   * Releases a buffer passed to {@link #releaseLater(ByteBuffer)} before this releaser is closed, e.g. when the read
+   * it was allocated for has failed. The buffers that are not collected by this releaser are ignored.
+   *
+   * @param buffer a buffer to release now
+   */
+  public synchronized void release(ByteBuffer buffer) {
+    Iterator<ByteBuffer> it = toRelease.iterator();
+    while (it.hasNext()) {
+      // the buffers are compared by identity as their equality depends on their content
+      if (it.next() == buffer) {
+        it.remove();
+        allocator.release(buffer);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Releases all the buffers collected so far. This releaser can be reused afterwards.
+   */
+  @Override
+  public synchronized void close() {
+    for (ByteBuffer buffer : toRelease) {
+      allocator.release(buffer);
+    }
+    toRelease.clear();
+  }
+}
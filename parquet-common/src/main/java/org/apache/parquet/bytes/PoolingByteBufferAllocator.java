@@ -0,0 +1,147 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import java.nio.ByteBuffer;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ByteBufferAllocator} keeping the released buffers to serve the later allocations, so a steady-state scan
+ * releasing the buffers of every row group does not allocate new ones.
+ * <p>
+ * The buffers are pooled in power-of-two size classes: an allocation is served by a buffer of the smallest class
+ * fitting it, with its limit set to the requested size. Allocations larger than the largest class are not pooled.
+ * When the pooled buffers reach the configured number of bytes, the released buffers are passed to the underlying
+ * allocator instead.
+ * <p>
+ * As the buffers are reused, a released buffer must not be referenced anymore, including by the values read from it
+ * (e.g. a {@code Binary} of a page of an uncompressed column chunk); consumers keeping such values beyond their row
+ * group must copy them. This allocator is thread-safe.
+ */
+public class PoolingByteBufferAllocator implements ByteBufferAllocator, AutoCloseable {
+
+  private static final int MIN_CLASS_SHIFT = 12; // 4KB
+  private static final int DEFAULT_MAX_BUFFER_SIZE = 1 << 26; // 64MB
+  private static final long DEFAULT_MAX_POOLED_BYTES = 1L << 28; // 256MB
+
+  private final ByteBufferAllocator allocator;
+  private final int maxBufferSize;
+  private final long maxPooledBytes;
+  private final Deque<ByteBuffer>[] pools;
+  private final AtomicLong pooledBytes = new AtomicLong();
+
+  /**
+   * Creates a pooling allocator of buffers up to 64MB keeping at most 256MB of released buffers.
+   *
+   * @param allocator the allocator to allocate the buffers with
+   */
+  public PoolingByteBufferAllocator(ByteBufferAllocator allocator) {
+    this(allocator, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_POOLED_BYTES);
+  }
+
+  /**
+   * @param allocator the allocator to allocate the buffers with
+   * @param maxBufferSize the size of the largest buffers to pool; rounded up to a power of two
+   * @param maxPooledBytes the maximum number of bytes of the released buffers kept for reuse
+   */
+  @SuppressWarnings("unchecked")
+  public PoolingByteBufferAllocator(ByteBufferAllocator allocator, int maxBufferSize, long maxPooledBytes) {
+    if (maxBufferSize <= 0 || maxBufferSize > 1 << 30) {
+      throw new IllegalArgumentException("Invalid maximum buffer size: " + maxBufferSize);
+    }
+    this.allocator = allocator;
+    this.maxPooledBytes = maxPooledBytes;
+    int classCount = Math.max(0, sizeClass(maxBufferSize)) + 1;
+    this.maxBufferSize = classSize(classCount - 1);
+    this.pools = new Deque[classCount];
+    for (int i = 0; i < classCount; ++i) {
+      pools[i] = new ConcurrentLinkedDeque<>();
+    }
+  }
+
+  private static int sizeClass(int size) {
+    int shift = size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    return Math.max(shift, MIN_CLASS_SHIFT) - MIN_CLASS_SHIFT;
+  }
+
+  private static int classSize(int sizeClass) {
+    return 1 << (sizeClass + MIN_CLASS_SHIFT);
+  }
+
+  @Override
+  public ByteBuffer allocate(int size) {
+    if (size > maxBufferSize) {
+      return allocator.allocate(size);
+    }
+    int sizeClass = sizeClass(size);
+    ByteBuffer buffer = pools[sizeClass].pollFirst();
+    if (buffer == null) {
+      buffer = allocator.allocate(classSize(sizeClass));
+    } else {
+      pooledBytes.addAndGet(-buffer.capacity());
+      buffer.clear();
+    }
+    buffer.limit(size);
+    return buffer;
+  }
+
+  @Override
+  public void release(ByteBuffer buffer) {
+    int capacity = buffer.capacity();
+    if (capacity > maxBufferSize || Integer.bitCount(capacity) != 1 || capacity < classSize(0)) {
+      // not allocated from a size class
+      allocator.release(buffer);
+      return;
+    }
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      allocator.release(buffer);
+      return;
+    }
+    pools[sizeClass(capacity)].offerFirst(buffer);
+  }
+
+  @Override
+  public boolean isDirect() {
+    return allocator.isDirect();
+  }
+
+  /**
+   * @return the number of bytes of the released buffers kept for reuse
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /**
+   * Releases the pooled buffers to the underlying allocator.
+   */
+  @Override
+  public void close() {
+    for (Deque<ByteBuffer> pool : pools) {
+      ByteBuffer buffer;
+      while ((buffer = pool.pollFirst()) != null) {
+        pooledBytes.addAndGet(-buffer.capacity());
+        allocator.release(buffer);
+      }
+    }
+  }
+}
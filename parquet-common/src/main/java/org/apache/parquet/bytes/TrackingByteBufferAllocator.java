@@ -0,0 +1,94 @@
+/* 
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ByteBufferAllocator} keeping track of the buffers allocated and not released yet, to detect leaks in tests.
+ * Releasing a buffer that was not allocated by this allocator (or already released) fails, and so does closing this
+ * allocator while buffers are not released; the exception is caused by the stack trace of the allocation of one of
+ * the leaked buffers.
+ */
+public final class TrackingByteBufferAllocator implements ByteBufferAllocator, AutoCloseable {
+
+  /**
+   * The stack trace of the allocation of a buffer.
+   */
+  public static class AllocationStackTrace extends Exception {
+    private AllocationStackTrace(int size) {
+      super("Allocation of a buffer of " + size + " bytes");
+    }
+  }
+
+  public static TrackingByteBufferAllocator wrap(ByteBufferAllocator allocator) {
+    return new TrackingByteBufferAllocator(allocator);
+  }
+
+  private final ByteBufferAllocator allocator;
+  // identity based as the equality of the buffers depends on their content
+  private final Map<ByteBuffer, AllocationStackTrace> allocated = new IdentityHashMap<>();
+
+  private TrackingByteBufferAllocator(ByteBufferAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  @Override
+  public synchronized ByteBuffer allocate(int size) {
+    ByteBuffer buffer = allocator.allocate(size);
+    allocated.put(buffer, new AllocationStackTrace(size));
+    return buffer;
+  }
+
+  @Override
+  public synchronized void release(ByteBuffer buffer) {
+    if (allocated.remove(buffer) == null) {
+      throw new IllegalArgumentException("Releasing a buffer that was not allocated by this allocator or that was "
+          + "already released");
+    }
+    allocator.release(buffer);
+  }
+
+  @Override
+  public boolean isDirect() {
+    return allocator.isDirect();
+  }
+
+  /**
+   * @return the number of buffers allocated and not released yet
+   */
+  public synchronized int getUnreleasedCount() {
+    return allocated.size();
+  }
+
+  /**
+   * @throws IllegalStateException if some buffers have not been released
+   */
+  @Override
+  public synchronized void close() {
+    if (!allocated.isEmpty()) {
+      IllegalStateException e = new IllegalStateException(allocated.size() + " buffers were not released",
+          allocated.values().iterator().next());
+      allocated.clear();
+      throw e;
+    }
+  }
+}
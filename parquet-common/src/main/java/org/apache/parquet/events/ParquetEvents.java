@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.events;
+
+import org.apache.parquet.util.DynConstructors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The events of the hot paths of the readers and the writers, recorded by JDK Flight Recorder when the
+ * {@code parquet-jfr} module is on the class path and the JVM supports it. Otherwise the events are not recorded and
+ * {@link #begin(Type)} always returns {@code null}, so the instrumented code only pays a null check:
+ * <pre>
+ *   ParquetEvents.Event event = ParquetEvents.begin(ParquetEvents.Type.PAGE_DECOMPRESS);
+ *   BytesInput decompressed = decompressor.decompress(bytes, uncompressedSize);
+ *   if (event != null) {
+ *     event.commit(file, column, bytes.size(), uncompressedSize);
+ *   }
+ * </pre>
+ * This class does not depend on {@code jdk.jfr} so it loads on the JDKs without Flight Recorder.
+ */
+public abstract class ParquetEvents {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetEvents.class);
+
+  private static final String JFR_EVENTS_CLASS = "org.apache.parquet.events.jfr.JfrParquetEvents";
+
+  private static final ParquetEvents EVENTS = load();
+
+  /**
+   * The types of the events, with the meaning of their two sizes.
+   */
+  public enum Type {
+    /** A range of consecutive column chunks read from a file: the offset and the length of the range. */
+    CHUNKS_READ,
+    /** A page decrypted: its encrypted and decrypted sizes. */
+    PAGE_DECRYPT,
+    /** A page decompressed: its compressed and uncompressed sizes. */
+    PAGE_DECOMPRESS,
+    /** The decoders of a page initialized by a column reader: the uncompressed size and the value count of the page. */
+    PAGE_DECODE,
+    /** A page compressed: its uncompressed and compressed sizes. */
+    PAGE_COMPRESS,
+    /** A row group written, from its start to its end: its row count and its size in the file. */
+    BLOCK_WRITE,
+    /** The footer of a file written, with the indexes and the Bloom filters: the number of row groups and the size. */
+    FOOTER_WRITE
+  }
+
+  /**
+   * A started event.
+   */
+  public interface Event {
+
+    /**
+     * Ends this event and records it.
+     *
+     * @param file the path of the file, {@code null} if it is not known
+     * @param column the dotted path of the column, {@code null} if the event is not about a single column
+     * @param size the first size of the event, see {@link Type}
+     * @param otherSize the second size of the event, see {@link Type}
+     */
+    void commit(String file, String column, long size, long otherSize);
+  }
+
+  /**
+   * Starts an event.
+   *
+   * @param type the type of the event
+   * @return the started event, or {@code null} if the events of this type are not recorded
+   */
+  public static Event begin(Type type) {
+    return EVENTS.start(type);
+  }
+
+  /**
+   * @return whether the events are recorded by JDK Flight Recorder when it is enabled
+   */
+  public static boolean isAvailable() {
+    return !(EVENTS instanceof NoEvents);
+  }
+
+  /**
+   * @param type the type of the events
+   * @return whether the events of this type are recorded, so that {@link #begin(Type)} returns an event
+   */
+  public static boolean isEnabled(Type type) {
+    return EVENTS.enabled(type);
+  }
+
+  /**
+   * @param type the type of the events
+   * @return whether the events of this type are recorded
+   */
+  protected abstract boolean enabled(Type type);
+
+  /**
+   * @param type the type of the event
+   * @return the started event, or {@code null} if the events of this type are not recorded
+   */
+  protected abstract Event start(Type type);
+
+  private static ParquetEvents load() {
+    try {
+      return new DynConstructors.Builder(ParquetEvents.class)
+          .loader(ParquetEvents.class.getClassLoader())
+          .impl(JFR_EVENTS_CLASS)
+          .<ParquetEvents>buildChecked()
+          .newInstanceChecked();
+    } catch (Exception | LinkageError e) {
+      // parquet-jfr is not on the class path or the JVM has no Flight Recorder
+      LOG.debug("The events will not be recorded by JDK Flight Recorder", e);
+      return new NoEvents();
+    }
+  }
+
+  private static final class NoEvents extends ParquetEvents {
+    @Override
+    protected boolean enabled(Type type) {
+      return false;
+    }
+
+    @Override
+    protected Event start(Type type) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+
+/**
+ * {@code LocalInputFile} is an {@link InputFile} reading a file of the local file system with NIO, without the Hadoop
+ * file system layers.
+ * <p>
+ * By default the streams of this file read it with positional {@link FileChannel} reads. If memory mapping is
+ * enabled, the file is mapped once and shared by all the streams: {@link MappedInputStream#sliceBuffers(long)} and
+ * the vectored reads then return slices of the mapping instead of copies. The mapping is released by the garbage
+ * collector once neither this file nor the buffers sliced from it are referenced anymore; the file must not be
+ * truncated while it is mapped.
+ */
+public class LocalInputFile implements InputFile {
+
+  // the maximum size of a mapped buffer is Integer.MAX_VALUE so large files are mapped in several regions
+  private static final int REGION_SIZE = 1 << 30;
+
+  private final Path path;
+  private final boolean memoryMapped;
+  private final int regionSize;
+  private long length = -1;
+  // the mapped regions of the file, mapped on first use
+  private ByteBuffer[] regions;
+
+  /**
+   * @param path the path of the file
+   */
+  public LocalInputFile(Path path) {
+    this(path, false);
+  }
+
+  /**
+   * @param path the path of the file
+   * @param memoryMapped whether the file is memory mapped instead of read with positional reads
+   */
+  public LocalInputFile(Path path, boolean memoryMapped) {
+    this(path, memoryMapped, REGION_SIZE);
+  }
+
+  // visible for testing
+  LocalInputFile(Path path, boolean memoryMapped, int regionSize) {
+    this.path = path;
+    this.memoryMapped = memoryMapped;
+    this.regionSize = regionSize;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    if (length == -1) {
+      length = Files.size(path);
+    }
+    return length;
+  }
+
+  @Override
+  public SeekableInputStream newStream() throws IOException {
+    if (memoryMapped) {
+      ByteBuffer[] mapped = map();
+      return new MappedInputStream(mapped, regionSize, length);
+    }
+    return new ChannelInputStream(FileChannel.open(path, StandardOpenOption.READ));
+  }
+
+  private synchronized ByteBuffer[] map() throws IOException {
+    if (regions == null) {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        long size = channel.size();
+        ByteBuffer[] mapped = new ByteBuffer[Math.toIntExact((size + regionSize - 1) / regionSize)];
+        for (int i = 0; i < mapped.length; ++i) {
+          long offset = (long) i * regionSize;
+          mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(regionSize, size - offset));
+        }
+        length = size;
+        regions = mapped;
+      }
+    }
+    return regions;
+  }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
+
+  /**
+   * A stream reading a file with positional {@link FileChannel} reads. Small reads are served from an internal buffer
+   * so reading byte by byte (e.g. when decoding the thrift structures) does not issue a system call per byte.
+   */
+  private static class ChannelInputStream extends SeekableInputStream {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    // the file position of the first byte of the buffer
+    private long bufferPos = 0;
+    private long pos = 0;
+
+    ChannelInputStream(FileChannel channel) {
+      this.channel = channel;
+      buffer.limit(0);
+    }
+
+    @Override
+    public long getPos() {
+      return pos;
+    }
+
+    @Override
+    public void seek(long newPos) throws IOException {
+      if (newPos < 0) {
+        throw new EOFException("Cannot seek to a negative position: " + newPos);
+      }
+      pos = newPos;
+    }
+
+    /**
+     * @return the number of bytes available in the buffer from the current position
+     */
+    private int buffered() {
+      long offset = pos - bufferPos;
+      return offset >= 0 && offset < buffer.limit() ? (int) (buffer.limit() - offset) : 0;
+    }
+
+    private boolean fillBuffer() throws IOException {
+      buffer.clear();
+      int n = channel.read(buffer, pos);
+      if (n <= 0) {
+        buffer.limit(0);
+        return false;
+      }
+      buffer.flip();
+      bufferPos = pos;
+      return true;
+    }
+
+    private int readBuffered(ByteBuffer dst) {
+      int n = Math.min(buffered(), dst.remaining());
+      ByteBuffer src = buffer.duplicate();
+      src.position((int) (pos - bufferPos));
+      src.limit(src.position() + n);
+      dst.put(src);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (buffered() == 0 && !fillBuffer()) {
+        return -1;
+      }
+      return buffer.get((int) (pos++ - bufferPos)) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+      return read(ByteBuffer.wrap(bytes, off, len));
+    }
+
+    @Override
+    public void readFully(byte[] bytes) throws IOException {
+      readFully(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+      readFully(ByteBuffer.wrap(bytes, start, len));
+    }
+
+    @Override
+    public int read(ByteBuffer buf) throws IOException {
+      if (!buf.hasRemaining()) {
+        return 0;
+      }
+      if (buffered() > 0) {
+        return readBuffered(buf);
+      }
+      if (buf.remaining() < BUFFER_SIZE) {
+        return fillBuffer() ? readBuffered(buf) : -1;
+      }
+      int n = channel.read(buf, pos);
+      if (n > 0) {
+        pos += n;
+      }
+      return n;
+    }
+
+    @Override
+    public void readFully(ByteBuffer buf) throws IOException {
+      while (buf.hasRemaining()) {
+        if (read(buf) < 0) {
+          throw new EOFException("Reached the end of stream with " + buf.remaining() + " bytes left to read");
+        }
+      }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      long skipped = Math.min(n, Math.max(0, channel.size() - pos));
+      pos += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffered();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  /**
+   * A stream reading the memory mapped regions of a file.
+   */
+  public static class MappedInputStream extends SeekableInputStream {
+    private final ByteBuffer[] regions;
+    private final int regionSize;
+    private final long length;
+    private long pos = 0;
+
+    private MappedInputStream(ByteBuffer[] regions, int regionSize, long length) {
+      this.regions = regions;
+      this.regionSize = regionSize;
+      this.length = length;
+    }
+
+    @Override
+    public long getPos() {
+      return pos;
+    }
+
+    @Override
+    public void seek(long newPos) throws IOException {
+      if (newPos < 0) {
+        throw new EOFException("Cannot seek to a negative position: " + newPos);
+      }
+      pos = newPos;
+    }
+
+    /**
+     * Returns read-only slices of the mapping for the next {@code len} bytes, without copying them, and advances the
+     * position of this stream. Several slices are returned only if the bytes span mapped regions.
+     *
+     * @param len the number of bytes to slice
+     * @return the slices of the mapping
+     * @throws EOFException if the stream has fewer than {@code len} bytes left
+     */
+    public List<ByteBuffer> sliceBuffers(long len) throws EOFException {
+      if (len < 0 || len > length - pos) {
+        throw new EOFException("Cannot slice " + len + " bytes at position " + pos + " of a stream of " + length
+            + " bytes");
+      }
+      if (len == 0) {
+        return Collections.emptyList();
+      }
+      List<ByteBuffer> slices = new ArrayList<>(1);
+      long end = pos + len;
+      while (pos < end) {
+        int offset = (int) (pos % regionSize);
+        ByteBuffer slice = regions[(int) (pos / regionSize)].asReadOnlyBuffer();
+        int n = (int) Math.min(end - pos, slice.limit() - offset);
+        slice.position(offset);
+        slice.limit(offset + n);
+        slices.add(slice.slice());
+        pos += n;
+      }
+      return slices;
+    }
+
+    @Override
+    public int read() {
+      if (pos >= length) {
+        return -1;
+      }
+      int b = regions[(int) (pos / regionSize)].get((int) (pos % regionSize)) & 0xFF;
+      pos += 1;
+      return b;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+      return read(ByteBuffer.wrap(bytes, off, len));
+    }
+
+    @Override
+    public void readFully(byte[] bytes) throws IOException {
+      readFully(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+      readFully(ByteBuffer.wrap(bytes, start, len));
+    }
+
+    @Override
+    public int read(ByteBuffer buf) throws IOException {
+      if (!buf.hasRemaining()) {
+        return 0;
+      }
+      if (pos >= length) {
+        return -1;
+      }
+      int n = (int) Math.min(buf.remaining(), length - pos);
+      for (ByteBuffer slice : sliceBuffers(n)) {
+        buf.put(slice);
+      }
+      return n;
+    }
+
+    @Override
+    public void readFully(ByteBuffer buf) throws IOException {
+      for (ByteBuffer slice : sliceBuffers(buf.remaining())) {
+        buf.put(slice);
+      }
+    }
+
+    @Override
+    public long skip(long n) {
+      if (n <= 0) {
+        return 0;
+      }
+      long skipped = Math.min(n, Math.max(0, length - pos));
+      pos += skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(Integer.MAX_VALUE, Math.max(0, length - pos));
+    }
+
+    @Override
+    public boolean readVectoredAvailable() {
+      return true;
+    }
+
+    /**
+     * Reads the ranges without copying: the data of each range is a read-only slice of the mapping, the allocator is
+     * only used for the ranges spanning mapped regions.
+     */
+    @Override
+    public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+      for (ParquetFileRange range : ranges) {
+        seek(range.getOffset());
+        List<ByteBuffer> slices = sliceBuffers(range.getLength());
+        ByteBuffer data;
+        if (slices.size() == 1) {
+          data = slices.get(0);
+        } else {
+          data = allocator.allocate(range.getLength());
+          for (ByteBuffer slice : slices) {
+            data.put(slice);
+          }
+          data.flip();
+        }
+        range.setDataReadFuture(CompletableFuture.completedFuture(data));
+      }
+    }
+
+    @Override
+    public void close() {
+      // the mapping is shared by the streams of the file and is released by the garbage collector
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code LocalOutputFile} is an {@link OutputFile} writing a file of the local file system with NIO, without the
+ * Hadoop file system layers.
+ */
+public class LocalOutputFile implements OutputFile {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Path path;
+
+  /**
+   * @param path the path of the file
+   */
+  public LocalOutputFile(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public PositionOutputStream create(long blockSizeHint) throws IOException {
+    return new LocalPositionOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE));
+  }
+
+  @Override
+  public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+    return new LocalPositionOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+  }
+
+  @Override
+  public boolean supportsBlockSize() {
+    return false;
+  }
+
+  @Override
+  public long defaultBlockSize() {
+    return -1;
+  }
+
+  @Override
+  public String getPath() {
+    return path.toString();
+  }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
+
+  private static class LocalPositionOutputStream extends PositionOutputStream {
+    private final OutputStream stream;
+    private long pos = 0;
+
+    LocalPositionOutputStream(OutputStream stream) {
+      this.stream = new BufferedOutputStream(stream, BUFFER_SIZE);
+    }
+
+    @Override
+    public long getPos() {
+      return pos;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      stream.write(b);
+      pos += 1;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      stream.write(b, off, len);
+      pos += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.close();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.parquet.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A range of bytes of a file to be read by
+ * {@link SeekableInputStream#readVectored(java.util.List, org.apache.parquet.bytes.ByteBufferAllocator)}.
+ * <p>
+ * Once the read is issued the data of the range is available through {@link #getDataReadFuture()}. The returned
+ * buffer is positioned at 0 and its limit is the length of the range.
+ */
+public class ParquetFileRange {
+
+  private final long offset;
+  private final int length;
+  private CompletableFuture<ByteBuffer> dataReadFuture;
+
+  public ParquetFileRange(long offset, int length) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Invalid negative offset: " + offset);
+    }
+    if (length < 0) {
+      throw new IllegalArgumentException("Invalid negative length: " + length);
+    }
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * @return the position in the file where the range starts
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * @return the number of bytes in the range
+   */
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * @return the position in the file following the last byte of the range
+   */
+  public long getEnd() {
+    return offset + length;
+  }
+
+  /**
+   * @return the future of the data of this range or {@code null} if the read has not been issued yet
+   */
+  public CompletableFuture<ByteBuffer> getDataReadFuture() {
+    return dataReadFuture;
+  }
+
+  public void setDataReadFuture(CompletableFuture<ByteBuffer> dataReadFuture) {
+    this.dataReadFuture = dataReadFuture;
+  }
+
+  @Override
+  public String toString() {
+    return "range[" + offset + "," + getEnd() + ")";
+  }
+}
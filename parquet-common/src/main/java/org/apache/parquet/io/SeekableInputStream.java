@@ -23,6 +23,10 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
 
 /**
  * {@code SeekableInputStream} is an interface with the methods needed by
@@ -105,4 +109,38 @@ public abstract class SeekableInputStream extends InputStream {
    */
   public abstract void readFully(ByteBuffer buf) throws IOException;
 
+  /**
+   * Whether this stream implements {@link #readVectored(List, ByteBufferAllocator)} with reads that are issued
+   * concurrently rather than one range after the other.
+   *
+   * @return true if the vectored read of this stream is faster than sequential seeks and reads
+   */
+  public boolean readVectoredAvailable() {
+    return false;
+  }
+
+  /**
+   * Read a list of file ranges. The data of each range is published through
+   * {@link ParquetFileRange#getDataReadFuture()}, which is set for all the ranges by the time this method returns.
+   * <p>
+   * The default implementation seeks to each range and reads it fully, one after the other, so the futures are
+   * already completed when this method returns. Implementations able to issue the reads concurrently should
+   * override this method and {@link #readVectoredAvailable()}. The position of the stream after this call is
+   * undefined.
+   *
+   * @param ranges the ranges to read; they must not overlap
+   * @param allocator the allocator to create the buffers of the ranges with
+   * @throws IOException If the underlying stream throws IOException
+   * @throws EOFException If a range ends after the end of the stream
+   */
+  public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+    for (ParquetFileRange range : ranges) {
+      ByteBuffer buffer = allocator.allocate(range.getLength());
+      seek(range.getOffset());
+      readFully(buffer);
+      buffer.flip();
+      range.setDataReadFuture(CompletableFuture.completedFuture(buffer));
+    }
+  }
+
 }
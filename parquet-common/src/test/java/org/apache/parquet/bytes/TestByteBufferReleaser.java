@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class TestByteBufferReleaser {
+
+  @Test
+  public void testReleaseOnClose() {
+    try (TrackingByteBufferAllocator allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+         ByteBufferReleaser releaser = new ByteBufferReleaser(allocator)) {
+      releaser.releaseLater(allocator.allocate(10));
+      releaser.releaseLater(allocator.allocate(10));
+      assertEquals(2, allocator.getUnreleasedCount());
+      releaser.close();
+      assertEquals(0, allocator.getUnreleasedCount());
+
+      // the releaser can be reused
+      releaser.releaseLater(allocator.allocate(10));
+      releaser.close();
+      assertEquals(0, allocator.getUnreleasedCount());
+    }
+  }
+
+  @Test
+  public void testReleaseBeforeClose() {
+    try (TrackingByteBufferAllocator allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+         ByteBufferReleaser releaser = new ByteBufferReleaser(allocator)) {
+      ByteBuffer first = allocator.allocate(10);
+      ByteBuffer second = allocator.allocate(10);
+      releaser.releaseLater(first);
+      releaser.releaseLater(second);
+      // an equal buffer that is not collected is not released
+      releaser.release(ByteBuffer.allocate(10));
+      assertEquals(2, allocator.getUnreleasedCount());
+
+      releaser.release(second);
+      assertEquals(1, allocator.getUnreleasedCount());
+      // not released twice on close
+      releaser.close();
+      assertEquals(0, allocator.getUnreleasedCount());
+    }
+  }
+}
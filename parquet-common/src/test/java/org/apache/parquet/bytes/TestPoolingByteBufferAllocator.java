@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class TestPoolingByteBufferAllocator {
+
+  @Test
+  public void testReleasedBuffersAreReused() {
+    try (TrackingByteBufferAllocator tracking = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+         PoolingByteBufferAllocator allocator = new PoolingByteBufferAllocator(tracking)) {
+      ByteBuffer buffer = allocator.allocate(5000);
+      assertEquals(5000, buffer.limit());
+      assertEquals(8192, buffer.capacity());
+      buffer.put((byte) 1);
+      allocator.release(buffer);
+      assertEquals(8192, allocator.getPooledBytes());
+
+      // any size of the same class is served by the released buffer
+      ByteBuffer reused = allocator.allocate(8000);
+      assertSame(buffer, reused);
+      assertEquals(0, reused.position());
+      assertEquals(8000, reused.limit());
+      assertEquals(0, allocator.getPooledBytes());
+
+      ByteBuffer small = allocator.allocate(1);
+      assertEquals(4096, small.capacity());
+      assertNotSame(buffer, small);
+
+      allocator.release(reused);
+      allocator.release(small);
+      assertEquals(2, tracking.getUnreleasedCount());
+      allocator.close();
+      assertEquals(0, allocator.getPooledBytes());
+      assertEquals(0, tracking.getUnreleasedCount());
+    }
+  }
+
+  @Test
+  public void testLargeBuffersAreNotPooled() {
+    try (TrackingByteBufferAllocator tracking = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+         PoolingByteBufferAllocator allocator = new PoolingByteBufferAllocator(tracking, 10000, 1 << 20)) {
+      ByteBuffer buffer = allocator.allocate(16385);
+      assertEquals(16385, buffer.capacity());
+      allocator.release(buffer);
+      assertEquals(0, allocator.getPooledBytes());
+      assertEquals(0, tracking.getUnreleasedCount());
+
+      // the maximum buffer size is rounded up to a power of two
+      buffer = allocator.allocate(16384);
+      allocator.release(buffer);
+      assertEquals(16384, allocator.getPooledBytes());
+    }
+  }
+
+  @Test
+  public void testMaxPooledBytes() {
+    try (TrackingByteBufferAllocator tracking = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+         PoolingByteBufferAllocator allocator = new PoolingByteBufferAllocator(tracking, 1 << 20, 10000)) {
+      ByteBuffer first = allocator.allocate(4096);
+      ByteBuffer second = allocator.allocate(4096);
+      ByteBuffer third = allocator.allocate(4096);
+      allocator.release(first);
+      allocator.release(second);
+      allocator.release(third);
+      assertEquals(8192, allocator.getPooledBytes());
+      // the third buffer did not fit in the pool
+      assertEquals(2, tracking.getUnreleasedCount());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+
+import org.apache.parquet.TestUtils;
+import org.junit.Test;
+
+public class TestTrackingByteBufferAllocator {
+
+  @Test
+  public void testReleasedBuffers() {
+    try (TrackingByteBufferAllocator allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator())) {
+      ByteBuffer first = allocator.allocate(10);
+      ByteBuffer second = allocator.allocate(10);
+      assertEquals(2, allocator.getUnreleasedCount());
+      allocator.release(first);
+      allocator.release(second);
+      assertEquals(0, allocator.getUnreleasedCount());
+    }
+  }
+
+  @Test
+  public void testLeak() {
+    TrackingByteBufferAllocator allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+    allocator.allocate(10);
+    try {
+      allocator.close();
+      throw new AssertionError("Closing the allocator should fail");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getCause() instanceof TrackingByteBufferAllocator.AllocationStackTrace);
+    }
+  }
+
+  @Test
+  public void testDoubleRelease() {
+    try (TrackingByteBufferAllocator allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator())) {
+      ByteBuffer buffer = allocator.allocate(10);
+      allocator.release(buffer);
+      TestUtils.assertThrows("Should not release a buffer twice",
+          IllegalArgumentException.class, (Callable<Void>) () -> {
+            allocator.release(buffer);
+            return null;
+          });
+    }
+  }
+}
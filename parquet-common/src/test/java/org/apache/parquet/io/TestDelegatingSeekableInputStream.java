@@ -20,12 +20,14 @@
 package org.apache.parquet.io;
 
 import org.apache.parquet.TestUtils;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
 import org.junit.Assert;
 import org.junit.Test;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import static org.apache.parquet.io.MockInputStream.TEST_ARRAY;
@@ -841,4 +843,56 @@ public class TestDelegatingSeekableInputStream {
     Assert.assertEquals("Buffer contents should match",
         ByteBuffer.wrap(TEST_ARRAY, 0, 7), readBuffer);
   }
+
+  @Test
+  public void testDefaultReadVectored() throws Exception {
+    final MockInputStream stream = new MockInputStream(2, 3, 3);
+    SeekableInputStream in = new DelegatingSeekableInputStream(stream) {
+      @Override
+      public long getPos() {
+        return stream.getPos();
+      }
+
+      @Override
+      public void seek(long newPos) {
+        stream.reset();
+        stream.skip(newPos);
+      }
+    };
+
+    Assert.assertFalse(in.readVectoredAvailable());
+    List<ParquetFileRange> ranges = Arrays.asList(
+        new ParquetFileRange(1, 3), new ParquetFileRange(6, 0), new ParquetFileRange(7, 3));
+    in.readVectored(ranges, new HeapByteBufferAllocator());
+
+    Assert.assertEquals("Buffer contents should match",
+        ByteBuffer.wrap(TEST_ARRAY, 1, 3), ranges.get(0).getDataReadFuture().get());
+    Assert.assertEquals("Buffer contents should match",
+        ByteBuffer.allocate(0), ranges.get(1).getDataReadFuture().get());
+    Assert.assertEquals("Buffer contents should match",
+        ByteBuffer.wrap(TEST_ARRAY, 7, 3), ranges.get(2).getDataReadFuture().get());
+  }
+
+  @Test
+  public void testDefaultReadVectoredUnderflow() throws Exception {
+    final MockInputStream stream = new MockInputStream();
+    final SeekableInputStream in = new DelegatingSeekableInputStream(stream) {
+      @Override
+      public long getPos() {
+        return stream.getPos();
+      }
+
+      @Override
+      public void seek(long newPos) {
+        stream.reset();
+        stream.skip(newPos);
+      }
+    };
+
+    TestUtils.assertThrows("Should throw EOFException",
+        EOFException.class, (Callable<Void>) () -> {
+          in.readVectored(Arrays.asList(new ParquetFileRange(8, 3)), new HeapByteBufferAllocator());
+          return null;
+        });
+  }
 }
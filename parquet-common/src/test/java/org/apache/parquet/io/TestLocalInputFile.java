@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.apache.parquet.TestUtils;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestLocalInputFile {
+
+  // larger than the buffer of the channel stream
+  private static final int LENGTH = 20000;
+
+  @Parameterized.Parameters(name = "memoryMapped={0} regionSize={1}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] {
+        { false, Integer.MAX_VALUE },
+        { true, Integer.MAX_VALUE },
+        // reads span several mapped regions
+        { true, 4096 } });
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final boolean memoryMapped;
+  private final int regionSize;
+  private byte[] data;
+  private LocalInputFile file;
+
+  public TestLocalInputFile(boolean memoryMapped, int regionSize) {
+    this.memoryMapped = memoryMapped;
+    this.regionSize = regionSize;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    data = new byte[LENGTH];
+    for (int i = 0; i < LENGTH; ++i) {
+      data[i] = (byte) (i * 31);
+    }
+    Path path = temp.getRoot().toPath().resolve("data");
+    try (PositionOutputStream out = new LocalOutputFile(path).create(0)) {
+      out.write(data, 0, 100);
+      assertEquals(100, out.getPos());
+      for (int i = 100; i < 200; ++i) {
+        out.write(data[i]);
+      }
+      out.write(data, 200, LENGTH - 200);
+      assertEquals(LENGTH, out.getPos());
+    }
+    file = new LocalInputFile(path, memoryMapped, regionSize);
+  }
+
+  @Test
+  public void testLength() throws IOException {
+    assertEquals(LENGTH, file.getLength());
+  }
+
+  @Test
+  public void testReads() throws IOException {
+    try (SeekableInputStream stream = file.newStream()) {
+      assertEquals(data[0] & 0xFF, stream.read());
+      assertEquals(1, stream.getPos());
+
+      byte[] bytes = new byte[10000];
+      stream.readFully(bytes);
+      assertArrayEquals(Arrays.copyOfRange(data, 1, 10001), bytes);
+      assertEquals(10001, stream.getPos());
+
+      stream.seek(5000);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+      stream.readFully(buffer);
+      buffer.flip();
+      assertEquals(ByteBuffer.wrap(data, 5000, 100), buffer);
+
+      // reading byte by byte after a seek backwards
+      stream.seek(10);
+      for (int i = 10; i < 9000; ++i) {
+        assertEquals(data[i] & 0xFF, stream.read());
+      }
+
+      stream.seek(LENGTH - 10);
+      bytes = new byte[20];
+      assertEquals(10, stream.read(bytes, 0, 20));
+      assertEquals(-1, stream.read(bytes, 0, 20));
+      assertEquals(-1, stream.read());
+    }
+  }
+
+  @Test
+  public void testReadFullyPastTheEnd() throws IOException {
+    try (SeekableInputStream stream = file.newStream()) {
+      stream.seek(LENGTH - 10);
+      TestUtils.assertThrows("Should throw EOFException if no more bytes left",
+          EOFException.class, (Callable<Void>) () -> {
+            stream.readFully(new byte[11]);
+            return null;
+          });
+    }
+  }
+
+  @Test
+  public void testVectoredReads() throws IOException {
+    List<ParquetFileRange> ranges = Arrays.asList(
+        new ParquetFileRange(0, 100),
+        new ParquetFileRange(4000, 8000),
+        new ParquetFileRange(LENGTH - 1, 1));
+    try (SeekableInputStream stream = file.newStream()) {
+      assertEquals(memoryMapped, stream.readVectoredAvailable());
+      stream.readVectored(ranges, new HeapByteBufferAllocator());
+      for (ParquetFileRange range : ranges) {
+        ByteBuffer expected = ByteBuffer.wrap(data, (int) range.getOffset(), range.getLength());
+        assertEquals(expected, range.getDataReadFuture().join());
+      }
+    }
+  }
+
+  @Test
+  public void testMappedSlices() throws IOException {
+    if (!memoryMapped) {
+      return;
+    }
+    try (LocalInputFile.MappedInputStream stream = (LocalInputFile.MappedInputStream) file.newStream()) {
+      stream.seek(3000);
+      List<ByteBuffer> slices = stream.sliceBuffers(10000);
+      assertEquals(13000, stream.getPos());
+      int offset = 3000;
+      for (ByteBuffer slice : slices) {
+        assertTrue(slice.isDirect());
+        assertEquals(ByteBuffer.wrap(data, offset, slice.remaining()), slice);
+        offset += slice.remaining();
+      }
+      assertEquals(13000, offset);
+    }
+  }
+
+  @Test
+  public void testCreateDoesNotOverwrite() throws IOException {
+    LocalOutputFile outputFile = new LocalOutputFile(file.getPath());
+    TestUtils.assertThrows("Should not overwrite an existing file",
+        FileAlreadyExistsException.class, (Callable<Void>) () -> {
+          outputFile.create(0).close();
+          return null;
+        });
+    try (PositionOutputStream out = outputFile.createOrOverwrite(0)) {
+      out.write(new byte[] { 1, 2, 3 });
+    }
+    assertEquals(3, new LocalInputFile(file.getPath()).getLength());
+  }
+}
@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.thrift.TBase;
@@ -49,9 +50,12 @@ import org.apache.thrift.transport.TTransportException;
 import org.apache.parquet.format.event.Consumers.Consumer;
 import org.apache.parquet.format.event.Consumers.DelegatingFieldConsumer;
 import org.apache.parquet.format.event.EventBasedThriftReader;
+import org.apache.parquet.format.event.TypedConsumer.I16Consumer;
 import org.apache.parquet.format.event.TypedConsumer.I32Consumer;
 import org.apache.parquet.format.event.TypedConsumer.I64Consumer;
+import org.apache.parquet.format.event.TypedConsumer.ListConsumer;
 import org.apache.parquet.format.event.TypedConsumer.StringConsumer;
+import org.apache.parquet.format.event.TypedConsumer.StructConsumer;
 
 /**
  * Utility to read/write metadata
@@ -205,6 +209,20 @@ public class Util {
     abstract public void setCreatedBy(String createdBy);
     abstract public void setEncryptionAlgorithm(EncryptionAlgorithm encryptionAlgorithm);
     abstract public void setFooterSigningKeyMetadata(byte[] footerSigningKeyMetadata);
+
+    /**
+     * Called for each column chunk of the row groups, after the schema has been consumed. The column chunks that are
+     * not required are skipped without being decoded and are missing from the row groups passed to
+     * {@link #addRowGroup(RowGroup)}. If a row group does not set its total compressed size, it is set from the sizes
+     * of all its column chunks, including the skipped ones.
+     *
+     * @param columnIndex the index of the column chunk in its row group, i.e. the index of its column among the
+     *                    leaves of the schema
+     * @return whether the column chunk is decoded, true by default
+     */
+    public boolean isColumnChunkRequired(int columnIndex) {
+      return true;
+    }
   }
 
   /**
@@ -315,12 +333,7 @@ public class Util {
           });
 
       if (!skipRowGroups) {
-        eventConsumer = eventConsumer.onField(ROW_GROUPS, listElementsOf(struct(RowGroup.class, new Consumer<RowGroup>() {
-          @Override
-          public void consume(RowGroup rowGroup) {
-            consumer.addRowGroup(rowGroup);
-          }
-        })));
+        eventConsumer = eventConsumer.onField(ROW_GROUPS, listElementsOf(new RowGroupConsumer(consumer)));
       }
 
       final InputStream from;
@@ -337,6 +350,102 @@ public class Util {
     }
   }
 
+  /**
+   * Reads the row groups field by field to skip the column chunks that are not required by the consumer.
+   */
+  private static final class RowGroupConsumer extends StructConsumer {
+    private final FileMetaDataConsumer consumer;
+    private final DelegatingFieldConsumer rowGroupFields;
+    private final DelegatingFieldConsumer skippedColumnChunkFields;
+    private RowGroup rowGroup;
+    private int columnIndex;
+    private long compressedSize;
+
+    RowGroupConsumer(FileMetaDataConsumer consumer) {
+      this.consumer = consumer;
+      final StructConsumer columnChunkConsumer = struct(ColumnChunk.class, new Consumer<ColumnChunk>() {
+        @Override
+        public void consume(ColumnChunk columnChunk) {
+          if (columnChunk.isSetMeta_data()) {
+            compressedSize += columnChunk.getMeta_data().getTotal_compressed_size();
+          }
+          rowGroup.addToColumns(columnChunk);
+        }
+      });
+      this.rowGroupFields = fieldConsumer()
+          .onField(RowGroup._Fields.COLUMNS, new ListConsumer() {
+            @Override
+            public void consumeElement(TProtocol protocol, EventBasedThriftReader reader, byte elemType)
+                throws TException {
+              if (RowGroupConsumer.this.consumer.isColumnChunkRequired(columnIndex++)) {
+                columnChunkConsumer.read(protocol, reader, elemType);
+              } else {
+                reader.readStruct(skippedColumnChunkFields);
+              }
+            }
+          }).onField(RowGroup._Fields.TOTAL_BYTE_SIZE, new I64Consumer() {
+            @Override
+            public void consume(long value) {
+              rowGroup.setTotal_byte_size(value);
+            }
+          }).onField(RowGroup._Fields.NUM_ROWS, new I64Consumer() {
+            @Override
+            public void consume(long value) {
+              rowGroup.setNum_rows(value);
+            }
+          }).onField(RowGroup._Fields.SORTING_COLUMNS, listOf(SortingColumn.class, new Consumer<List<SortingColumn>>() {
+            @Override
+            public void consume(List<SortingColumn> sortingColumns) {
+              rowGroup.setSorting_columns(sortingColumns);
+            }
+          })).onField(RowGroup._Fields.FILE_OFFSET, new I64Consumer() {
+            @Override
+            public void consume(long value) {
+              rowGroup.setFile_offset(value);
+            }
+          }).onField(RowGroup._Fields.TOTAL_COMPRESSED_SIZE, new I64Consumer() {
+            @Override
+            public void consume(long value) {
+              rowGroup.setTotal_compressed_size(value);
+            }
+          }).onField(RowGroup._Fields.ORDINAL, new I16Consumer() {
+            @Override
+            public void consume(short value) {
+              rowGroup.setOrdinal(value);
+            }
+          });
+      // only the compressed size of the skipped column chunks is decoded
+      final DelegatingFieldConsumer skippedColumnMetaDataFields = fieldConsumer()
+          .onField(ColumnMetaData._Fields.TOTAL_COMPRESSED_SIZE, new I64Consumer() {
+            @Override
+            public void consume(long value) {
+              compressedSize += value;
+            }
+          });
+      this.skippedColumnChunkFields = fieldConsumer()
+          .onField(ColumnChunk._Fields.META_DATA, new StructConsumer() {
+            @Override
+            public void consumeStruct(TProtocol protocol, EventBasedThriftReader reader) throws TException {
+              reader.readStruct(skippedColumnMetaDataFields);
+            }
+          });
+    }
+
+    @Override
+    public void consumeStruct(TProtocol protocol, EventBasedThriftReader reader) throws TException {
+      rowGroup = new RowGroup();
+      rowGroup.setColumns(new ArrayList<ColumnChunk>());
+      columnIndex = 0;
+      compressedSize = 0;
+      reader.readStruct(rowGroupFields);
+      if (rowGroup.getColumns().size() < columnIndex && !rowGroup.isSetTotal_compressed_size()) {
+        rowGroup.setTotal_compressed_size(compressedSize);
+      }
+      rowGroup.validate();
+      consumer.addRowGroup(rowGroup);
+    }
+  }
+
   private static TProtocol protocol(OutputStream to) throws TTransportException {
     return protocol(new TIOStreamTransport(to));
   }
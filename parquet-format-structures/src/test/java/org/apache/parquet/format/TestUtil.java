@@ -29,9 +29,11 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 
 import org.junit.Test;
 import org.apache.parquet.format.Util.DefaultFileMetaDataConsumer;
+import org.apache.parquet.format.Util.FileMetaDataConsumer;
 
 public class TestUtil {
 
@@ -80,6 +82,100 @@ public class TestUtil {
     assertEquals(md, md6);
   }
 
+  @Test
+  public void testReadFileMetadataSkippingColumnChunks() throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    FileMetaData md = new FileMetaData(
+        1,
+        asList(new SchemaElement("foo")),
+        10,
+        asList(
+            new RowGroup(
+                asList(columnChunk(0, 10), columnChunk(1, 20), columnChunk(2, 30)),
+                10,
+                5).setOrdinal((short) 0),
+            new RowGroup(
+                asList(columnChunk(3, 40), columnChunk(4, 50), columnChunk(5, 60)),
+                11,
+                5).setTotal_compressed_size(123)
+        )
+    );
+    writeFileMetaData(md, baos);
+    FileMetaData projected = new FileMetaData();
+    readFileMetaData(in(baos), new SkippingConsumer(projected, 1));
+
+    RowGroup rowGroup = projected.getRow_groups().get(0);
+    assertEquals(asList(columnChunk(0, 10), columnChunk(2, 30)), rowGroup.getColumns());
+    assertEquals(0, rowGroup.getOrdinal());
+    // set from the sizes of all the column chunks
+    assertEquals(60, rowGroup.getTotal_compressed_size());
+    rowGroup = projected.getRow_groups().get(1);
+    assertEquals(asList(columnChunk(3, 40), columnChunk(5, 60)), rowGroup.getColumns());
+    assertEquals(123, rowGroup.getTotal_compressed_size());
+    assertEquals(md.getSchema(), projected.getSchema());
+    assertEquals(md.getNum_rows(), projected.getNum_rows());
+  }
+
+  private static ColumnChunk columnChunk(long fileOffset, long compressedSize) {
+    return new ColumnChunk(fileOffset).setMeta_data(new ColumnMetaData(Type.INT32, asList(Encoding.PLAIN),
+        asList("c" + fileOffset), CompressionCodec.UNCOMPRESSED, 10, 100, compressedSize, fileOffset));
+  }
+
+  private static class SkippingConsumer extends FileMetaDataConsumer {
+    private final DefaultFileMetaDataConsumer delegate;
+    private final int skippedColumnIndex;
+
+    SkippingConsumer(FileMetaData md, int skippedColumnIndex) {
+      this.delegate = new DefaultFileMetaDataConsumer(md);
+      this.skippedColumnIndex = skippedColumnIndex;
+    }
+
+    @Override
+    public boolean isColumnChunkRequired(int columnIndex) {
+      return columnIndex != skippedColumnIndex;
+    }
+
+    @Override
+    public void setVersion(int version) {
+      delegate.setVersion(version);
+    }
+
+    @Override
+    public void setSchema(List<SchemaElement> schema) {
+      delegate.setSchema(schema);
+    }
+
+    @Override
+    public void setNumRows(long numRows) {
+      delegate.setNumRows(numRows);
+    }
+
+    @Override
+    public void addRowGroup(RowGroup rowGroup) {
+      delegate.addRowGroup(rowGroup);
+    }
+
+    @Override
+    public void addKeyValueMetaData(KeyValue kv) {
+      delegate.addKeyValueMetaData(kv);
+    }
+
+    @Override
+    public void setCreatedBy(String createdBy) {
+      delegate.setCreatedBy(createdBy);
+    }
+
+    @Override
+    public void setEncryptionAlgorithm(EncryptionAlgorithm encryptionAlgorithm) {
+      delegate.setEncryptionAlgorithm(encryptionAlgorithm);
+    }
+
+    @Override
+    public void setFooterSigningKeyMetadata(byte[] footerSigningKeyMetadata) {
+      delegate.setFooterSigningKeyMetadata(footerSigningKeyMetadata);
+    }
+  }
+
   @Test
   public void testInvalidPageHeader() throws IOException {
     PageHeader ph = new PageHeader(PageType.DATA_PAGE, 100, -50);
@@ -27,6 +27,14 @@ import org.apache.parquet.crypto.DecryptionPropertiesFactory;
 import org.apache.parquet.crypto.FileDecryptionProperties;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
+import org.apache.parquet.hadoop.BadConfigurationException;
+import org.apache.parquet.hadoop.IoPlanner;
+import org.apache.parquet.hadoop.LruBloomFilterCache;
+import org.apache.parquet.hadoop.LruColumnIndexCache;
+import org.apache.parquet.hadoop.LruParquetMetadataCache;
+import org.apache.parquet.hadoop.ParquetMetadataCache;
+import org.apache.parquet.hadoop.ParquetReadMetrics;
+import org.apache.parquet.hadoop.util.ConfigurationUtil;
 import org.apache.parquet.hadoop.util.HadoopCodecs;
 
 import java.util.Map;
@@ -34,16 +42,39 @@ import java.util.Map;
 import static org.apache.parquet.hadoop.ParquetInputFormat.COLUMN_INDEX_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.DICTIONARY_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.BLOOM_FILTERING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.BLOOM_FILTER_CACHE_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.BLOOM_FILTER_CACHE_MAX_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.COLUMN_INDEX_CACHE_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.COLUMN_INDEX_CACHE_MAX_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.IO_PLANNER_BANDWIDTH;
+import static org.apache.parquet.hadoop.ParquetInputFormat.IO_PLANNER_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.IO_PLANNER_SEEK_COST;
+import static org.apache.parquet.hadoop.ParquetInputFormat.READ_METRICS_CLASS;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_MAX_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_READ_SIZE;
 import static org.apache.parquet.hadoop.ParquetInputFormat.getFilter;
 import static org.apache.parquet.hadoop.ParquetInputFormat.PAGE_VERIFY_CHECKSUM_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PARALLEL_DECOMPRESSION_QUEUE_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_MEMORY_BUDGET;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_ROW_GROUPS;
+import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_BUFFER_RELEASE_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STATS_FILTERING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.STREAMING_PAGE_READS_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.STREAMING_WINDOW_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.VECTORED_IO_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.VECTORED_IO_MERGE_GAP;
 import static org.apache.parquet.hadoop.UnmaterializableRecordCounter.BAD_RECORD_THRESHOLD_CONF_KEY;
 
 public class HadoopReadOptions extends ParquetReadOptions {
   private final Configuration conf;
 
   private static final String ALLOCATION_SIZE = "parquet.read.allocation.size";
+  private static final long FOOTER_CACHE_MAX_SIZE_DEFAULT = 67108864L; // 64MB
+  private static final long BLOOM_FILTER_CACHE_MAX_SIZE_DEFAULT = 67108864L; // 64MB
+  private static final long COLUMN_INDEX_CACHE_MAX_SIZE_DEFAULT = 67108864L; // 64MB
 
   private HadoopReadOptions(boolean useSignedStringMinMax,
                             boolean useStatsFilter,
@@ -52,6 +83,21 @@ public class HadoopReadOptions extends ParquetReadOptions {
                             boolean useColumnIndexFilter,
                             boolean usePageChecksumVerification,
                             boolean useBloomFilter,
+                            boolean useVectoredIo,
+                            int vectoredIoMergeGap,
+                            int prefetchRowGroups,
+                            long prefetchMemoryBudget,
+                            boolean useParallelDecompression,
+                            int parallelDecompressionQueueSize,
+                            boolean useStreamingPageReads,
+                            int streamingWindowSize,
+                            boolean useRecordBufferRelease,
+                            ParquetMetadataCache metadataCache,
+                            LruBloomFilterCache bloomFilterCache,
+                            LruColumnIndexCache columnIndexCache,
+                            IoPlanner ioPlanner,
+                            ParquetReadMetrics readMetrics,
+                            int footerReadSize,
                             FilterCompat.Filter recordFilter,
                             MetadataFilter metadataFilter,
                             CompressionCodecFactory codecFactory,
@@ -61,9 +107,35 @@ public class HadoopReadOptions extends ParquetReadOptions {
                             Configuration conf,
                             FileDecryptionProperties fileDecryptionProperties) {
     super(
-        useSignedStringMinMax, useStatsFilter, useDictionaryFilter, useRecordFilter, useColumnIndexFilter,
-        usePageChecksumVerification, useBloomFilter, recordFilter, metadataFilter, codecFactory, allocator,
-        maxAllocationSize, properties, fileDecryptionProperties
+        useSignedStringMinMax,
+        useStatsFilter,
+        useDictionaryFilter,
+        useRecordFilter,
+        useColumnIndexFilter,
+        usePageChecksumVerification,
+        useBloomFilter,
+        useVectoredIo,
+        vectoredIoMergeGap,
+        prefetchRowGroups,
+        prefetchMemoryBudget,
+        useParallelDecompression,
+        parallelDecompressionQueueSize,
+        useStreamingPageReads,
+        streamingWindowSize,
+        useRecordBufferRelease,
+        metadataCache,
+        bloomFilterCache,
+        columnIndexCache,
+        ioPlanner,
+        readMetrics,
+        footerReadSize,
+        recordFilter,
+        metadataFilter,
+        codecFactory,
+        allocator,
+        maxAllocationSize,
+        properties,
+        fileDecryptionProperties
     );
     this.conf = conf;
   }
@@ -108,6 +180,43 @@ public class HadoopReadOptions extends ParquetReadOptions {
       usePageChecksumVerification(conf.getBoolean(PAGE_VERIFY_CHECKSUM_ENABLED,
         usePageChecksumVerification));
       useBloomFilter(conf.getBoolean(BLOOM_FILTERING_ENABLED, true));
+      useVectoredIo(conf.getBoolean(VECTORED_IO_ENABLED, useVectoredIo));
+      withVectoredIoMergeGap(conf.getInt(VECTORED_IO_MERGE_GAP, vectoredIoMergeGap));
+      withPrefetchRowGroups(conf.getInt(PREFETCH_ROW_GROUPS, prefetchRowGroups));
+      withPrefetchMemoryBudget(conf.getLong(PREFETCH_MEMORY_BUDGET, prefetchMemoryBudget));
+      useParallelDecompression(conf.getBoolean(PARALLEL_DECOMPRESSION_ENABLED, useParallelDecompression));
+      withParallelDecompressionQueueSize(
+          conf.getInt(PARALLEL_DECOMPRESSION_QUEUE_SIZE, parallelDecompressionQueueSize));
+      useStreamingPageReads(conf.getBoolean(STREAMING_PAGE_READS_ENABLED, useStreamingPageReads));
+      withStreamingWindowSize(conf.getInt(STREAMING_WINDOW_SIZE, streamingWindowSize));
+      useRecordBufferRelease(conf.getBoolean(RECORD_BUFFER_RELEASE_ENABLED, useRecordBufferRelease));
+      if (conf.getBoolean(FOOTER_CACHE_ENABLED, false)) {
+        withMetadataCache(LruParquetMetadataCache.shared(
+            conf.getLong(FOOTER_CACHE_MAX_SIZE, FOOTER_CACHE_MAX_SIZE_DEFAULT)));
+      }
+      if (conf.getBoolean(BLOOM_FILTER_CACHE_ENABLED, false)) {
+        withBloomFilterCache(LruBloomFilterCache.shared(
+            conf.getLong(BLOOM_FILTER_CACHE_MAX_SIZE, BLOOM_FILTER_CACHE_MAX_SIZE_DEFAULT)));
+      }
+      if (conf.getBoolean(COLUMN_INDEX_CACHE_ENABLED, false)) {
+        withColumnIndexCache(LruColumnIndexCache.shared(
+            conf.getLong(COLUMN_INDEX_CACHE_MAX_SIZE, COLUMN_INDEX_CACHE_MAX_SIZE_DEFAULT)));
+      }
+      if (conf.getBoolean(IO_PLANNER_ENABLED, false)) {
+        withIoPlanner(new IoPlanner(
+            conf.getLong(IO_PLANNER_SEEK_COST, IoPlanner.DEFAULT_SEEK_COST),
+            conf.getLong(IO_PLANNER_BANDWIDTH, IoPlanner.DEFAULT_BANDWIDTH)));
+      }
+      Class<?> readMetricsClass = ConfigurationUtil.getClassFromConfig(conf, READ_METRICS_CLASS,
+          ParquetReadMetrics.class);
+      if (readMetricsClass != null) {
+        try {
+          withReadMetrics((ParquetReadMetrics) readMetricsClass.newInstance());
+        } catch (InstantiationException | IllegalAccessException e) {
+          throw new BadConfigurationException("could not instantiate read metrics class: " + readMetricsClass, e);
+        }
+      }
+      withFooterReadSize(conf.getInt(FOOTER_READ_SIZE, footerReadSize));
       withCodecFactory(HadoopCodecs.newFactory(conf, 0));
       withRecordFilter(getFilter(conf));
       withMaxAllocationInBytes(conf.getInt(ALLOCATION_SIZE, 8388608));
@@ -124,9 +233,36 @@ public class HadoopReadOptions extends ParquetReadOptions {
         fileDecryptionProperties = createDecryptionProperties(filePath, conf);
       }
       return new HadoopReadOptions(
-        useSignedStringMinMax, useStatsFilter, useDictionaryFilter, useRecordFilter,
-        useColumnIndexFilter, usePageChecksumVerification, useBloomFilter, recordFilter, metadataFilter,
-        codecFactory, allocator, maxAllocationSize, properties, conf, fileDecryptionProperties);
+        useSignedStringMinMax,
+        useStatsFilter,
+        useDictionaryFilter,
+        useRecordFilter,
+        useColumnIndexFilter,
+        usePageChecksumVerification,
+        useBloomFilter,
+        useVectoredIo,
+        vectoredIoMergeGap,
+        prefetchRowGroups,
+        prefetchMemoryBudget,
+        useParallelDecompression,
+        parallelDecompressionQueueSize,
+        useStreamingPageReads,
+        streamingWindowSize,
+        useRecordBufferRelease,
+        metadataCache,
+        bloomFilterCache,
+        columnIndexCache,
+        ioPlanner,
+        readMetrics,
+        footerReadSize,
+        recordFilter,
+        metadataFilter,
+        codecFactory,
+        allocator,
+        maxAllocationSize,
+        properties,
+        conf,
+        fileDecryptionProperties);
     }
   }
 
@@ -25,6 +25,11 @@ import org.apache.parquet.compression.CompressionCodecFactory;
 import org.apache.parquet.crypto.FileDecryptionProperties;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.IoPlanner;
+import org.apache.parquet.hadoop.LruBloomFilterCache;
+import org.apache.parquet.hadoop.LruColumnIndexCache;
+import org.apache.parquet.hadoop.ParquetReadMetrics;
+import org.apache.parquet.hadoop.ParquetMetadataCache;
 import org.apache.parquet.hadoop.util.HadoopCodecs;
 
 import java.util.Collections;
@@ -32,6 +37,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
 
@@ -44,6 +50,16 @@ public class ParquetReadOptions {
   private static final int ALLOCATION_SIZE_DEFAULT = 8388608; // 8MB
   private static final boolean PAGE_VERIFY_CHECKSUM_ENABLED_DEFAULT = false;
   private static final boolean BLOOM_FILTER_ENABLED_DEFAULT = true;
+  private static final boolean VECTORED_IO_ENABLED_DEFAULT = false;
+  private static final int VECTORED_IO_MERGE_GAP_DEFAULT = 4096; // 4KB
+  private static final int PREFETCH_ROW_GROUPS_DEFAULT = 0;
+  private static final long PREFETCH_MEMORY_BUDGET_DEFAULT = 268435456L; // 256MB
+  private static final boolean PARALLEL_DECOMPRESSION_ENABLED_DEFAULT = false;
+  private static final int PARALLEL_DECOMPRESSION_QUEUE_SIZE_DEFAULT = 4;
+  private static final boolean STREAMING_PAGE_READS_ENABLED_DEFAULT = false;
+  private static final int STREAMING_WINDOW_SIZE_DEFAULT = 1048576; // 1MB
+  private static final boolean RECORD_BUFFER_RELEASE_ENABLED_DEFAULT = false;
+  private static final int FOOTER_READ_SIZE_DEFAULT = 65536; // 64KB
 
   private final boolean useSignedStringMinMax;
   private final boolean useStatsFilter;
@@ -52,6 +68,21 @@ public class ParquetReadOptions {
   private final boolean useColumnIndexFilter;
   private final boolean usePageChecksumVerification;
   private final boolean useBloomFilter;
+  private final boolean useVectoredIo;
+  private final int vectoredIoMergeGap;
+  private final int prefetchRowGroups;
+  private final long prefetchMemoryBudget;
+  private final boolean useParallelDecompression;
+  private final int parallelDecompressionQueueSize;
+  private final boolean useStreamingPageReads;
+  private final int streamingWindowSize;
+  private final boolean useRecordBufferRelease;
+  private final ParquetMetadataCache metadataCache;
+  private final LruBloomFilterCache bloomFilterCache;
+  private final LruColumnIndexCache columnIndexCache;
+  private final IoPlanner ioPlanner;
+  private final ParquetReadMetrics readMetrics;
+  private final int footerReadSize;
   private final FilterCompat.Filter recordFilter;
   private final ParquetMetadataConverter.MetadataFilter metadataFilter;
   private final CompressionCodecFactory codecFactory;
@@ -59,6 +90,8 @@ public class ParquetReadOptions {
   private final int maxAllocationSize;
   private final Map<String, String> properties;
   private final FileDecryptionProperties fileDecryptionProperties;
+  // the size of the tail holding the last footer read with these options, shared by the readers using them
+  private final AtomicInteger footerReadSizeHint = new AtomicInteger();
 
   ParquetReadOptions(boolean useSignedStringMinMax,
                      boolean useStatsFilter,
@@ -67,6 +100,21 @@ public class ParquetReadOptions {
                      boolean useColumnIndexFilter,
                      boolean usePageChecksumVerification,
                      boolean useBloomFilter,
+                     boolean useVectoredIo,
+                     int vectoredIoMergeGap,
+                     int prefetchRowGroups,
+                     long prefetchMemoryBudget,
+                     boolean useParallelDecompression,
+                     int parallelDecompressionQueueSize,
+                     boolean useStreamingPageReads,
+                     int streamingWindowSize,
+                     boolean useRecordBufferRelease,
+                     ParquetMetadataCache metadataCache,
+                     LruBloomFilterCache bloomFilterCache,
+                     LruColumnIndexCache columnIndexCache,
+                     IoPlanner ioPlanner,
+                     ParquetReadMetrics readMetrics,
+                     int footerReadSize,
                      FilterCompat.Filter recordFilter,
                      ParquetMetadataConverter.MetadataFilter metadataFilter,
                      CompressionCodecFactory codecFactory,
@@ -81,6 +129,21 @@ public class ParquetReadOptions {
     this.useColumnIndexFilter = useColumnIndexFilter;
     this.usePageChecksumVerification = usePageChecksumVerification;
     this.useBloomFilter = useBloomFilter;
+    this.useVectoredIo = useVectoredIo;
+    this.vectoredIoMergeGap = vectoredIoMergeGap;
+    this.prefetchRowGroups = prefetchRowGroups;
+    this.prefetchMemoryBudget = prefetchMemoryBudget;
+    this.useParallelDecompression = useParallelDecompression;
+    this.parallelDecompressionQueueSize = parallelDecompressionQueueSize;
+    this.useStreamingPageReads = useStreamingPageReads;
+    this.streamingWindowSize = streamingWindowSize;
+    this.useRecordBufferRelease = useRecordBufferRelease;
+    this.metadataCache = metadataCache;
+    this.bloomFilterCache = bloomFilterCache;
+    this.columnIndexCache = columnIndexCache;
+    this.ioPlanner = ioPlanner;
+    this.readMetrics = readMetrics;
+    this.footerReadSize = footerReadSize;
     this.recordFilter = recordFilter;
     this.metadataFilter = metadataFilter;
     this.codecFactory = codecFactory;
@@ -118,6 +181,130 @@ public class ParquetReadOptions {
     return usePageChecksumVerification;
   }
 
+  public boolean useVectoredIo() {
+    return useVectoredIo;
+  }
+
+  /**
+   * @return the maximum number of bytes between two parts of a row group for them to be read in the same range when
+   *         vectored I/O is used
+   */
+  public int getVectoredIoMergeGap() {
+    return vectoredIoMergeGap;
+  }
+
+  /**
+   * @return the maximum number of row groups read ahead in the background while the current one is consumed; 0 means
+   *         that the row groups are read on demand
+   */
+  public int getPrefetchRowGroups() {
+    return prefetchRowGroups;
+  }
+
+  /**
+   * @return the number of compressed bytes of prefetched row groups waiting to be consumed above which no more row
+   *         groups are read ahead
+   */
+  public long getPrefetchMemoryBudget() {
+    return prefetchMemoryBudget;
+  }
+
+  public boolean useParallelDecompression() {
+    return useParallelDecompression;
+  }
+
+  /**
+   * @return the maximum number of decompressed pages per column waiting to be read when the pages are decompressed in
+   *         parallel
+   */
+  public int getParallelDecompressionQueueSize() {
+    return parallelDecompressionQueueSize;
+  }
+
+  public boolean useStreamingPageReads() {
+    return useStreamingPageReads;
+  }
+
+  /**
+   * @return the size of the read-ahead window per column when the pages are read on demand
+   */
+  public int getStreamingWindowSize() {
+    return streamingWindowSize;
+  }
+
+  /**
+   * The buffers of a row group are released to the allocator once the row group is consumed, which lets a pooling
+   * allocator reuse them. The record readers keep the buffers by default as the records may reference them: the
+   * binary values read from uncompressed pages are views of the page buffers, not copies.
+   *
+   * @return whether the record readers release the buffers of a row group when they read the next one
+   */
+  public boolean useRecordBufferRelease() {
+    return useRecordBufferRelease;
+  }
+
+  /**
+   * @return the cache of the footers of the files, or {@code null} if the footers are not cached
+   */
+  public ParquetMetadataCache getMetadataCache() {
+    return metadataCache;
+  }
+
+  /**
+   * @return the cache of the Bloom filters of the files, or {@code null} if the Bloom filters are not cached
+   */
+  public LruBloomFilterCache getBloomFilterCache() {
+    return bloomFilterCache;
+  }
+
+  /**
+   * @return the cache of the column and offset indexes of the files, or {@code null} if the indexes are not cached
+   */
+  public LruColumnIndexCache getColumnIndexCache() {
+    return columnIndexCache;
+  }
+
+  /**
+   * @return the planner of the requests reading the row groups, or {@code null} if only adjacent parts are read
+   *         together
+   */
+  public IoPlanner getIoPlanner() {
+    return ioPlanner;
+  }
+
+  /**
+   * @return the listener of the work done by the readers, or {@code null} if none is set
+   */
+  public ParquetReadMetrics getReadMetrics() {
+    return readMetrics;
+  }
+
+  /**
+   * @return the minimum number of bytes read at the end of the files to get their footer in one read; 0 means that the
+   *         footer length is read first
+   */
+  public int getFooterReadSize() {
+    return footerReadSize;
+  }
+
+  /**
+   * @return the size of the end of the last file read with these options holding its footer, its length and its magic,
+   *         or 0 if no footer was read yet
+   */
+  public int getFooterReadSizeHint() {
+    return footerReadSizeHint.get();
+  }
+
+  /**
+   * Sets the size of the end of the last file read with these options holding its footer, so that the footers of the
+   * next files read with them, if they have a similar size, are read in one read.
+   *
+   * @param footerReadSizeHint the size of the end of the file holding the footer
+   */
+  public void setFooterReadSizeHint(int footerReadSizeHint) {
+    this.footerReadSizeHint.set(footerReadSizeHint);
+  }
+
   public FilterCompat.Filter getRecordFilter() {
     return recordFilter;
   }
@@ -168,6 +355,21 @@ public class ParquetReadOptions {
     protected boolean useColumnIndexFilter = COLUMN_INDEX_FILTERING_ENABLED_DEFAULT;
     protected boolean usePageChecksumVerification = PAGE_VERIFY_CHECKSUM_ENABLED_DEFAULT;
     protected boolean useBloomFilter = BLOOM_FILTER_ENABLED_DEFAULT;
+    protected boolean useVectoredIo = VECTORED_IO_ENABLED_DEFAULT;
+    protected int vectoredIoMergeGap = VECTORED_IO_MERGE_GAP_DEFAULT;
+    protected int prefetchRowGroups = PREFETCH_ROW_GROUPS_DEFAULT;
+    protected long prefetchMemoryBudget = PREFETCH_MEMORY_BUDGET_DEFAULT;
+    protected boolean useParallelDecompression = PARALLEL_DECOMPRESSION_ENABLED_DEFAULT;
+    protected int parallelDecompressionQueueSize = PARALLEL_DECOMPRESSION_QUEUE_SIZE_DEFAULT;
+    protected boolean useStreamingPageReads = STREAMING_PAGE_READS_ENABLED_DEFAULT;
+    protected int streamingWindowSize = STREAMING_WINDOW_SIZE_DEFAULT;
+    protected boolean useRecordBufferRelease = RECORD_BUFFER_RELEASE_ENABLED_DEFAULT;
+    protected ParquetMetadataCache metadataCache = null;
+    protected LruBloomFilterCache bloomFilterCache = null;
+    protected LruColumnIndexCache columnIndexCache = null;
+    protected IoPlanner ioPlanner = null;
+    protected ParquetReadMetrics readMetrics = null;
+    protected int footerReadSize = FOOTER_READ_SIZE_DEFAULT;
     protected FilterCompat.Filter recordFilter = null;
     protected ParquetMetadataConverter.MetadataFilter metadataFilter = NO_FILTER;
     // the page size parameter isn't used when only using the codec factory to get decompressors
@@ -246,6 +448,112 @@ public class ParquetReadOptions {
       return this;
     }
 
+    public Builder useVectoredIo(boolean useVectoredIo) {
+      this.useVectoredIo = useVectoredIo;
+      return this;
+    }
+
+    public Builder useVectoredIo() {
+      return useVectoredIo(true);
+    }
+
+    public Builder withVectoredIoMergeGap(int vectoredIoMergeGap) {
+      this.vectoredIoMergeGap = vectoredIoMergeGap;
+      return this;
+    }
+
+    public Builder withPrefetchRowGroups(int prefetchRowGroups) {
+      this.prefetchRowGroups = prefetchRowGroups;
+      return this;
+    }
+
+    public Builder withPrefetchMemoryBudget(long prefetchMemoryBudget) {
+      this.prefetchMemoryBudget = prefetchMemoryBudget;
+      return this;
+    }
+
+    public Builder useParallelDecompression(boolean useParallelDecompression) {
+      this.useParallelDecompression = useParallelDecompression;
+      return this;
+    }
+
+    public Builder useParallelDecompression() {
+      return useParallelDecompression(true);
+    }
+
+    public Builder withParallelDecompressionQueueSize(int parallelDecompressionQueueSize) {
+      this.parallelDecompressionQueueSize = parallelDecompressionQueueSize;
+      return this;
+    }
+
+    public Builder useStreamingPageReads(boolean useStreamingPageReads) {
+      this.useStreamingPageReads = useStreamingPageReads;
+      return this;
+    }
+
+    public Builder useStreamingPageReads() {
+      return useStreamingPageReads(true);
+    }
+
+    public Builder withStreamingWindowSize(int streamingWindowSize) {
+      this.streamingWindowSize = streamingWindowSize;
+      return this;
+    }
+
+    public Builder useRecordBufferRelease(boolean useRecordBufferRelease) {
+      this.useRecordBufferRelease = useRecordBufferRelease;
+      return this;
+    }
+
+    public Builder useRecordBufferRelease() {
+      return useRecordBufferRelease(true);
+    }
+
+    public Builder withMetadataCache(ParquetMetadataCache metadataCache) {
+      this.metadataCache = metadataCache;
+      return this;
+    }
+
+    public Builder withBloomFilterCache(LruBloomFilterCache bloomFilterCache) {
+      this.bloomFilterCache = bloomFilterCache;
+      return this;
+    }
+
+    public Builder withColumnIndexCache(LruColumnIndexCache columnIndexCache) {
+      this.columnIndexCache = columnIndexCache;
+      return this;
+    }
+
+    /**
+     * Plans the requests reading the row groups with the given planner: parts separated by gaps cheaper to read than
+     * a request are read in one request. With vectored reads, the merge gap of the planner replaces the configured
+     * one.
+     *
+     * @param ioPlanner the planner, or {@code null} to only read adjacent parts together
+     * @return this builder for method chaining
+     */
+    public Builder withIoPlanner(IoPlanner ioPlanner) {
+      this.ioPlanner = ioPlanner;
+      return this;
+    }
+
+    /**
+     * Reports the bytes read, the pages decompressed and decrypted, the records decoded and the rows skipped by the
+     * filters to the given listener.
+     *
+     * @param readMetrics the listener, or {@code null} to not report anything
+     * @return this builder for method chaining
+     */
+    public Builder withReadMetrics(ParquetReadMetrics readMetrics) {
+      this.readMetrics = readMetrics;
+      return this;
+    }
+
+    public Builder withFooterReadSize(int footerReadSize) {
+      this.footerReadSize = footerReadSize;
+      return this;
+    }
+
     public Builder withRecordFilter(FilterCompat.Filter rowGroupFilter) {
       this.recordFilter = rowGroupFilter;
       return this;
@@ -306,6 +614,21 @@ public class ParquetReadOptions {
       withCodecFactory(options.codecFactory);
       withAllocator(options.allocator);
       withPageChecksumVerification(options.usePageChecksumVerification);
+      useVectoredIo(options.useVectoredIo);
+      withVectoredIoMergeGap(options.vectoredIoMergeGap);
+      withPrefetchRowGroups(options.prefetchRowGroups);
+      withPrefetchMemoryBudget(options.prefetchMemoryBudget);
+      useParallelDecompression(options.useParallelDecompression);
+      withParallelDecompressionQueueSize(options.parallelDecompressionQueueSize);
+      useStreamingPageReads(options.useStreamingPageReads);
+      withStreamingWindowSize(options.streamingWindowSize);
+      useRecordBufferRelease(options.useRecordBufferRelease);
+      withMetadataCache(options.metadataCache);
+      withBloomFilterCache(options.bloomFilterCache);
+      withColumnIndexCache(options.columnIndexCache);
+      withIoPlanner(options.ioPlanner);
+      withReadMetrics(options.readMetrics);
+      withFooterReadSize(options.footerReadSize);
       withDecryption(options.fileDecryptionProperties);
       for (Map.Entry<String, String> keyValue : options.properties.entrySet()) {
         set(keyValue.getKey(), keyValue.getValue());
@@ -315,9 +638,35 @@ public class ParquetReadOptions {
 
     public ParquetReadOptions build() {
       return new ParquetReadOptions(
-        useSignedStringMinMax, useStatsFilter, useDictionaryFilter, useRecordFilter,
-        useColumnIndexFilter, usePageChecksumVerification, useBloomFilter, recordFilter, metadataFilter,
-        codecFactory, allocator, maxAllocationSize, properties, fileDecryptionProperties);
+        useSignedStringMinMax,
+        useStatsFilter,
+        useDictionaryFilter,
+        useRecordFilter,
+        useColumnIndexFilter,
+        usePageChecksumVerification,
+        useBloomFilter,
+        useVectoredIo,
+        vectoredIoMergeGap,
+        prefetchRowGroups,
+        prefetchMemoryBudget,
+        useParallelDecompression,
+        parallelDecompressionQueueSize,
+        useStreamingPageReads,
+        streamingWindowSize,
+        useRecordBufferRelease,
+        metadataCache,
+        bloomFilterCache,
+        columnIndexCache,
+        ioPlanner,
+        readMetrics,
+        footerReadSize,
+        recordFilter,
+        metadataFilter,
+        codecFactory,
+        allocator,
+        maxAllocationSize,
+        properties,
+        fileDecryptionProperties);
     }
   }
 }
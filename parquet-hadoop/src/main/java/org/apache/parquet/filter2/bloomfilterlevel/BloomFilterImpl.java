@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.ReferencedColumns;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
 import org.apache.parquet.hadoop.BloomFilterReader;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
@@ -50,6 +51,26 @@ public class BloomFilterImpl implements FilterPredicate.Visitor<Boolean>{
     return pred.accept(new BloomFilterImpl(columns, bloomFilterReader));
   }
 
+  /**
+   * @param pred a filter predicate
+   * @return the paths of the columns whose Bloom filter may be read to evaluate the predicate, see
+   *         {@link #visit(Operators.Eq)} and {@link #visit(Operators.In)}
+   */
+  public static Set<ColumnPath> getBloomFilterColumns(FilterPredicate pred) {
+    checkNotNull(pred, "pred");
+    return ReferencedColumns.of(pred, BloomFilterImpl::usesBloomFilter);
+  }
+
+  private static boolean usesBloomFilter(FilterPredicate leaf) {
+    if (leaf instanceof Operators.Eq) {
+      return ((Operators.Eq<?>) leaf).getValue() != null;
+    }
+    if (leaf instanceof Operators.In) {
+      return !((Operators.In<?>) leaf).getValues().contains(null);
+    }
+    return false;
+  }
+
   private BloomFilterImpl(List<ColumnChunkMetaData> columnsList, BloomFilterReader bloomFilterReader) {
     for (ColumnChunkMetaData chunk : columnsList) {
       columns.put(chunk.getPath(), chunk);
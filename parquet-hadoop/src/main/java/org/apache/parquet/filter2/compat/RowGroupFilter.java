@@ -18,10 +18,12 @@
  */
 package org.apache.parquet.filter2.compat;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterImpl;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
@@ -32,7 +34,10 @@ import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.SchemaCompatibilityValidator;
 import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
 import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReadMetrics;
+import org.apache.parquet.hadoop.ParquetReadMetrics.FilterLayer;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.schema.MessageType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +48,8 @@ import org.slf4j.LoggerFactory;
  * no filtering will be performed.
  */
 public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RowGroupFilter.class);
+
   private final List<BlockMetaData> blocks;
   private final MessageType schema;
   private final List<FilterLevel> levels;
@@ -101,14 +108,16 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
 
       if(levels.contains(FilterLevel.STATISTICS)) {
         drop = StatisticsFilter.canDrop(filterPredicate, block.getColumns());
+        if (drop) {
+          reportRowsSkipped(FilterLayer.STATISTICS, block);
+        }
       }
 
       if(!drop && levels.contains(FilterLevel.DICTIONARY)) {
         drop = DictionaryFilter.canDrop(filterPredicate, block.getColumns(), reader.getDictionaryReader(block));
-      }
-
-      if (!drop && levels.contains(FilterLevel.BLOOMFILTER)) {
-        drop = BloomFilterImpl.canDrop(filterPredicate, block.getColumns(), reader.getBloomFilterDataReader(block));
+        if (drop) {
+          reportRowsSkipped(FilterLayer.DICTIONARY, block);
+        }
       }
 
       if(!drop) {
@@ -116,9 +125,38 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
       }
     }
 
+    if (levels.contains(FilterLevel.BLOOMFILTER) && !filteredBlocks.isEmpty()) {
+      // the Bloom filters of the remaining row groups are read together before they are used
+      Set<ColumnPath> bloomFilterColumns = BloomFilterImpl.getBloomFilterColumns(filterPredicate);
+      if (!bloomFilterColumns.isEmpty()) {
+        try {
+          reader.prefetchBloomFilters(filteredBlocks, bloomFilterColumns);
+        } catch (IOException e) {
+          // the Bloom filters are read one by one
+          LOGGER.warn("Unable to read ahead the Bloom filters", e);
+        }
+      }
+      List<BlockMetaData> remainingBlocks = new ArrayList<BlockMetaData>(filteredBlocks.size());
+      for (BlockMetaData block : filteredBlocks) {
+        if (!BloomFilterImpl.canDrop(filterPredicate, block.getColumns(), reader.getBloomFilterDataReader(block))) {
+          remainingBlocks.add(block);
+        } else {
+          reportRowsSkipped(FilterLayer.BLOOM_FILTER, block);
+        }
+      }
+      filteredBlocks = remainingBlocks;
+    }
+
     return filteredBlocks;
   }
 
+  private void reportRowsSkipped(FilterLayer layer, BlockMetaData block) {
+    ParquetReadMetrics metrics = reader == null ? null : reader.getReadMetrics();
+    if (metrics != null) {
+      metrics.rowsSkipped(reader.getFile(), layer, block.getRowCount());
+    }
+  }
+
   @Override
   public List<BlockMetaData> visit(FilterCompat.UnboundRecordFilterCompat unboundRecordFilterCompat) {
     return blocks;
@@ -83,7 +83,7 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
       return null;
     }
 
-    Dictionary dict = page.getEncoding().initDictionary(col, page);
+    Dictionary dict = page.decode(col);
 
     IntFunction<Object> dictValueProvider;
     PrimitiveTypeName type = meta.getPrimitiveType().getPrimitiveTypeName();
@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -60,6 +61,11 @@ import org.apache.parquet.crypto.InternalFileEncryptor;
 import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
 import org.apache.parquet.crypto.ParquetCryptoRuntimeException;
 import org.apache.parquet.crypto.TagVerificationException;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.NoOpFilter;
+import org.apache.parquet.filter2.compat.FilterCompat.UnboundRecordFilterCompat;
+import org.apache.parquet.filter2.predicate.ReferencedColumns;
 import org.apache.parquet.format.BlockCipher;
 import org.apache.parquet.format.BloomFilterAlgorithm;
 import org.apache.parquet.format.BloomFilterCompression;
@@ -99,6 +105,7 @@ import org.apache.parquet.format.DataPageHeader;
 import org.apache.parquet.format.DataPageHeaderV2;
 import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.EncryptionAlgorithm;
 import org.apache.parquet.format.EncryptionWithColumnKey;
 import org.apache.parquet.format.FieldRepetitionType;
 import org.apache.parquet.format.FileMetaData;
@@ -113,6 +120,8 @@ import org.apache.parquet.format.Statistics;
 import org.apache.parquet.format.Type;
 import org.apache.parquet.format.TypeDefinedOrder;
 import org.apache.parquet.format.UUIDType;
+import org.apache.parquet.format.Util.DefaultFileMetaDataConsumer;
+import org.apache.parquet.format.Util.FileMetaDataConsumer;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
@@ -1146,6 +1155,13 @@ public class ParquetMetadataConverter {
   public abstract static class MetadataFilter {
     private MetadataFilter() {}
     abstract <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E;
+
+    /**
+     * @return the columns whose metadata is decoded, or null if the metadata of all the columns is decoded
+     */
+    Set<ColumnPath> getRequestedColumns() {
+      return null;
+    }
   }
 
   /**
@@ -1166,6 +1182,153 @@ public class ParquetMetadataConverter {
     return new OffsetMetadataFilter(set);
   }
 
+  /**
+   * Returns a filter selecting the same row groups as the given one that decodes the metadata of the columns of the
+   * requested schema only: the thrift column chunks of the other columns are skipped, which saves most of the footer
+   * decoding of very wide files read with a narrow projection. The metadata of the first column of each row group is
+   * always decoded.
+   * <p>
+   * The row groups of the resulting footer miss the metadata of the columns that are not requested so the requested
+   * schema must contain all the columns that are read, and all the columns that row groups are filtered on. The
+   * projection is ignored for encrypted files read with decryption properties.
+   *
+   * @param filter the filter selecting the row groups
+   * @param requestedSchema the requested schema
+   * @return a filter decoding the metadata of the requested columns only
+   */
+  public static MetadataFilter projection(MetadataFilter filter, MessageType requestedSchema) {
+    List<ColumnPath> columns = new ArrayList<>();
+    for (String[] path : requestedSchema.getPaths()) {
+      columns.add(ColumnPath.get(path));
+    }
+    return projection(filter, columns);
+  }
+
+  /**
+   * @param filter the filter selecting the row groups
+   * @param requestedColumns the requested columns
+   * @return a filter decoding the metadata of the requested columns only
+   * @see #projection(MetadataFilter, MessageType)
+   */
+  public static MetadataFilter projection(MetadataFilter filter, Collection<ColumnPath> requestedColumns) {
+    Set<ColumnPath> columns = new HashSet<>(requestedColumns);
+    if (filter instanceof ProjectionMetadataFilter) {
+      ProjectionMetadataFilter projection = (ProjectionMetadataFilter) filter;
+      // the columns of both projections are decoded
+      columns.addAll(projection.requestedColumns);
+      filter = projection.filter;
+    }
+    return new ProjectionMetadataFilter(filter, columns);
+  }
+
+  /**
+   * Adds the columns of a record filter to the requested columns of a projection, as the row group filters need their
+   * metadata.
+   *
+   * @param filter a metadata filter
+   * @param recordFilter the record filter of the reader
+   * @return the given filter if it is not a projection, a projection also requesting the filtered columns otherwise
+   * @see #projection(MetadataFilter, MessageType)
+   */
+  public static MetadataFilter withFilterColumns(final MetadataFilter filter, FilterCompat.Filter recordFilter) {
+    if (filter.getRequestedColumns() == null) {
+      return filter;
+    }
+    return recordFilter.accept(new FilterCompat.Visitor<MetadataFilter>() {
+      @Override
+      public MetadataFilter visit(FilterPredicateCompat filterPredicateCompat) {
+        return projection(filter, ReferencedColumns.of(filterPredicateCompat.getFilterPredicate()));
+      }
+
+      @Override
+      public MetadataFilter visit(UnboundRecordFilterCompat unboundRecordFilterCompat) {
+        // unbound record filters are applied to the records, never to the row groups
+        return filter;
+      }
+
+      @Override
+      public MetadataFilter visit(NoOpFilter noOpFilter) {
+        return filter;
+      }
+    });
+  }
+
+  /**
+   * Selects the row groups of a footer read without filter the way the given filter selects them while the footer is
+   * read: on the midpoint of the row groups for a range filter and on their start for an offset filter. This lets the
+   * readers of the different splits of a file share one complete footer. The projection of the filter, if any, is
+   * ignored and the metadata of all the columns is kept.
+   * <p>
+   * The midpoints and starts are the ones computed from the row groups of the file when the footer was read (see
+   * {@link #filterFileMetaDataByMidpoint} and {@link #filterFileMetaDataByStart}), so the splits select the same row
+   * groups either way. They are computed from the column chunks of the row groups for the footers not read by this
+   * converter.
+   *
+   * @param metadata a footer read with {@link #NO_FILTER}
+   * @param filter the filter selecting the row groups
+   * @return the given footer if the filter selects all its row groups, a footer of the selected row groups otherwise
+   */
+  public static ParquetMetadata filterRowGroups(final ParquetMetadata metadata, MetadataFilter filter) {
+    List<BlockMetaData> blocks = filter.accept(new MetadataFilterVisitor<List<BlockMetaData>, RuntimeException>() {
+      @Override
+      public List<BlockMetaData> visit(NoFilter filter) {
+        return metadata.getBlocks();
+      }
+
+      @Override
+      public List<BlockMetaData> visit(SkipMetadataFilter filter) {
+        return new ArrayList<>();
+      }
+
+      @Override
+      public List<BlockMetaData> visit(RangeMetadataFilter filter) {
+        List<BlockMetaData> blocks = metadata.getBlocks();
+        long[] midpoints = metadata instanceof UnfilteredParquetMetadata
+            ? ((UnfilteredParquetMetadata) metadata).midpoints : null;
+        List<BlockMetaData> selected = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); ++i) {
+          BlockMetaData block = blocks.get(i);
+          long midpoint = midpoints != null ? midpoints[i] : block.getStartingPos() + block.getCompressedSize() / 2;
+          if (filter.contains(midpoint)) {
+            selected.add(block);
+          }
+        }
+        return selected;
+      }
+
+      @Override
+      public List<BlockMetaData> visit(OffsetMetadataFilter filter) {
+        List<BlockMetaData> blocks = metadata.getBlocks();
+        long[] starts = metadata instanceof UnfilteredParquetMetadata
+            ? ((UnfilteredParquetMetadata) metadata).starts : null;
+        List<BlockMetaData> selected = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); ++i) {
+          BlockMetaData block = blocks.get(i);
+          if (filter.contains(starts != null ? starts[i] : block.getStartingPos())) {
+            selected.add(block);
+          }
+        }
+        return selected;
+      }
+    });
+    return blocks == metadata.getBlocks() ? metadata : new ParquetMetadata(metadata.getFileMetaData(), blocks);
+  }
+
+  /**
+   * A footer read without filter, with the offsets on which its row groups are selected by the filters of the splits
+   * of the file.
+   */
+  private static final class UnfilteredParquetMetadata extends ParquetMetadata {
+    private final long[] starts;
+    private final long[] midpoints;
+
+    UnfilteredParquetMetadata(ParquetMetadata metadata, long[] starts, long[] midpoints) {
+      super(metadata.getFileMetaData(), metadata.getBlocks());
+      this.starts = starts;
+      this.midpoints = midpoints;
+    }
+  }
+
   private static final class NoFilter extends MetadataFilter {
     private NoFilter() {}
     @Override
@@ -1218,6 +1381,126 @@ public class ParquetMetadataConverter {
     }
   }
 
+  private static final class ProjectionMetadataFilter extends MetadataFilter {
+    private final MetadataFilter filter;
+    private final Set<ColumnPath> requestedColumns;
+
+    private ProjectionMetadataFilter(MetadataFilter filter, Set<ColumnPath> requestedColumns) {
+      this.filter = filter;
+      this.requestedColumns = requestedColumns;
+    }
+
+    @Override
+    <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E {
+      return filter.accept(visitor);
+    }
+
+    @Override
+    Set<ColumnPath> getRequestedColumns() {
+      return requestedColumns;
+    }
+
+    @Override
+    public String toString() {
+      return "projection(" + filter + ", " + requestedColumns + ")";
+    }
+  }
+
+  /**
+   * Decodes the column chunks of the requested columns only. The first column chunk of each row group is always
+   * decoded as the offsets used by the range and offset filters are derived from it.
+   */
+  private static final class ProjectingFileMetaDataConsumer extends FileMetaDataConsumer {
+    private final DefaultFileMetaDataConsumer delegate;
+    private final Set<ColumnPath> requestedColumns;
+    private boolean[] requiredColumns;
+
+    private ProjectingFileMetaDataConsumer(FileMetaData md, Set<ColumnPath> requestedColumns) {
+      this.delegate = new DefaultFileMetaDataConsumer(md);
+      this.requestedColumns = requestedColumns;
+    }
+
+    @Override
+    public void setVersion(int version) {
+      delegate.setVersion(version);
+    }
+
+    @Override
+    public void setSchema(List<SchemaElement> schema) {
+      delegate.setSchema(schema);
+      List<ColumnPath> leaves = new ArrayList<>();
+      Iterator<SchemaElement> iterator = schema.iterator();
+      if (iterator.hasNext()) {
+        addLeaves(iterator, iterator.next().getNum_children(), new ArrayList<String>(), leaves);
+      }
+      requiredColumns = new boolean[leaves.size()];
+      for (int i = 0; i < requiredColumns.length; ++i) {
+        requiredColumns[i] = requestedColumns.contains(leaves.get(i));
+      }
+    }
+
+    private static void addLeaves(Iterator<SchemaElement> schema, int childrenCount, List<String> path,
+        List<ColumnPath> leaves) {
+      for (int i = 0; i < childrenCount && schema.hasNext(); i++) {
+        SchemaElement schemaElement = schema.next();
+        path.add(schemaElement.getName());
+        if (schemaElement.type != null) {
+          leaves.add(ColumnPath.get(path.toArray(new String[0])));
+        } else {
+          addLeaves(schema, schemaElement.getNum_children(), path, leaves);
+        }
+        path.remove(path.size() - 1);
+      }
+    }
+
+    @Override
+    public boolean isColumnChunkRequired(int columnIndex) {
+      // the column chunks not matching the schema are decoded and rejected by the conversion
+      return columnIndex == 0 || requiredColumns == null || columnIndex >= requiredColumns.length
+          || requiredColumns[columnIndex];
+    }
+
+    @Override
+    public void setNumRows(long numRows) {
+      delegate.setNumRows(numRows);
+    }
+
+    @Override
+    public void addRowGroup(RowGroup rowGroup) {
+      delegate.addRowGroup(rowGroup);
+    }
+
+    @Override
+    public void addKeyValueMetaData(KeyValue kv) {
+      delegate.addKeyValueMetaData(kv);
+    }
+
+    @Override
+    public void setCreatedBy(String createdBy) {
+      delegate.setCreatedBy(createdBy);
+    }
+
+    @Override
+    public void setEncryptionAlgorithm(EncryptionAlgorithm encryptionAlgorithm) {
+      delegate.setEncryptionAlgorithm(encryptionAlgorithm);
+    }
+
+    @Override
+    public void setFooterSigningKeyMetadata(byte[] footerSigningKeyMetadata) {
+      delegate.setFooterSigningKeyMetadata(footerSigningKeyMetadata);
+    }
+  }
+
+  private static FileMetaData readProjectedFileMetaData(InputStream from, Set<ColumnPath> requestedColumns,
+      BlockCipher.Decryptor decryptor, byte[] AAD) throws IOException {
+    if (requestedColumns == null) {
+      return readFileMetaData(from, decryptor, AAD);
+    }
+    FileMetaData md = new FileMetaData();
+    readFileMetaData(from, new ProjectingFileMetaDataConsumer(md, requestedColumns), decryptor, AAD);
+    return md;
+  }
+
   static final class OffsetMetadataFilter extends MetadataFilter {
     private final Set<Long> offsets;
 
@@ -1244,14 +1527,54 @@ public class ParquetMetadataConverter {
   static FileMetaData filterFileMetaDataByMidpoint(FileMetaData metaData, RangeMetadataFilter filter) {
     List<RowGroup> rowGroups = metaData.getRow_groups();
     List<RowGroup> newRowGroups = new ArrayList<RowGroup>();
+    long[] midpoints = getMidpoints(rowGroups);
+    for (int i = 0; i < rowGroups.size(); ++i) {
+      if (filter.contains(midpoints[i])) {
+        newRowGroups.add(rowGroups.get(i));
+      }
+    }
+
+    metaData.setRow_groups(newRowGroups);
+    return metaData;
+  }
+
+  /**
+   * @param rowGroups the row groups of a file
+   * @return the midpoints of the row groups, on which they are selected by a range filter
+   */
+  private static long[] getMidpoints(List<RowGroup> rowGroups) {
+    long[] midpoints = getStarts(rowGroups, false);
+    for (int i = 0; i < midpoints.length; ++i) {
+      RowGroup rowGroup = rowGroups.get(i);
+      long totalSize = 0;
+      if (rowGroup.isSetTotal_compressed_size()) {
+        totalSize = rowGroup.getTotal_compressed_size();
+      } else {
+        for (ColumnChunk col : rowGroup.getColumns()) {
+          totalSize += col.getMeta_data().getTotal_compressed_size();
+        }
+      }
+      midpoints[i] += totalSize / 2;
+    }
+    return midpoints;
+  }
+
+  /**
+   * @param rowGroups the row groups of a file
+   * @param failOnInvalidOffset whether an invalid row group offset fails or is replaced by an estimate
+   * @return the start offsets of the row groups, on which they are selected by an offset filter
+   * @throws InvalidFileOffsetException if a row group offset is invalid and failOnInvalidOffset is set
+   */
+  private static long[] getStarts(List<RowGroup> rowGroups, boolean failOnInvalidOffset) {
+    long[] starts = new long[rowGroups.size()];
     long preStartIndex = 0;
     long preCompressedSize = 0;
     boolean firstColumnWithMetadata = true;
-    if (rowGroups != null && rowGroups.size() > 0) {
+    if (rowGroups.size() > 0) {
       firstColumnWithMetadata = rowGroups.get(0).getColumns().get(0).isSetMeta_data();
     }
-    for (RowGroup rowGroup : rowGroups) {
-      long totalSize = 0;
+    for (int i = 0; i < starts.length; ++i) {
+      RowGroup rowGroup = rowGroups.get(i);
       long startIndex;
       ColumnChunk columnChunk = rowGroup.getColumns().get(0);
       if (firstColumnWithMetadata) {
@@ -1267,6 +1590,8 @@ public class ParquetMetadataConverter {
           //first row group's offset is always 4
           if (preStartIndex == 0) {
             startIndex = 4;
+          } else if (failOnInvalidOffset) {
+            throw invalidFileOffset();
           } else {
             // use minStartIndex(imprecise in case of padding, but good enough for filtering)
             startIndex = preStartIndex + preCompressedSize;
@@ -1275,23 +1600,14 @@ public class ParquetMetadataConverter {
         preStartIndex = startIndex;
         preCompressedSize = rowGroup.getTotal_compressed_size();
       }
-
-      if (rowGroup.isSetTotal_compressed_size()) {
-        totalSize = rowGroup.getTotal_compressed_size();
-      } else {
-        for (ColumnChunk col : rowGroup.getColumns()) {
-          totalSize += col.getMeta_data().getTotal_compressed_size();
-        }
-      }
-
-      long midPoint = startIndex + totalSize / 2;
-      if (filter.contains(midPoint)) {
-        newRowGroups.add(rowGroup);
-      }
+      starts[i] = startIndex;
     }
+    return starts;
+  }
 
-    metaData.setRow_groups(newRowGroups);
-    return metaData;
+  private static InvalidFileOffsetException invalidFileOffset() {
+    return new InvalidFileOffsetException("corrupted RowGroup.file_offset found, " +
+      "please use file range instead of block offset for split.");
   }
 
   private static boolean invalidFileOffset(long startIndex, long preStartIndex, long preCompressedSize) {
@@ -1318,39 +1634,10 @@ public class ParquetMetadataConverter {
   static FileMetaData filterFileMetaDataByStart(FileMetaData metaData, OffsetMetadataFilter filter) {
     List<RowGroup> rowGroups = metaData.getRow_groups();
     List<RowGroup> newRowGroups = new ArrayList<RowGroup>();
-    long preStartIndex = 0;
-    long preCompressedSize = 0;
-    boolean firstColumnWithMetadata = true;
-    if (rowGroups != null && rowGroups.size() > 0) {
-      firstColumnWithMetadata = rowGroups.get(0).getColumns().get(0).isSetMeta_data();
-    }
-    for (RowGroup rowGroup : rowGroups) {
-      long startIndex;
-      ColumnChunk columnChunk = rowGroup.getColumns().get(0);
-      if (firstColumnWithMetadata) {
-        startIndex = getOffset(columnChunk);
-      } else {
-        assert rowGroup.isSetFile_offset();
-        assert rowGroup.isSetTotal_compressed_size();
-
-        //the file_offset of first block always holds the truth, while other blocks don't :
-        //see PARQUET-2078 for details
-        startIndex = rowGroup.getFile_offset();
-        if (invalidFileOffset(startIndex, preStartIndex, preCompressedSize)) {
-          //first row group's offset is always 4
-          if (preStartIndex == 0) {
-            startIndex = 4;
-          } else {
-            throw new InvalidFileOffsetException("corrupted RowGroup.file_offset found, " +
-              "please use file range instead of block offset for split.");
-          }
-        }
-        preStartIndex = startIndex;
-        preCompressedSize = rowGroup.getTotal_compressed_size();
-      }
-
-      if (filter.contains(startIndex)) {
-        newRowGroups.add(rowGroup);
+    long[] starts = getStarts(rowGroups, true);
+    for (int i = 0; i < rowGroups.size(); ++i) {
+      if (filter.contains(starts[i])) {
+        newRowGroups.add(rowGroups.get(i));
       }
     }
     metaData.setRow_groups(newRowGroups);
@@ -1434,11 +1721,13 @@ public class ParquetMetadataConverter {
 
     final BlockCipher.Decryptor footerDecryptor = (encryptedFooter? fileDecryptor.fetchFooterDecryptor() : null);
     final byte[] encryptedFooterAAD = (encryptedFooter? AesCipher.createFooterAAD(fileDecryptor.getFileAAD()) : null);
+    // the column ordinals of the encrypted modules require the metadata of all the columns
+    final Set<ColumnPath> requestedColumns = (null == fileDecryptor ? filter.getRequestedColumns() : null);
 
     FileMetaDataAndRowGroupOffsetInfo fileMetaDataAndRowGroupInfo = filter.accept(new MetadataFilterVisitor<FileMetaDataAndRowGroupOffsetInfo, IOException>() {
       @Override
       public FileMetaDataAndRowGroupOffsetInfo visit(NoFilter filter) throws IOException {
-        FileMetaData fileMetadata = readFileMetaData(from, footerDecryptor, encryptedFooterAAD);
+        FileMetaData fileMetadata = readProjectedFileMetaData(from, requestedColumns, footerDecryptor, encryptedFooterAAD);
         return new FileMetaDataAndRowGroupOffsetInfo(fileMetadata, generateRowGroupOffsets(fileMetadata));
       }
 
@@ -1450,7 +1739,7 @@ public class ParquetMetadataConverter {
 
       @Override
       public FileMetaDataAndRowGroupOffsetInfo visit(OffsetMetadataFilter filter) throws IOException {
-        FileMetaData fileMetadata = readFileMetaData(from, footerDecryptor, encryptedFooterAAD);
+        FileMetaData fileMetadata = readProjectedFileMetaData(from, requestedColumns, footerDecryptor, encryptedFooterAAD);
         // We must generate the map *before* filtering because it modifies `fileMetadata`.
         Map<RowGroup, Long> rowGroupToRowIndexOffsetMap = generateRowGroupOffsets(fileMetadata);
         FileMetaData filteredFileMetadata = filterFileMetaDataByStart(fileMetadata, filter);
@@ -1459,7 +1748,7 @@ public class ParquetMetadataConverter {
 
       @Override
       public FileMetaDataAndRowGroupOffsetInfo visit(RangeMetadataFilter filter) throws IOException {
-        FileMetaData fileMetadata = readFileMetaData(from, footerDecryptor, encryptedFooterAAD);
+        FileMetaData fileMetadata = readProjectedFileMetaData(from, requestedColumns, footerDecryptor, encryptedFooterAAD);
         // We must generate the map *before* filtering because it modifies `fileMetadata`.
         Map<RowGroup, Long> rowGroupToRowIndexOffsetMap = generateRowGroupOffsets(fileMetadata);
         FileMetaData filteredFileMetadata = filterFileMetaDataByMidpoint(fileMetadata, filter);
@@ -1488,6 +1777,12 @@ public class ParquetMetadataConverter {
     }
 
     ParquetMetadata parquetMetadata = fromParquetMetadata(fileMetaData, fileDecryptor, encryptedFooter, rowGroupToRowIndexOffsetMap);
+    if (filter instanceof NoFilter && !encryptedFooter && !fileMetaData.isSetEncryption_algorithm()) {
+      // the footers of the unencrypted files may be shared by the splits of the file, see filterRowGroups
+      List<RowGroup> rowGroups = fileMetaData.isSetRow_groups() ? fileMetaData.getRow_groups() : new ArrayList<>();
+      parquetMetadata = new UnfilteredParquetMetadata(parquetMetadata, getStarts(rowGroups, true),
+          getMidpoints(rowGroups));
+    }
     if (LOG.isDebugEnabled()) LOG.debug(ParquetMetadata.toPrettyJSON(parquetMetadata));
     return parquetMetadata;
   }
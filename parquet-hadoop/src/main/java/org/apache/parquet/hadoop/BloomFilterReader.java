@@ -19,11 +19,21 @@
 package org.apache.parquet.hadoop;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.column.values.bloomfilter.BloomFilter;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.format.BloomFilterHeader;
+import org.apache.parquet.format.Util;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
@@ -32,8 +42,19 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Bloom filter reader that reads Bloom filter data from an open {@link ParquetFileReader}.
+ * <p>
+ * The Bloom filters needed to filter the row groups of a file are read ahead together, see
+ * {@link ParquetFileReader#prefetchBloomFilters}.
  */
 public class BloomFilterReader {
+  // the Bloom filters separated by less than this gap are read at once
+  private static final int MAX_BLOOM_FILTER_READ_GAP = 1024 * 1024;
+  private static final int MAX_BLOOM_FILTER_READ_SIZE = 64 * 1024 * 1024;
+  // the maximum size of a serialized Bloom filter header
+  private static final int MAX_BLOOM_FILTER_HEADER_SIZE = 1024;
+  // the last Bloom filters are read with the footer up to the end of the file only if it is that close
+  private static final int MAX_TAIL_READ_SIZE = 1024 * 1024;
+
   private final ParquetFileReader reader;
   private final Map<ColumnPath, ColumnChunkMetaData> columns;
   private final Map<ColumnPath, BloomFilter> cache = new HashMap<>();
@@ -67,4 +88,114 @@ public class BloomFilterReader {
 
     return null;
   }
+
+  /**
+   * Reads the Bloom filters of the given column chunks of a plaintext file, the ones separated by less than
+   * {@link #MAX_BLOOM_FILTER_READ_GAP} at once.
+   * <p>
+   * The length of the Bloom filters is not in the footer so each one is read up to the next structure of the file
+   * referenced by the footer (a Bloom filter, a column or offset index or a column chunk). The length of the footer
+   * is not known either so the Bloom filters followed by the footer are read up to the end of the file, only if it is
+   * closer than {@link #MAX_TAIL_READ_SIZE}. The other ones, and the ones read with an unexpected length, are left out
+   * and read on their own when they are used.
+   *
+   * @param reader the reader of the file
+   * @param blocks all the row groups of the file
+   * @param columns the column chunks to read the Bloom filter of
+   * @param fileLength the length of the file
+   * @return the Bloom filters read, by column chunk
+   */
+  static Map<ColumnChunkMetaData, BloomFilter> readBloomFilters(ParquetFileReader reader, List<BlockMetaData> blocks,
+      List<ColumnChunkMetaData> columns, long fileLength) throws IOException {
+    long[] boundaries = boundaries(blocks);
+    List<ColumnChunkMetaData> toRead = new ArrayList<>();
+    Map<ColumnChunkMetaData, Long> ends = new IdentityHashMap<>();
+    for (ColumnChunkMetaData column : columns) {
+      long offset = column.getBloomFilterOffset();
+      int next = Arrays.binarySearch(boundaries, offset + 1);
+      next = next >= 0 ? next : -next - 1;
+      if (next < boundaries.length) {
+        if (boundaries[next] - offset <= MAX_BLOOM_FILTER_HEADER_SIZE + BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
+          toRead.add(column);
+          ends.put(column, boundaries[next]);
+        }
+      } else if (fileLength - offset <= MAX_TAIL_READ_SIZE) {
+        toRead.add(column);
+        ends.put(column, fileLength);
+      }
+    }
+
+    Map<ColumnChunkMetaData, BloomFilter> bloomFilters = new IdentityHashMap<>();
+    toRead.sort(Comparator.comparingLong(ColumnChunkMetaData::getBloomFilterOffset));
+    int first = 0;
+    while (first < toRead.size()) {
+      long start = toRead.get(first).getBloomFilterOffset();
+      long end = ends.get(toRead.get(first));
+      int last = first + 1;
+      for (; last < toRead.size(); ++last) {
+        ColumnChunkMetaData column = toRead.get(last);
+        long columnEnd = Math.max(end, ends.get(column));
+        if (column.getBloomFilterOffset() - end > MAX_BLOOM_FILTER_READ_GAP
+            || columnEnd - start > MAX_BLOOM_FILTER_READ_SIZE) {
+          break;
+        }
+        end = columnEnd;
+      }
+      ByteBuffer range = reader.readIndexRange(start, (int) (end - start));
+      for (ColumnChunkMetaData column : toRead.subList(first, last)) {
+        ByteBuffer slice = range.duplicate();
+        slice.position((int) (column.getBloomFilterOffset() - start));
+        slice.limit((int) (ends.get(column) - start));
+        BloomFilter bloomFilter = readBloomFilter(slice);
+        if (bloomFilter != null) {
+          bloomFilters.put(column, bloomFilter);
+        }
+      }
+      first = last;
+    }
+    return bloomFilters;
+  }
+
+  /**
+   * @return the sorted offsets of the structures of the file referenced by the footer
+   */
+  private static long[] boundaries(List<BlockMetaData> blocks) {
+    int count = 0;
+    for (BlockMetaData block : blocks) {
+      count += 4 * block.getColumns().size();
+    }
+    long[] boundaries = new long[count];
+    int i = 0;
+    for (BlockMetaData block : blocks) {
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        boundaries[i++] = column.getStartingPos();
+        boundaries[i++] = column.getBloomFilterOffset();
+        boundaries[i++] = column.getColumnIndexReference() == null ? -1 : column.getColumnIndexReference().getOffset();
+        boundaries[i++] = column.getOffsetIndexReference() == null ? -1 : column.getOffsetIndexReference().getOffset();
+      }
+    }
+    Arrays.sort(boundaries);
+    return boundaries;
+  }
+
+  /**
+   * Decodes a Bloom filter from the range of the file it is read with, copying its bitset out of the range.
+   *
+   * @return the Bloom filter, or {@code null} if it cannot be decoded from the range
+   */
+  private static BloomFilter readBloomFilter(ByteBuffer slice) {
+    try {
+      ByteBufferInputStream in = ByteBufferInputStream.wrap(slice);
+      BloomFilterHeader header = Util.readBloomFilterHeader(in);
+      if (!ParquetFileReader.isSupported(header)) {
+        return null;
+      }
+      byte[] bitset = new byte[header.getNumBytes()];
+      in.slice(bitset.length).get(bitset);
+      return new BlockSplitBloomFilter(bitset);
+    } catch (IOException e) {
+      // the range does not hold the whole Bloom filter, it is read on its own when it is used
+      return null;
+    }
+  }
 }
@@ -19,6 +19,8 @@
 package org.apache.parquet.hadoop;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +28,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
 import java.util.Queue;
+import java.util.concurrent.Executor;
 
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.ByteBufferReleaser;
 import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.DataPage;
@@ -39,7 +44,9 @@ import org.apache.parquet.column.page.PageReader;
 import org.apache.parquet.compression.CompressionCodecFactory.BytesInputDecompressor;
 import org.apache.parquet.crypto.AesCipher;
 import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
+import org.apache.parquet.events.ParquetEvents;
 import org.apache.parquet.format.BlockCipher;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.internal.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.ParquetDecodingException;
@@ -55,23 +62,75 @@ import org.slf4j.LoggerFactory;
 class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore {
   private static final Logger LOG = LoggerFactory.getLogger(ColumnChunkPageReadStore.class);
 
+  /**
+   * The compressed data pages of a column chunk, in order.
+   */
+  interface CompressedPages {
+
+    /**
+     * @return the next page or {@code null} if there are no more pages
+     */
+    DataPage poll();
+
+    /**
+     * @return whether there are no more pages
+     */
+    boolean isEmpty();
+  }
+
+  private static final class BufferedPages implements CompressedPages {
+    private final Queue<DataPage> pages;
+
+    private BufferedPages(List<DataPage> pages) {
+      this.pages = new ArrayDeque<>(pages);
+    }
+
+    @Override
+    public DataPage poll() {
+      return pages.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return pages.isEmpty();
+    }
+  }
+
   /**
    * PageReader for a single column chunk. A column chunk contains
    * several pages, which are yielded one by one in order.
    *
-   * This implementation is provided with a list of pages, each of which
-   * is decompressed and passed through.
+   * This implementation is provided with a list of pages (or with pages read
+   * on demand), each of which is decompressed and passed through.
    */
   static final class ColumnChunkPageReader implements PageReader {
 
     private final BytesInputDecompressor decompressor;
     private final long valueCount;
-    private final Queue<DataPage> compressedPages;
+    private final long compressedSize;
+    private final CompressedPages compressedPages;
     private final DictionaryPage compressedDictionaryPage;
     // null means no page synchronization is required; firstRowIndex will not be returned by the pages
     private final OffsetIndex offsetIndex;
     private final long rowCount;
     private int pageIndex = 0;
+
+    // set when the pages are decompressed by an executor, see decompressInParallel, or when the dictionary page is
+    // decompressed ahead, see setDecompressedDictionaryPage; the fields below are guarded by this
+    private Executor decompressionExecutor;
+    private int decompressionQueueSize;
+    private final Queue<DataPage> decompressedPages = new ArrayDeque<>();
+    private DictionaryPage decompressedDictionaryPage;
+    private boolean dictionaryPageDecompressed = false;
+    private boolean decompressing = false;
+    private boolean closed = false;
+    private boolean decompressorReleased = false;
+    private Throwable decompressionFailure;
+
+    // set by setMetrics to report the decryption and the decompression of the pages
+    private ParquetReadMetrics metrics;
+    private String file;
+    private ColumnDescriptor column;
     
     private final BlockCipher.Decryptor blockDecryptor;
     private final byte[] dataPageAAD;
@@ -81,14 +140,36 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
         DictionaryPage compressedDictionaryPage, OffsetIndex offsetIndex, long rowCount,
         BlockCipher.Decryptor blockDecryptor, byte[] fileAAD, 
         int rowGroupOrdinal, int columnOrdinal) {
+      this(decompressor, new BufferedPages(compressedPages), compressedDictionaryPage,
+          valueCount(compressedPages), compressedSize(compressedPages, compressedDictionaryPage), offsetIndex, rowCount,
+          blockDecryptor, fileAAD, rowGroupOrdinal, columnOrdinal);
+    }
+
+    /**
+     * Creates a page reader of pages read on demand. The pages are not encrypted and no page synchronization is
+     * required.
+     *
+     * @param decompressor the decompressor of the pages
+     * @param compressedPages the data pages
+     * @param compressedDictionaryPage the dictionary page; might be null
+     * @param valueCount the total number of values in the data pages
+     * @param compressedSize the number of bytes held by this page reader, see {@link #getCompressedSize()}
+     * @param rowCount the number of rows in the row group
+     */
+    ColumnChunkPageReader(BytesInputDecompressor decompressor, CompressedPages compressedPages,
+        DictionaryPage compressedDictionaryPage, long valueCount, long compressedSize, long rowCount) {
+      this(decompressor, compressedPages, compressedDictionaryPage, valueCount, compressedSize, null, rowCount, null,
+          null, -1, -1);
+    }
+
+    private ColumnChunkPageReader(BytesInputDecompressor decompressor, CompressedPages compressedPages,
+        DictionaryPage compressedDictionaryPage, long valueCount, long compressedSize, OffsetIndex offsetIndex,
+        long rowCount, BlockCipher.Decryptor blockDecryptor, byte[] fileAAD, int rowGroupOrdinal, int columnOrdinal) {
       this.decompressor = decompressor;
-      this.compressedPages = new ArrayDeque<DataPage>(compressedPages);
+      this.compressedPages = compressedPages;
       this.compressedDictionaryPage = compressedDictionaryPage;
-      long count = 0;
-      for (DataPage p : compressedPages) {
-        count += p.getValueCount();
-      }
-      this.valueCount = count;
+      this.valueCount = valueCount;
+      this.compressedSize = compressedSize;
       this.offsetIndex = offsetIndex;
       this.rowCount = rowCount;
       
@@ -103,6 +184,22 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
       }
     }
     
+    private static long valueCount(List<DataPage> pages) {
+      long count = 0;
+      for (DataPage p : pages) {
+        count += p.getValueCount();
+      }
+      return count;
+    }
+
+    private static long compressedSize(List<DataPage> pages, DictionaryPage dictionaryPage) {
+      long size = dictionaryPage == null ? 0 : dictionaryPage.getCompressedSize();
+      for (DataPage p : pages) {
+        size += p.getCompressedSize();
+      }
+      return size;
+    }
+
     private int getPageOrdinal(int currentPageIndex) {
       if (null == offsetIndex) {
         return currentPageIndex;
@@ -116,14 +213,36 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
       return valueCount;
     }
 
+    /**
+     * @return the number of bytes held by this page reader: the size of the pages as read from the file or, for pages
+     *         read on demand, the size of the read-ahead window
+     */
+    long getCompressedSize() {
+      return compressedSize;
+    }
+
     @Override
     public DataPage readPage() {
+      if (decompressionExecutor != null) {
+        return readDecompressedPage();
+      }
       final DataPage compressedPage = compressedPages.poll();
       if (compressedPage == null) {
         return null;
       }
-      final int currentPageIndex = pageIndex++;
-      
+      return decompress(compressedPage, pageIndex++, false);
+    }
+
+    /**
+     * Decrypts and decompresses the page at the specified index.
+     *
+     * @param compressedPage the page as read from the file
+     * @param currentPageIndex the index of the page in the column chunk
+     * @param materialize whether the decompressed bytes shall be copied to memory; otherwise they may be decompressed
+     *                    lazily when read so the decompressor cannot be used for another page in the meantime
+     * @return the decompressed page
+     */
+    private DataPage decompress(DataPage compressedPage, int currentPageIndex, boolean materialize) {
       if (null != blockDecryptor) {
         AesCipher.quickUpdatePageAAD(dataPageAAD, getPageOrdinal(currentPageIndex));
       }
@@ -134,9 +253,9 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
           try {
             BytesInput bytes = dataPageV1.getBytes();
             if (null != blockDecryptor) {
-              bytes = BytesInput.from(blockDecryptor.decrypt(bytes.toByteArray(), dataPageAAD));
+              bytes = decrypt(bytes, dataPageAAD);
             }
-            BytesInput decompressed = decompressor.decompress(bytes, dataPageV1.getUncompressedSize());
+            BytesInput decompressed = decompress(bytes, dataPageV1.getUncompressedSize(), materialize);
             
             final DataPageV1 decompressedPage;
             if (offsetIndex == null) {
@@ -172,6 +291,10 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
 
         @Override
         public DataPage visit(DataPageV2 dataPageV2) {
+          if (!dataPageV2.isCompressed() && metrics != null) {
+            long size = dataPageV2.getData().size();
+            metrics.pageDecompressed(file, column, size, size, 0);
+          }
           if (!dataPageV2.isCompressed() &&  offsetIndex == null && null == blockDecryptor) {
             return dataPageV2;
           }
@@ -179,7 +302,7 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
           
           if (null != blockDecryptor) {
             try {
-              pageBytes = BytesInput.from(blockDecryptor.decrypt(pageBytes.toByteArray(), dataPageAAD));
+              pageBytes = decrypt(pageBytes, dataPageAAD);
             } catch (IOException e) {
               throw new ParquetDecodingException("could not convert page ByteInput to byte array", e);
             }
@@ -190,7 +313,7 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
                     - dataPageV2.getDefinitionLevels().size()
                     - dataPageV2.getRepetitionLevels().size());
             try {
-              pageBytes = decompressor.decompress(pageBytes, uncompressedSize);
+              pageBytes = decompress(pageBytes, uncompressedSize, materialize);
             } catch (IOException e) {
               throw new ParquetDecodingException("could not decompress page", e);
             }
@@ -222,18 +345,160 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
       });
     }
 
+    private BytesInput decrypt(BytesInput bytes, byte[] aad) throws IOException {
+      ParquetEvents.Event event = ParquetEvents.begin(ParquetEvents.Type.PAGE_DECRYPT);
+      // the cipher needs the whole page anyway so measuring it does not materialize anything more
+      long start = metrics == null ? 0 : System.nanoTime();
+      byte[] encrypted = bytes.toByteArray();
+      byte[] decrypted = blockDecryptor.decrypt(encrypted, aad);
+      if (metrics != null) {
+        metrics.pageDecrypted(file, column, encrypted.length, System.nanoTime() - start);
+      }
+      if (event != null) {
+        event.commit(file, columnPath(), encrypted.length, decrypted.length);
+      }
+      return BytesInput.from(decrypted);
+    }
+
+    private BytesInput decompress(BytesInput bytes, int uncompressedSize, boolean materialize) throws IOException {
+      if (metrics == null && !ParquetEvents.isEnabled(ParquetEvents.Type.PAGE_DECOMPRESS)) {
+        BytesInput decompressed = decompressor.decompress(bytes, uncompressedSize);
+        return materialize ? BytesInput.copy(decompressed) : decompressed;
+      }
+      long compressedSize = bytes.size();
+      long start = System.nanoTime();
+      BytesInput decompressed = decompressor.decompress(bytes, uncompressedSize);
+      // most decompressors decompress as the bytes are read, so the decompression is reported once they are
+      MeasuredDecompression measured = new MeasuredDecompression(decompressed, compressedSize,
+          System.nanoTime() - start);
+      return materialize ? BytesInput.copy(measured) : measured;
+    }
+
+    /**
+     * The bytes of a decompressed page, reporting the time spent decompressing them once they are read, so measuring
+     * the decompression does not materialize the page before it is consumed. The decompression event only covers the
+     * read of the bytes, where the decompressors decompressing lazily do their work, not the time the page waits to be
+     * read.
+     */
+    private final class MeasuredDecompression extends BytesInput {
+      private final BytesInput decompressed;
+      private final long compressedSize;
+      // the time spent decompressing so far, -1 once reported
+      private long nanos;
+
+      private MeasuredDecompression(BytesInput decompressed, long compressedSize, long nanos) {
+        this.decompressed = decompressed;
+        this.compressedSize = compressedSize;
+        this.nanos = nanos;
+      }
+
+      private ParquetEvents.Event beginDecompression() {
+        return nanos < 0 ? null : ParquetEvents.begin(ParquetEvents.Type.PAGE_DECOMPRESS);
+      }
+
+      private void decompressed(long start, ParquetEvents.Event event) {
+        if (nanos >= 0) {
+          long total = nanos + System.nanoTime() - start;
+          nanos = -1;
+          if (event != null) {
+            event.commit(file, columnPath(), compressedSize, decompressed.size());
+          }
+          if (metrics != null) {
+            metrics.pageDecompressed(file, column, compressedSize, decompressed.size(), total);
+          }
+        }
+      }
+
+      @Override
+      public void writeAllTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        ParquetEvents.Event event = beginDecompression();
+        decompressed.writeAllTo(out);
+        decompressed(start, event);
+      }
+
+      @Override
+      public byte[] toByteArray() throws IOException {
+        long start = System.nanoTime();
+        ParquetEvents.Event event = beginDecompression();
+        byte[] bytes = decompressed.toByteArray();
+        decompressed(start, event);
+        return bytes;
+      }
+
+      @Override
+      public ByteBuffer toByteBuffer() throws IOException {
+        long start = System.nanoTime();
+        ParquetEvents.Event event = beginDecompression();
+        ByteBuffer buffer = decompressed.toByteBuffer();
+        decompressed(start, event);
+        return buffer;
+      }
+
+      @Override
+      public ByteBufferInputStream toInputStream() throws IOException {
+        long start = System.nanoTime();
+        ParquetEvents.Event event = beginDecompression();
+        ByteBufferInputStream in = decompressed.toInputStream();
+        decompressed(start, event);
+        return in;
+      }
+
+      @Override
+      public long size() {
+        return decompressed.size();
+      }
+    }
+
+    private String columnPath() {
+      return column == null ? null : ColumnPath.get(column.getPath()).toDotString();
+    }
+
     @Override
     public DictionaryPage readDictionaryPage() {
+      if (decompressionExecutor != null || dictionaryPageDecompressed) {
+        return readDecompressedDictionaryPage();
+      }
+      return decompressDictionaryPage(false);
+    }
+
+    /**
+     * Sets the dictionary page of this column chunk, already read and decompressed (e.g. to filter the row group with
+     * its dictionary), instead of the compressed one. It must be set before the pages are decompressed.
+     *
+     * @param dictionaryPage the uncompressed dictionary page
+     */
+    synchronized void setDecompressedDictionaryPage(DictionaryPage dictionaryPage) {
+      this.decompressedDictionaryPage = dictionaryPage;
+      this.dictionaryPageDecompressed = true;
+    }
+
+    /**
+     * Reports the decryption and the decompression of the pages of this column chunk to the specified listener and
+     * to the Flight Recorder events. It must be set before the pages are decompressed.
+     *
+     * @param metrics the listener, or {@code null} to only report to the Flight Recorder events
+     * @param file the file of the column chunk
+     * @param column the column of the column chunk
+     */
+    synchronized void setMetrics(ParquetReadMetrics metrics, String file, ColumnDescriptor column) {
+      this.metrics = metrics;
+      this.file = file;
+      this.column = column;
+    }
+
+    private DictionaryPage decompressDictionaryPage(boolean materialize) {
       if (compressedDictionaryPage == null) {
         return null;
       }
       try {
         BytesInput bytes = compressedDictionaryPage.getBytes();
         if (null != blockDecryptor) {
-          bytes = BytesInput.from(blockDecryptor.decrypt(bytes.toByteArray(), dictionaryPageAAD));
+          bytes = decrypt(bytes, dictionaryPageAAD);
         }
+        BytesInput decompressed = decompress(bytes, compressedDictionaryPage.getUncompressedSize(), materialize);
         DictionaryPage decompressedPage = new DictionaryPage(
-          decompressor.decompress(bytes, compressedDictionaryPage.getUncompressedSize()),
+          decompressed,
           compressedDictionaryPage.getDictionarySize(),
           compressedDictionaryPage.getEncoding());
         if (compressedDictionaryPage.getCrc().isPresent()) {
@@ -244,12 +509,162 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
         throw new ParquetDecodingException("Could not decompress dictionary page", e);
       }
     }
+
+    /**
+     * Decompresses (and decrypts) the pages of this column chunk on the specified executor instead of the thread
+     * reading them. The pages are decompressed in order, at most {@code queueSize} ahead of the reader. The
+     * decompressor of this page reader must not be shared with other page readers as it is used by the executor and
+     * released once all the pages are decompressed or this page reader is closed.
+     *
+     * @param executor the executor to decompress the pages on
+     * @param queueSize the maximum number of decompressed pages waiting to be read
+     */
+    void decompressInParallel(Executor executor, int queueSize) {
+      if (queueSize <= 0) {
+        throw new IllegalArgumentException("Invalid decompression queue size: " + queueSize);
+      }
+      synchronized (this) {
+        this.decompressionExecutor = executor;
+        this.decompressionQueueSize = queueSize;
+        startDecompression();
+      }
+    }
+
+    private synchronized DataPage readDecompressedPage() {
+      while (true) {
+        if (closed) {
+          throw new ParquetDecodingException("The page reader is closed");
+        }
+        DataPage page = decompressedPages.poll();
+        if (page != null) {
+          startDecompression();
+          return page;
+        }
+        if (decompressionFailure != null) {
+          throw new ParquetDecodingException("could not decompress page", decompressionFailure);
+        }
+        if (compressedPages.isEmpty() && !decompressing) {
+          return null;
+        }
+        startDecompression();
+        awaitDecompression();
+      }
+    }
+
+    private synchronized DictionaryPage readDecompressedDictionaryPage() {
+      // the dictionary page is the first one decompressed
+      while (!dictionaryPageDecompressed) {
+        if (closed) {
+          throw new ParquetDecodingException("The page reader is closed");
+        }
+        if (decompressionFailure != null) {
+          throw new ParquetDecodingException("could not decompress page", decompressionFailure);
+        }
+        awaitDecompression();
+      }
+      return decompressedDictionaryPage;
+    }
+
+    private void awaitDecompression() {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ParquetDecodingException("Interrupted while waiting for the decompression of a page", e);
+      }
+    }
+
+    // guarded by this
+    private void startDecompression() {
+      if (!decompressing && !closed && decompressionFailure == null
+          && (!dictionaryPageDecompressed || !compressedPages.isEmpty())
+          && decompressedPages.size() < decompressionQueueSize) {
+        decompressing = true;
+        decompressionExecutor.execute(this::decompressPages);
+      }
+    }
+
+    private void decompressPages() {
+      try {
+        if (!dictionaryPageDecompressed) {
+          DictionaryPage dictionaryPage = decompressDictionaryPage(true);
+          synchronized (this) {
+            decompressedDictionaryPage = dictionaryPage;
+            dictionaryPageDecompressed = true;
+            notifyAll();
+          }
+        }
+        while (true) {
+          DataPage compressedPage;
+          int currentPageIndex;
+          synchronized (this) {
+            if (closed || decompressedPages.size() >= decompressionQueueSize || compressedPages.isEmpty()) {
+              if (compressedPages.isEmpty()) {
+                releaseDecompressor();
+              }
+              decompressing = false;
+              notifyAll();
+              return;
+            }
+            compressedPage = compressedPages.poll();
+            currentPageIndex = pageIndex++;
+          }
+          DataPage page = decompress(compressedPage, currentPageIndex, true);
+          synchronized (this) {
+            decompressedPages.add(page);
+            notifyAll();
+          }
+        }
+      } catch (Throwable t) {
+        // e.g. an OutOfMemoryError in a native codec: the readers waiting for the pages must not wait forever
+        synchronized (this) {
+          decompressionFailure = t;
+          decompressing = false;
+          notifyAll();
+        }
+        throw t;
+      }
+    }
+
+    // guarded by this
+    private void releaseDecompressor() {
+      if (!decompressorReleased) {
+        decompressorReleased = true;
+        decompressor.release();
+      }
+    }
+
+    /**
+     * Stops decompressing the pages on the executor, if they are, waits for the page being decompressed so the
+     * buffers of the compressed pages can be released and releases the decompressor. The pages not read yet cannot be
+     * read afterwards.
+     */
+    synchronized void close() {
+      if (decompressionExecutor == null || closed) {
+        return;
+      }
+      closed = true;
+      boolean interrupted = false;
+      while (decompressing) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // the page being decompressed still uses the buffers and the decompressor
+          interrupted = true;
+        }
+      }
+      releaseDecompressor();
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
   }
 
   private final Map<ColumnDescriptor, ColumnChunkPageReader> readers = new HashMap<ColumnDescriptor, ColumnChunkPageReader>();
   private final long rowCount;
   private final long rowIndexOffset;
   private final RowRanges rowRanges;
+  private ByteBufferReleaser releaser;
 
   public ColumnChunkPageReadStore(long rowCount) {
     this(rowCount, -1);
@@ -300,6 +715,39 @@ class ColumnChunkPageReadStore implements PageReadStore, DictionaryPageReadStore
     return rowRanges == null ? Optional.empty() : Optional.of(rowRanges.iterator());
   }
 
+  /**
+   * @return the number of bytes held by the page readers of all the columns
+   */
+  long getCompressedSize() {
+    long size = 0;
+    for (ColumnChunkPageReader reader : readers.values()) {
+      size += reader.getCompressedSize();
+    }
+    return size;
+  }
+
+  /**
+   * @param releaser the releaser of the buffers holding the pages of this row group, released when this row group is
+   *                 closed
+   */
+  void setReleaser(ByteBufferReleaser releaser) {
+    this.releaser = releaser;
+  }
+
+  /**
+   * Stops the parallel decompression of the pages, if any, and releases the buffers holding the pages of this row
+   * group.
+   */
+  @Override
+  public void close() {
+    for (ColumnChunkPageReader reader : readers.values()) {
+      reader.close();
+    }
+    if (releaser != null) {
+      releaser.close();
+    }
+  }
+
   void addColumn(ColumnDescriptor path, ColumnChunkPageReader reader) {
     if (readers.put(path, reader) != null) {
       throw new RuntimeException(path+ " was added twice");
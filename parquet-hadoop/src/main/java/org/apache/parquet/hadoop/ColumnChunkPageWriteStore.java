@@ -33,6 +33,7 @@ import org.apache.parquet.bytes.ConcatenatingByteArrayCollector;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetWriteMetrics;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriteStore;
 import org.apache.parquet.column.page.PageWriter;
@@ -44,6 +45,7 @@ import org.apache.parquet.crypto.AesCipher;
 import org.apache.parquet.crypto.InternalColumnEncryptionSetup;
 import org.apache.parquet.crypto.InternalFileEncryptor;
 import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
+import org.apache.parquet.events.ParquetEvents;
 import org.apache.parquet.format.BlockCipher;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
@@ -100,6 +102,9 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
     private final byte[] dataPageHeaderAAD;
     private final byte[] fileAAD;
 
+    // the listener of the compression of the pages, may be null
+    private final ParquetWriteMetrics metrics;
+
     private ColumnChunkPageWriter(ColumnDescriptor path,
                                   BytesCompressor compressor,
                                   ByteBufferAllocator allocator,
@@ -109,7 +114,8 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
                                   BlockCipher.Encryptor pageBlockEncryptor,
                                   byte[] fileAAD,
                                   int rowGroupOrdinal,
-                                  int columnOrdinal) {
+                                  int columnOrdinal,
+                                  ParquetWriteMetrics metrics) {
       this.path = path;
       this.compressor = compressor;
       this.allocator = allocator;
@@ -124,6 +130,7 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
       this.fileAAD = fileAAD;
       this.rowGroupOrdinal = rowGroupOrdinal;
       this.columnOrdinal = columnOrdinal;
+      this.metrics = metrics;
       this.pageOrdinal = -1;
       if (null != headerBlockEncryptor) {
         dataPageHeaderAAD = AesCipher.createModuleAAD(fileAAD, ModuleType.DataPageHeader, 
@@ -165,7 +172,7 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
             "Cannot write page larger than Integer.MAX_VALUE or negative bytes: " +
                 uncompressedSize);
       }
-      BytesInput compressedBytes = compressor.compress(bytes);
+      BytesInput compressedBytes = compress(bytes, uncompressedSize);
       if (null != pageBlockEncryptor) {
         AesCipher.quickUpdatePageAAD(dataPageAAD, pageOrdinal);
         compressedBytes = BytesInput.from(pageBlockEncryptor.encrypt(compressedBytes.toByteArray(), dataPageAAD));
@@ -243,7 +250,7 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
           data.size() + repetitionLevels.size() + definitionLevels.size()
       );
       // TODO: decide if we compress
-      BytesInput compressedData = compressor.compress(data);
+      BytesInput compressedData = compress(data, data.size());
       if (null != pageBlockEncryptor) {
         AesCipher.quickUpdatePageAAD(dataPageAAD, pageOrdinal);
         compressedData = BytesInput.from(pageBlockEncryptor.encrypt(compressedData.toByteArray(), dataPageAAD));
@@ -372,7 +379,7 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
       }
       BytesInput dictionaryBytes = dictionaryPage.getBytes();
       int uncompressedSize = (int)dictionaryBytes.size();
-      BytesInput compressedBytes = compressor.compress(dictionaryBytes);
+      BytesInput compressedBytes = compress(dictionaryBytes, uncompressedSize);
       if (null != pageBlockEncryptor) {
         byte[] dictonaryPageAAD = AesCipher.createModuleAAD(fileAAD, ModuleType.DictionaryPage, 
             rowGroupOrdinal, columnOrdinal, -1);
@@ -391,6 +398,22 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
     public void writeBloomFilter(BloomFilter bloomFilter) {
       this.bloomFilter = bloomFilter;
     }
+
+    private BytesInput compress(BytesInput bytes, long uncompressedSize) throws IOException {
+      ParquetEvents.Event event = ParquetEvents.begin(ParquetEvents.Type.PAGE_COMPRESS);
+      if (metrics == null && event == null) {
+        return compressor.compress(bytes);
+      }
+      long start = System.nanoTime();
+      BytesInput compressedBytes = compressor.compress(bytes);
+      if (metrics != null) {
+        metrics.pageCompressed(path, uncompressedSize, compressedBytes.size(), System.nanoTime() - start);
+      }
+      if (event != null) {
+        event.commit(null, ColumnPath.get(path.getPath()).toDotString(), uncompressedSize, compressedBytes.size());
+      }
+      return compressedBytes;
+    }
   }
 
   private final Map<ColumnDescriptor, ColumnChunkPageWriter> writers = new HashMap<ColumnDescriptor, ColumnChunkPageWriter>();
@@ -407,17 +430,27 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
     this.schema = schema;
     for (ColumnDescriptor path : schema.getColumns()) {
       writers.put(path, new ColumnChunkPageWriter(path, compressor, allocator, columnIndexTruncateLength, 
-          pageWriteChecksumEnabled, null, null, null, -1, -1));
+          pageWriteChecksumEnabled, null, null, null, -1, -1, null));
     }
   }
   
   public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator,
       int columnIndexTruncateLength, boolean pageWriteChecksumEnabled, InternalFileEncryptor fileEncryptor, int rowGroupOrdinal) {
+    this(compressor, schema, allocator, columnIndexTruncateLength, pageWriteChecksumEnabled, fileEncryptor,
+        rowGroupOrdinal, null);
+  }
+
+  /**
+   * @param metrics the listener of the compression of the pages, or null
+   */
+  ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator,
+      int columnIndexTruncateLength, boolean pageWriteChecksumEnabled, InternalFileEncryptor fileEncryptor,
+      int rowGroupOrdinal, ParquetWriteMetrics metrics) {
     this.schema = schema;
     if (null == fileEncryptor) {
       for (ColumnDescriptor path : schema.getColumns()) {
         writers.put(path, new ColumnChunkPageWriter(path, compressor, allocator, columnIndexTruncateLength, 
-            pageWriteChecksumEnabled, null, null, null, -1, -1));
+            pageWriteChecksumEnabled, null, null, null, -1, -1, metrics));
       }
       return;
     }
@@ -438,7 +471,7 @@ public class ColumnChunkPageWriteStore implements PageWriteStore, BloomFilterWri
       }
 
       writers.put(path,  new ColumnChunkPageWriter(path, compressor, allocator, columnIndexTruncateLength, pageWriteChecksumEnabled,
-          headerBlockEncryptor, pageBlockEncryptor, fileAAD, rowGroupOrdinal, columnOrdinal));
+          headerBlockEncryptor, pageBlockEncryptor, fileAAD, rowGroupOrdinal, columnOrdinal, metrics));
     }
   }
 
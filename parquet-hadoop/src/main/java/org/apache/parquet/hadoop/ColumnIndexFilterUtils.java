@@ -135,7 +135,7 @@ class ColumnIndexFilterUtils {
   }
 
   static List<OffsetRange> calculateOffsetRanges(OffsetIndex offsetIndex, ColumnChunkMetaData cm,
-      long firstPageOffset) {
+      long firstPageOffset, boolean readDictionaryPage) {
     List<OffsetRange> ranges = new ArrayList<>();
     int n = offsetIndex.getPageCount();
     if (n > 0) {
@@ -143,7 +143,7 @@ class ColumnIndexFilterUtils {
 
       // Add a range for the dictionary page if required
       long rowGroupOffset = cm.getStartingPos();
-      if (rowGroupOffset < firstPageOffset) {
+      if (readDictionaryPage && rowGroupOffset < firstPageOffset) {
         currentRange = new OffsetRange(rowGroupOffset, (int) (firstPageOffset - rowGroupOffset));
         ranges.add(currentRange);
       }
@@ -21,24 +21,46 @@ package org.apache.parquet.hadoop;
 import static java.util.Collections.emptySet;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.ReferencedColumns;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.internal.column.columnindex.ColumnIndex;
 import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.internal.hadoop.metadata.IndexReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Internal implementation of {@link ColumnIndexStore}.
+ * <p>
+ * The offset indexes of the projected columns and the column indexes of the columns of the filter are read together
+ * when the store is created, with a single read if they are close enough in the file. The column indexes are decoded
+ * from memory on first use, the ones not used by the filter are released by {@link #releaseIndexBuffers()}. The other
+ * column indexes are read one by one if they are requested.
+ * <p>
+ * With a column index cache (see {@link org.apache.parquet.ParquetReadOptions#getColumnIndexCache()}), the cached
+ * indexes are not read again and the decoded ones are put in the cache.
  */
 class ColumnIndexStoreImpl implements ColumnIndexStore {
 
+  // the indexes separated by less than this gap are read at once
+  private static final int MAX_INDEX_READ_GAP = 1024 * 1024;
+  private static final int MAX_INDEX_READ_SIZE = 64 * 1024 * 1024;
+
   private interface IndexStore {
     ColumnIndex getColumnIndex();
 
@@ -55,7 +77,7 @@ class ColumnIndexStoreImpl implements ColumnIndexStore {
       this.meta = meta;
       OffsetIndex oi;
       try {
-        oi = reader.readOffsetIndex(meta);
+        oi = readOffsetIndex(meta);
       } catch (IOException e) {
         // If the I/O issue still stands it will fail the reading later;
         // otherwise we fail the filtering only with a missing offset index.
@@ -72,7 +94,7 @@ class ColumnIndexStoreImpl implements ColumnIndexStore {
     public ColumnIndex getColumnIndex() {
       if (!columnIndexRead) {
         try {
-          columnIndex = reader.readColumnIndex(meta);
+          columnIndex = readColumnIndex(meta);
         } catch (IOException e) {
           // If the I/O issue still stands it will fail the reading later;
           // otherwise we fail the filtering only with a missing column index.
@@ -89,6 +111,42 @@ class ColumnIndexStoreImpl implements ColumnIndexStore {
     }
   }
 
+  /**
+   * Reads the given serialized indexes, the ones separated by less than {@link #MAX_INDEX_READ_GAP} at once. Each
+   * index is copied out of the range it is read with so the gaps are not retained.
+   */
+  private static Map<IndexReference, ByteBuffer> readIndexes(ParquetFileReader reader, List<IndexReference> refs)
+      throws IOException {
+    Map<IndexReference, ByteBuffer> indexes = new HashMap<>();
+    refs.sort(Comparator.comparingLong(IndexReference::getOffset));
+    int first = 0;
+    while (first < refs.size()) {
+      long start = refs.get(first).getOffset();
+      long end = start + refs.get(first).getLength();
+      int last = first + 1;
+      for (; last < refs.size(); ++last) {
+        IndexReference ref = refs.get(last);
+        long refEnd = Math.max(end, ref.getOffset() + ref.getLength());
+        if (ref.getOffset() - end > MAX_INDEX_READ_GAP || refEnd - start > MAX_INDEX_READ_SIZE) {
+          break;
+        }
+        end = refEnd;
+      }
+      ByteBuffer range = reader.readIndexRange(start, (int) (end - start));
+      for (IndexReference ref : refs.subList(first, last)) {
+        ByteBuffer slice = range.duplicate();
+        slice.position((int) (ref.getOffset() - start));
+        slice.limit(slice.position() + ref.getLength());
+        ByteBuffer index = ByteBuffer.allocate(ref.getLength());
+        index.put(slice);
+        index.flip();
+        indexes.put(ref, index);
+      }
+      first = last;
+    }
+    return indexes;
+  }
+
   private static final Logger LOGGER = LoggerFactory.getLogger(ColumnIndexStoreImpl.class);
   // Used for columns are not in this parquet file
   private static final IndexStore MISSING_INDEX_STORE = new IndexStore() {
@@ -102,7 +160,8 @@ class ColumnIndexStoreImpl implements ColumnIndexStore {
       return null;
     }
   };
-  private static final ColumnIndexStoreImpl EMPTY = new ColumnIndexStoreImpl(null, new BlockMetaData(), emptySet()) {
+  private static final ColumnIndexStoreImpl EMPTY = new ColumnIndexStoreImpl(null, new BlockMetaData(), emptySet(),
+      FilterCompat.NOOP) {
     @Override
     public ColumnIndex getColumnIndex(ColumnPath column) {
       return null;
@@ -115,34 +174,170 @@ class ColumnIndexStoreImpl implements ColumnIndexStore {
   };
 
   private final ParquetFileReader reader;
+  private final boolean plaintextIndexes;
+  // the serialized indexes read at once and not decoded yet
+  private final Map<IndexReference, ByteBuffer> indexes;
+  // the indexes found in the cache when the indexes are read at once, not requested yet
+  private final Map<IndexReference, Object> cachedIndexes = new HashMap<>();
+  private final LruColumnIndexCache cache;
+  private final LruParquetMetadataCache.FileKey cacheKey;
   private final Map<ColumnPath, IndexStore> store;
 
   /*
    * Creates a column index store which lazily reads column/offset indexes for the columns in paths. (paths are the set
-   * of columns used for the projection)
+   * of columns used for the projection, the column indexes of the columns of the filter are read ahead)
    */
-  static ColumnIndexStore create(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> paths) {
+  static ColumnIndexStore create(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> paths,
+      FilterCompat.Filter filter) {
     try {
-      return new ColumnIndexStoreImpl(reader, block, paths);
+      return new ColumnIndexStoreImpl(reader, block, paths, filter);
     } catch (MissingOffsetIndexException e) {
       return EMPTY;
     }
   }
 
-  private ColumnIndexStoreImpl(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> paths) {
-    // TODO[GS]: Offset index for every paths will be required; pre-read the consecutive ones at once?
-    // TODO[GS]: Pre-read column index based on filter?
+  private ColumnIndexStoreImpl(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> paths,
+      FilterCompat.Filter filter) {
     this.reader = reader;
-    Map<ColumnPath, IndexStore> store = new HashMap<>();
+    List<ColumnChunkMetaData> columns = new ArrayList<>();
     for (ColumnChunkMetaData column : block.getColumns()) {
-      ColumnPath path = column.getPath();
-      if (paths.contains(path)) {
-        store.put(path, new IndexStoreImpl(column));
+      if (paths.contains(column.getPath())) {
+        columns.add(column);
       }
     }
+    // the encrypted indexes are read and decrypted one by one
+    this.plaintextIndexes = reader != null && reader.hasPlaintextIndexes();
+    this.cache = plaintextIndexes ? reader.getOptions().getColumnIndexCache() : null;
+    this.cacheKey = cache == null ? null : cacheKey(reader);
+    this.indexes = plaintextIndexes ? readIndexesOf(columns, filterColumns(filter)) : new HashMap<>();
+    Map<ColumnPath, IndexStore> store = new HashMap<>();
+    for (ColumnChunkMetaData column : columns) {
+      store.put(column.getPath(), new IndexStoreImpl(column));
+    }
     this.store = store;
   }
 
+  private static LruParquetMetadataCache.FileKey cacheKey(ParquetFileReader reader) {
+    try {
+      return reader.getCacheKey();
+    } catch (IOException e) {
+      // the indexes are read without the cache
+      LOGGER.warn("Unable to read the status of the file to cache its indexes", e);
+      return null;
+    }
+  }
+
+  private Map<IndexReference, ByteBuffer> readIndexesOf(List<ColumnChunkMetaData> columns,
+      Set<ColumnPath> filterColumns) {
+    List<IndexReference> refs = new ArrayList<>();
+    for (ColumnChunkMetaData column : columns) {
+      IndexReference columnIndexRef = column.getColumnIndexReference();
+      if (columnIndexRef != null && filterColumns.contains(column.getPath())) {
+        ColumnIndex columnIndex = cacheKey == null ? null : cache.getColumnIndex(cacheKey, columnIndexRef);
+        if (columnIndex == null) {
+          refs.add(columnIndexRef);
+        } else {
+          cachedIndexes.put(columnIndexRef, columnIndex);
+        }
+      }
+      IndexReference offsetIndexRef = column.getOffsetIndexReference();
+      if (offsetIndexRef != null) {
+        OffsetIndex offsetIndex = cacheKey == null ? null : cache.getOffsetIndex(cacheKey, offsetIndexRef);
+        if (offsetIndex == null) {
+          refs.add(offsetIndexRef);
+        } else {
+          cachedIndexes.put(offsetIndexRef, offsetIndex);
+        }
+      }
+    }
+    try {
+      return readIndexes(reader, refs);
+    } catch (IOException e) {
+      // the indexes are read one by one instead, failing individually
+      LOGGER.warn("Unable to read the indexes of the row group at once", e);
+      return new HashMap<>();
+    }
+  }
+
+  private ColumnIndex readColumnIndex(ColumnChunkMetaData meta) throws IOException {
+    if (!plaintextIndexes) {
+      return reader.readColumnIndex(meta);
+    }
+    IndexReference ref = meta.getColumnIndexReference();
+    if (ref == null) {
+      return reader.readColumnIndex(meta);
+    }
+    ColumnIndex columnIndex = (ColumnIndex) cachedIndexes.remove(ref);
+    if (columnIndex != null) {
+      return columnIndex;
+    }
+    ByteBuffer data = indexes.remove(ref);
+    if (data != null) {
+      columnIndex = ParquetMetadataConverter.fromParquetColumnIndex(meta.getPrimitiveType(),
+          Util.readColumnIndex(ByteBufferInputStream.wrap(data)));
+    } else {
+      columnIndex = cacheKey == null ? null : cache.getColumnIndex(cacheKey, ref);
+      if (columnIndex != null) {
+        return columnIndex;
+      }
+      columnIndex = reader.readColumnIndex(meta);
+    }
+    if (cacheKey != null && columnIndex != null) {
+      cache.put(cacheKey, ref, columnIndex);
+    }
+    return columnIndex;
+  }
+
+  private OffsetIndex readOffsetIndex(ColumnChunkMetaData meta) throws IOException {
+    if (!plaintextIndexes) {
+      return reader.readOffsetIndex(meta);
+    }
+    IndexReference ref = meta.getOffsetIndexReference();
+    if (ref == null) {
+      return reader.readOffsetIndex(meta);
+    }
+    OffsetIndex offsetIndex = (OffsetIndex) cachedIndexes.remove(ref);
+    if (offsetIndex != null) {
+      return offsetIndex;
+    }
+    ByteBuffer data = indexes.remove(ref);
+    if (data != null) {
+      offsetIndex = ParquetMetadataConverter.fromParquetOffsetIndex(
+          Util.readOffsetIndex(ByteBufferInputStream.wrap(data)));
+    } else {
+      offsetIndex = cacheKey == null ? null : cache.getOffsetIndex(cacheKey, ref);
+      if (offsetIndex != null) {
+        return offsetIndex;
+      }
+      offsetIndex = reader.readOffsetIndex(meta);
+    }
+    if (cacheKey != null && offsetIndex != null) {
+      cache.put(cacheKey, ref, offsetIndex);
+    }
+    return offsetIndex;
+  }
+
+  /**
+   * Releases the serialized column indexes read ahead and not decoded yet, once the filter has been evaluated. They
+   * are read again if they are requested afterwards.
+   */
+  void releaseIndexBuffers() {
+    indexes.clear();
+    cachedIndexes.clear();
+  }
+
+  /**
+   * @param filter a filter
+   * @return the paths of the columns of the filter if it is a predicate, which are the ones whose column index is
+   *         used by {@link org.apache.parquet.internal.filter2.columnindex.ColumnIndexFilter}
+   */
+  private static Set<ColumnPath> filterColumns(FilterCompat.Filter filter) {
+    if (!(filter instanceof FilterCompat.FilterPredicateCompat)) {
+      return emptySet();
+    }
+    return ReferencedColumns.of(((FilterCompat.FilterPredicateCompat) filter).getFilterPredicate());
+  }
+
   @Override
   public ColumnIndex getColumnIndex(ColumnPath column) {
     return store.getOrDefault(column, MISSING_INDEX_STORE).getColumnIndex();
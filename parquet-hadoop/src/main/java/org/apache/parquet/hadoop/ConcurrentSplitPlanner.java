@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.hadoop.ClientSideMetadataSplitStrategy.FileSplitInfo;
+import org.apache.parquet.hadoop.metadata.GlobalMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the splits of files concurrently: the footer of each file is read, its row groups are pruned by their
+ * statistics and grouped into splits by a task of its own, at most {@code concurrency} files being planned at the same
+ * time. The tasks run in virtual threads when the JVM has them (Java 21+), as they mostly wait for the file system,
+ * otherwise in a pool of {@code concurrency} threads.
+ * <p>
+ * The results are consumed as the tasks complete: a new file is submitted for each file planned and the metadata of
+ * the files are merged, in the order of the files, as soon as they are available.
+ */
+class ConcurrentSplitPlanner {
+  private static final Logger LOG = LoggerFactory.getLogger(ConcurrentSplitPlanner.class);
+
+  private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private final Configuration configuration;
+  private final int concurrency;
+  private final Filter filter;
+  private final long minSplitSize;
+  private final long maxSplitSize;
+  private final boolean strictTypeChecking;
+  private GlobalMetaData globalMetaData = null;
+
+  ConcurrentSplitPlanner(Configuration configuration, int concurrency, Filter filter, long minSplitSize,
+      long maxSplitSize, boolean strictTypeChecking) {
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("The split planning concurrency must be positive: " + concurrency);
+    }
+    this.configuration = configuration;
+    this.concurrency = concurrency;
+    this.filter = filter;
+    this.minSplitSize = minSplitSize;
+    this.maxSplitSize = maxSplitSize;
+    this.strictTypeChecking = strictTypeChecking;
+  }
+
+  private static Method findVirtualThreadExecutorFactory() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private ExecutorService newExecutor() {
+    if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+      try {
+        return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        // e.g. virtual threads are a preview feature of this JVM
+        LOG.debug("Cannot create a virtual thread executor, using a thread pool", e);
+      }
+    }
+    return Executors.newFixedThreadPool(concurrency, runnable -> {
+      Thread thread = new Thread(runnable, "parquet-split-planning-" + THREAD_COUNT.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param statuses      the files to plan
+   * @param cachedFooters the footers of the files already read, or null for the files to read the footer of
+   * @return the splits of the files, in the order of the files
+   * @throws IOException if a footer cannot be read
+   */
+  List<FileSplitInfo> plan(List<FileStatus> statuses, List<Footer> cachedFooters) throws IOException {
+    int fileCount = statuses.size();
+    FileSplitInfo[] files = new FileSplitInfo[fileCount];
+    ExecutorService executor = newExecutor();
+    try {
+      CompletionService<Integer> completionService = new ExecutorCompletionService<Integer>(executor);
+      int submitted = 0;
+      for (; submitted < Math.min(concurrency, fileCount); ++submitted) {
+        submit(completionService, files, submitted, statuses.get(submitted), cachedFooters.get(submitted));
+      }
+      int merged = 0;
+      for (int completed = 0; completed < fileCount; ++completed) {
+        take(completionService);
+        if (submitted < fileCount) {
+          submit(completionService, files, submitted, statuses.get(submitted), cachedFooters.get(submitted));
+          ++submitted;
+        }
+        // the metadata are merged in the order of the files so the result does not depend on the completion order
+        for (; merged < fileCount && files[merged] != null; ++merged) {
+          globalMetaData = ParquetFileWriter.mergeInto(
+              files[merged].getFooter().getParquetMetadata().getFileMetaData(), globalMetaData, strictTypeChecking);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return Arrays.asList(files);
+  }
+
+  /**
+   * @return the metadata of the files planned merged together
+   */
+  GlobalMetaData getGlobalMetaData() {
+    return globalMetaData;
+  }
+
+  private void submit(CompletionService<Integer> completionService, FileSplitInfo[] files, int index,
+      FileStatus status, Footer cachedFooter) {
+    completionService.submit(() -> {
+      Footer footer = cachedFooter;
+      if (footer == null) {
+        try {
+          footer = new Footer(status.getPath(), ParquetFileReader.readFooter(configuration, status, NO_FILTER));
+        } catch (IOException e) {
+          throw new IOException("Could not read footer for file " + status, e);
+        }
+      }
+      FileSplitInfo file = ClientSideMetadataSplitStrategy.planFile(
+          configuration, status, footer, filter, minSplitSize, maxSplitSize);
+      // published to the planning thread by the completion service
+      files[index] = file;
+      return index;
+    });
+  }
+
+  private static void take(CompletionService<Integer> completionService) throws IOException {
+    try {
+      completionService.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while planning the splits");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Could not plan the splits: " + e.getMessage(), cause);
+    }
+  }
+}
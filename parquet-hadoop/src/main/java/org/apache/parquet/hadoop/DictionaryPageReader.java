@@ -107,6 +107,18 @@ class DictionaryPageReader implements DictionaryPageReadStore {
     }).orElse(null);
   }
 
+  /**
+   * Returns the dictionary page of a column already read by this reader, without reading it.
+   *
+   * @param column a column chunk of this reader's row group
+   * @return the uncompressed dictionary page of the column chunk, or {@code null} if it has not been read or the
+   *         column chunk has none
+   */
+  DictionaryPage getReadDictionaryPage(ColumnChunkMetaData column) {
+    Optional<DictionaryPage> dictionaryPage = dictionaryPageCache.get(column.getPath().toDotString());
+    return dictionaryPage == null ? null : dictionaryPage.orElse(null);
+  }
+
   private static DictionaryPage reusableCopy(DictionaryPage dict)
       throws IOException {
     return new DictionaryPage(BytesInput.from(dict.getBytes().toByteArray()),
@@ -49,6 +49,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.lang.String.format;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_MEMORY_BUDGET;
+import static org.apache.parquet.hadoop.ParquetInputFormat.PREFETCH_ROW_GROUPS;
+import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_BUFFER_RELEASE_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.RECORD_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STRICT_TYPE_CHECKING;
 
@@ -71,6 +74,7 @@ class InternalParquetRecordReader<T> {
   private long current = 0;
   private int currentBlock = -1;
   private ParquetFileReader reader;
+  private RowGroupPrefetcher prefetcher;
   private long currentRowIdx = -1;
   private PrimitiveIterator.OfLong rowIdxInFileItr;
   private org.apache.parquet.io.RecordReader<T> recordReader;
@@ -84,6 +88,13 @@ class InternalParquetRecordReader<T> {
 
   private UnmaterializableRecordCounter unmaterializableRecordCounter;
 
+  // the listener of the reads, see ParquetReadOptions#getReadMetrics, and what has been done in the current block
+  private ParquetReadMetrics metrics;
+  private long blockRowCount = 0;
+  private long blockRecordsReturned = 0;
+  private long blockRecordsCorrupt = 0;
+  private long blockDecodeNanos = 0;
+
   /**
    * @param readSupport Object which helps reads files of the given type, e.g. Thrift, Avro.
    * @param filter for filtering individual records
@@ -125,9 +136,10 @@ class InternalParquetRecordReader<T> {
         }
       }
 
+      reportBlockMetrics(true);
       LOG.info("at row " + current + ". reading next block");
       long t0 = System.currentTimeMillis();
-      PageReadStore pages = reader.readNextFilteredRowGroup();
+      PageReadStore pages = prefetcher != null ? prefetcher.readNextRowGroup() : reader.readNextFilteredRowGroup();
       if (pages == null) {
         throw new IOException("expecting more rows but reached last block. Read " + current + " out of " + total);
       }
@@ -143,12 +155,41 @@ class InternalParquetRecordReader<T> {
       startedAssemblingCurrentBlockAt = System.currentTimeMillis();
       totalCountLoadedSoFar += pages.getRowCount();
       ++ currentBlock;
+      blockRowCount = pages.getRowCount();
+    }
+  }
+
+  /**
+   * Reports the records read from the current block to the metrics listener, if any.
+   *
+   * @param complete whether all the records of the block have been read; the records not returned are then the ones
+   *                 skipped by the record filter
+   */
+  private void reportBlockMetrics(boolean complete) {
+    if (metrics == null || blockRowCount == 0) {
+      return;
+    }
+    metrics.recordsRead(reader.getFile(), blockRecordsReturned, blockDecodeNanos);
+    long skipped = blockRowCount - blockRecordsReturned - blockRecordsCorrupt;
+    if (complete && skipped > 0) {
+      metrics.rowsSkipped(reader.getFile(), ParquetReadMetrics.FilterLayer.RECORD, skipped);
     }
+    blockRowCount = 0;
+    blockRecordsReturned = 0;
+    blockRecordsCorrupt = 0;
+    blockDecodeNanos = 0;
   }
 
   public void close() throws IOException {
-    if (reader != null) {
-      reader.close();
+    reportBlockMetrics(current >= total);
+    try {
+      if (prefetcher != null) {
+        prefetcher.close();
+      }
+    } finally {
+      if (reader != null) {
+        reader.close();
+      }
     }
   }
 
@@ -192,6 +233,9 @@ class InternalParquetRecordReader<T> {
     this.total = reader.getFilteredRecordCount();
     this.unmaterializableRecordCounter = new UnmaterializableRecordCounter(options, total);
     this.filterRecords = options.useRecordFilter();
+    this.metrics = options.getReadMetrics();
+    initRowGroupReads(options.getPrefetchRowGroups(), options.getPrefetchMemoryBudget(),
+        options.useRecordBufferRelease());
     LOG.info("RecordReader initialized will read a total of {} records.", total);
   }
 
@@ -216,22 +260,45 @@ class InternalParquetRecordReader<T> {
     this.total = reader.getFilteredRecordCount();
     this.unmaterializableRecordCounter = new UnmaterializableRecordCounter(configuration, total);
     this.filterRecords = configuration.getBoolean(RECORD_FILTERING_ENABLED, true);
+    ParquetReadOptions options = reader.getOptions();
+    this.metrics = options.getReadMetrics();
+    initRowGroupReads(configuration.getInt(PREFETCH_ROW_GROUPS, options.getPrefetchRowGroups()),
+        configuration.getLong(PREFETCH_MEMORY_BUDGET, options.getPrefetchMemoryBudget()),
+        configuration.getBoolean(RECORD_BUFFER_RELEASE_ENABLED, options.useRecordBufferRelease()));
     LOG.info("RecordReader initialized will read a total of {} records.", total);
   }
 
+  private void initRowGroupReads(int prefetchRowGroups, long prefetchMemoryBudget, boolean releaseRowGroups) {
+    // the records may reference the buffers of their row group, see ParquetReadOptions#useRecordBufferRelease
+    reader.setReleaseRowGroupsOnRead(releaseRowGroups);
+    if (prefetchRowGroups > 0) {
+      LOG.debug("prefetching up to {} row groups within {} bytes", prefetchRowGroups, prefetchMemoryBudget);
+      this.prefetcher = new RowGroupPrefetcher(reader, prefetchRowGroups, prefetchMemoryBudget, releaseRowGroups);
+    }
+  }
+
   public boolean nextKeyValue() throws IOException, InterruptedException {
     boolean recordFound = false;
 
     while (!recordFound) {
       // no more records left
-      if (current >= total) { return false; }
+      if (current >= total) {
+        reportBlockMetrics(true);
+        return false;
+      }
 
       try {
         checkRead();
         current ++;
 
         try {
-          currentValue = recordReader.read();
+          if (metrics == null) {
+            currentValue = recordReader.read();
+          } else {
+            long start = System.nanoTime();
+            currentValue = recordReader.read();
+            blockDecodeNanos += System.nanoTime() - start;
+          }
           if (rowIdxInFileItr != null && rowIdxInFileItr.hasNext()) {
             currentRowIdx = rowIdxInFileItr.next();
           } else {
@@ -240,6 +307,7 @@ class InternalParquetRecordReader<T> {
         } catch (RecordMaterializationException e) {
           // this might throw, but it's fatal if it does.
           unmaterializableRecordCounter.incErrors(e);
+          ++blockRecordsCorrupt;
           LOG.debug("skipping a corrupt record");
           continue;
         }
@@ -258,6 +326,7 @@ class InternalParquetRecordReader<T> {
         }
 
         recordFound = true;
+        ++blockRecordsReturned;
 
         LOG.debug("read value: {}", currentValue);
       } catch (RuntimeException e) {
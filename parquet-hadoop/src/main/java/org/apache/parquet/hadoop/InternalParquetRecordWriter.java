@@ -18,9 +18,6 @@
  */
 package org.apache.parquet.hadoop;
 
-import static java.lang.Math.max;
-import static java.lang.Math.min;
-
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,8 +25,6 @@ import java.util.Objects;
 
 import org.apache.parquet.column.ColumnWriteStore;
 import org.apache.parquet.column.ParquetProperties;
-import org.apache.parquet.column.values.bloomfilter.BloomFilterWriteStore;
-import org.apache.parquet.crypto.InternalFileEncryptor;
 import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.hadoop.api.WriteSupport.FinalizedWriteContext;
@@ -38,36 +33,19 @@ import org.apache.parquet.io.ColumnIOFactory;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.api.RecordConsumer;
 import org.apache.parquet.schema.MessageType;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 class InternalParquetRecordWriter<T> {
-  private static final Logger LOG = LoggerFactory.getLogger(InternalParquetRecordWriter.class);
 
   private final ParquetFileWriter parquetFileWriter;
   private final WriteSupport<T> writeSupport;
   private final MessageType schema;
   private final Map<String, String> extraMetaData;
-  private final long rowGroupSize;
-  private long rowGroupSizeThreshold;
-  private long nextRowGroupSize;
-  private final BytesCompressor compressor;
   private final boolean validating;
-  private final ParquetProperties props;
+  private final RowGroupWriter rowGroupWriter;
 
   private boolean closed;
 
-  private long recordCount = 0;
-  private long recordCountForNextMemCheck;
-  private long lastRowGroupEndPos = 0;
-
-  private ColumnWriteStore columnStore;
-  private ColumnChunkPageWriteStore pageStore;
-  private BloomFilterWriteStore bloomFilterWriteStore;
   private RecordConsumer recordConsumer;
-  
-  private InternalFileEncryptor fileEncryptor;
-  private int rowGroupOrdinal;
 
   /**
    * @param parquetFileWriter the file to write to
@@ -90,30 +68,26 @@ class InternalParquetRecordWriter<T> {
     this.writeSupport = Objects.requireNonNull(writeSupport, "writeSupport cannot be null");
     this.schema = schema;
     this.extraMetaData = extraMetaData;
-    this.rowGroupSize = rowGroupSize;
-    this.rowGroupSizeThreshold = rowGroupSize;
-    this.nextRowGroupSize = rowGroupSizeThreshold;
-    this.compressor = compressor;
     this.validating = validating;
-    this.props = props;
-    this.fileEncryptor = parquetFileWriter.getEncryptor();
-    this.rowGroupOrdinal = 0;
-    initStore();
-    recordCountForNextMemCheck = props.getMinRowCountForPageSizeCheck();
+    this.rowGroupWriter = new RowGroupWriter(parquetFileWriter, schema, compressor, props, rowGroupSize,
+        new RowGroupWriter.RowGroupListener() {
+          @Override
+          public void rowGroupStarted(ColumnWriteStore columnStore) {
+            initStore(columnStore);
+          }
+
+          @Override
+          public void rowGroupEnding() {
+            recordConsumer.flush();
+          }
+        });
   }
 
   public ParquetMetadata getFooter() {
     return parquetFileWriter.getFooter();
   }
 
-  private void initStore() {
-    ColumnChunkPageWriteStore columnChunkPageWriteStore = new ColumnChunkPageWriteStore(compressor,
-        schema, props.getAllocator(), props.getColumnIndexTruncateLength(), props.getPageWriteChecksumEnabled(),
-        fileEncryptor, rowGroupOrdinal);
-    pageStore = columnChunkPageWriteStore;
-    bloomFilterWriteStore = columnChunkPageWriteStore;
-
-    columnStore = props.newColumnWriteStore(schema, pageStore, bloomFilterWriteStore);
+  private void initStore(ColumnWriteStore columnStore) {
     MessageColumnIO columnIO = new ColumnIOFactory(validating).getColumnIO(schema);
     this.recordConsumer = columnIO.getRecordWriter(columnStore);
     writeSupport.prepareForWrite(recordConsumer);
@@ -121,7 +95,7 @@ class InternalParquetRecordWriter<T> {
 
   public void close() throws IOException, InterruptedException {
     if (!closed) {
-      flushRowGroupToStore();
+      rowGroupWriter.close();
       FinalizedWriteContext finalWriteContext = writeSupport.finalizeWrite();
       Map<String, String> finalMetadata = new HashMap<String, String>(extraMetaData);
       String modelName = writeSupport.getName();
@@ -136,71 +110,22 @@ class InternalParquetRecordWriter<T> {
 
   public void write(T value) throws IOException, InterruptedException {
     writeSupport.write(value);
-    ++ recordCount;
-    checkBlockSizeReached();
+    rowGroupWriter.endRecords(1);
   }
 
   /**
    * @return the total size of data written to the file and buffered in memory
    */
   public long getDataSize() {
-    return lastRowGroupEndPos + columnStore.getBufferedSize();
-  }
-
-  private void checkBlockSizeReached() throws IOException {
-    if (recordCount >= recordCountForNextMemCheck) { // checking the memory size is relatively expensive, so let's not do it for every record.
-      long memSize = columnStore.getBufferedSize();
-      long recordSize = memSize / recordCount;
-      // flush the row group if it is within ~2 records of the limit
-      // it is much better to be slightly under size than to be over at all
-      if (memSize > (nextRowGroupSize - 2 * recordSize)) {
-        LOG.debug("mem size {} > {}: flushing {} records to disk.", memSize, nextRowGroupSize, recordCount);
-        flushRowGroupToStore();
-        initStore();
-        recordCountForNextMemCheck = min(max(props.getMinRowCountForPageSizeCheck(), recordCount / 2),
-          props.getMaxRowCountForPageSizeCheck());
-        this.lastRowGroupEndPos = parquetFileWriter.getPos();
-      } else {
-        recordCountForNextMemCheck = min(
-            max(props.getMinRowCountForPageSizeCheck(),
-              (recordCount + (long)(nextRowGroupSize / ((float)recordSize))) / 2), // will check halfway
-            recordCount + props.getMaxRowCountForPageSizeCheck() // will not look more than max records ahead
-            );
-        LOG.debug("Checked mem at {} will check again at: {}", recordCount, recordCountForNextMemCheck);
-      }
-    }
-  }
-
-  private void flushRowGroupToStore()
-      throws IOException {
-    recordConsumer.flush();
-    LOG.debug("Flushing mem columnStore to file. allocated memory: {}", columnStore.getAllocatedSize());
-    if (columnStore.getAllocatedSize() > (3 * rowGroupSizeThreshold)) {
-      LOG.warn("Too much memory used: {}", columnStore.memUsageString());
-    }
-
-    if (recordCount > 0) {
-      rowGroupOrdinal++;
-      parquetFileWriter.startBlock(recordCount);
-      columnStore.flush();
-      pageStore.flushToFileWriter(parquetFileWriter);
-      recordCount = 0;
-      parquetFileWriter.endBlock();
-      this.nextRowGroupSize = Math.min(
-          parquetFileWriter.getNextRowGroupSize(),
-          rowGroupSizeThreshold);
-    }
-
-    columnStore = null;
-    pageStore = null;
+    return rowGroupWriter.getDataSize();
   }
 
   long getRowGroupSizeThreshold() {
-    return rowGroupSizeThreshold;
+    return rowGroupWriter.getRowGroupSizeThreshold();
   }
 
   void setRowGroupSizeThreshold(long rowGroupSizeThreshold) {
-    this.rowGroupSizeThreshold = rowGroupSizeThreshold;
+    rowGroupWriter.setRowGroupSizeThreshold(rowGroupSizeThreshold);
   }
 
   MessageType getSchema() {
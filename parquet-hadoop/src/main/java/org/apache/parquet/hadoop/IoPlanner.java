@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.Preconditions;
+
+/**
+ * {@code IoPlanner} decides how the parts of a row group selected for reading (whole column chunks or the pages kept
+ * by the column indexes) are fetched from the file, from the cost of a request to the store (its seek cost) and the
+ * bandwidth of the store. Reading the gap between two parts instead of issuing another request costs
+ * {@code gap / bandwidth}, so the gaps of less than {@code seekCost * bandwidth} bytes are read and dropped. As the
+ * cost of a plan is the sum of the costs of its gaps, merging every gap cheaper than a request is the cheapest plan: a
+ * row group most of which is selected is read in one request, while the parts of sparse selections (narrow
+ * projections, a few pages of each column) far from each other are read separately.
+ * <p>
+ * A planner keeps the statistics of its plans: the requests issued, the requests saved by merging parts and the bytes
+ * read and dropped. It is thread-safe and may be shared by several readers.
+ *
+ * @see ParquetReadOptions.Builder#withIoPlanner(IoPlanner)
+ */
+public class IoPlanner {
+
+  /**
+   * The default seek cost, in microseconds
+   */
+  public static final long DEFAULT_SEEK_COST = 1000;
+
+  /**
+   * The default bandwidth, in MB/s
+   */
+  public static final long DEFAULT_BANDWIDTH = 100;
+
+  private final long seekCost;
+  private final long bandwidth;
+  private final long mergeGap;
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong requestsSaved = new AtomicLong();
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong bytesOverRead = new AtomicLong();
+
+  /**
+   * @param seekCost the cost of a request to the store, in microseconds
+   * @param bandwidth the bandwidth of the store, in MB/s
+   */
+  public IoPlanner(long seekCost, long bandwidth) {
+    Preconditions.checkArgument(seekCost >= 0, "Invalid seek cost: %s", seekCost);
+    Preconditions.checkArgument(bandwidth > 0, "Invalid bandwidth: %s", bandwidth);
+    this.seekCost = seekCost;
+    this.bandwidth = bandwidth;
+    // 1 MB/s is 1 byte per microsecond
+    this.mergeGap = seekCost <= Long.MAX_VALUE / bandwidth ? seekCost * bandwidth : Long.MAX_VALUE;
+  }
+
+  /**
+   * @return the cost of a request to the store, in microseconds
+   */
+  public long getSeekCost() {
+    return seekCost;
+  }
+
+  /**
+   * @return the bandwidth of the store, in MB/s
+   */
+  public long getBandwidth() {
+    return bandwidth;
+  }
+
+  /**
+   * @return the largest gap between two parts read in the same request, in bytes
+   */
+  public long getMergeGap() {
+    return mergeGap;
+  }
+
+  /**
+   * Groups the parts to read into requests. The parts are read in the given order; a part starting before the end of
+   * the previous one is read by a new request.
+   *
+   * @param offsets the offsets of the parts
+   * @param lengths the lengths of the parts
+   * @return the index of the first part of each request, the parts of a request being the ones before the first part
+   *         of the next request
+   */
+  int[] plan(long[] offsets, long[] lengths) {
+    int[] starts = new int[offsets.length];
+    int requestCount = 0;
+    long requested = 0;
+    long read = 0;
+    long end = -1;
+    for (int i = 0; i < offsets.length; ++i) {
+      requested += lengths[i];
+      if (end >= 0 && offsets[i] >= end && offsets[i] - end <= mergeGap) {
+        read += offsets[i] + lengths[i] - end;
+      } else {
+        starts[requestCount++] = i;
+        read += lengths[i];
+      }
+      end = offsets[i] + lengths[i];
+    }
+    record(offsets.length, requestCount, read, requested);
+    int[] result = new int[requestCount];
+    System.arraycopy(starts, 0, result, 0, requestCount);
+    return result;
+  }
+
+  /**
+   * Records the statistics of parts read by merged requests planned with {@link #getMergeGap()}.
+   *
+   * @param partCount the number of parts
+   * @param requestCount the number of requests issued to read them
+   * @param read the number of bytes read by the requests
+   * @param requested the number of bytes of the parts
+   */
+  void record(int partCount, int requestCount, long read, long requested) {
+    requests.addAndGet(requestCount);
+    requestsSaved.addAndGet(partCount - requestCount);
+    bytesRead.addAndGet(read);
+    bytesOverRead.addAndGet(read - requested);
+  }
+
+  /**
+   * @return the number of requests issued
+   */
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  /**
+   * @return the number of requests saved by reading several parts in one request; negative if parts larger than an
+   *         allocation were read by several requests
+   */
+  public long getRequestsSaved() {
+    return requestsSaved.get();
+  }
+
+  /**
+   * @return the number of bytes read, including the gaps between the parts
+   */
+  public long getBytesRead() {
+    return bytesRead.get();
+  }
+
+  /**
+   * @return the number of bytes read in the gaps between the parts and dropped
+   */
+  public long getBytesOverRead() {
+    return bytesOverRead.get();
+  }
+
+  @Override
+  public String toString() {
+    return "IoPlanner{seekCost=" + seekCost + "us, bandwidth=" + bandwidth + "MB/s, mergeGap=" + mergeGap
+        + ", requests=" + getRequestCount() + ", requestsSaved=" + getRequestsSaved() + ", bytesRead="
+        + getBytesRead() + ", bytesOverRead=" + getBytesOverRead() + "}";
+  }
+}
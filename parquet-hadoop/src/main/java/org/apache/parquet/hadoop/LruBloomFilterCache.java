@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.hadoop.LruParquetMetadataCache.FileKey;
+
+/**
+ * A cache of the decoded Bloom filters of the column chunks of Parquet files, shared by the readers configured with it
+ * (see {@link org.apache.parquet.ParquetReadOptions.Builder#withBloomFilterCache(LruBloomFilterCache)}) so the
+ * row groups of a file filtered again, e.g. by the tasks of several queries, do not read their Bloom filters again.
+ * <p>
+ * The Bloom filters are keyed by the path, the length and the modification time of their file, and by their offset
+ * in the file; the cache keeps the most recently used ones within a maximum size of their bitsets. Only the Bloom
+ * filters of unencrypted {@link org.apache.parquet.hadoop.util.HadoopInputFile}s and
+ * {@link org.apache.parquet.io.LocalInputFile}s are cached. The cached Bloom filters are shared and must not be
+ * modified.
+ */
+public class LruBloomFilterCache {
+
+  // a rough estimate of the heap size of a Bloom filter besides its bitset
+  private static final long BLOOM_FILTER_OVERHEAD = 256;
+
+  private static final Map<Long, LruBloomFilterCache> SHARED = new HashMap<>();
+
+  /**
+   * Returns the process-wide cache of the given maximum size used by the readers configured with
+   * {@link ParquetInputFormat#BLOOM_FILTER_CACHE_ENABLED}. There is one shared cache per maximum size, created on
+   * first use, as for the footers (see {@link LruParquetMetadataCache#shared(long)}).
+   *
+   * @param maxSize the maximum size of the bitsets of the cached Bloom filters, in bytes
+   * @return the process-wide cache of this size
+   */
+  public static synchronized LruBloomFilterCache shared(long maxSize) {
+    return SHARED.computeIfAbsent(maxSize, LruBloomFilterCache::new);
+  }
+
+  private final LruCache<Key, Entry> cache;
+
+  /**
+   * @param maxSize the maximum size of the bitsets of the cached Bloom filters, in bytes
+   */
+  public LruBloomFilterCache(long maxSize) {
+    this.cache = LruCache.weighted(maxSize);
+  }
+
+  /**
+   * @param file the key of a file
+   * @param offset the offset of a Bloom filter in the file
+   * @return the cached Bloom filter, or {@code null} if it is not cached
+   */
+  BloomFilter get(FileKey file, long offset) {
+    Entry entry = cache.getCurrentValue(new Key(file, offset));
+    return entry == null ? null : entry.bloomFilter;
+  }
+
+  /**
+   * @param file the key of a file
+   * @param offset the offset of a Bloom filter in the file
+   * @param bloomFilter the decoded Bloom filter
+   */
+  void put(FileKey file, long offset, BloomFilter bloomFilter) {
+    cache.put(new Key(file, offset), new Entry(bloomFilter));
+  }
+
+  /**
+   * Removes all the cached Bloom filters.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @return the number of cached Bloom filters
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return the estimated heap size of the cached Bloom filters, in bytes
+   */
+  public long getEstimatedBytes() {
+    return cache.weight();
+  }
+
+  /**
+   * @return the number of lookups that returned a cached Bloom filter
+   */
+  public long getHitCount() {
+    return cache.hitCount();
+  }
+
+  /**
+   * @return the number of lookups that did not return a cached Bloom filter
+   */
+  public long getMissCount() {
+    return cache.missCount();
+  }
+
+  /**
+   * @return the number of Bloom filters evicted to keep the cache within its maximum size
+   */
+  public long getEvictionCount() {
+    return cache.evictionCount();
+  }
+
+  private static final class Entry implements LruCache.Value<Key, Entry> {
+    private final BloomFilter bloomFilter;
+
+    Entry(BloomFilter bloomFilter) {
+      this.bloomFilter = bloomFilter;
+    }
+
+    @Override
+    public boolean isCurrent(Key key) {
+      // the key identifies the version of the file
+      return true;
+    }
+
+    @Override
+    public boolean isNewerThan(Entry otherValue) {
+      // the values of a key are Bloom filters of the same version of the file
+      return false;
+    }
+
+    @Override
+    public long getWeight() {
+      return BLOOM_FILTER_OVERHEAD + bloomFilter.getBitsetSize();
+    }
+  }
+
+  private static final class Key {
+    private final FileKey file;
+    private final long offset;
+
+    Key(FileKey file, long offset) {
+      this.file = file;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return offset == key.offset && file.equals(key.file);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(file, offset);
+    }
+
+    @Override
+    public String toString() {
+      return file + " at " + offset;
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.parquet.hadoop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -30,6 +31,11 @@ import java.util.Map;
  * checks for "stale" entries as entries are inserted or retrieved (note
  * "staleness" is defined by the entries themselves (see
  * {@link org.apache.parquet.hadoop.LruCache.Value}).
+ * <p>
+ * The size of the cache is bounded by the sum of the weights of its values
+ * (see {@link org.apache.parquet.hadoop.LruCache.Value#getWeight()}), so it
+ * either holds a maximum number of entries or a maximum estimated amount of
+ * memory. The cache is thread-safe and counts its hits, misses and evictions.
  *
  * @param <K> The key type. Acts as the key in a {@link java.util.LinkedHashMap}
  * @param <V> The value type.  Must extend {@link org.apache.parquet.hadoop.LruCache.Value}
@@ -41,6 +47,13 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
   private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
   private final LinkedHashMap<K, V> cacheMap;
+  private final long maxWeight;
+
+  // all the fields below are guarded by this
+  private long weight = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
 
   /**
    * Constructs an access-order based LRU cache with {@code maxSize} entries.
@@ -50,6 +63,19 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
     this(maxSize, DEFAULT_LOAD_FACTOR, true);
   }
 
+  /**
+   * Constructs an access-order based LRU cache bounded by the sum of the
+   * weights of its values.
+   * @param maxWeight The maximum sum of the weights of the values to store in
+   * the cache.
+   * @param <K> The key type.
+   * @param <V> The value type.
+   * @return the cache
+   */
+  public static <K, V extends Value<K, V>> LruCache<K, V> weighted(final long maxWeight) {
+    return new LruCache<K, V>(16, maxWeight, DEFAULT_LOAD_FACTOR, true);
+  }
+
   /**
    * Constructs an LRU cache.
    *
@@ -59,21 +85,13 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
    * {@code false} for insertion-order
    */
   public LruCache(final int maxSize, final float loadFactor, final boolean accessOrder) {
-    int initialCapacity = Math.round(maxSize / loadFactor);
-    cacheMap =
-            new LinkedHashMap<K, V>(initialCapacity, loadFactor, accessOrder) {
-              @Override
-              public boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
-                boolean result = size() > maxSize;
-                if (result) {
-                  if (LOG.isDebugEnabled()) {
-                    LOG.debug("Removing eldest entry in cache: "
-                            + eldest.getKey());
-                  }
-                }
-                return result;
-              }
-            };
+    this(Math.round(maxSize / loadFactor), maxSize, loadFactor, accessOrder);
+  }
+
+  private LruCache(final int initialCapacity, final long maxWeight,
+                   final float loadFactor, final boolean accessOrder) {
+    this.maxWeight = maxWeight;
+    cacheMap = new LinkedHashMap<K, V>(initialCapacity, loadFactor, accessOrder);
   }
 
   /**
@@ -82,9 +100,10 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
    * @return the previous value associated with key, or null if there was no
    * mapping for key.
    */
-  public V remove(final K key) {
+  public synchronized V remove(final K key) {
     V oldValue = cacheMap.remove(key);
     if (oldValue != null) {
+      weight -= oldValue.getWeight();
       LOG.debug("Removed cache entry for '{}'", key);
     }
     return oldValue;
@@ -94,11 +113,13 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
    * Associates the specified value with the specified key in this cache. The
    * value is only inserted if it is not null and it is considered current. If
    * the cache previously contained a mapping for the key, the old value is
-   * replaced only if the new value is "newer" than the old one.
+   * replaced only if the new value is "newer" than the old one. The least
+   * recently used entries are evicted until the weight of the cache is within
+   * its bounds; a value heavier than the cache itself is not inserted.
    * @param key key with which the specified value is to be associated
    * @param newValue value to be associated with the specified key
    */
-  public void put(final K key, final V newValue) {
+  public synchronized void put(final K key, final V newValue) {
     if (newValue == null || !newValue.isCurrent(key)) {
       if (LOG.isWarnEnabled()) {
         LOG.warn("Ignoring new cache entry for '{}' because it is {}", key,
@@ -116,8 +137,17 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
       return;
     }
 
+    if (newValue.getWeight() > maxWeight) {
+      LOG.debug("Ignoring new cache entry for '{}' because it is heavier than the cache", key);
+      return;
+    }
+
     // no existing value or new value is newer than old value
     oldValue = cacheMap.put(key, newValue);
+    weight += newValue.getWeight();
+    if (oldValue != null) {
+      weight -= oldValue.getWeight();
+    }
     if (LOG.isDebugEnabled()) {
       if (oldValue == null) {
         LOG.debug("Added new cache entry for '{}'", key);
@@ -125,14 +155,26 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
         LOG.debug("Overwrote existing cache entry for '{}'", key);
       }
     }
+
+    Iterator<Map.Entry<K, V>> eldest = cacheMap.entrySet().iterator();
+    while (weight > maxWeight) {
+      Map.Entry<K, V> entry = eldest.next();
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Removing eldest entry in cache: " + entry.getKey());
+      }
+      weight -= entry.getValue().getWeight();
+      eldest.remove();
+      evictionCount += 1;
+    }
   }
 
   /**
    * Removes all of the mappings from this cache. The cache will be empty
    * after this call returns.
    */
-  public void clear() {
+  public synchronized void clear() {
     cacheMap.clear();
+    weight = 0;
   }
 
   /**
@@ -142,15 +184,20 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
    * @return the value to which the specified key is mapped, or null if 1) the
    * value is not current or 2) this cache contains no mapping for the key
    */
-  public V getCurrentValue(final K key) {
+  public synchronized V getCurrentValue(final K key) {
     V value = cacheMap.get(key);
     LOG.debug("Value for '{}' {} in cache", key, (value == null ? "not " : ""));
     if (value != null && !value.isCurrent(key)) {
       // value is not current; remove it and return null
       remove(key);
-      return null;
+      value = null;
     }
 
+    if (value == null) {
+      missCount += 1;
+    } else {
+      hitCount += 1;
+    }
     return value;
   }
 
@@ -158,10 +205,40 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
    * Returns the number of key-value mappings in this cache.
    * @return the number of key-value mappings in this cache.
    */
-  public int size() {
+  public synchronized int size() {
     return cacheMap.size();
   }
 
+  /**
+   * @return the sum of the weights of the values in this cache
+   */
+  public synchronized long weight() {
+    return weight;
+  }
+
+  /**
+   * @return the number of lookups that returned a current value
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the number of lookups that did not return a value, including the
+   * values that were not current anymore
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return the number of entries evicted to keep the weight of this cache
+   * within its bounds
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
   /**
    * {@link org.apache.parquet.hadoop.LruCache} expects all values to follow this
    * interface so the cache can determine 1) whether values are current (e.g.
@@ -190,6 +267,16 @@ final class LruCache<K, V extends LruCache.Value<K, V>> {
      * as new as the other value.
      */
     boolean isNewerThan(V otherValue);
+
+    /**
+     * The weight of the value in the cache, e.g. its estimated size in
+     * memory. The weight shall not change while the value is cached.
+     * @return the weight of the value, 1 by default so the cache is bounded
+     * by its number of entries
+     */
+    default long getWeight() {
+      return 1;
+    }
   }
 
 }
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.parquet.hadoop.LruParquetMetadataCache.FileKey;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.hadoop.metadata.IndexReference;
+
+/**
+ * A cache of the decoded column and offset indexes of the column chunks of Parquet files, shared by the readers
+ * configured with it (see
+ * {@link org.apache.parquet.ParquetReadOptions.Builder#withColumnIndexCache(LruColumnIndexCache)}) so the row groups
+ * of a file filtered again, e.g. by the tasks of several queries, do not read and decode their indexes again.
+ * <p>
+ * The indexes are keyed by the path, the length and the modification time of their file, and by their offset in the
+ * file; the cache keeps the most recently used ones within a maximum size estimated from their serialized size. Only
+ * the indexes of unencrypted {@link org.apache.parquet.hadoop.util.HadoopInputFile}s and
+ * {@link org.apache.parquet.io.LocalInputFile}s are cached. The cached indexes are shared and must not be modified.
+ */
+public class LruColumnIndexCache {
+
+  // a rough estimate of the heap size of a decoded index besides its values
+  private static final long INDEX_OVERHEAD = 256;
+  // the decoded indexes hold their values in lists of boxed or binary values
+  private static final long INDEX_SIZE_FACTOR = 4;
+
+  private static final Map<Long, LruColumnIndexCache> SHARED = new HashMap<>();
+
+  /**
+   * Returns the process-wide cache of the given maximum size used by the readers configured with
+   * {@link ParquetInputFormat#COLUMN_INDEX_CACHE_ENABLED}. There is one shared cache per maximum size, created on
+   * first use, as for the footers (see {@link LruParquetMetadataCache#shared(long)}).
+   *
+   * @param maxSize the maximum estimated size of the cached indexes, in bytes
+   * @return the process-wide cache of this size
+   */
+  public static synchronized LruColumnIndexCache shared(long maxSize) {
+    return SHARED.computeIfAbsent(maxSize, LruColumnIndexCache::new);
+  }
+
+  private final LruCache<Key, Entry> cache;
+
+  /**
+   * @param maxSize the maximum estimated size of the cached indexes, in bytes
+   */
+  public LruColumnIndexCache(long maxSize) {
+    this.cache = LruCache.weighted(maxSize);
+  }
+
+  /**
+   * @param file the key of a file
+   * @param ref the reference of a column index in the file
+   * @return the cached column index, or {@code null} if it is not cached
+   */
+  ColumnIndex getColumnIndex(FileKey file, IndexReference ref) {
+    Entry entry = cache.getCurrentValue(new Key(file, ref.getOffset()));
+    return entry == null ? null : (ColumnIndex) entry.index;
+  }
+
+  /**
+   * @param file the key of a file
+   * @param ref the reference of an offset index in the file
+   * @return the cached offset index, or {@code null} if it is not cached
+   */
+  OffsetIndex getOffsetIndex(FileKey file, IndexReference ref) {
+    Entry entry = cache.getCurrentValue(new Key(file, ref.getOffset()));
+    return entry == null ? null : (OffsetIndex) entry.index;
+  }
+
+  /**
+   * @param file the key of a file
+   * @param ref the reference of the column index in the file
+   * @param columnIndex the decoded column index
+   */
+  void put(FileKey file, IndexReference ref, ColumnIndex columnIndex) {
+    cache.put(new Key(file, ref.getOffset()), new Entry(columnIndex, ref.getLength()));
+  }
+
+  /**
+   * @param file the key of a file
+   * @param ref the reference of the offset index in the file
+   * @param offsetIndex the decoded offset index
+   */
+  void put(FileKey file, IndexReference ref, OffsetIndex offsetIndex) {
+    cache.put(new Key(file, ref.getOffset()), new Entry(offsetIndex, ref.getLength()));
+  }
+
+  /**
+   * Removes all the cached indexes.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @return the number of cached indexes
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return the estimated heap size of the cached indexes, in bytes
+   */
+  public long getEstimatedBytes() {
+    return cache.weight();
+  }
+
+  /**
+   * @return the number of lookups that returned a cached index
+   */
+  public long getHitCount() {
+    return cache.hitCount();
+  }
+
+  /**
+   * @return the number of lookups that did not return a cached index
+   */
+  public long getMissCount() {
+    return cache.missCount();
+  }
+
+  /**
+   * @return the number of indexes evicted to keep the cache within its maximum size
+   */
+  public long getEvictionCount() {
+    return cache.evictionCount();
+  }
+
+  private static final class Entry implements LruCache.Value<Key, Entry> {
+    // a ColumnIndex or an OffsetIndex, depending on the reference it is read from
+    private final Object index;
+    private final long serializedSize;
+
+    Entry(Object index, long serializedSize) {
+      this.index = index;
+      this.serializedSize = serializedSize;
+    }
+
+    @Override
+    public boolean isCurrent(Key key) {
+      // the key identifies the version of the file
+      return true;
+    }
+
+    @Override
+    public boolean isNewerThan(Entry otherValue) {
+      // the values of a key are indexes of the same version of the file
+      return false;
+    }
+
+    @Override
+    public long getWeight() {
+      return INDEX_OVERHEAD + INDEX_SIZE_FACTOR * serializedSize;
+    }
+  }
+
+  private static final class Key {
+    private final FileKey file;
+    private final long offset;
+
+    Key(FileKey file, long offset) {
+      this.file = file;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return offset == key.offset && file.equals(key.file);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(file, offset);
+    }
+
+    @Override
+    public String toString() {
+      return file + " at " + offset;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+
+/**
+ * A {@link ParquetMetadataCache} keeping the most recently used footers within a maximum estimated heap size.
+ * <p>
+ * The footers are keyed by the path, the length and the modification time of their file so a modified file is read
+ * again; the stale footers are evicted as the others are used. Only the footers of {@link HadoopInputFile}s and
+ * {@link LocalInputFile}s are cached as the modification time of other files is unknown.
+ */
+public class LruParquetMetadataCache implements ParquetMetadataCache {
+
+  // rough estimates of the heap size of the metadata objects
+  private static final long FILE_OVERHEAD = 1024;
+  private static final long FIELD_OVERHEAD = 128;
+  private static final long BLOCK_OVERHEAD = 128;
+  private static final long COLUMN_CHUNK_OVERHEAD = 256;
+
+  private static final Map<Long, LruParquetMetadataCache> SHARED = new HashMap<>();
+
+  /**
+   * Returns the process-wide cache of the given maximum size used by the readers configured with
+   * {@link ParquetInputFormat#FOOTER_CACHE_ENABLED}. There is one shared cache per maximum size, created on first use:
+   * the readers configured with different sizes do not share their footers, and the footers of all the shared caches
+   * are bounded by the sum of the sizes in use.
+   *
+   * @param maxSize the maximum estimated heap size of the cached footers, in bytes
+   * @return the process-wide cache of this size
+   */
+  public static synchronized LruParquetMetadataCache shared(long maxSize) {
+    return SHARED.computeIfAbsent(maxSize, LruParquetMetadataCache::new);
+  }
+
+  private final LruCache<FileKey, Footer> cache;
+
+  /**
+   * @param maxSize the maximum estimated heap size of the cached footers, in bytes
+   */
+  public LruParquetMetadataCache(long maxSize) {
+    this.cache = LruCache.weighted(maxSize);
+  }
+
+  @Override
+  public ParquetMetadata get(InputFile file) throws IOException {
+    FileKey key = FileKey.of(file);
+    if (key == null) {
+      return null;
+    }
+    Footer footer = cache.getCurrentValue(key);
+    return footer == null ? null : footer.metadata;
+  }
+
+  @Override
+  public void put(InputFile file, ParquetMetadata footer) throws IOException {
+    FileKey key = FileKey.of(file);
+    if (key != null) {
+      cache.put(key, new Footer(footer, estimateSize(footer)));
+    }
+  }
+
+  /**
+   * Removes all the cached footers.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @return the number of cached footers
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return the estimated heap size of the cached footers, in bytes
+   */
+  public long getEstimatedBytes() {
+    return cache.weight();
+  }
+
+  /**
+   * @return the number of lookups that returned a cached footer
+   */
+  public long getHitCount() {
+    return cache.hitCount();
+  }
+
+  /**
+   * @return the number of lookups of cacheable files that did not return a cached footer
+   */
+  public long getMissCount() {
+    return cache.missCount();
+  }
+
+  /**
+   * @return the number of footers evicted to keep the cache within its maximum size
+   */
+  public long getEvictionCount() {
+    return cache.evictionCount();
+  }
+
+  /**
+   * Estimates the heap size of a footer from the number of its fields, row groups and column chunks, and the size of
+   * its key-value metadata and statistics.
+   *
+   * @param footer a footer
+   * @return the estimated heap size of the footer, in bytes
+   */
+  static long estimateSize(ParquetMetadata footer) {
+    long size = FILE_OVERHEAD;
+    size += FIELD_OVERHEAD * footer.getFileMetaData().getSchema().getPaths().size();
+    for (Map.Entry<String, String> keyValue : footer.getFileMetaData().getKeyValueMetaData().entrySet()) {
+      size += 2L * (keyValue.getKey().length() + (keyValue.getValue() == null ? 0 : keyValue.getValue().length()));
+    }
+    for (BlockMetaData block : footer.getBlocks()) {
+      size += BLOCK_OVERHEAD;
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        size += COLUMN_CHUNK_OVERHEAD;
+        Statistics<?> statistics = column.getStatistics();
+        if (statistics != null && statistics.hasNonNullValue()) {
+          size += statistics.getMinBytes().length + statistics.getMaxBytes().length;
+        }
+      }
+    }
+    return size;
+  }
+
+  private static final class Footer implements LruCache.Value<FileKey, Footer> {
+    private final ParquetMetadata metadata;
+    private final long size;
+
+    Footer(ParquetMetadata metadata, long size) {
+      this.metadata = metadata;
+      this.size = size;
+    }
+
+    @Override
+    public boolean isCurrent(FileKey key) {
+      // the key identifies the version of the file
+      return true;
+    }
+
+    @Override
+    public boolean isNewerThan(Footer otherValue) {
+      // the values of a key are footers of the same version of the file
+      return false;
+    }
+
+    @Override
+    public long getWeight() {
+      return size;
+    }
+  }
+
+  static final class FileKey {
+    private final String path;
+    private final long length;
+    private final long modificationTime;
+
+    FileKey(String path, long length, long modificationTime) {
+      this.path = path;
+      this.length = length;
+      this.modificationTime = modificationTime;
+    }
+
+    /**
+     * @return the key of the file, or {@code null} if its modification time is unknown
+     */
+    static FileKey of(InputFile file) throws IOException {
+      if (file instanceof HadoopInputFile) {
+        FileStatus status = ((HadoopInputFile) file).getFileStatus();
+        return new FileKey(status.getPath().toString(), status.getLen(), status.getModificationTime());
+      } else if (file instanceof LocalInputFile) {
+        LocalInputFile localFile = (LocalInputFile) file;
+        BasicFileAttributes attributes = Files.readAttributes(localFile.getPath(), BasicFileAttributes.class);
+        return new FileKey(localFile.getPath().toAbsolutePath().toString(), attributes.size(),
+            attributes.lastModifiedTime().toMillis());
+      }
+      return null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof FileKey)) {
+        return false;
+      }
+      FileKey key = (FileKey) other;
+      return length == key.length && modificationTime == key.modificationTime && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, length, modificationTime);
+    }
+
+    @Override
+    public String toString() {
+      return path + " (length: " + length + ", modification time: " + modificationTime + ")";
+    }
+  }
+}
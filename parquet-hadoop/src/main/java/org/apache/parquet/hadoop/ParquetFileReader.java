@@ -33,16 +33,21 @@ import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_COMMON_METADAT
 import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_METADATA_FILE;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -52,6 +57,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.zip.CRC32;
 
@@ -61,7 +67,9 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.HadoopReadOptions;
 import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.ByteBufferReleaser;
 import org.apache.parquet.bytes.BytesInput;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.DataPage;
@@ -72,6 +80,7 @@ import org.apache.parquet.column.page.DictionaryPageReadStore;
 import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.column.values.bloomfilter.BlockSplitBloomFilter;
 import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.compression.CompressionCodecFactory;
 import org.apache.parquet.compression.CompressionCodecFactory.BytesInputDecompressor;
 import org.apache.parquet.crypto.AesCipher;
 import org.apache.parquet.crypto.FileDecryptionProperties;
@@ -79,6 +88,7 @@ import org.apache.parquet.crypto.InternalColumnDecryptionSetup;
 import org.apache.parquet.crypto.InternalFileDecryptor;
 import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
 import org.apache.parquet.crypto.ParquetCryptoRuntimeException;
+import org.apache.parquet.events.ParquetEvents;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
 import org.apache.parquet.format.BlockCipher;
@@ -88,6 +98,7 @@ import org.apache.parquet.format.DataPageHeaderV2;
 import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.FileCryptoMetaData;
 import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
 import org.apache.parquet.format.Util;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
@@ -109,6 +120,7 @@ import org.apache.parquet.internal.filter2.columnindex.RowRanges;
 import org.apache.parquet.internal.hadoop.metadata.IndexReference;
 import org.apache.parquet.io.InputFile;
 import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.ParquetFileRange;
 import org.apache.parquet.io.SeekableInputStream;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
@@ -125,6 +137,13 @@ public class ParquetFileReader implements Closeable {
 
   public static String PARQUET_READ_PARALLELISM = "parquet.metadata.read.parallelism";
 
+  // the tail of the files is read speculatively with at least the size of the last footer read with the same options,
+  // up to this size
+  private static final int MAX_FOOTER_READ_SIZE_HINT = 8388608; // 8MB
+
+  // the dictionary pages read to filter the row groups are kept to read them up to this size
+  private static final long MAX_FILTER_DICTIONARY_BYTES = 67108864L; // 64MB
+
   private final ParquetMetadataConverter converter;
 
   private final CRC32 crc;
@@ -522,6 +541,14 @@ public class ParquetFileReader implements Closeable {
     }
   }
 
+  /**
+   * @return the number of bytes to read at the end of the files to get their footer, 0 to read the footer length first
+   */
+  private static int footerReadSize(ParquetReadOptions options) {
+    int footerReadSize = options.getFooterReadSize();
+    return footerReadSize <= 0 ? 0 : Math.max(footerReadSize, options.getFooterReadSizeHint());
+  }
+
   public static final ParquetMetadata readFooter(InputFile file, ParquetReadOptions options, SeekableInputStream f) throws IOException {
     ParquetMetadataConverter converter = new ParquetMetadataConverter(options);
     return readFooter(file, options, f, converter);
@@ -529,6 +556,24 @@ public class ParquetFileReader implements Closeable {
 
   private static final ParquetMetadata readFooter(InputFile file, ParquetReadOptions options,
       SeekableInputStream f, ParquetMetadataConverter converter) throws IOException {
+    ParquetMetadataCache cache = options.getMetadataCache();
+    // only the footers converted with the default options are cached
+    if (cache == null || options.getDecryptionProperties() != null || options.useSignedStringMinMax()) {
+      return readFooterFromFile(file, options, options.getMetadataFilter(), f, converter);
+    }
+    // the complete footer is cached and the row groups of the split are selected on it
+    ParquetMetadata footer = cache.get(file);
+    if (footer == null) {
+      footer = readFooterFromFile(file, options, NO_FILTER, f, converter);
+      if (footer.getFileMetaData().getEncryptionType() == FileMetaData.EncryptionType.UNENCRYPTED) {
+        cache.put(file, footer);
+      }
+    }
+    return ParquetMetadataConverter.filterRowGroups(footer, options.getMetadataFilter());
+  }
+
+  private static ParquetMetadata readFooterFromFile(InputFile file, ParquetReadOptions options,
+      MetadataFilter filter, SeekableInputStream f, ParquetMetadataConverter converter) throws IOException {
 
     long fileLen = file.getLength();
     String filePath = file.toString();
@@ -539,13 +584,30 @@ public class ParquetFileReader implements Closeable {
       throw new RuntimeException(filePath + " is not a Parquet file (length is too low: " + fileLen + ")");
     }
 
-    // Read footer length and magic string - with a single seek
     byte[] magic = new byte[MAGIC.length];
     long fileMetadataLengthIndex = fileLen - magic.length - FOOTER_LENGTH_SIZE;
-    LOG.debug("reading footer index at {}", fileMetadataLengthIndex);
-    f.seek(fileMetadataLengthIndex);
-    int fileMetadataLength = readIntLittleEndian(f);
-    f.readFully(magic);
+    int fileMetadataLength;
+    // the speculatively read end of the file: the footer, or its end if it is larger, then its length and magic
+    ByteBuffer tail = null;
+    int tailFooterLength = 0;
+    int tailLength = (int) Math.min(fileLen - MAGIC.length, footerReadSize(options));
+    if (tailLength > FOOTER_LENGTH_SIZE + MAGIC.length) {
+      // Read the end of the footer with its length and magic string - with a single seek
+      LOG.debug("reading the last {} bytes of the file", tailLength);
+      tail = ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+      f.seek(fileLen - tailLength);
+      f.readFully(tail);
+      tailFooterLength = tailLength - FOOTER_LENGTH_SIZE - MAGIC.length;
+      fileMetadataLength = tail.getInt(tailFooterLength);
+      tail.position(tailFooterLength + FOOTER_LENGTH_SIZE);
+      tail.get(magic);
+    } else {
+      // Read footer length and magic string - with a single seek
+      LOG.debug("reading footer index at {}", fileMetadataLengthIndex);
+      f.seek(fileMetadataLengthIndex);
+      fileMetadataLength = readIntLittleEndian(f);
+      f.readFully(magic);
+    }
 
     boolean encryptedFooterMode;
     if (Arrays.equals(MAGIC, magic)) {
@@ -561,7 +623,8 @@ public class ParquetFileReader implements Closeable {
     if (fileMetadataIndex < magic.length || fileMetadataIndex >= fileMetadataLengthIndex) {
       throw new RuntimeException("corrupted file: the footer index is not within the file: " + fileMetadataIndex);
     }
-    f.seek(fileMetadataIndex);
+    options.setFooterReadSizeHint(Math.min(fileMetadataLength + FOOTER_LENGTH_SIZE + MAGIC.length,
+        MAX_FOOTER_READ_SIZE_HINT));
 
     FileDecryptionProperties fileDecryptionProperties = options.getDecryptionProperties();
     InternalFileDecryptor fileDecryptor = null;
@@ -569,17 +632,46 @@ public class ParquetFileReader implements Closeable {
       fileDecryptor  = new InternalFileDecryptor(fileDecryptionProperties);
     }
 
-    // Read all the footer bytes in one time to avoid multiple read operations,
-    // since it can be pretty time consuming for a single read operation in HDFS.
-    ByteBuffer footerBytesBuffer = ByteBuffer.allocate(fileMetadataLength);
-    f.readFully(footerBytesBuffer);
+    ByteBuffer footerBytesBuffer;
+    if (fileMetadataLength <= tailFooterLength) {
+      // the whole footer has been read with the tail
+      tail.position(tailFooterLength - fileMetadataLength);
+      tail.limit(tailFooterLength);
+      footerBytesBuffer = tail.slice();
+    } else {
+      // Read all the footer bytes (not read with the tail) in one time to avoid multiple read operations,
+      // since it can be pretty time consuming for a single read operation in HDFS.
+      footerBytesBuffer = ByteBuffer.allocate(fileMetadataLength);
+      footerBytesBuffer.limit(fileMetadataLength - tailFooterLength);
+      f.seek(fileMetadataIndex);
+      f.readFully(footerBytesBuffer);
+      if (tail != null) {
+        footerBytesBuffer.limit(fileMetadataLength);
+        tail.position(0);
+        tail.limit(tailFooterLength);
+        footerBytesBuffer.put(tail);
+      }
+      footerBytesBuffer.flip();
+    }
     LOG.debug("Finished to read all footer bytes.");
-    footerBytesBuffer.flip();
+    ParquetReadMetrics metrics = options.getReadMetrics();
+    if (metrics != null) {
+      long requested = fileMetadataLength + FOOTER_LENGTH_SIZE + MAGIC.length;
+      if (tail == null) {
+        metrics.bytesRead(filePath, requested, requested, 2);
+      } else if (fileMetadataLength <= tailFooterLength) {
+        metrics.bytesRead(filePath, requested, tailLength, 1);
+      } else {
+        metrics.bytesRead(filePath, requested, tailLength + fileMetadataLength - tailFooterLength, 2);
+      }
+    }
     InputStream footerBytesStream = ByteBufferInputStream.wrap(footerBytesBuffer);
 
     // Regular file, or encrypted file with plaintext footer
     if (!encryptedFooterMode) {
-      return converter.readParquetMetadata(footerBytesStream, options.getMetadataFilter(), fileDecryptor, false,
+      // a projected footer keeps the metadata of the filtered columns for the row group filters
+      MetadataFilter metadataFilter = ParquetMetadataConverter.withFilterColumns(filter, options.getRecordFilter());
+      return converter.readParquetMetadata(footerBytesStream, metadataFilter, fileDecryptor, false,
           fileMetadataLength);
     }
 
@@ -591,7 +683,7 @@ public class ParquetFileReader implements Closeable {
     fileDecryptor.setFileCryptoMetaData(fileCryptoMetaData.getEncryption_algorithm(),
         true, fileCryptoMetaData.getKey_metadata());
     // footer length is required only for signed plaintext footers
-    return  converter.readParquetMetadata(footerBytesStream, options.getMetadataFilter(), fileDecryptor, true, 0);
+    return  converter.readParquetMetadata(footerBytesStream, filter, fileDecryptor, true, 0);
   }
 
   /**
@@ -671,10 +763,26 @@ public class ParquetFileReader implements Closeable {
 
   private int currentBlock = 0;
   private ColumnChunkPageReadStore currentRowGroup = null;
+  // whether the current row group is released when the next one is read or when this reader is closed
+  private boolean releaseRowGroupsOnRead = true;
   private DictionaryPageReader nextDictionaryReader = null;
+  // the dictionary readers of the row groups kept by the dictionary filter, so their column chunks are read with the
+  // dictionary pages already read, decompressed and decoded to filter them; see filterRowGroups
+  private final Map<BlockMetaData, DictionaryPageReader> filterDictionaryReaders = new IdentityHashMap<>();
+  private boolean filteringRowGroups = false;
 
   private InternalFileDecryptor fileDecryptor = null;
 
+  // the stream the pages are read on demand from, opened on first use; see ParquetReadOptions#useStreamingPageReads
+  private SeekableInputStream streamingStream = null;
+
+  // the Bloom filters read ahead by prefetchBloomFilters, until they are used
+  private final Map<ColumnChunkMetaData, BloomFilter> prefetchedBloomFilters = new IdentityHashMap<>();
+  // the key of the file in the Bloom filter and column index caches, null until it is needed or if the file cannot
+  // be cached
+  private LruParquetMetadataCache.FileKey cacheKey = null;
+  private boolean cacheKeyRead = false;
+
   /**
    * @param configuration the Hadoop conf
    * @param filePath Path for the parquet file
@@ -871,6 +979,17 @@ public class ParquetFileReader implements Closeable {
     return file.toString();
   }
 
+  ParquetReadOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * @return the listener of the work done by this reader, or {@code null} if none is set
+   */
+  public ParquetReadMetrics getReadMetrics() {
+    return options.getReadMetrics();
+  }
+
   private List<BlockMetaData> filterRowGroups(List<BlockMetaData> blocks) throws IOException {
     FilterCompat.Filter recordFilter = options.getRecordFilter();
     if (FilterCompat.isFilteringRequired(recordFilter)) {
@@ -888,12 +1007,71 @@ public class ParquetFileReader implements Closeable {
       if (options.useBloomFilter()) {
         levels.add(BLOOMFILTER);
       }
-      return RowGroupFilter.filterRowGroups(levels, recordFilter, blocks, this);
+      List<BlockMetaData> filteredBlocks;
+      filteringRowGroups = true;
+      try {
+        filteredBlocks = RowGroupFilter.filterRowGroups(levels, recordFilter, blocks, this);
+      } finally {
+        filteringRowGroups = false;
+      }
+      keepFilterDictionaries(filteredBlocks);
+      return filteredBlocks;
     }
 
     return blocks;
   }
 
+  /**
+   * Keeps the dictionary readers used to filter the given row groups, within
+   * {@link #MAX_FILTER_DICTIONARY_BYTES} of dictionary pages, and drops the others.
+   */
+  private void keepFilterDictionaries(List<BlockMetaData> filteredBlocks) {
+    Map<BlockMetaData, DictionaryPageReader> readers = new IdentityHashMap<>(filterDictionaryReaders);
+    filterDictionaryReaders.clear();
+    long bytes = 0;
+    for (BlockMetaData block : filteredBlocks) {
+      DictionaryPageReader dictionaryReader = readers.get(block);
+      if (dictionaryReader == null) {
+        continue;
+      }
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        DictionaryPage dictionaryPage = dictionaryReader.getReadDictionaryPage(column);
+        if (dictionaryPage != null) {
+          bytes += dictionaryPage.getUncompressedSize();
+        }
+      }
+      if (bytes > MAX_FILTER_DICTIONARY_BYTES) {
+        break;
+      }
+      filterDictionaryReaders.put(block, dictionaryReader);
+    }
+  }
+
+  /**
+   * Returns the dictionary pages read to filter the given row group that its column chunks can be read without, and
+   * forgets them.
+   *
+   * @return the uncompressed dictionary pages, by column
+   */
+  private Map<ColumnPath, DictionaryPage> takeFilterDictionaryPages(BlockMetaData block) {
+    DictionaryPageReader dictionaryReader = filterDictionaryReaders.remove(block);
+    if (dictionaryReader == null) {
+      return Collections.emptyMap();
+    }
+    Map<ColumnPath, DictionaryPage> dictionaryPages = new HashMap<>();
+    for (ColumnChunkMetaData mc : block.getColumns()) {
+      // the dictionary page can only be left out of the read if it is before the data pages
+      if (paths.containsKey(mc.getPath()) && !isEncrypted(mc.getPath())
+          && mc.getStartingPos() < mc.getFirstDataPageOffset()) {
+        DictionaryPage dictionaryPage = dictionaryReader.getReadDictionaryPage(mc);
+        if (dictionaryPage != null) {
+          dictionaryPages.put(mc.getPath(), dictionaryPage);
+        }
+      }
+    }
+    return dictionaryPages;
+  }
+
   public List<BlockMetaData> getRowGroups() {
     return blocks;
   }
@@ -910,7 +1088,8 @@ public class ParquetFileReader implements Closeable {
   }
 
   /**
-   * Reads all the columns requested from the row group at the specified block.
+   * Reads all the columns requested from the row group at the specified block. The returned row group is owned by the
+   * caller who shall close it to release its buffers.
    *
    * @param blockIndex the index of the requested block
    * @throws IOException if an error occurs while reading
@@ -921,11 +1100,13 @@ public class ParquetFileReader implements Closeable {
   }
 
   /**
-   * Reads all the columns requested from the row group at the current file position.
+   * Reads all the columns requested from the row group at the current file position. The returned row group is
+   * released when the next one is read or when this reader is closed.
    * @throws IOException if an error occurs while reading
    * @return the PageReadStore which can provide PageReaders for each column.
    */
   public PageReadStore readNextRowGroup() throws IOException {
+    releaseCurrentRowGroup();
     ColumnChunkPageReadStore rowGroup = null;
     try {
       rowGroup = internalReadRowGroup(currentBlock);
@@ -958,8 +1139,11 @@ public class ParquetFileReader implements Closeable {
       throw new ParquetEmptyBlockException("Illegal row group of 0 rows");
     }
     ColumnChunkPageReadStore rowGroup = new ColumnChunkPageReadStore(block.getRowCount(), block.getRowIndexOffset());
+    Map<ColumnPath, DictionaryPage> dictionaryPages = takeFilterDictionaryPages(block);
     // prepare the list of consecutive parts to read them in one scan
     List<ConsecutivePartList> allParts = new ArrayList<ConsecutivePartList>();
+    // the chunks to read page by page instead
+    List<ChunkDescriptor> streamedChunks = new ArrayList<>();
     ConsecutivePartList currentParts = null;
     for (ColumnChunkMetaData mc : block.getColumns()) {
       ColumnPath pathKey = mc.getPath();
@@ -967,21 +1151,47 @@ public class ParquetFileReader implements Closeable {
       if (columnDescriptor != null) {
         BenchmarkCounter.incrementTotalBytes(mc.getTotalSize());
         long startingPos = mc.getStartingPos();
+        long size = mc.getTotalSize();
+        if (dictionaryPages.containsKey(pathKey)) {
+          // the dictionary page has been read already
+          startingPos = mc.getFirstDataPageOffset();
+          size -= startingPos - mc.getStartingPos();
+        }
+        ChunkDescriptor chunkDescriptor = new ChunkDescriptor(columnDescriptor, mc, startingPos, size);
+        if (options.useStreamingPageReads() && !isEncrypted(pathKey)) {
+          streamedChunks.add(chunkDescriptor);
+          continue;
+        }
         // first part or not consecutive => new list
         if (currentParts == null || currentParts.endPos() != startingPos) {
           currentParts = new ConsecutivePartList(startingPos);
           allParts.add(currentParts);
         }
-        currentParts.addChunk(new ChunkDescriptor(columnDescriptor, mc, startingPos, mc.getTotalSize()));
+        currentParts.addChunk(chunkDescriptor);
       }
     }
     // actually read all the chunks
     ChunkListBuilder builder = new ChunkListBuilder(block.getRowCount());
-    for (ConsecutivePartList consecutiveChunks : allParts) {
-      consecutiveChunks.readAll(f, builder);
-    }
-    for (Chunk chunk : builder.build()) {
-      readChunkPages(chunk, block, rowGroup);
+    ByteBufferReleaser releaser = new ByteBufferReleaser(options.getAllocator());
+    rowGroup.setReleaser(releaser);
+    try {
+      readAllParts(allParts, builder, releaser);
+      for (Chunk chunk : builder.build()) {
+        chunk.decompressedDictionaryPage = dictionaryPages.get(chunk.descriptor.metadata.getPath());
+        readChunkPages(chunk, block, rowGroup);
+      }
+      for (ChunkDescriptor descriptor : streamedChunks) {
+        StreamingChunk chunk = new StreamingChunk(descriptor, options.getStreamingWindowSize());
+        ColumnChunkPageReader pageReader = chunk.getPageReader(block.getRowCount());
+        DictionaryPage dictionaryPage = dictionaryPages.get(descriptor.metadata.getPath());
+        if (dictionaryPage != null) {
+          pageReader.setDecompressedDictionaryPage(dictionaryPage);
+        }
+        rowGroup.addColumn(descriptor.col, pageReader);
+      }
+    } catch (IOException | RuntimeException e) {
+      rowGroup.close();
+      throw e;
     }
 
     return rowGroup;
@@ -1065,6 +1275,7 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException if an error occurs while reading
    */
   public PageReadStore readNextFilteredRowGroup() throws IOException {
+    releaseCurrentRowGroup();
     if (currentBlock == blocks.size()) {
       return null;
     }
@@ -1081,6 +1292,10 @@ public class ParquetFileReader implements Closeable {
     }
     RowRanges rowRanges = getRowRanges(currentBlock);
     long rowCount = rowRanges.rowCount();
+    ParquetReadMetrics metrics = options.getReadMetrics();
+    if (metrics != null && rowCount < block.getRowCount()) {
+      metrics.rowsSkipped(getFile(), ParquetReadMetrics.FilterLayer.COLUMN_INDEX, block.getRowCount() - rowCount);
+    }
     if (rowCount == 0) {
       // There are no matching rows -> skipping this row-group
       advanceToNextBlock();
@@ -1105,6 +1320,7 @@ public class ParquetFileReader implements Closeable {
 
   private ColumnChunkPageReadStore internalReadFilteredRowGroup(BlockMetaData block, RowRanges rowRanges, ColumnIndexStore ciStore) throws IOException {
     ColumnChunkPageReadStore rowGroup = new ColumnChunkPageReadStore(rowRanges, block.getRowIndexOffset());
+    Map<ColumnPath, DictionaryPage> dictionaryPages = takeFilterDictionaryPages(block);
     // prepare the list of consecutive parts to read them in one scan
     ChunkListBuilder builder = new ChunkListBuilder(block.getRowCount());
     List<ConsecutivePartList> allParts = new ArrayList<>();
@@ -1117,7 +1333,8 @@ public class ParquetFileReader implements Closeable {
 
         OffsetIndex filteredOffsetIndex = filterOffsetIndex(offsetIndex, rowRanges,
             block.getRowCount());
-        for (OffsetRange range : calculateOffsetRanges(filteredOffsetIndex, mc, offsetIndex.getOffset(0))) {
+        for (OffsetRange range : calculateOffsetRanges(filteredOffsetIndex, mc, offsetIndex.getOffset(0),
+            !dictionaryPages.containsKey(pathKey))) {
           BenchmarkCounter.incrementTotalBytes(range.getLength());
           long startingPos = range.getOffset();
           // first part or not consecutive => new list
@@ -1133,16 +1350,322 @@ public class ParquetFileReader implements Closeable {
       }
     }
     // actually read all the chunks
-    for (ConsecutivePartList consecutiveChunks : allParts) {
-      consecutiveChunks.readAll(f, builder);
-    }
-    for (Chunk chunk : builder.build()) {
-      readChunkPages(chunk, block, rowGroup);
+    ByteBufferReleaser releaser = new ByteBufferReleaser(options.getAllocator());
+    rowGroup.setReleaser(releaser);
+    try {
+      readAllParts(allParts, builder, releaser);
+      for (Chunk chunk : builder.build()) {
+        chunk.decompressedDictionaryPage = dictionaryPages.get(chunk.descriptor.metadata.getPath());
+        readChunkPages(chunk, block, rowGroup);
+      }
+    } catch (IOException | RuntimeException e) {
+      rowGroup.close();
+      throw e;
     }
 
     return rowGroup;
   }
 
+  /**
+   * Releases the buffers of the row group returned by the last call of {@link #readNextRowGroup()} or
+   * {@link #readNextFilteredRowGroup()}, unless the caller releases the row groups itself.
+   */
+  private void releaseCurrentRowGroup() {
+    if (currentRowGroup != null && releaseRowGroupsOnRead) {
+      currentRowGroup.close();
+    }
+    currentRowGroup = null;
+  }
+
+  /**
+   * By default the row group returned by {@link #readNextRowGroup()} or {@link #readNextFilteredRowGroup()} is
+   * released when the next one is read or when this reader is closed. Readers reading the row groups ahead of their
+   * consumption shall disable it and close the row groups once consumed.
+   *
+   * @param releaseRowGroupsOnRead whether the row groups are released by this reader
+   */
+  void setReleaseRowGroupsOnRead(boolean releaseRowGroupsOnRead) {
+    this.releaseRowGroupsOnRead = releaseRowGroupsOnRead;
+  }
+
+  private void readAllParts(List<ConsecutivePartList> allParts, ChunkListBuilder builder,
+      ByteBufferReleaser releaser) throws IOException {
+    if (options.useVectoredIo() && !allParts.isEmpty()) {
+      readVectored(allParts, builder, releaser);
+    } else if (options.getIoPlanner() != null && !allParts.isEmpty()) {
+      readPlanned(allParts, builder, releaser);
+    } else {
+      long length = 0;
+      for (ConsecutivePartList consecutiveChunks : allParts) {
+        consecutiveChunks.readAll(f, builder, releaser);
+        length += consecutiveChunks.length;
+      }
+      reportBytesRead(length, length, allParts.size());
+    }
+  }
+
+  private void reportBytesRead(long bytesRequested, long bytesRead, int ioCalls) {
+    ParquetReadMetrics metrics = options.getReadMetrics();
+    if (metrics != null && ioCalls > 0) {
+      metrics.bytesRead(getFile(), bytesRequested, bytesRead, ioCalls);
+    }
+  }
+
+  /**
+   * Reads the parts with the requests planned by the {@link IoPlanner}: the parts of a request are read in one scan
+   * together with the gaps between them, which are dropped.
+   *
+   * @param allParts the parts to read
+   * @param builder used to build chunk list to read the pages for the different columns
+   * @param releaser the releaser of the buffers allocated for the requests
+   * @throws IOException if there is an error while reading from the stream
+   */
+  private void readPlanned(List<ConsecutivePartList> allParts, ChunkListBuilder builder,
+      ByteBufferReleaser releaser) throws IOException {
+    int partCount = allParts.size();
+    long[] offsets = new long[partCount];
+    long[] lengths = new long[partCount];
+    for (int i = 0; i < partCount; ++i) {
+      offsets[i] = allParts.get(i).offset;
+      lengths[i] = allParts.get(i).length;
+    }
+    int[] requestStarts = options.getIoPlanner().plan(offsets, lengths);
+    LOG.debug("Reading {} parts in {} requests from {}", partCount, requestStarts.length, getFile());
+    long requested = 0;
+    long read = 0;
+    for (int r = 0; r < requestStarts.length; ++r) {
+      int first = requestStarts[r];
+      int last = r + 1 < requestStarts.length ? requestStarts[r + 1] : partCount;
+      for (int i = first; i < last; ++i) {
+        requested += lengths[i];
+      }
+      long start = offsets[first];
+      read += offsets[last - 1] + lengths[last - 1] - start;
+      if (last - first == 1) {
+        allParts.get(first).readAll(f, builder, releaser);
+        continue;
+      }
+      ByteBufferInputStream stream = ByteBufferInputStream.wrap(
+          readFully(f, start, offsets[last - 1] + lengths[last - 1] - start, releaser));
+      for (int i = first; i < last; ++i) {
+        stream.skipFully(offsets[i] - start - stream.position());
+        allParts.get(i).readFromBuffers(stream.sliceBuffers(lengths[i]), f, builder);
+      }
+    }
+    reportBytesRead(requested, read, requestStarts.length);
+  }
+
+  /**
+   * Reads a range of the file into buffers of at most the max allocation size, leaving the stream positioned at the
+   * end of the range.
+   *
+   * @param f the stream to read from
+   * @param offset the offset of the range
+   * @param length the length of the range
+   * @param releaser the releaser of the allocated buffers
+   * @return the buffers, ready to be read
+   * @throws IOException if there is an error while reading from the stream
+   */
+  private List<ByteBuffer> readFully(SeekableInputStream f, long offset, long length, ByteBufferReleaser releaser)
+      throws IOException {
+    ParquetEvents.Event event = ParquetEvents.begin(ParquetEvents.Type.CHUNKS_READ);
+    f.seek(offset);
+
+    int fullAllocations = Math.toIntExact(length / options.getMaxAllocationSize());
+    int lastAllocationSize = Math.toIntExact(length % options.getMaxAllocationSize());
+
+    int numAllocations = fullAllocations + (lastAllocationSize > 0 ? 1 : 0);
+    List<ByteBuffer> buffers = new ArrayList<>(numAllocations);
+
+    for (int i = 0; i < fullAllocations; i += 1) {
+      buffers.add(options.getAllocator().allocate(options.getMaxAllocationSize()));
+    }
+
+    if (lastAllocationSize > 0) {
+      buffers.add(options.getAllocator().allocate(lastAllocationSize));
+    }
+    for (ByteBuffer buffer : buffers) {
+      releaser.releaseLater(buffer);
+    }
+
+    for (ByteBuffer buffer : buffers) {
+      f.readFully(buffer);
+      buffer.flip();
+    }
+    if (event != null) {
+      event.commit(getFile(), null, offset, length);
+    }
+    return buffers;
+  }
+
+  /**
+   * Reads all the parts with one vectored read. Parts closer to each other than the configured merge gap (or the one
+   * of the {@link IoPlanner}) are fetched in the same range (the bytes in between are read and dropped) as long as the
+   * range fits in one allocation; parts larger than an allocation are split into several ranges.
+   *
+   * @param allParts the parts to read
+   * @param builder used to build chunk list to read the pages for the different columns
+   * @param releaser the releaser of the buffers allocated for the ranges
+   * @throws IOException if there is an error while reading from the stream
+   */
+  private void readVectored(List<ConsecutivePartList> allParts, ChunkListBuilder builder,
+      ByteBufferReleaser releaser) throws IOException {
+    int maxAllocationSize = options.getMaxAllocationSize();
+    IoPlanner ioPlanner = options.getIoPlanner();
+    long mergeGap = ioPlanner != null ? ioPlanner.getMergeGap() : options.getVectoredIoMergeGap();
+    List<ParquetFileRange> ranges = new ArrayList<>();
+    // index of the first range containing each part
+    int[] firstRanges = new int[allParts.size()];
+    long rangeStart = -1;
+    long rangeEnd = -1;
+    for (int i = 0, n = allParts.size(); i < n; ++i) {
+      ConsecutivePartList part = allParts.get(i);
+      boolean mergeable = part.length <= maxAllocationSize;
+      if (rangeStart >= 0 && mergeable && part.offset >= rangeEnd && part.offset - rangeEnd <= mergeGap
+          && part.endPos() - rangeStart <= maxAllocationSize) {
+        rangeEnd = part.endPos();
+        firstRanges[i] = ranges.size();
+        continue;
+      }
+      if (rangeStart >= 0) {
+        ranges.add(new ParquetFileRange(rangeStart, Math.toIntExact(rangeEnd - rangeStart)));
+        rangeStart = -1;
+      }
+      firstRanges[i] = ranges.size();
+      if (mergeable) {
+        rangeStart = part.offset;
+        rangeEnd = part.endPos();
+      } else {
+        for (long offset = part.offset; offset < part.endPos(); offset += maxAllocationSize) {
+          ranges.add(new ParquetFileRange(offset, (int) Math.min(maxAllocationSize, part.endPos() - offset)));
+        }
+      }
+    }
+    if (rangeStart >= 0) {
+      ranges.add(new ParquetFileRange(rangeStart, Math.toIntExact(rangeEnd - rangeStart)));
+    }
+
+    LOG.debug("Reading {} parts in {} vectored ranges from {}", allParts.size(), ranges.size(), getFile());
+    long requested = 0;
+    for (ConsecutivePartList part : allParts) {
+      requested += part.length;
+    }
+    long read = 0;
+    for (ParquetFileRange range : ranges) {
+      read += range.getLength();
+    }
+    if (ioPlanner != null) {
+      ioPlanner.record(allParts.size(), ranges.size(), read, requested);
+    }
+    reportBytesRead(requested, read, ranges.size());
+    f.readVectored(ranges, releasingAllocator(releaser));
+
+    try {
+      for (int i = 0, n = allParts.size(); i < n; ++i) {
+        ConsecutivePartList part = allParts.get(i);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        ParquetFileRange range = ranges.get(firstRanges[i]);
+        if (part.length <= maxAllocationSize) {
+          buffers.add(slice(awaitData(range), Math.toIntExact(part.offset - range.getOffset()),
+              Math.toIntExact(part.length)));
+        } else {
+          for (int r = firstRanges[i]; r < ranges.size() && ranges.get(r).getOffset() < part.endPos(); ++r) {
+            buffers.add(awaitData(ranges.get(r)));
+          }
+        }
+        part.readFromBuffers(buffers, f, builder);
+      }
+    } catch (IOException | RuntimeException e) {
+      // the buffers are released by the caller so the reads still writing into them must complete first
+      for (ParquetFileRange range : ranges) {
+        try {
+          range.getDataReadFuture().join();
+        } catch (RuntimeException ignored) {
+          // already failing
+        }
+      }
+      throw e;
+    }
+
+    // the workaround for the last chunk expects the stream to be positioned at its end
+    f.seek(allParts.get(allParts.size() - 1).endPos());
+  }
+
+  /**
+   * @return an allocator allocating with the allocator of the releaser and passing the buffers to the releaser, the
+   *         buffers released by the reads (e.g. on failure) being released by the releaser
+   */
+  private static ByteBufferAllocator releasingAllocator(ByteBufferReleaser releaser) {
+    ByteBufferAllocator allocator = releaser.getAllocator();
+    return new ByteBufferAllocator() {
+      @Override
+      public ByteBuffer allocate(int size) {
+        ByteBuffer buffer = allocator.allocate(size);
+        releaser.releaseLater(buffer);
+        return buffer;
+      }
+
+      @Override
+      public void release(ByteBuffer buffer) {
+        releaser.release(buffer);
+      }
+
+      @Override
+      public boolean isDirect() {
+        return allocator.isDirect();
+      }
+    };
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(offset);
+    slice.limit(offset + length);
+    return slice.slice();
+  }
+
+  private static ByteBuffer awaitData(ParquetFileRange range) throws IOException {
+    try {
+      return range.getDataReadFuture().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading " + range);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException("Failed to read " + range, cause);
+    }
+  }
+
+  private boolean isEncrypted(ColumnPath columnPath) {
+    return null != fileDecryptor && !fileDecryptor.plaintextFile()
+        && fileDecryptor.getColumnSetup(columnPath).isEncrypted();
+  }
+
+  /**
+   * Reads the specified range of the file with the stream dedicated to the pages read on demand. The stream is shared
+   * by the column chunks of all the row groups so the reads are serialized.
+   */
+  private void readStreamingRange(long position, byte[] bytes, int offset, int length) throws IOException {
+    SeekableInputStream stream;
+    synchronized (this) {
+      if (streamingStream == null) {
+        streamingStream = file.newStream();
+      }
+      stream = streamingStream;
+    }
+    synchronized (stream) {
+      stream.seek(position);
+      stream.readFully(bytes, offset, length);
+    }
+    BenchmarkCounter.incrementBytesRead(length);
+    reportBytesRead(length, length, 1);
+  }
+
   private void readChunkPages(Chunk chunk, BlockMetaData block, ColumnChunkPageReadStore rowGroup) throws IOException {
     if (null == fileDecryptor || fileDecryptor.plaintextFile()) {
       rowGroup.addColumn(chunk.descriptor.col, chunk.readAllPages());
@@ -1163,7 +1686,7 @@ public class ParquetFileReader implements Closeable {
   public ColumnIndexStore getColumnIndexStore(int blockIndex) {
     ColumnIndexStore ciStore = blockIndexStores.get(blockIndex);
     if (ciStore == null) {
-      ciStore = ColumnIndexStoreImpl.create(this, blocks.get(blockIndex), paths.keySet());
+      ciStore = ColumnIndexStoreImpl.create(this, blocks.get(blockIndex), paths.keySet(), options.getRecordFilter());
       blockIndexStores.set(blockIndex, ciStore);
     }
     return ciStore;
@@ -1174,9 +1697,14 @@ public class ParquetFileReader implements Closeable {
         .isFilteringRequired(options.getRecordFilter()) : "Should not be invoked if filter is null or NOOP";
     RowRanges rowRanges = blockRowRanges.get(blockIndex);
     if (rowRanges == null) {
-      rowRanges = ColumnIndexFilter.calculateRowRanges(options.getRecordFilter(), getColumnIndexStore(blockIndex),
-          paths.keySet(), blocks.get(blockIndex).getRowCount());
+      ColumnIndexStore ciStore = getColumnIndexStore(blockIndex);
+      rowRanges = ColumnIndexFilter.calculateRowRanges(options.getRecordFilter(), ciStore, paths.keySet(),
+          blocks.get(blockIndex).getRowCount());
       blockRowRanges.set(blockIndex, rowRanges);
+      // the store is kept for the offset indexes, not for the column indexes left unused by the filter
+      if (ciStore instanceof ColumnIndexStoreImpl) {
+        ((ColumnIndexStoreImpl) ciStore).releaseIndexBuffers();
+      }
     }
     return rowRanges;
   }
@@ -1191,6 +1719,7 @@ public class ParquetFileReader implements Closeable {
     }
 
     // update the current block and instantiate a dictionary reader for it
+    filterDictionaryReaders.remove(blocks.get(currentBlock));
     ++currentBlock;
     this.nextDictionaryReader = null;
 
@@ -1219,7 +1748,11 @@ public class ParquetFileReader implements Closeable {
   }
 
   public DictionaryPageReader getDictionaryReader(BlockMetaData block) {
-    return new DictionaryPageReader(this, block);
+    DictionaryPageReader dictionaryReader = new DictionaryPageReader(this, block);
+    if (filteringRowGroups) {
+      filterDictionaryReaders.put(block, dictionaryReader);
+    }
+    return dictionaryReader;
   }
 
   /**
@@ -1269,6 +1802,8 @@ public class ParquetFileReader implements Closeable {
     }
 
     DictionaryPage compressedPage = readCompressedDictionary(pageHeader, f, pageDecryptor, dictionaryPageAAD);
+    long length = f.getPos() - meta.getStartingPos();
+    reportBytesRead(length, length, 1);
     BytesInputDecompressor decompressor = options.getCodecFactory().getDecompressor(meta.getCodec());
 
     return new DictionaryPage(
@@ -1310,6 +1845,77 @@ public class ParquetFileReader implements Closeable {
     return new BloomFilterReader(this, block);
   }
 
+  /**
+   * Reads ahead the Bloom filters of the given columns in the given row groups, the ones close enough in the file at
+   * once, so filtering the row groups with them does not read them one by one. The Bloom filters already cached
+   * (see {@link ParquetReadOptions#getBloomFilterCache()}) are not read again. The Bloom filters of encrypted files
+   * are read when they are used.
+   *
+   * @param blocks the row groups
+   * @param columns the paths of the columns
+   * @throws IOException if there is an error while reading the Bloom filters
+   */
+  public void prefetchBloomFilters(List<BlockMetaData> blocks, Set<ColumnPath> columns) throws IOException {
+    if (!hasPlaintextIndexes()) {
+      return;
+    }
+    LruBloomFilterCache cache = options.getBloomFilterCache();
+    List<ColumnChunkMetaData> toRead = new ArrayList<>();
+    for (BlockMetaData block : blocks) {
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        if (column.getBloomFilterOffset() < 0 || !columns.contains(column.getPath())
+            || prefetchedBloomFilters.containsKey(column)) {
+          continue;
+        }
+        BloomFilter bloomFilter = cache == null ? null : getCachedBloomFilter(cache, column);
+        if (bloomFilter != null) {
+          prefetchedBloomFilters.put(column, bloomFilter);
+        } else {
+          toRead.add(column);
+        }
+      }
+    }
+    if (toRead.isEmpty()) {
+      return;
+    }
+    Map<ColumnChunkMetaData, BloomFilter> bloomFilters =
+        BloomFilterReader.readBloomFilters(this, getFooter().getBlocks(), toRead, file.getLength());
+    for (Map.Entry<ColumnChunkMetaData, BloomFilter> entry : bloomFilters.entrySet()) {
+      prefetchedBloomFilters.put(entry.getKey(), entry.getValue());
+      if (cache != null) {
+        putCachedBloomFilter(cache, entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private BloomFilter getCachedBloomFilter(LruBloomFilterCache cache, ColumnChunkMetaData meta) throws IOException {
+    LruParquetMetadataCache.FileKey key = getCacheKey();
+    return key == null ? null : cache.get(key, meta.getBloomFilterOffset());
+  }
+
+  private void putCachedBloomFilter(LruBloomFilterCache cache, ColumnChunkMetaData meta, BloomFilter bloomFilter)
+      throws IOException {
+    LruParquetMetadataCache.FileKey key = getCacheKey();
+    if (key != null) {
+      cache.put(key, meta.getBloomFilterOffset(), bloomFilter);
+    }
+  }
+
+  /**
+   * @return the key of the file in the Bloom filter and column index caches, or {@code null} if its Bloom filters and
+   *         indexes are not cached
+   * @throws IOException if the status of the file cannot be read
+   */
+  LruParquetMetadataCache.FileKey getCacheKey() throws IOException {
+    if (!cacheKeyRead) {
+      // the Bloom filters and indexes of encrypted files are not cached as they are only readable with the keys of
+      // the file
+      cacheKey = null == fileDecryptor ? LruParquetMetadataCache.FileKey.of(file) : null;
+      cacheKeyRead = true;
+    }
+    return cacheKey;
+  }
+
   /**
    * Reads Bloom filter data for the given column chunk.
    *
@@ -1322,6 +1928,17 @@ public class ParquetFileReader implements Closeable {
     if (bloomFilterOffset < 0) {
       return null;
     }
+    BloomFilter prefetched = prefetchedBloomFilters.remove(meta);
+    if (prefetched != null) {
+      return prefetched;
+    }
+    LruBloomFilterCache cache = options.getBloomFilterCache();
+    if (cache != null) {
+      BloomFilter cached = getCachedBloomFilter(cache, meta);
+      if (cached != null) {
+        return cached;
+      }
+    }
 
     // Prepare to decrypt Bloom filter (for encrypted columns)
     BlockCipher.Decryptor bloomFilterDecryptor = null;
@@ -1348,19 +1965,11 @@ public class ParquetFileReader implements Closeable {
       return null;
     }
 
-    int numBytes = bloomFilterHeader.getNumBytes();
-    if (numBytes <= 0 || numBytes > BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
-      LOG.warn("the read bloom filter size is wrong, size is {}", bloomFilterHeader.getNumBytes());
-      return null;
-    }
-
-    if (!bloomFilterHeader.getHash().isSetXXHASH() || !bloomFilterHeader.getAlgorithm().isSetBLOCK()
-      || !bloomFilterHeader.getCompression().isSetUNCOMPRESSED()) {
-      LOG.warn("the read bloom filter is not supported yet,  algorithm = {}, hash = {}, compression = {}",
-        bloomFilterHeader.getAlgorithm(), bloomFilterHeader.getHash(), bloomFilterHeader.getCompression());
+    if (!isSupported(bloomFilterHeader)) {
       return null;
     }
 
+    int numBytes = bloomFilterHeader.getNumBytes();
     byte[] bitset;
     if (null == bloomFilterDecryptor) {
       bitset = new byte[numBytes];
@@ -1371,7 +1980,32 @@ public class ParquetFileReader implements Closeable {
         throw new ParquetCryptoRuntimeException("Wrong length of decrypted bloom filter bitset");
       }
     }
-    return new BlockSplitBloomFilter(bitset);
+    long length = f.getPos() - bloomFilterOffset;
+    reportBytesRead(length, length, 1);
+    BloomFilter bloomFilter = new BlockSplitBloomFilter(bitset);
+    if (cache != null) {
+      putCachedBloomFilter(cache, meta, bloomFilter);
+    }
+    return bloomFilter;
+  }
+
+  /**
+   * @return whether the Bloom filter of the given header can be read
+   */
+  static boolean isSupported(BloomFilterHeader bloomFilterHeader) {
+    int numBytes = bloomFilterHeader.getNumBytes();
+    if (numBytes <= 0 || numBytes > BlockSplitBloomFilter.UPPER_BOUND_BYTES) {
+      LOG.warn("the read bloom filter size is wrong, size is {}", bloomFilterHeader.getNumBytes());
+      return false;
+    }
+
+    if (!bloomFilterHeader.getHash().isSetXXHASH() || !bloomFilterHeader.getAlgorithm().isSetBLOCK()
+      || !bloomFilterHeader.getCompression().isSetUNCOMPRESSED()) {
+      LOG.warn("the read bloom filter is not supported yet,  algorithm = {}, hash = {}, compression = {}",
+        bloomFilterHeader.getAlgorithm(), bloomFilterHeader.getHash(), bloomFilterHeader.getCompression());
+      return false;
+    }
+    return true;
   }
 
   /**
@@ -1399,8 +2033,10 @@ public class ParquetFileReader implements Closeable {
             column.getRowGroupOrdinal(), columnDecryptionSetup.getOrdinal(), -1);
       }
     }
-    return ParquetMetadataConverter.fromParquetColumnIndex(column.getPrimitiveType(),
+    ColumnIndex columnIndex = ParquetMetadataConverter.fromParquetColumnIndex(column.getPrimitiveType(),
         Util.readColumnIndex(f, columnIndexDecryptor, columnIndexAAD));
+    reportBytesRead(ref.getLength(), ref.getLength(), 1);
+    return columnIndex;
   }
 
   /**
@@ -1428,17 +2064,49 @@ public class ParquetFileReader implements Closeable {
             column.getRowGroupOrdinal(), columnDecryptionSetup.getOrdinal(), -1);
       }
     }
-    return ParquetMetadataConverter.fromParquetOffsetIndex(Util.readOffsetIndex(f, offsetIndexDecryptor, offsetIndexAAD));
+    OffsetIndex offsetIndex =
+        ParquetMetadataConverter.fromParquetOffsetIndex(Util.readOffsetIndex(f, offsetIndexDecryptor, offsetIndexAAD));
+    reportBytesRead(ref.getLength(), ref.getLength(), 1);
+    return offsetIndex;
+  }
+
+  /**
+   * @return whether the column and offset indexes of this file are not encrypted
+   */
+  boolean hasPlaintextIndexes() {
+    return null == fileDecryptor || fileDecryptor.plaintextFile();
+  }
+
+  /**
+   * Reads a range of the file holding serialized column and offset indexes or Bloom filters, see
+   * {@link ColumnIndexStoreImpl} and {@link BloomFilterReader}.
+   */
+  ByteBuffer readIndexRange(long offset, int length) throws IOException {
+    ByteBuffer range = ByteBuffer.allocate(length);
+    f.seek(offset);
+    f.readFully(range);
+    range.flip();
+    reportBytesRead(length, length, 1);
+    return range;
   }
 
   @Override
   public void close() throws IOException {
     try {
+      releaseCurrentRowGroup();
       if (f != null) {
         f.close();
       }
     } finally {
-      options.getCodecFactory().release();
+      try {
+        synchronized (this) {
+          if (streamingStream != null) {
+            streamingStream.close();
+          }
+        }
+      } finally {
+        options.getCodecFactory().release();
+      }
     }
   }
 
@@ -1497,6 +2165,8 @@ public class ParquetFileReader implements Closeable {
     protected final ByteBufferInputStream stream;
     final OffsetIndex offsetIndex;
     final long rowCount;
+    // the dictionary page read and decompressed already, left out of the chunk bytes; might be null
+    DictionaryPage decompressedDictionaryPage;
 
     /**
      * @param descriptor descriptor for the chunk
@@ -1652,9 +2322,28 @@ public class ParquetFileReader implements Closeable {
             " but got " + valuesCountReadSoFar + " values instead over " + pagesInChunk.size()
             + " pages ending at file offset " + (descriptor.fileOffset + stream.position()));
       }
-      BytesInputDecompressor decompressor = options.getCodecFactory().getDecompressor(descriptor.metadata.getCodec());
-      return new ColumnChunkPageReader(decompressor, pagesInChunk, dictionaryPage, offsetIndex,
-        rowCount, pageBlockDecryptor, aadPrefix, rowGroupOrdinal, columnOrdinal);
+      CompressionCodecFactory codecFactory = options.getCodecFactory();
+      if (options.useParallelDecompression() && codecFactory instanceof CodecFactory) {
+        // the decompressors of the factory are shared by the columns so every column gets its own
+        BytesInputDecompressor decompressor =
+            ((CodecFactory) codecFactory).createDecompressor(descriptor.metadata.getCodec());
+        ColumnChunkPageReader pageReader = new ColumnChunkPageReader(decompressor, pagesInChunk, dictionaryPage,
+            offsetIndex, rowCount, pageBlockDecryptor, aadPrefix, rowGroupOrdinal, columnOrdinal);
+        if (decompressedDictionaryPage != null) {
+          pageReader.setDecompressedDictionaryPage(decompressedDictionaryPage);
+        }
+        pageReader.setMetrics(options.getReadMetrics(), getFile(), descriptor.col);
+        pageReader.decompressInParallel(ForkJoinPool.commonPool(), options.getParallelDecompressionQueueSize());
+        return pageReader;
+      }
+      BytesInputDecompressor decompressor = codecFactory.getDecompressor(descriptor.metadata.getCodec());
+      ColumnChunkPageReader pageReader = new ColumnChunkPageReader(decompressor, pagesInChunk, dictionaryPage,
+          offsetIndex, rowCount, pageBlockDecryptor, aadPrefix, rowGroupOrdinal, columnOrdinal);
+      if (decompressedDictionaryPage != null) {
+        pageReader.setDecompressedDictionaryPage(decompressedDictionaryPage);
+      }
+      pageReader.setMetrics(options.getReadMetrics(), getFile(), descriptor.col);
+      return pageReader;
     }
 
     private boolean hasMorePages(long valuesCountReadSoFar, int dataPageCountReadSoFar) {
@@ -1743,6 +2432,244 @@ public class ParquetFileReader implements Closeable {
   }
 
 
+  /**
+   * The pages of a column chunk read on demand: instead of buffering the whole chunk, the page headers are parsed from
+   * a read-ahead window refilled from the file as the pages are consumed. Pages larger than the window are read
+   * directly into their own buffer.
+   */
+  private class StreamingChunk implements ColumnChunkPageReadStore.CompressedPages {
+
+    private final ChunkDescriptor descriptor;
+    private final PrimitiveType type;
+    private final CRC32 pageCrc;
+    private final byte[] window;
+    private int windowPos = 0;
+    private int windowLimit = 0;
+    // the file position of the byte following the window
+    private long filePos;
+    private final long chunkEnd;
+    private final DictionaryPage dictionaryPage;
+    // the header read ahead to look for the dictionary page
+    private PageHeader nextPageHeader;
+    private long valuesReadSoFar = 0L;
+
+    private final InputStream headerStream = new InputStream() {
+      @Override
+      public int read() throws IOException {
+        if (windowPos == windowLimit && !fill()) {
+          return -1;
+        }
+        return window[windowPos++] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+          return 0;
+        }
+        if (windowPos == windowLimit && !fill()) {
+          return -1;
+        }
+        int n = Math.min(length, windowLimit - windowPos);
+        System.arraycopy(window, windowPos, bytes, offset, n);
+        windowPos += n;
+        return n;
+      }
+    };
+
+    /**
+     * @param descriptor descriptor for the chunk
+     * @param windowSize the maximum size of the read-ahead window
+     * @throws IOException if the dictionary page cannot be read
+     */
+    StreamingChunk(ChunkDescriptor descriptor, int windowSize) throws IOException {
+      if (windowSize <= 0) {
+        throw new IllegalArgumentException("Invalid streaming window size: " + windowSize);
+      }
+      this.descriptor = descriptor;
+      this.type = getFileMetaData().getSchema().getType(descriptor.col.getPath()).asPrimitiveType();
+      this.pageCrc = options.usePageChecksumVerification() ? new CRC32() : null;
+      this.window = new byte[(int) Math.max(1, Math.min(windowSize, descriptor.size))];
+      this.filePos = descriptor.fileOffset;
+      this.chunkEnd = descriptor.fileOffset + descriptor.size;
+      this.dictionaryPage = readDictionaryPage();
+    }
+
+    ColumnChunkPageReader getPageReader(long rowCount) {
+      BytesInputDecompressor decompressor = options.getCodecFactory().getDecompressor(descriptor.metadata.getCodec());
+      ColumnChunkPageReader pageReader = new ColumnChunkPageReader(decompressor, this, dictionaryPage,
+          descriptor.metadata.getValueCount(), window.length, rowCount);
+      pageReader.setMetrics(options.getReadMetrics(), getFile(), descriptor.col);
+      return pageReader;
+    }
+
+    private DictionaryPage readDictionaryPage() throws IOException {
+      if (isEmpty()) {
+        return null;
+      }
+      PageHeader pageHeader = Util.readPageHeader(headerStream);
+      if (pageHeader.type != PageType.DICTIONARY_PAGE) {
+        nextPageHeader = pageHeader;
+        return null;
+      }
+      byte[] bytes = readPageBytes(pageHeader.getCompressed_page_size());
+      if (pageCrc != null && pageHeader.isSetCrc()) {
+        verifyCrc(pageHeader.getCrc(), bytes,
+            "could not verify dictionary page integrity, CRC checksum verification failed");
+      }
+      DictionaryPageHeader dicHeader = pageHeader.getDictionary_page_header();
+      DictionaryPage page = new DictionaryPage(
+          BytesInput.from(bytes),
+          pageHeader.getUncompressed_page_size(),
+          dicHeader.getNum_values(),
+          converter.getEncoding(dicHeader.getEncoding()));
+      // Copy crc to new page, used for testing
+      if (pageHeader.isSetCrc()) {
+        page.setCrc(pageHeader.getCrc());
+      }
+      return page;
+    }
+
+    @Override
+    public DataPage poll() {
+      try {
+        while (!isEmpty()) {
+          PageHeader pageHeader = nextPageHeader != null ? nextPageHeader : Util.readPageHeader(headerStream);
+          nextPageHeader = null;
+          int uncompressedPageSize = pageHeader.getUncompressed_page_size();
+          int compressedPageSize = pageHeader.getCompressed_page_size();
+          switch (pageHeader.type) {
+            case DATA_PAGE:
+              DataPageHeader dataHeaderV1 = pageHeader.getData_page_header();
+              byte[] bytes = readPageBytes(compressedPageSize);
+              if (pageCrc != null && pageHeader.isSetCrc()) {
+                verifyCrc(pageHeader.getCrc(), bytes,
+                    "could not verify page integrity, CRC checksum verification failed");
+              }
+              DataPageV1 dataPageV1 = new DataPageV1(
+                  BytesInput.from(bytes),
+                  dataHeaderV1.getNum_values(),
+                  uncompressedPageSize,
+                  converter.fromParquetStatistics(
+                      getFileMetaData().getCreatedBy(),
+                      dataHeaderV1.getStatistics(),
+                      type),
+                  converter.getEncoding(dataHeaderV1.getRepetition_level_encoding()),
+                  converter.getEncoding(dataHeaderV1.getDefinition_level_encoding()),
+                  converter.getEncoding(dataHeaderV1.getEncoding()));
+              // Copy crc to new page, used for testing
+              if (pageHeader.isSetCrc()) {
+                dataPageV1.setCrc(pageHeader.getCrc());
+              }
+              valuesReadSoFar += dataHeaderV1.getNum_values();
+              return dataPageV1;
+            case DATA_PAGE_V2:
+              DataPageHeaderV2 dataHeaderV2 = pageHeader.getData_page_header_v2();
+              int rlSize = dataHeaderV2.getRepetition_levels_byte_length();
+              int dlSize = dataHeaderV2.getDefinition_levels_byte_length();
+              byte[] pageBytes = readPageBytes(compressedPageSize);
+              valuesReadSoFar += dataHeaderV2.getNum_values();
+              return new DataPageV2(
+                  dataHeaderV2.getNum_rows(),
+                  dataHeaderV2.getNum_nulls(),
+                  dataHeaderV2.getNum_values(),
+                  BytesInput.from(pageBytes, 0, rlSize),
+                  BytesInput.from(pageBytes, rlSize, dlSize),
+                  converter.getEncoding(dataHeaderV2.getEncoding()),
+                  BytesInput.from(pageBytes, rlSize + dlSize, compressedPageSize - rlSize - dlSize),
+                  uncompressedPageSize,
+                  converter.fromParquetStatistics(
+                      getFileMetaData().getCreatedBy(),
+                      dataHeaderV2.getStatistics(),
+                      type),
+                  dataHeaderV2.isIs_compressed());
+            case DICTIONARY_PAGE:
+              throw new ParquetDecodingException("unexpected dictionary page after the data pages in column "
+                  + descriptor.col);
+            default:
+              LOG.debug("skipping page of type {} of size {}", pageHeader.getType(), compressedPageSize);
+              skip(compressedPageSize);
+              break;
+          }
+        }
+        return null;
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read page of column " + descriptor.col + " at file offset "
+            + filePos + " in " + getFile(), e);
+      }
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return valuesReadSoFar >= descriptor.metadata.getValueCount();
+    }
+
+    private void verifyCrc(int referenceCrc, byte[] bytes, String exceptionMsg) {
+      pageCrc.reset();
+      pageCrc.update(bytes);
+      if (pageCrc.getValue() != ((long) referenceCrc & 0xffffffffL)) {
+        throw new ParquetDecodingException(exceptionMsg);
+      }
+    }
+
+    private byte[] readPageBytes(int size) throws IOException {
+      byte[] bytes = new byte[size];
+      int copied = 0;
+      while (copied < size) {
+        if (windowPos == windowLimit) {
+          int remaining = size - copied;
+          if (remaining >= window.length) {
+            // no need to go through the window
+            readStreamingRange(filePos, bytes, copied, remaining);
+            filePos += remaining;
+            return bytes;
+          }
+          if (!fill()) {
+            throw new EOFException("Reached the end of the file while reading a page of column " + descriptor.col);
+          }
+        }
+        int n = Math.min(size - copied, windowLimit - windowPos);
+        System.arraycopy(window, windowPos, bytes, copied, n);
+        windowPos += n;
+        copied += n;
+      }
+      return bytes;
+    }
+
+    private void skip(int size) {
+      int inWindow = Math.min(size, windowLimit - windowPos);
+      windowPos += inWindow;
+      filePos += size - inWindow;
+    }
+
+    /**
+     * Reads the following bytes of the file into the free space of the window.
+     *
+     * @return false if there are no more bytes to read
+     */
+    private boolean fill() throws IOException {
+      if (windowPos > 0) {
+        System.arraycopy(window, windowPos, window, 0, windowLimit - windowPos);
+        windowLimit -= windowPos;
+        windowPos = 0;
+      }
+      long remaining = chunkEnd - filePos;
+      if (remaining <= 0) {
+        // because of a now fixed bug, the chunk might be larger than its size (see WorkaroundChunk); usually 13 to 19
+        // bytes are missing
+        remaining = Math.min(8192, file.getLength() - filePos);
+      }
+      int length = (int) Math.min(window.length - windowLimit, remaining);
+      if (length <= 0) {
+        return false;
+      }
+      readStreamingRange(filePos, window, windowLimit, length);
+      filePos += length;
+      windowLimit += length;
+      return true;
+    }
+  }
+
   /**
    * Information needed to read a column chunk or a part of it.
    */
@@ -1818,30 +2745,21 @@ public class ParquetFileReader implements Closeable {
     /**
      * @param f file to read the chunks from
      * @param builder used to build chunk list to read the pages for the different columns
+     * @param releaser the releaser of the allocated buffers
      * @throws IOException if there is an error while reading from the stream
      */
-    public void readAll(SeekableInputStream f, ChunkListBuilder builder) throws IOException {
-      f.seek(offset);
-
-      int fullAllocations = Math.toIntExact(length / options.getMaxAllocationSize());
-      int lastAllocationSize = Math.toIntExact(length % options.getMaxAllocationSize());
-
-      int numAllocations = fullAllocations + (lastAllocationSize > 0 ? 1 : 0);
-      List<ByteBuffer> buffers = new ArrayList<>(numAllocations);
-
-      for (int i = 0; i < fullAllocations; i += 1) {
-        buffers.add(options.getAllocator().allocate(options.getMaxAllocationSize()));
-      }
-
-      if (lastAllocationSize > 0) {
-        buffers.add(options.getAllocator().allocate(lastAllocationSize));
-      }
-
-      for (ByteBuffer buffer : buffers) {
-        f.readFully(buffer);
-        buffer.flip();
-      }
+    public void readAll(SeekableInputStream f, ChunkListBuilder builder, ByteBufferReleaser releaser)
+        throws IOException {
+      readFromBuffers(readFully(f, offset, length, releaser), f, builder);
+    }
 
+    /**
+     * @param buffers the buffers containing the bytes of these chunks
+     * @param f file stream positioned at the end of these chunks
+     * @param builder used to build chunk list to read the pages for the different columns
+     */
+    void readFromBuffers(List<ByteBuffer> buffers, SeekableInputStream f, ChunkListBuilder builder)
+        throws IOException {
       // report in a counter the data we just scanned
       BenchmarkCounter.incrementBytesRead(length);
       ByteBufferInputStream stream = ByteBufferInputStream.wrap(buffers);
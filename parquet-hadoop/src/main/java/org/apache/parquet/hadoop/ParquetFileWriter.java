@@ -62,6 +62,7 @@ import org.apache.parquet.crypto.InternalFileEncryptor;
 import org.apache.parquet.crypto.ModuleCipherFactory;
 import org.apache.parquet.crypto.ModuleCipherFactory.ModuleType;
 import org.apache.parquet.crypto.ParquetCryptoRuntimeException;
+import org.apache.parquet.events.ParquetEvents;
 import org.apache.parquet.hadoop.ParquetOutputFormat.JobSummaryLevel;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.format.BlockCipher;
@@ -118,6 +119,7 @@ public class ParquetFileWriter {
   protected final PositionOutputStream out;
 
   private final MessageType schema;
+  private final String filePath;
   private final AlignmentStrategy alignment;
   private final int columnIndexTruncateLength;
 
@@ -136,6 +138,7 @@ public class ParquetFileWriter {
 
   // row group data
   private BlockMetaData currentBlock; // appended to by endColumn
+  private ParquetEvents.Event currentBlockEvent; // started by startBlock
 
   // The column/offset indexes for the actual block
   private List<ColumnIndex> currentColumnIndexes;
@@ -332,6 +335,7 @@ public class ParquetFileWriter {
     TypeUtil.checkValidWriteSchema(schema);
 
     this.schema = schema;
+    this.filePath = file.getPath();
 
     long blockSize = rowGroupSize;
     if (file.supportsBlockSize()) {
@@ -402,6 +406,7 @@ public class ParquetFileWriter {
       throws IOException {
     FileSystem fs = file.getFileSystem(configuration);
     this.schema = schema;
+    this.filePath = file.toString();
     this.alignment = PaddingAlignment.get(
         rowAndBlockSize, rowAndBlockSize, maxPaddingSize);
     this.out = HadoopStreams.wrap(
@@ -444,6 +449,7 @@ public class ParquetFileWriter {
 
     alignment.alignForRowGroup(out);
 
+    currentBlockEvent = ParquetEvents.begin(ParquetEvents.Type.BLOCK_WRITE);
     currentBlock = new BlockMetaData();
     currentRecordCount = recordCount;
 
@@ -969,6 +975,10 @@ public class ParquetFileWriter {
     currentColumnIndexes = null;
     currentOffsetIndexes = null;
     currentBloomFilters = null;
+    if (currentBlockEvent != null) {
+      currentBlockEvent.commit(filePath, null, currentRecordCount, currentBlock.getCompressedSize());
+      currentBlockEvent = null;
+    }
     currentBlock = null;
   }
 
@@ -1195,12 +1205,17 @@ public class ParquetFileWriter {
    */
   public void end(Map<String, String> extraMetaData) throws IOException {
     state = state.end();
+    ParquetEvents.Event event = ParquetEvents.begin(ParquetEvents.Type.FOOTER_WRITE);
+    long start = out.getPos();
     serializeColumnIndexes(columnIndexes, blocks, out, fileEncryptor);
     serializeOffsetIndexes(offsetIndexes, blocks, out, fileEncryptor);
     serializeBloomFilters(bloomFilters, blocks, out, fileEncryptor);
     LOG.debug("{}: end", out.getPos());
     this.footer = new ParquetMetadata(new FileMetaData(schema, extraMetaData, Version.FULL_VERSION), blocks);
     serializeFooter(footer, out, fileEncryptor, metadataConverter);
+    if (event != null) {
+      event.commit(filePath, null, blocks.size(), out.getPos() - start);
+    }
     out.close();
   }
 
@@ -144,6 +144,113 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
    */
   public static final String BLOOM_FILTERING_ENABLED = "parquet.filter.bloom.enabled";
 
+  /**
+   * key to configure whether the column chunks of a row group are fetched with a single vectored read
+   */
+  public static final String VECTORED_IO_ENABLED = "parquet.read.vectored-io.enabled";
+
+  /**
+   * key to configure the maximum gap in bytes between two column chunks for them to be fetched in the same range
+   * when vectored reads are enabled
+   */
+  public static final String VECTORED_IO_MERGE_GAP = "parquet.read.vectored-io.merge-gap";
+
+  /**
+   * key to configure the maximum number of row groups read ahead in the background by the record readers (0 to
+   * disable)
+   */
+  public static final String PREFETCH_ROW_GROUPS = "parquet.read.prefetch.row-groups";
+
+  /**
+   * key to configure the maximum size in bytes of the prefetched row groups waiting to be consumed
+   */
+  public static final String PREFETCH_MEMORY_BUDGET = "parquet.read.prefetch.memory-budget";
+
+  /**
+   * key to configure whether the pages of the projected columns are decompressed in parallel
+   */
+  public static final String PARALLEL_DECOMPRESSION_ENABLED = "parquet.read.parallel-decompression.enabled";
+
+  /**
+   * key to configure the maximum number of decompressed pages per column waiting to be read when the pages are
+   * decompressed in parallel
+   */
+  public static final String PARALLEL_DECOMPRESSION_QUEUE_SIZE = "parquet.read.parallel-decompression.queue-size";
+
+  /**
+   * key to configure whether the pages of the projected columns are read on demand through a bounded window instead
+   * of buffering the whole column chunks
+   */
+  public static final String STREAMING_PAGE_READS_ENABLED = "parquet.read.streaming-pages.enabled";
+
+  /**
+   * key to configure the size in bytes of the read-ahead window per column when the pages are read on demand
+   */
+  public static final String STREAMING_WINDOW_SIZE = "parquet.read.streaming-pages.window-size";
+
+  /**
+   * key to configure whether the record readers release the buffers of a row group to the allocator when they read
+   * the next one
+   */
+  public static final String RECORD_BUFFER_RELEASE_ENABLED = "parquet.read.record-buffer-release.enabled";
+
+  /**
+   * key to configure whether the footers read by the file readers are kept in a process-wide cache
+   */
+  public static final String FOOTER_CACHE_ENABLED = "parquet.read.footer-cache.enabled";
+
+  /**
+   * key to configure the maximum estimated heap size in bytes of the process-wide footer cache
+   */
+  public static final String FOOTER_CACHE_MAX_SIZE = "parquet.read.footer-cache.max-size";
+
+  /**
+   * key to configure whether the Bloom filters read by the file readers are kept in a process-wide cache
+   */
+  public static final String BLOOM_FILTER_CACHE_ENABLED = "parquet.read.bloom-filter-cache.enabled";
+
+  /**
+   * key to configure the maximum size in bytes of the bitsets in the process-wide Bloom filter cache
+   */
+  public static final String BLOOM_FILTER_CACHE_MAX_SIZE = "parquet.read.bloom-filter-cache.max-size";
+
+  /**
+   * key to configure whether the column and offset indexes read by the file readers are kept in a process-wide cache
+   */
+  public static final String COLUMN_INDEX_CACHE_ENABLED = "parquet.read.column-index-cache.enabled";
+
+  /**
+   * key to configure the maximum estimated heap size in bytes of the process-wide column index cache
+   */
+  public static final String COLUMN_INDEX_CACHE_MAX_SIZE = "parquet.read.column-index-cache.max-size";
+
+  /**
+   * key to turn on or off the planning of the requests reading the row groups from the seek cost and the bandwidth
+   * of the store (default false)
+   */
+  public static final String IO_PLANNER_ENABLED = "parquet.read.io-planner.enabled";
+
+  /**
+   * key to configure the cost of a request to the store for the planning of the reads, in microseconds
+   */
+  public static final String IO_PLANNER_SEEK_COST = "parquet.read.io-planner.seek-cost";
+
+  /**
+   * key to configure the bandwidth of the store for the planning of the reads, in MB/s
+   */
+  public static final String IO_PLANNER_BANDWIDTH = "parquet.read.io-planner.bandwidth";
+
+  /**
+   * key to configure the {@link ParquetReadMetrics} class instantiated to listen to the work done by the readers
+   */
+  public static final String READ_METRICS_CLASS = "parquet.read.metrics.class";
+
+  /**
+   * key to configure the minimum number of bytes read at the end of the files to get their footer in one read (0 to
+   * read the footer length first)
+   */
+  public static final String FOOTER_READ_SIZE = "parquet.read.footer.read-size";
+
   /**
    * key to turn on or off task side metadata loading (default true)
    * if true then metadata is read on the task side and some tasks may finish immediately.
@@ -156,6 +263,20 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
    */
   public static final String SPLIT_FILES = "parquet.split.files";
 
+  /**
+   * key to turn on or off the concurrent split planning (default false). If true, the footers are read and the row
+   * groups pruned by their statistics concurrently, and the splits of each file are generated as soon as its footer
+   * is read. Summary files are not used.
+   */
+  public static final String SPLIT_PLANNING_CONCURRENT = "parquet.split.planning.concurrent.enabled";
+
+  /**
+   * key to configure the maximum number of files planned at the same time by the concurrent split planning
+   */
+  public static final String SPLIT_PLANNING_CONCURRENCY = "parquet.split.planning.concurrency";
+
+  private static final int DEFAULT_SPLIT_PLANNING_CONCURRENCY = 16;
+
   private static final int MIN_FOOTER_CACHE_SIZE = 100;
 
   public static void setTaskSideMetaData(Job job,  boolean taskSideMetadata) {
@@ -344,6 +465,8 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
       }
       return splits;
 
+    } else if (configuration.getBoolean(SPLIT_PLANNING_CONCURRENT, false)) {
+      splits.addAll(getSplitsConcurrently(configuration, listStatus(jobContext)));
     } else {
       splits.addAll(getSplits(configuration, getFooters(jobContext)));
     }
@@ -376,6 +499,65 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
         configuration, footers, maxSplitSize, minSplitSize, readContext);
   }
 
+  /**
+   * Plans the splits of the files with {@link ConcurrentSplitPlanner}: the footers missing from the cache are read
+   * concurrently and the splits of each file are generated as its footer is read. Only the read context, which
+   * needs the schemas of all the files, is created once all the files are planned.
+   */
+  private List<ParquetInputSplit> getSplitsConcurrently(Configuration configuration, List<FileStatus> statuses)
+      throws IOException {
+    if (statuses.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final long maxSplitSize = configuration.getLong("mapred.max.split.size", Long.MAX_VALUE);
+    final long minSplitSize = Math.max(getFormatMinSplitSize(), configuration.getLong("mapred.min.split.size", 0L));
+    if (maxSplitSize < 0 || minSplitSize < 0) {
+      throw new ParquetDecodingException("maxSplitSize or minSplitSize should not be negative: maxSplitSize = " + maxSplitSize + "; minSplitSize = " + minSplitSize);
+    }
+    if (footersCache == null) {
+      footersCache =
+              new LruCache<FileStatusWrapper, FootersCacheValue>(Math.max(statuses.size(), MIN_FOOTER_CACHE_SIZE));
+    }
+    List<Footer> cachedFooters = new ArrayList<Footer>(statuses.size());
+    for (FileStatus status : statuses) {
+      FootersCacheValue cacheEntry = footersCache.getCurrentValue(new FileStatusWrapper(status));
+      cachedFooters.add(cacheEntry == null ? null : cacheEntry.getFooter());
+    }
+
+    ConcurrentSplitPlanner planner = new ConcurrentSplitPlanner(
+        configuration,
+        configuration.getInt(SPLIT_PLANNING_CONCURRENCY, DEFAULT_SPLIT_PLANNING_CONCURRENCY),
+        getFilter(configuration),
+        minSplitSize,
+        maxSplitSize,
+        configuration.getBoolean(STRICT_TYPE_CHECKING, true));
+    List<ClientSideMetadataSplitStrategy.FileSplitInfo> files = planner.plan(statuses, cachedFooters);
+
+    long rowGroupsDropped = 0;
+    long totalRowGroups = 0;
+    for (int i = 0; i < files.size(); ++i) {
+      ClientSideMetadataSplitStrategy.FileSplitInfo file = files.get(i);
+      if (cachedFooters.get(i) == null) {
+        FileStatusWrapper statusWrapper = new FileStatusWrapper(statuses.get(i));
+        footersCache.put(statusWrapper, new FootersCacheValue(statusWrapper, file.getFooter()));
+      }
+      totalRowGroups += file.getRowGroupCount();
+      rowGroupsDropped += file.getRowGroupCount() - file.getKeptRowGroupCount();
+    }
+    ClientSideMetadataSplitStrategy.logDroppedRowGroups(rowGroupsDropped, totalRowGroups);
+
+    GlobalMetaData globalMetaData = planner.getGlobalMetaData();
+    ReadContext readContext = getReadSupport(configuration).init(new InitContext(
+        configuration,
+        globalMetaData.getKeyValueMetaData(),
+        globalMetaData.getSchema()));
+    List<ParquetInputSplit> splits = new ArrayList<ParquetInputSplit>();
+    for (ClientSideMetadataSplitStrategy.FileSplitInfo file : files) {
+      splits.addAll(file.getParquetInputSplits(readContext));
+    }
+    return splits;
+  }
+
   /*
    * This is to support multi-level/recursive directory listing until
    * MAPREDUCE-1577 is fixed.
@@ -644,6 +826,53 @@ class ClientSideMetadataSplitStrategy {
     }
   }
 
+  /**
+   * The splits of a file with the footer they were generated from.
+   */
+  static class FileSplitInfo {
+    private final FileStatus fileStatus;
+    private final Footer footer;
+    private final int rowGroupCount;
+    private final List<SplitInfo> splits;
+
+    FileSplitInfo(FileStatus fileStatus, Footer footer, int rowGroupCount, List<SplitInfo> splits) {
+      this.fileStatus = fileStatus;
+      this.footer = footer;
+      this.rowGroupCount = rowGroupCount;
+      this.splits = splits;
+    }
+
+    FileStatus getFileStatus() {
+      return fileStatus;
+    }
+
+    Footer getFooter() {
+      return footer;
+    }
+
+    int getRowGroupCount() {
+      return rowGroupCount;
+    }
+
+    int getKeptRowGroupCount() {
+      int count = 0;
+      for (SplitInfo split : splits) {
+        count += split.getRowGroupCount();
+      }
+      return count;
+    }
+
+    List<ParquetInputSplit> getParquetInputSplits(ReadContext readContext) throws IOException {
+      String requestedSchema = readContext.getRequestedSchema().toString();
+      List<ParquetInputSplit> resultSplits = new ArrayList<ParquetInputSplit>(splits.size());
+      for (SplitInfo splitInfo : splits) {
+        resultSplits.add(
+            splitInfo.getParquetInputSplit(fileStatus, requestedSchema, readContext.getReadSupportMetadata()));
+      }
+      return resultSplits;
+    }
+  }
+
   static class SplitInfo {
     List<BlockMetaData> rowGroups = new ArrayList<BlockMetaData>();
     BlockLocation hdfsBlock;
@@ -718,39 +947,50 @@ class ClientSideMetadataSplitStrategy {
       LOG.debug("{}", file);
       FileSystem fs = file.getFileSystem(configuration);
       FileStatus fileStatus = fs.getFileStatus(file);
-      ParquetMetadata parquetMetaData = footer.getParquetMetadata();
-      List<BlockMetaData> blocks = parquetMetaData.getBlocks();
-
-      List<BlockMetaData> filteredBlocks;
-
-      totalRowGroups += blocks.size();
-      filteredBlocks = RowGroupFilter.filterRowGroups(filter, blocks, parquetMetaData.getFileMetaData().getSchema());
-      rowGroupsDropped += blocks.size() - filteredBlocks.size();
-
-      if (filteredBlocks.isEmpty()) {
-        continue;
-      }
-
-      BlockLocation[] fileBlockLocations = fs.getFileBlockLocations(fileStatus, 0, fileStatus.getLen());
-      splits.addAll(
-          generateSplits(
-              filteredBlocks,
-              fileBlockLocations,
-              fileStatus,
-              readContext.getRequestedSchema().toString(),
-              readContext.getReadSupportMetadata(),
-              minSplitSize,
-              maxSplitSize)
-          );
+      FileSplitInfo fileSplits = planFile(configuration, fileStatus, footer, filter, minSplitSize, maxSplitSize);
+      totalRowGroups += fileSplits.getRowGroupCount();
+      rowGroupsDropped += fileSplits.getRowGroupCount() - fileSplits.getKeptRowGroupCount();
+      splits.addAll(fileSplits.getParquetInputSplits(readContext));
     }
 
+    logDroppedRowGroups(rowGroupsDropped, totalRowGroups);
+    return splits;
+  }
+
+  static void logDroppedRowGroups(long rowGroupsDropped, long totalRowGroups) {
     if (rowGroupsDropped > 0 && totalRowGroups > 0) {
       int percentDropped = (int) ((((double) rowGroupsDropped) / totalRowGroups) * 100);
       LOG.info("Dropping {} row groups that do not pass filter predicate! ({}%)", rowGroupsDropped, percentDropped);
     } else {
       LOG.info("There were no row groups that could be dropped due to filter predicates");
     }
-    return splits;
+  }
+
+  /**
+   * Drops the row groups of a file that do not pass the filter and groups the remaining ones into splits.
+   *
+   * @param configuration the configuration to connect to the file system
+   * @param fileStatus    the file
+   * @param footer        the footer of the file
+   * @param filter        the filter of the row groups
+   * @param minSplitSize  the mapred.min.split.size
+   * @param maxSplitSize  the mapred.max.split.size
+   * @return the row groups of the file grouped into splits
+   * @throws IOException If the HDFS blocks of the file can't be retrieved
+   */
+  static FileSplitInfo planFile(Configuration configuration, FileStatus fileStatus, Footer footer, Filter filter,
+      long minSplitSize, long maxSplitSize) throws IOException {
+    ParquetMetadata parquetMetaData = footer.getParquetMetadata();
+    List<BlockMetaData> blocks = parquetMetaData.getBlocks();
+    List<BlockMetaData> filteredBlocks =
+        RowGroupFilter.filterRowGroups(filter, blocks, parquetMetaData.getFileMetaData().getSchema());
+    if (filteredBlocks.isEmpty()) {
+      return new FileSplitInfo(fileStatus, footer, blocks.size(), Collections.<SplitInfo>emptyList());
+    }
+    FileSystem fs = fileStatus.getPath().getFileSystem(configuration);
+    BlockLocation[] fileBlockLocations = fs.getFileBlockLocations(fileStatus, 0, fileStatus.getLen());
+    return new FileSplitInfo(fileStatus, footer, blocks.size(),
+        generateSplitInfo(filteredBlocks, fileBlockLocations, minSplitSize, maxSplitSize));
   }
 
   /**
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
+
+/**
+ * A cache of the footers of Parquet files, shared by the readers configured with it (see
+ * {@link ParquetReadOptions.Builder#withMetadataCache(ParquetMetadataCache)}) so opening the same file again does not
+ * read and parse its footer again.
+ * <p>
+ * Only the complete footers of unencrypted files, converted with the default options, are cached: the readers
+ * configured with a metadata filter (e.g. the range of a split) select their row groups on the cached footer, and do
+ * not use the cache when decryption properties or signed string min/max statistics are configured. The cached
+ * footers are shared and must not be modified. Implementations must be thread-safe and
+ * must not return the footer of a file that has been modified since it was cached.
+ */
+public interface ParquetMetadataCache {
+
+  /**
+   * @param file a file
+   * @return the cached footer of the file, or {@code null} if it is not cached
+   * @throws IOException if the identity of the file (e.g. its modification time) cannot be read
+   */
+  ParquetMetadata get(InputFile file) throws IOException;
+
+  /**
+   * Caches the footer of a file.
+   *
+   * @param file a file
+   * @param footer the complete footer of the file
+   * @throws IOException if the identity of the file (e.g. its modification time) cannot be read
+   */
+  void put(InputFile file, ParquetMetadata footer) throws IOException;
+}
@@ -36,6 +36,7 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetWriteMetrics;
 import org.apache.parquet.column.ParquetProperties.WriterVersion;
 import org.apache.parquet.crypto.EncryptionPropertiesFactory;
 import org.apache.parquet.crypto.FileEncryptionProperties;
@@ -154,6 +155,7 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
   public static final String BLOOM_FILTER_FPP = "parquet.bloom.filter.fpp";
   public static final String PAGE_ROW_COUNT_LIMIT = "parquet.page.row.count.limit";
   public static final String PAGE_WRITE_CHECKSUM_ENABLED = "parquet.page.write-checksum.enabled";
+  public static final String WRITE_METRICS_CLASS = "parquet.write.metrics.class";
 
   public static JobSummaryLevel getJobSummaryLevel(Configuration conf) {
     String level = conf.get(JOB_SUMMARY_LEVEL);
@@ -380,6 +382,27 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
     return conf.getBoolean(PAGE_WRITE_CHECKSUM_ENABLED, ParquetProperties.DEFAULT_PAGE_WRITE_CHECKSUM_ENABLED);
   }
 
+  public static void setWriteMetricsClass(Configuration conf, Class<? extends ParquetWriteMetrics> writeMetricsClass) {
+    conf.set(WRITE_METRICS_CLASS, writeMetricsClass.getName());
+  }
+
+  /**
+   * @param conf the configuration
+   * @return a new instance of the configured write metrics class, or {@code null} if none is configured
+   */
+  public static ParquetWriteMetrics getWriteMetrics(Configuration conf) {
+    Class<?> writeMetricsClass = ConfigurationUtil.getClassFromConfig(conf, WRITE_METRICS_CLASS,
+        ParquetWriteMetrics.class);
+    if (writeMetricsClass == null) {
+      return null;
+    }
+    try {
+      return (ParquetWriteMetrics) writeMetricsClass.newInstance();
+    } catch (InstantiationException | IllegalAccessException e) {
+      throw new BadConfigurationException("could not instantiate write metrics class: " + writeMetricsClass, e);
+    }
+  }
+
   private WriteSupport<T> writeSupport;
   private ParquetOutputCommitter committer;
 
@@ -454,7 +477,8 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
         .withMaxBloomFilterBytes(getBloomFilterMaxBytes(conf))
         .withBloomFilterEnabled(getBloomFilterEnabled(conf))
         .withPageRowCountLimit(getPageRowCountLimit(conf))
-        .withPageWriteChecksumEnabled(getPageWriteChecksumEnabled(conf));
+        .withPageWriteChecksumEnabled(getPageWriteChecksumEnabled(conf))
+        .withWriteMetrics(getWriteMetrics(conf));
     new ColumnConfigParser()
         .withColumnConfig(ENABLE_DICTIONARY, key -> conf.getBoolean(key, false), propsBuilder::withDictionaryEncoding)
         .withColumnConfig(BLOOM_FILTER_ENABLED, key -> conf.getBoolean(key, false),
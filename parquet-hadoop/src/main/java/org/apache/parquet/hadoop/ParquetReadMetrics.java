@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+
+/**
+ * A listener of the work done by the readers configured with it (see
+ * {@link ParquetReadOptions.Builder#withReadMetrics(ParquetReadMetrics)}), to find out where the time of reading
+ * Parquet files goes: I/O, decryption, decompression, decoding, and how many rows each filter skips. The events are
+ * reported per file, identified by the path returned by {@link ParquetFileReader#getFile()}, and per column for the
+ * pages.
+ * <p>
+ * All the methods do nothing by default. They are called on the threads doing the work, several of them at the same
+ * time when the pages are decompressed in parallel or the row groups prefetched, so implementations must be
+ * thread-safe and fast. The pages are still decompressed lazily when a listener is set: the decompression of a page is
+ * timed when its bytes are first consumed and reported once, so the pages that are skipped are not decompressed.
+ */
+public interface ParquetReadMetrics {
+
+  /**
+   * The filters skipping rows, from the row groups to the records.
+   */
+  enum FilterLayer {
+    /** the row groups dropped by the statistics of their column chunks */
+    STATISTICS,
+    /** the row groups dropped by the dictionaries of their column chunks */
+    DICTIONARY,
+    /** the row groups dropped by the Bloom filters of their column chunks */
+    BLOOM_FILTER,
+    /** the rows of the pages dropped by the column indexes */
+    COLUMN_INDEX,
+    /** the records read but not returned by the record filter */
+    RECORD
+  }
+
+  /**
+   * Called when bytes are read from a file: the footer, the indexes, the Bloom filters or the pages.
+   *
+   * @param file the file
+   * @param bytesRequested the number of bytes needed
+   * @param bytesRead the number of bytes read, larger than the bytes needed if the gaps between them are read too
+   * @param ioCalls the number of I/O requests issued
+   */
+  default void bytesRead(String file, long bytesRequested, long bytesRead, int ioCalls) {
+  }
+
+  /**
+   * Called when a data or dictionary page is decompressed.
+   *
+   * @param file the file
+   * @param column the column of the page
+   * @param compressedSize the size of the page as stored
+   * @param uncompressedSize the size of the page decompressed
+   * @param decompressionNanos the time spent decompressing the page, 0 if it is not compressed
+   */
+  default void pageDecompressed(String file, ColumnDescriptor column, long compressedSize, long uncompressedSize,
+      long decompressionNanos) {
+  }
+
+  /**
+   * Called when a data or dictionary page is decrypted.
+   *
+   * @param file the file
+   * @param column the column of the page
+   * @param size the size of the encrypted page
+   * @param decryptionNanos the time spent decrypting the page
+   */
+  default void pageDecrypted(String file, ColumnDescriptor column, long size, long decryptionNanos) {
+  }
+
+  /**
+   * Called when the records of a row group have been read by a record reader.
+   *
+   * @param file the file
+   * @param recordCount the number of records returned
+   * @param decodeNanos the time spent decoding the values and assembling the records
+   */
+  default void recordsRead(String file, long recordCount, long decodeNanos) {
+  }
+
+  /**
+   * Called when rows are skipped by a filter.
+   *
+   * @param file the file
+   * @param layer the filter skipping the rows
+   * @param rowCount the number of rows skipped
+   */
+  default void rowsSkipped(String file, FilterLayer layer, long rowCount) {
+  }
+}
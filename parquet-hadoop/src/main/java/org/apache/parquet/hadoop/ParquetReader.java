@@ -33,6 +33,7 @@ import org.apache.hadoop.fs.Path;
 
 import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.Preconditions;
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.compression.CompressionCodecFactory;
 import org.apache.parquet.crypto.FileDecryptionProperties;
 import org.apache.parquet.filter.UnboundRecordFilter;
@@ -312,6 +313,71 @@ public class ParquetReader<T> implements Closeable {
       return this;
     }
 
+    public Builder<T> useVectoredIo(boolean useVectoredIo) {
+      optionsBuilder.useVectoredIo(useVectoredIo);
+      return this;
+    }
+
+    public Builder<T> useVectoredIo() {
+      optionsBuilder.useVectoredIo();
+      return this;
+    }
+
+    public Builder<T> withVectoredIoMergeGap(int vectoredIoMergeGap) {
+      optionsBuilder.withVectoredIoMergeGap(vectoredIoMergeGap);
+      return this;
+    }
+
+    public Builder<T> withPrefetchRowGroups(int prefetchRowGroups) {
+      optionsBuilder.withPrefetchRowGroups(prefetchRowGroups);
+      return this;
+    }
+
+    public Builder<T> withPrefetchMemoryBudget(long prefetchMemoryBudget) {
+      optionsBuilder.withPrefetchMemoryBudget(prefetchMemoryBudget);
+      return this;
+    }
+
+    public Builder<T> useParallelDecompression(boolean useParallelDecompression) {
+      optionsBuilder.useParallelDecompression(useParallelDecompression);
+      return this;
+    }
+
+    public Builder<T> useParallelDecompression() {
+      optionsBuilder.useParallelDecompression();
+      return this;
+    }
+
+    public Builder<T> withParallelDecompressionQueueSize(int parallelDecompressionQueueSize) {
+      optionsBuilder.withParallelDecompressionQueueSize(parallelDecompressionQueueSize);
+      return this;
+    }
+
+    public Builder<T> useStreamingPageReads(boolean useStreamingPageReads) {
+      optionsBuilder.useStreamingPageReads(useStreamingPageReads);
+      return this;
+    }
+
+    public Builder<T> useStreamingPageReads() {
+      optionsBuilder.useStreamingPageReads();
+      return this;
+    }
+
+    public Builder<T> withStreamingWindowSize(int streamingWindowSize) {
+      optionsBuilder.withStreamingWindowSize(streamingWindowSize);
+      return this;
+    }
+
+    public Builder<T> useRecordBufferRelease(boolean useRecordBufferRelease) {
+      optionsBuilder.useRecordBufferRelease(useRecordBufferRelease);
+      return this;
+    }
+
+    public Builder<T> useRecordBufferRelease() {
+      optionsBuilder.useRecordBufferRelease();
+      return this;
+    }
+
     public Builder<T> withFileRange(long start, long end) {
       optionsBuilder.withRange(start, end);
       return this;
@@ -321,6 +387,41 @@ public class ParquetReader<T> implements Closeable {
       optionsBuilder.withCodecFactory(codecFactory);
       return this;
     }
+
+    public Builder<T> withMetadataCache(ParquetMetadataCache metadataCache) {
+      optionsBuilder.withMetadataCache(metadataCache);
+      return this;
+    }
+
+    public Builder<T> withBloomFilterCache(LruBloomFilterCache bloomFilterCache) {
+      optionsBuilder.withBloomFilterCache(bloomFilterCache);
+      return this;
+    }
+
+    public Builder<T> withColumnIndexCache(LruColumnIndexCache columnIndexCache) {
+      optionsBuilder.withColumnIndexCache(columnIndexCache);
+      return this;
+    }
+
+    public Builder<T> withIoPlanner(IoPlanner ioPlanner) {
+      optionsBuilder.withIoPlanner(ioPlanner);
+      return this;
+    }
+
+    public Builder<T> withReadMetrics(ParquetReadMetrics readMetrics) {
+      optionsBuilder.withReadMetrics(readMetrics);
+      return this;
+    }
+
+    public Builder<T> withFooterReadSize(int footerReadSize) {
+      optionsBuilder.withFooterReadSize(footerReadSize);
+      return this;
+    }
+
+    public Builder<T> withAllocator(ByteBufferAllocator allocator) {
+      optionsBuilder.withAllocator(allocator);
+      return this;
+    }
     
     public Builder<T> withDecryption(FileDecryptionProperties fileDecryptionProperties) {
       optionsBuilder.withDecryption(fileDecryptionProperties);
@@ -25,6 +25,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetWriteMetrics;
 import org.apache.parquet.column.ParquetProperties.WriterVersion;
 import org.apache.parquet.crypto.FileEncryptionProperties;
 import org.apache.parquet.hadoop.api.WriteSupport;
@@ -589,6 +590,18 @@ public class ParquetWriter<T> implements Closeable {
       return self();
     }
 
+    /**
+     * Reports the encoding and the compression of the pages, the dictionary fallbacks, the Bloom filters and the row
+     * group flushes of the constructed writer to the given listener.
+     *
+     * @param writeMetrics the listener, or {@code null} to not report anything
+     * @return this builder for method chaining.
+     */
+    public SELF withWriteMetrics(ParquetWriteMetrics writeMetrics) {
+      encodingPropsBuilder.withWriteMetrics(writeMetrics);
+      return self();
+    }
+
     /**
      * Sets the NDV (number of distinct values) for the specified column.
      *
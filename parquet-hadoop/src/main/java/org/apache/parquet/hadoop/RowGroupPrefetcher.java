@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the row groups of a {@link ParquetFileReader} ahead of their consumption on a background thread so the I/O
+ * overlaps with the assembly of the records of the current row group.
+ * <p>
+ * At most one background read is in flight per file; the row groups are read in order by calling
+ * {@link ParquetFileReader#readNextFilteredRowGroup()} so the file reader must not be used by anyone else until this
+ * prefetcher is closed. Reading ahead stops when {@code maxRowGroups} row groups are waiting to be consumed or when
+ * the compressed size of the waiting row groups reaches {@code memoryBudget}, so the budget may be exceeded by at most
+ * one row group.
+ * <p>
+ * The buffers of a returned row group are released when the next one is returned or when this prefetcher is closed,
+ * unless the consumer keeps them; the prefetched row groups not consumed yet are always released on close.
+ */
+class RowGroupPrefetcher implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(RowGroupPrefetcher.class);
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "parquet-row-group-prefetch-" + THREAD_COUNT.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final ParquetFileReader reader;
+  private final int maxRowGroups;
+  private final long memoryBudget;
+  private final boolean releaseConsumed;
+
+  // all the fields below are guarded by this
+  private final Queue<PageReadStore> prefetched = new ArrayDeque<>();
+  // the row group returned last
+  private PageReadStore current = null;
+  private long prefetchedBytes = 0;
+  private boolean reading = false;
+  // the read in flight, and the thread running it once it has started
+  private Future<?> readTask = null;
+  private Thread readThread = null;
+  private boolean exhausted = false;
+  private boolean closed = false;
+  private Throwable failure = null;
+
+  /**
+   * @param reader the file reader to read the row groups from
+   * @param maxRowGroups the maximum number of row groups waiting to be consumed
+   * @param memoryBudget the compressed size of the waiting row groups above which no more row groups are read
+   * @param releaseConsumed whether a returned row group is released when the next one is returned, or left to the
+   *        garbage collector
+   */
+  RowGroupPrefetcher(ParquetFileReader reader, int maxRowGroups, long memoryBudget, boolean releaseConsumed) {
+    if (maxRowGroups <= 0) {
+      throw new IllegalArgumentException("Invalid number of row groups to prefetch: " + maxRowGroups);
+    }
+    this.reader = reader;
+    this.maxRowGroups = maxRowGroups;
+    this.memoryBudget = memoryBudget;
+    this.releaseConsumed = releaseConsumed;
+    // the row groups waiting to be consumed must not be released when the next one is read
+    reader.setReleaseRowGroupsOnRead(false);
+  }
+
+  /**
+   * Returns the next row group, waiting for it to be read if it has not been prefetched yet.
+   *
+   * @return the next row group as returned by {@link ParquetFileReader#readNextFilteredRowGroup()} or {@code null} if
+   *         there are no more row groups
+   * @throws IOException if reading the row group failed
+   */
+  synchronized PageReadStore readNextRowGroup() throws IOException {
+    releaseCurrent();
+    while (true) {
+      if (closed) {
+        throw new IOException("The row group prefetcher of " + reader.getFile() + " is closed");
+      }
+      PageReadStore pages = prefetched.poll();
+      if (pages != null) {
+        prefetchedBytes -= sizeOf(pages);
+        startReading();
+        current = pages;
+        return pages;
+      }
+      if (failure != null) {
+        if (failure instanceof IOException) {
+          throw new IOException("Failed to read the next row group of " + reader.getFile(), failure);
+        } else if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        }
+        throw (Error) failure;
+      }
+      if (exhausted) {
+        return null;
+      }
+      startReading();
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the next row group of " + reader.getFile());
+      }
+    }
+  }
+
+  /**
+   * Stops reading ahead and releases the current and the prefetched row groups. Waits for the read in flight, if any,
+   * to complete so the file reader can be closed afterwards. If the calling thread is interrupted, the read in flight
+   * is cancelled but still waited for, and the interrupt status is restored on return.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    releaseCurrent();
+    for (PageReadStore pages : prefetched) {
+      pages.close();
+    }
+    prefetched.clear();
+    prefetchedBytes = 0;
+    boolean interrupted = false;
+    while (reading) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+        LOG.debug("Interrupted while waiting for the row group read in flight of {}", reader.getFile());
+        if (readTask.cancel(true) && readThread == null) {
+          // the read has not started and will not run, or will stop at once as this prefetcher is closed
+          reading = false;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void releaseCurrent() {
+    if (current != null && releaseConsumed) {
+      current.close();
+    }
+    current = null;
+  }
+
+  private boolean shouldRead() {
+    return !closed && !exhausted && failure == null
+        && prefetched.size() < maxRowGroups && prefetchedBytes < memoryBudget;
+  }
+
+  private void startReading() {
+    if (!reading && shouldRead()) {
+      reading = true;
+      readThread = null;
+      readTask = EXECUTOR.submit(this::readAhead);
+    }
+  }
+
+  private void readAhead() {
+    synchronized (this) {
+      if (closed) {
+        reading = false;
+        notifyAll();
+        return;
+      }
+      readThread = Thread.currentThread();
+    }
+    while (true) {
+      PageReadStore pages;
+      try {
+        pages = reader.readNextFilteredRowGroup();
+      } catch (Throwable t) {
+        synchronized (this) {
+          failure = t;
+          reading = false;
+          readThread = null;
+          notifyAll();
+        }
+        return;
+      }
+      synchronized (this) {
+        if (pages == null) {
+          exhausted = true;
+        } else if (!closed) {
+          prefetched.add(pages);
+          prefetchedBytes += sizeOf(pages);
+        } else {
+          pages.close();
+        }
+        notifyAll();
+        if (!shouldRead()) {
+          reading = false;
+          readThread = null;
+          return;
+        }
+      }
+    }
+  }
+
+  private static long sizeOf(PageReadStore pages) {
+    return pages instanceof ColumnChunkPageReadStore ? ((ColumnChunkPageReadStore) pages).getCompressedSize() : 0;
+  }
+}
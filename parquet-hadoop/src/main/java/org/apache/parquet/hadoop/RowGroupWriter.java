@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.IOException;
+
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetWriteMetrics;
+import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the row groups of a file: the pages of the columns of the current row group are buffered and the row group
+ * is flushed to the file when its buffered size reaches the size of the row groups. As computing the buffered size
+ * is relatively expensive, it is only checked after a number of records estimated from the size of the previous ones.
+ * <p>
+ * The values of the records are written to the column writers of the current row group, given to the
+ * {@link RowGroupListener} when the row group is started, then the records are ended with {@link #endRecords(long)}.
+ * Used by the writers of records and by the writers of columnar batches.
+ */
+public class RowGroupWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(RowGroupWriter.class);
+
+  /**
+   * Notified of the row groups started and flushed by a {@link RowGroupWriter}.
+   */
+  public interface RowGroupListener {
+
+    /**
+     * @param columnStore the column writers of the started row group
+     */
+    void rowGroupStarted(ColumnWriteStore columnStore);
+
+    /**
+     * Called before the current row group is flushed, to write the values still buffered by the caller.
+     */
+    default void rowGroupEnding() {
+    }
+  }
+
+  private final ParquetFileWriter parquetFileWriter;
+  private final MessageType schema;
+  private final BytesCompressor compressor;
+  private final ParquetProperties props;
+  private final RowGroupListener listener;
+  private long rowGroupSizeThreshold;
+  private long nextRowGroupSize;
+
+  private long recordCount = 0;
+  private long recordCountForNextMemCheck;
+  private long lastRowGroupEndPos = 0;
+  private int rowGroupOrdinal = 0;
+
+  private ColumnWriteStore columnStore;
+  private ColumnChunkPageWriteStore pageStore;
+
+  /**
+   * Starts the first row group.
+   *
+   * @param parquetFileWriter the file to write to, started
+   * @param schema the schema of the records
+   * @param compressor the codec used to compress
+   * @param props the properties of the pages
+   * @param rowGroupSize the size of a row group in the file (this will be approximate)
+   * @param listener the listener of the row groups
+   */
+  public RowGroupWriter(
+      ParquetFileWriter parquetFileWriter,
+      MessageType schema,
+      BytesCompressor compressor,
+      ParquetProperties props,
+      long rowGroupSize,
+      RowGroupListener listener) {
+    this.parquetFileWriter = parquetFileWriter;
+    this.schema = schema;
+    this.compressor = compressor;
+    this.props = props;
+    this.listener = listener;
+    this.rowGroupSizeThreshold = rowGroupSize;
+    this.nextRowGroupSize = rowGroupSizeThreshold;
+    initStore();
+    recordCountForNextMemCheck = props.getMinRowCountForPageSizeCheck();
+  }
+
+  private void initStore() {
+    pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator(),
+        props.getColumnIndexTruncateLength(), props.getPageWriteChecksumEnabled(), parquetFileWriter.getEncryptor(),
+        rowGroupOrdinal, props.getWriteMetrics());
+    columnStore = props.newColumnWriteStore(schema, pageStore, pageStore);
+    listener.rowGroupStarted(columnStore);
+  }
+
+  /**
+   * @return the number of records that can be written before the size of the row group is checked, at least 1
+   */
+  public long getRecordCountUntilSizeCheck() {
+    return max(1, recordCountForNextMemCheck - recordCount);
+  }
+
+  /**
+   * Ends records written to the column writers of the current row group, then flushes the row group and starts the
+   * next one if its size is reached.
+   *
+   * @param count the number of records written
+   * @throws IOException if the row group cannot be written
+   */
+  public void endRecords(long count) throws IOException {
+    recordCount += count;
+    checkBlockSizeReached();
+  }
+
+  /**
+   * @return the total size of data written to the file and buffered in memory
+   */
+  public long getDataSize() {
+    return lastRowGroupEndPos + (columnStore == null ? 0 : columnStore.getBufferedSize());
+  }
+
+  private void checkBlockSizeReached() throws IOException {
+    if (recordCount >= recordCountForNextMemCheck) { // checking the memory size is relatively expensive, so let's not do it for every record.
+      long memSize = columnStore.getBufferedSize();
+      long recordSize = memSize / recordCount;
+      // flush the row group if it is within ~2 records of the limit
+      // it is much better to be slightly under size than to be over at all
+      if (memSize > (nextRowGroupSize - 2 * recordSize)) {
+        LOG.debug("mem size {} > {}: flushing {} records to disk.", memSize, nextRowGroupSize, recordCount);
+        flushRowGroupToStore();
+        initStore();
+        recordCountForNextMemCheck = min(max(props.getMinRowCountForPageSizeCheck(), recordCount / 2),
+          props.getMaxRowCountForPageSizeCheck());
+        this.lastRowGroupEndPos = parquetFileWriter.getPos();
+      } else {
+        recordCountForNextMemCheck = min(
+            max(props.getMinRowCountForPageSizeCheck(),
+              (recordCount + (long)(nextRowGroupSize / ((float)recordSize))) / 2), // will check halfway
+            recordCount + props.getMaxRowCountForPageSizeCheck() // will not look more than max records ahead
+            );
+        LOG.debug("Checked mem at {} will check again at: {}", recordCount, recordCountForNextMemCheck);
+      }
+    }
+  }
+
+  /**
+   * Flushes the last row group. No record can be written afterwards.
+   *
+   * @throws IOException if the row group cannot be written
+   */
+  public void close() throws IOException {
+    if (columnStore != null) {
+      flushRowGroupToStore();
+    }
+  }
+
+  private void flushRowGroupToStore()
+      throws IOException {
+    listener.rowGroupEnding();
+    LOG.debug("Flushing mem columnStore to file. allocated memory: {}", columnStore.getAllocatedSize());
+    if (columnStore.getAllocatedSize() > (3 * rowGroupSizeThreshold)) {
+      LOG.warn("Too much memory used: {}", columnStore.memUsageString());
+    }
+
+    if (recordCount > 0) {
+      ParquetWriteMetrics metrics = props.getWriteMetrics();
+      long start = metrics == null ? 0 : System.nanoTime();
+      long startPos = parquetFileWriter.getPos();
+      rowGroupOrdinal++;
+      parquetFileWriter.startBlock(recordCount);
+      columnStore.flush();
+      pageStore.flushToFileWriter(parquetFileWriter);
+      long rowCount = recordCount;
+      recordCount = 0;
+      long endBlockStart = metrics == null ? 0 : System.nanoTime();
+      parquetFileWriter.endBlock();
+      if (metrics != null) {
+        long end = System.nanoTime();
+        metrics.rowGroupFlushed(rowCount, parquetFileWriter.getPos() - startPos, end - start, end - endBlockStart);
+      }
+      this.nextRowGroupSize = Math.min(
+          parquetFileWriter.getNextRowGroupSize(),
+          rowGroupSizeThreshold);
+    }
+
+    columnStore = null;
+    pageStore = null;
+  }
+
+  long getRowGroupSizeThreshold() {
+    return rowGroupSizeThreshold;
+  }
+
+  void setRowGroupSizeThreshold(long rowGroupSizeThreshold) {
+    this.rowGroupSizeThreshold = rowGroupSizeThreshold;
+  }
+}
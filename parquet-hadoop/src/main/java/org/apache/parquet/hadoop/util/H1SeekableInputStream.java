@@ -20,8 +20,12 @@
 package org.apache.parquet.hadoop.util;
 
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.ParquetFileRange;
+
 import java.io.IOException;
+import java.util.List;
 
 /**
  * SeekableInputStream implementation that implements read(ByteBuffer) for
@@ -56,4 +60,14 @@ class H1SeekableInputStream extends DelegatingSeekableInputStream {
     stream.readFully(bytes, start, len);
   }
 
+  @Override
+  public boolean readVectoredAvailable() {
+    return true;
+  }
+
+  @Override
+  public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) {
+    HadoopVectoredReads.readVectored(stream, ranges, allocator);
+  }
+
 }
@@ -20,11 +20,14 @@
 package org.apache.parquet.hadoop.util;
 
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.ParquetFileRange;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * SeekableInputStream implementation for FSDataInputStream that implements
@@ -76,6 +79,16 @@ class H2SeekableInputStream extends DelegatingSeekableInputStream {
     readFully(reader, buf);
   }
 
+  @Override
+  public boolean readVectoredAvailable() {
+    return true;
+  }
+
+  @Override
+  public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) {
+    HadoopVectoredReads.readVectored(stream, ranges, allocator);
+  }
+
   private class H2Reader implements Reader {
     @Override
     public int read(ByteBuffer buf) throws IOException {
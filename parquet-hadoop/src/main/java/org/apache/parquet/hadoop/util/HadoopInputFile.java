@@ -59,6 +59,10 @@ public class HadoopInputFile implements InputFile {
     return stat.getPath();
   }
 
+  public FileStatus getFileStatus() {
+    return stat;
+  }
+
   @Override
   public long getLength() {
     return stat.getLen();
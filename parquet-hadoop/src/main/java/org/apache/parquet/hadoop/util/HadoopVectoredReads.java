@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.io.ParquetFileRange;
+
+/**
+ * Vectored reads implemented with the positioned reads of Hadoop streams. The ranges are read concurrently by a
+ * shared pool of daemon threads; positioned reads do not move the position of the stream and are thread-safe by
+ * the Hadoop file system contract.
+ */
+class HadoopVectoredReads {
+
+  private static final int COPY_BUFFER_SIZE = 8192;
+
+  // the reads are I/O bound so the pool is larger than the number of cores
+  private static final int THREAD_COUNT = Math.max(16, 2 * Runtime.getRuntime().availableProcessors());
+
+  private static final ExecutorService EXECUTOR = createExecutor();
+
+  private HadoopVectoredReads() {
+  }
+
+  private static ExecutorService createExecutor() {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "parquet-vectored-read-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Issues the reads of all the ranges and returns without waiting for them to complete. The buffers are allocated
+   * on the calling thread so the allocator does not need to be thread-safe.
+   *
+   * @param stream the stream to read from
+   * @param ranges the ranges to read
+   * @param allocator the allocator of the buffers
+   */
+  static void readVectored(PositionedReadable stream, List<ParquetFileRange> ranges, ByteBufferAllocator allocator) {
+    for (ParquetFileRange range : ranges) {
+      ByteBuffer buffer = allocator.allocate(range.getLength());
+      range.setDataReadFuture(CompletableFuture.supplyAsync(() -> {
+        try {
+          readFully(stream, range.getOffset(), buffer);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to read " + range, e);
+        }
+        return buffer;
+      }, EXECUTOR));
+    }
+  }
+
+  private static void readFully(PositionedReadable stream, long position, ByteBuffer buffer) throws IOException {
+    if (buffer.hasArray()) {
+      stream.readFully(position, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      buffer.position(buffer.limit());
+    } else {
+      byte[] temp = new byte[Math.min(COPY_BUFFER_SIZE, buffer.remaining())];
+      long pos = position;
+      while (buffer.hasRemaining()) {
+        int len = Math.min(temp.length, buffer.remaining());
+        stream.readFully(pos, temp, 0, len);
+        buffer.put(temp, 0, len);
+        pos += len;
+      }
+    }
+    buffer.flip();
+  }
+}
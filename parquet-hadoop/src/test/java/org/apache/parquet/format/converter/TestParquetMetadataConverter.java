@@ -19,6 +19,14 @@
 package org.apache.parquet.format.converter;
 
 import static java.util.Collections.emptyList;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.filterRowGroups;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.offsets;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.projection;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.range;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.withFilterColumns;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.filterFileMetaDataByStart;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.TimeUnit.MICROS;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.TimeUnit.MILLIS;
@@ -87,6 +95,7 @@ import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroup;
+import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.format.DecimalType;
 import org.apache.parquet.format.LogicalType;
 import org.apache.parquet.format.MapType;
@@ -1241,6 +1250,122 @@ public class TestParquetMetadataConverter {
     assertEquals(ColumnOrder.undefined(), columns.get(2).getPrimitiveType().columnOrder());
   }
 
+  @Test
+  public void testProjectionFilter() throws IOException {
+    MessageType schema = parseMessageType("message test {"
+        + "  required int32 a;"
+        + "  required int32 b;"
+        + "  optional group g {"
+        + "    required binary c;"
+        + "    required int64 d;"
+        + "  }"
+        + "}");
+    List<BlockMetaData> blocks = new ArrayList<>();
+    long offset = 4;
+    for (int i = 0; i < 2; ++i) {
+      BlockMetaData block = new BlockMetaData();
+      block.setRowCount(10);
+      for (ColumnDescriptor column : schema.getColumns()) {
+        block.addColumn(ColumnChunkMetaData.get(ColumnPath.get(column.getPath()), column.getPrimitiveType(),
+            CompressionCodecName.UNCOMPRESSED, null, new HashSet<Encoding>(),
+            Statistics.createStats(column.getPrimitiveType()), offset, 0, 10, 100, 100));
+        offset += 100;
+      }
+      blocks.add(block);
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeFileMetaData(converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), null), blocks)), out);
+    byte[] footer = out.toByteArray();
+
+    MessageType requestedSchema = parseMessageType("message test {"
+        + "  optional group g {"
+        + "    required int64 d;"
+        + "  }"
+        + "}");
+    ParquetMetadata projected = converter.readParquetMetadata(new ByteArrayInputStream(footer),
+        projection(NO_FILTER, requestedSchema));
+    assertEquals(schema, projected.getFileMetaData().getSchema());
+    assertEquals(2, projected.getBlocks().size());
+    for (int i = 0; i < 2; ++i) {
+      BlockMetaData block = projected.getBlocks().get(i);
+      // the first column is always decoded
+      assertEquals(Arrays.asList(ColumnPath.get("a"), ColumnPath.get("g", "d")), paths(block));
+      assertEquals(blocks.get(i).getStartingPos(), block.getStartingPos());
+      assertEquals(blocks.get(i).getColumns().get(3).getStartingPos(), block.getColumns().get(1).getStartingPos());
+    }
+
+    // the row groups are selected from the offsets of their first column and their total size
+    projected = converter.readParquetMetadata(new ByteArrayInputStream(footer),
+        projection(range(400, 800), requestedSchema));
+    assertEquals(1, projected.getBlocks().size());
+    assertEquals(404, projected.getBlocks().get(0).getStartingPos());
+
+    // the filtered columns are decoded as well
+    ParquetMetadataConverter.MetadataFilter filter = withFilterColumns(projection(NO_FILTER, requestedSchema),
+        FilterCompat.get(eq(intColumn("b"), 1)));
+    projected = converter.readParquetMetadata(new ByteArrayInputStream(footer), filter);
+    assertEquals(Arrays.asList(ColumnPath.get("a"), ColumnPath.get("b"), ColumnPath.get("g", "d")),
+        paths(projected.getBlocks().get(0)));
+    assertSame(NO_FILTER, withFilterColumns(NO_FILTER, FilterCompat.get(eq(intColumn("b"), 1))));
+  }
+
+  @Test
+  public void testFilterRowGroupsOfUnfilteredFooter() throws IOException {
+    MessageType schema = parseMessageType("message test { required int32 a; }");
+    ColumnDescriptor column = schema.getColumns().get(0);
+    List<BlockMetaData> blocks = new ArrayList<>();
+    long offset = 4;
+    for (int i = 0; i < 4; ++i) {
+      BlockMetaData block = new BlockMetaData();
+      block.setRowCount(10);
+      block.addColumn(ColumnChunkMetaData.get(ColumnPath.get(column.getPath()), column.getPrimitiveType(),
+          CompressionCodecName.UNCOMPRESSED, null, new HashSet<Encoding>(),
+          Statistics.createStats(column.getPrimitiveType()), offset, 0, 10, 100, 100));
+      offset += 200;
+      blocks.add(block);
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    FileMetaData fileMetaData = converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), null), blocks));
+    for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
+      // the total size of a row group may exceed the size of its column chunks, e.g. with padding
+      rowGroup.setTotal_compressed_size(200);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeFileMetaData(fileMetaData, out);
+    byte[] footer = out.toByteArray();
+
+    // the row groups of a complete footer are selected as the ones of the footers read with the filter
+    ParquetMetadata unfiltered = converter.readParquetMetadata(new ByteArrayInputStream(footer), NO_FILTER);
+    for (long start = 0; start < 800; start += 20) {
+      ParquetMetadataConverter.MetadataFilter filter = range(start, start + 60);
+      assertEquals(startingPositions(converter.readParquetMetadata(new ByteArrayInputStream(footer), filter)),
+          startingPositions(filterRowGroups(unfiltered, filter)));
+    }
+    ParquetMetadataConverter.MetadataFilter filter = offsets(4, 404, 500);
+    assertEquals(Arrays.asList(4L, 404L), startingPositions(filterRowGroups(unfiltered, filter)));
+    assertEquals(startingPositions(converter.readParquetMetadata(new ByteArrayInputStream(footer), filter)),
+        startingPositions(filterRowGroups(unfiltered, filter)));
+  }
+
+  private static List<Long> startingPositions(ParquetMetadata metadata) {
+    List<Long> positions = new ArrayList<>();
+    for (BlockMetaData block : metadata.getBlocks()) {
+      positions.add(block.getStartingPos());
+    }
+    return positions;
+  }
+
+  private static List<ColumnPath> paths(BlockMetaData block) {
+    List<ColumnPath> paths = new ArrayList<>();
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      paths.add(column.getPath());
+    }
+    return paths;
+  }
+
   @Test
   public void testOffsetIndexConversion() {
     OffsetIndexBuilder builder = OffsetIndexBuilder.getBuilder();
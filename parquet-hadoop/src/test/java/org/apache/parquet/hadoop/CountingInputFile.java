@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * Counts the seeks of its streams, each of them starting a read.
+ */
+class CountingInputFile implements InputFile {
+  private final InputFile file;
+  int seeks = 0;
+
+  CountingInputFile(InputFile file) {
+    this.file = file;
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    return file.getLength();
+  }
+
+  @Override
+  public SeekableInputStream newStream() throws IOException {
+    SeekableInputStream stream = file.newStream();
+    return new SeekableInputStream() {
+      @Override
+      public long getPos() throws IOException {
+        return stream.getPos();
+      }
+
+      @Override
+      public void seek(long newPos) throws IOException {
+        seeks += 1;
+        stream.seek(newPos);
+      }
+
+      @Override
+      public int read() throws IOException {
+        return stream.read();
+      }
+
+      @Override
+      public void readFully(byte[] bytes) throws IOException {
+        stream.readFully(bytes);
+      }
+
+      @Override
+      public void readFully(byte[] bytes, int start, int len) throws IOException {
+        stream.readFully(bytes, start, len);
+      }
+
+      @Override
+      public int read(ByteBuffer buf) throws IOException {
+        return stream.read(buf);
+      }
+
+      @Override
+      public void readFully(ByteBuffer buf) throws IOException {
+        stream.readFully(buf);
+      }
+
+      @Override
+      public void close() throws IOException {
+        stream.close();
+      }
+    };
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterImpl;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestBloomFilterReads {
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  private static final List<RowGroupFilter.FilterLevel> BLOOM_FILTER_LEVEL =
+      Collections.singletonList(RowGroupFilter.FilterLevel.BLOOMFILTER);
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(1024)
+        .withBloomFilterEnabled(true)
+        .withBloomFilterNDV("id", 5000)
+        .withBloomFilterNDV("name", 5000)
+        .build()) {
+      for (int i = 0; i < 20000; ++i) {
+        writer.write(factory.newGroup().append("id", (long) i).append("name", "name_" + i));
+      }
+    }
+  }
+
+  @Test
+  public void testBloomFiltersReadAtOnce() throws IOException {
+    FilterPredicate missing = or(eq(longColumn("id"), -1L), eq(binaryColumn("name"), Binary.fromString("none")));
+    FilterPredicate present = or(eq(longColumn("id"), 12345L), eq(binaryColumn("name"), Binary.fromString("none")));
+    for (FilterPredicate predicate : new FilterPredicate[] { missing, present }) {
+      CountingInputFile file = new CountingInputFile(new LocalInputFile(path));
+      try (ParquetFileReader reader = new ParquetFileReader(file, ParquetReadOptions.builder().build())) {
+        List<BlockMetaData> blocks = reader.getRowGroups();
+        assertTrue(blocks.size() > 1);
+        file.seeks = 0;
+        List<BlockMetaData> filtered =
+            RowGroupFilter.filterRowGroups(BLOOM_FILTER_LEVEL, FilterCompat.get(predicate), blocks, reader);
+        // all the Bloom filters are read with one seek
+        assertEquals(1, file.seeks);
+        assertEquals(filterOneByOne(predicate), filtered.size());
+      }
+    }
+  }
+
+  private int filterOneByOne(FilterPredicate predicate) throws IOException {
+    int count = 0;
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path),
+        ParquetReadOptions.builder().build())) {
+      for (BlockMetaData block : reader.getRowGroups()) {
+        if (!BloomFilterImpl.canDrop(predicate, block.getColumns(), reader.getBloomFilterDataReader(block))) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testBloomFiltersCached() throws IOException {
+    LruBloomFilterCache cache = new LruBloomFilterCache(16 * 1024 * 1024);
+    ParquetReadOptions options = ParquetReadOptions.builder().withBloomFilterCache(cache).build();
+    FilterCompat.Filter filter = FilterCompat.get(eq(longColumn("id"), -1L));
+
+    List<BloomFilter> bloomFilters = new ArrayList<>();
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      RowGroupFilter.filterRowGroups(BLOOM_FILTER_LEVEL, filter, reader.getRowGroups(), reader);
+      assertEquals(reader.getRowGroups().size(), cache.getSize());
+      for (BlockMetaData block : reader.getRowGroups()) {
+        BloomFilter bloomFilter = reader.readBloomFilter(block.getColumns().get(0));
+        assertNotNull(bloomFilter);
+        bloomFilters.add(bloomFilter);
+      }
+    }
+
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      long hits = cache.getHitCount();
+      RowGroupFilter.filterRowGroups(BLOOM_FILTER_LEVEL, filter, reader.getRowGroups(), reader);
+      assertEquals(hits + bloomFilters.size(), cache.getHitCount());
+      List<BlockMetaData> blocks = reader.getRowGroups();
+      for (int i = 0; i < blocks.size(); ++i) {
+        ColumnChunkMetaData column = blocks.get(i).getColumns().get(0);
+        assertSame(bloomFilters.get(i), reader.readBloomFilter(column));
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.compression.CompressionCodecFactory.BytesInputDecompressor;
+import org.apache.parquet.hadoop.ColumnChunkPageReadStore.ColumnChunkPageReader;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestColumnChunkPageReader {
+
+  private static final int PAGE_COUNT = 10;
+
+  private ExecutorService executor;
+
+  @Before
+  public void createExecutor() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDecompressorReleasedOnceAllPagesAreRead() {
+    CountingDecompressor decompressor = new CountingDecompressor(-1);
+    ColumnChunkPageReader reader = newPageReader(decompressor);
+    reader.decompressInParallel(executor, 2);
+    for (int i = 0; i < PAGE_COUNT; ++i) {
+      assertEquals(i + 1, reader.readPage().getValueCount());
+    }
+    assertNull(reader.readPage());
+    assertEquals(1, decompressor.released.get());
+    reader.close();
+    assertEquals(1, decompressor.released.get());
+  }
+
+  @Test
+  public void testDecompressorReleasedWhenClosedEarly() {
+    CountingDecompressor decompressor = new CountingDecompressor(-1);
+    ColumnChunkPageReader reader = newPageReader(decompressor);
+    reader.decompressInParallel(executor, 1);
+    reader.readPage();
+    reader.close();
+    assertEquals(1, decompressor.released.get());
+    try {
+      reader.readPage();
+      fail("The pages cannot be read once the page reader is closed");
+    } catch (ParquetDecodingException e) {
+      // expected
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testErrorWhileDecompressingDoesNotBlockTheReader() {
+    // e.g. an OutOfMemoryError in a native codec
+    CountingDecompressor decompressor = new CountingDecompressor(3);
+    ColumnChunkPageReader reader = newPageReader(decompressor);
+    reader.decompressInParallel(executor, 2);
+    int read = 0;
+    try {
+      while (reader.readPage() != null) {
+        ++read;
+      }
+      fail("The error of the decompressor should be thrown");
+    } catch (ParquetDecodingException e) {
+      assertTrue(e.getCause() instanceof OutOfMemoryError);
+    }
+    assertEquals(3, read);
+    reader.close();
+    assertEquals(1, decompressor.released.get());
+  }
+
+  private static ColumnChunkPageReader newPageReader(BytesInputDecompressor decompressor) {
+    List<DataPage> pages = new ArrayList<>();
+    for (int i = 0; i < PAGE_COUNT; ++i) {
+      byte[] bytes = new byte[] { (byte) i };
+      pages.add(new DataPageV1(BytesInput.from(bytes), i + 1, bytes.length, null, Encoding.RLE, Encoding.RLE,
+          Encoding.PLAIN));
+    }
+    return new ColumnChunkPageReader(decompressor, pages, null, null, PAGE_COUNT, null, null, -1, -1);
+  }
+
+  private static class CountingDecompressor implements BytesInputDecompressor {
+    private final int failingPage;
+    private final AtomicInteger decompressed = new AtomicInteger();
+    private final AtomicInteger released = new AtomicInteger();
+
+    private CountingDecompressor(int failingPage) {
+      this.failingPage = failingPage;
+    }
+
+    @Override
+    public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+      if (decompressed.getAndIncrement() == failingPage) {
+        throw new OutOfMemoryError("Cannot allocate the decompression buffer");
+      }
+      return bytes;
+    }
+
+    @Override
+    public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void release() {
+      released.incrementAndGet();
+    }
+  }
+}
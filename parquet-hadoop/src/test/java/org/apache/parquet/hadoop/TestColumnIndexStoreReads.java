@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestColumnIndexStoreReads {
+
+  private static final int COLUMNS = 8;
+  private static final MessageType SCHEMA;
+
+  static {
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (int i = 0; i < COLUMNS; ++i) {
+      builder.required(INT64).named("c" + i);
+    }
+    SCHEMA = builder.named("msg");
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(1024)
+        .build()) {
+      for (int i = 0; i < 20000; ++i) {
+        Group group = factory.newGroup();
+        for (int c = 0; c < COLUMNS; ++c) {
+          group.append("c" + c, (long) i * c);
+        }
+        writer.write(group);
+      }
+    }
+  }
+
+  @Test
+  public void testIndexesReadAtOnce() throws IOException {
+    CountingInputFile file = new CountingInputFile(new LocalInputFile(path));
+    ParquetReadOptions options = ParquetReadOptions.builder()
+        .withRecordFilter(FilterCompat.get(gt(longColumn("c1"), 100L)))
+        .build();
+    ColumnPath filterColumn = ColumnPath.get("c1");
+    try (ParquetFileReader reader = new ParquetFileReader(file, options)) {
+      for (int i = 0; i < reader.getRowGroups().size(); ++i) {
+        BlockMetaData block = reader.getRowGroups().get(i);
+        int seeks = file.seeks;
+        ColumnIndexStore store = reader.getColumnIndexStore(i);
+        // the offset indexes of the projection and the column index of the filter column are read at once
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          assertNotNull(store.getOffsetIndex(column.getPath()));
+        }
+        assertNotNull(store.getColumnIndex(filterColumn));
+        assertEquals("Number of reads of the indexes", seeks + 1, file.seeks);
+
+        // the other column indexes are read on demand
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          assertNotNull(store.getColumnIndex(column.getPath()));
+        }
+        assertEquals("Number of reads of the indexes", seeks + COLUMNS, file.seeks);
+
+        // the same indexes as read one by one
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          assertIndexEquals(reader.readColumnIndex(column), store.getColumnIndex(column.getPath()));
+          assertIndexEquals(reader.readOffsetIndex(column), store.getOffsetIndex(column.getPath()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnfilteredColumnIndexesNotRead() throws IOException {
+    CountingInputFile file = new CountingInputFile(new LocalInputFile(path));
+    try (ParquetFileReader reader = new ParquetFileReader(file, ParquetReadOptions.builder().build())) {
+      BlockMetaData block = reader.getRowGroups().get(0);
+      int seeks = file.seeks;
+      ColumnIndexStore store = reader.getColumnIndexStore(0);
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        assertNotNull(store.getOffsetIndex(column.getPath()));
+      }
+      assertEquals("Number of reads of the offset indexes", seeks + 1, file.seeks);
+      assertNotNull(store.getColumnIndex(block.getColumns().get(3).getPath()));
+      assertEquals("Number of reads of the indexes", seeks + 2, file.seeks);
+    }
+  }
+
+  @Test
+  public void testIndexesCached() throws IOException {
+    LruColumnIndexCache cache = new LruColumnIndexCache(16 * 1024 * 1024);
+    ParquetReadOptions options = ParquetReadOptions.builder()
+        .withRecordFilter(FilterCompat.get(gt(longColumn("c1"), 100L)))
+        .withColumnIndexCache(cache)
+        .build();
+    ColumnPath filterColumn = ColumnPath.get("c1");
+    ColumnIndex columnIndex;
+    OffsetIndex[] offsetIndexes = new OffsetIndex[COLUMNS];
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      BlockMetaData block = reader.getRowGroups().get(0);
+      ColumnIndexStore store = reader.getColumnIndexStore(0);
+      for (int c = 0; c < COLUMNS; ++c) {
+        offsetIndexes[c] = store.getOffsetIndex(block.getColumns().get(c).getPath());
+      }
+      columnIndex = store.getColumnIndex(filterColumn);
+      assertEquals(0, cache.getHitCount());
+      assertEquals(COLUMNS + 1, cache.getSize());
+    }
+
+    // the indexes are not read again by another reader of the same file
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      BlockMetaData block = reader.getRowGroups().get(0);
+      ColumnIndexStore store = reader.getColumnIndexStore(0);
+      for (int c = 0; c < COLUMNS; ++c) {
+        assertSame(offsetIndexes[c], store.getOffsetIndex(block.getColumns().get(c).getPath()));
+      }
+      assertSame(columnIndex, store.getColumnIndex(filterColumn));
+      assertEquals(COLUMNS + 1, cache.getHitCount());
+      assertEquals(COLUMNS + 1, cache.getMissCount());
+    }
+  }
+
+  @Test
+  public void testIndexesEvicted() throws IOException {
+    long maxSize = 8 * 1024;
+    LruColumnIndexCache cache = new LruColumnIndexCache(maxSize);
+    ParquetReadOptions options = ParquetReadOptions.builder().withColumnIndexCache(cache).build();
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      for (int i = 0; i < reader.getRowGroups().size(); ++i) {
+        BlockMetaData block = reader.getRowGroups().get(i);
+        ColumnIndexStore store = reader.getColumnIndexStore(i);
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          assertNotNull(store.getOffsetIndex(column.getPath()));
+          assertNotNull(store.getColumnIndex(column.getPath()));
+        }
+      }
+    }
+    assertTrue("Some indexes should be evicted", cache.getEvictionCount() > 0);
+    assertTrue("The cache should be within its maximum size", cache.getEstimatedBytes() <= maxSize);
+
+    // the least recently used indexes, the ones of the first row group, are read again
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      BlockMetaData block = reader.getRowGroups().get(0);
+      long hits = cache.getHitCount();
+      long misses = cache.getMissCount();
+      ColumnIndexStore store = reader.getColumnIndexStore(0);
+      for (ColumnChunkMetaData column : block.getColumns()) {
+        assertNotNull(store.getOffsetIndex(column.getPath()));
+      }
+      assertEquals(hits, cache.getHitCount());
+      assertEquals(misses + COLUMNS, cache.getMissCount());
+    }
+  }
+
+  private static void assertIndexEquals(ColumnIndex expected, ColumnIndex actual) {
+    assertEquals(expected.getBoundaryOrder(), actual.getBoundaryOrder());
+    assertEquals(expected.getNullCounts(), actual.getNullCounts());
+    assertEquals(expected.getNullPages(), actual.getNullPages());
+    assertEquals(expected.getMinValues(), actual.getMinValues());
+    assertEquals(expected.getMaxValues(), actual.getMaxValues());
+  }
+
+  private static void assertIndexEquals(OffsetIndex expected, OffsetIndex actual) {
+    assertEquals(expected.getPageCount(), actual.getPageCount());
+    for (int i = 0; i < expected.getPageCount(); ++i) {
+      assertEquals(expected.getOffset(i), actual.getOffset(i));
+      assertEquals(expected.getCompressedPageSize(i), actual.getCompressedPageSize(i));
+      assertEquals(expected.getFirstRowIndex(i), actual.getFirstRowIndex(i));
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestFilterDictionaryReuse {
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  private static final ColumnDescriptor NAME = SCHEMA.getColumnDescription(new String[] { "name" });
+
+  // the dictionary filter keeps all the row groups, the statistics and the column indexes of id drop some of them
+  // and some of their pages
+  private static final FilterCompat.Filter FILTER = FilterCompat.get(
+      and(eq(binaryColumn("name"), Binary.fromString("v3")), lt(longColumn("id"), 5000L)));
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(1024)
+        .build()) {
+      for (int i = 0; i < 20000; ++i) {
+        writer.write(factory.newGroup().append("id", (long) i).append("name", "v" + (i % 10)));
+      }
+    }
+  }
+
+  @Test
+  public void testDictionaryPagesReused() throws IOException {
+    for (boolean filteredRowGroups : new boolean[] { false, true }) {
+      List<String> expected = read(false, filteredRowGroups);
+      List<String> actual = read(true, filteredRowGroups);
+      assertTrue(actual.size() > 0);
+      assertEquals(expected, actual);
+    }
+  }
+
+  private List<String> read(boolean useDictionaryFilter, boolean filteredRowGroups) throws IOException {
+    ParquetReadOptions options = ParquetReadOptions.builder()
+        .withRecordFilter(FILTER)
+        .useDictionaryFilter(useDictionaryFilter)
+        .build();
+    List<String> records = new ArrayList<>();
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path), options)) {
+      MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(SCHEMA);
+      PageReadStore pages;
+      while ((pages = filteredRowGroups ? reader.readNextFilteredRowGroup() : reader.readNextRowGroup()) != null) {
+        DictionaryPage dictionaryPage = pages.getPageReader(NAME).readDictionaryPage();
+        assertNotNull(dictionaryPage);
+        if (useDictionaryFilter) {
+          // the page read by the dictionary filter is returned instead of decompressing the page again
+          assertSame(dictionaryPage, pages.getPageReader(NAME).readDictionaryPage());
+          assertSame(dictionaryPage.decode(NAME), pages.getPageReader(NAME).readDictionaryPage().decode(NAME));
+        } else {
+          assertNotSame(dictionaryPage, pages.getPageReader(NAME).readDictionaryPage());
+        }
+        RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(SCHEMA));
+        for (long i = 0, n = pages.getRowCount(); i < n; ++i) {
+          records.add(recordReader.read().toString());
+        }
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestFooterTailRead {
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+  private int footerLength;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withRowGroupSize(8 * 1024)
+        .build()) {
+      for (int i = 0; i < 20000; ++i) {
+        writer.write(factory.newGroup().append("id", (long) i).append("name", "name_" + i));
+      }
+    }
+    try (SeekableInputStream in = new LocalInputFile(path).newStream()) {
+      ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+      in.seek(new LocalInputFile(path).getLength() - 8);
+      in.readFully(length);
+      footerLength = length.getInt(0);
+    }
+  }
+
+  @Test
+  public void testFooterReadWithTheTail() throws IOException {
+    ParquetMetadata expected = readFooter(ParquetReadOptions.builder().withFooterReadSize(0).build(), 2);
+    // a single read of the end of the file
+    assertFooterEquals(expected, readFooter(ParquetReadOptions.builder().build(), 1));
+    assertFooterEquals(expected, readFooter(ParquetReadOptions.builder()
+        .withFooterReadSize(footerLength + 8)
+        .build(), 1));
+  }
+
+  @Test
+  public void testFooterLargerThanTheTail() throws IOException {
+    ParquetMetadata expected = readFooter(ParquetReadOptions.builder().withFooterReadSize(0).build(), 2);
+    ParquetReadOptions options = ParquetReadOptions.builder()
+        .withFooterReadSize(footerLength / 2)
+        .build();
+    // the beginning of the footer is read afterwards
+    assertFooterEquals(expected, readFooter(options, 2));
+    // the size of the last footer read with the same options is used as a hint
+    assertFooterEquals(expected, readFooter(options, 1));
+    // but not by the readers using other options
+    assertFooterEquals(expected, readFooter(ParquetReadOptions.builder()
+        .withFooterReadSize(footerLength / 2)
+        .build(), 2));
+  }
+
+  @Test
+  public void testFooterReadSizeConfiguredByHadoopConf() {
+    Configuration conf = new Configuration();
+    assertEquals(65536, HadoopReadOptions.builder(conf).build().getFooterReadSize());
+    conf.setInt(ParquetInputFormat.FOOTER_READ_SIZE, 0);
+    assertEquals(0, HadoopReadOptions.builder(conf).build().getFooterReadSize());
+  }
+
+  private ParquetMetadata readFooter(ParquetReadOptions options, int expectedSeeks) throws IOException {
+    CountingInputFile file = new CountingInputFile(new LocalInputFile(path));
+    try (ParquetFileReader reader = new ParquetFileReader(file, options)) {
+      assertEquals("Number of reads of the footer", expectedSeeks, file.seeks);
+      return reader.getFooter();
+    }
+  }
+
+  private static void assertFooterEquals(ParquetMetadata expected, ParquetMetadata actual) {
+    assertEquals(ParquetMetadata.toJSON(expected), ParquetMetadata.toJSON(actual));
+  }
+}
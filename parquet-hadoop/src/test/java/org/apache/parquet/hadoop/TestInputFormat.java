@@ -47,6 +47,7 @@ import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.Job;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,6 +66,7 @@ import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
@@ -408,6 +410,40 @@ public class TestInputFormat {
     }
   }
 
+  @Test
+  public void testConcurrentSplitPlanning() throws Exception {
+    File tempDir = Files.createTempDir();
+    tempDir.deleteOnExit();
+    int numFiles = 10;
+
+    Path[] paths = new Path[numFiles];
+    for (int i = 0; i < numFiles; i++) {
+      File file = new File(tempDir, String.format("part-%05d.parquet", i));
+      createParquetFile(file);
+      paths[i] = new Path(file.toURI());
+    }
+
+    Job job = new Job();
+    FileInputFormat.setInputPaths(job, paths);
+    Configuration conf = job.getConfiguration();
+    conf.setBoolean(ParquetInputFormat.TASK_SIDE_METADATA, false);
+    conf.set(ParquetInputFormat.READ_SUPPORT_CLASS, GroupReadSupport.class.getName());
+    List<InputSplit> expected = new ParquetInputFormat<Object>().getSplits(job);
+    assertEquals(numFiles, expected.size());
+
+    conf.setBoolean(ParquetInputFormat.SPLIT_PLANNING_CONCURRENT, true);
+    conf.setInt(ParquetInputFormat.SPLIT_PLANNING_CONCURRENCY, 3);
+    ParquetInputFormat<Object> inputFormat = new ParquetInputFormat<Object>();
+    // the second planning uses the cached footers
+    for (int run = 0; run < 2; run++) {
+      List<InputSplit> splits = inputFormat.getSplits(job);
+      assertEquals(expected.size(), splits.size());
+      for (int i = 0; i < splits.size(); i++) {
+        assertEquals(expected.get(i).toString(), splits.get(i).toString());
+      }
+    }
+  }
+
   private void createParquetFile(File file) throws IOException {
     Path path = new Path(file.toURI());
     Configuration configuration = new Configuration();
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestIoPlanner {
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("payload")
+      .required(INT64).named("value")
+      .named("msg");
+
+  // the payload between the projected columns is a gap to read or to seek over
+  private static final MessageType PROJECTION = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(INT64).named("value")
+      .named("msg");
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(1024)
+        .withDictionaryEncoding(false)
+        .build()) {
+      for (int i = 0; i < 20000; ++i) {
+        writer.write(factory.newGroup()
+            .append("id", (long) i)
+            .append("payload", "payload_" + i)
+            .append("value", (long) i * 7));
+      }
+    }
+  }
+
+  @Test
+  public void testPlan() {
+    // 1 MB/s is 1 byte per microsecond
+    IoPlanner planner = new IoPlanner(1000, 1);
+    assertEquals(1000, planner.getMergeGap());
+
+    int[] requests = planner.plan(
+        new long[] { 0, 100, 1000, 5000, 4000 },
+        new long[] { 50, 100, 100, 10, 10 });
+    // the part after a gap larger than the merge gap and the part before the end of the previous one start requests
+    assertArrayEquals(new int[] { 0, 3, 4 }, requests);
+    assertEquals(3, planner.getRequestCount());
+    assertEquals(2, planner.getRequestsSaved());
+    assertEquals(1100 + 10 + 10, planner.getBytesRead());
+    assertEquals(50 + 800, planner.getBytesOverRead());
+  }
+
+  @Test
+  public void testPlannedReads() throws IOException {
+    for (boolean filteredRowGroups : new boolean[] { false, true }) {
+      CountingInputFile adjacentFile = new CountingInputFile(new LocalInputFile(path));
+      List<String> expected = read(adjacentFile, ParquetReadOptions.builder(), filteredRowGroups);
+      assertTrue(expected.size() > 0);
+
+      // a seek is more expensive than reading the payload
+      IoPlanner planner = new IoPlanner(1000, 1000);
+      CountingInputFile plannedFile = new CountingInputFile(new LocalInputFile(path));
+      assertEquals(expected, read(plannedFile, ParquetReadOptions.builder().withIoPlanner(planner), filteredRowGroups));
+      assertTrue(planner.getRequestsSaved() > 0);
+      assertTrue(planner.getBytesOverRead() > 0);
+      assertEquals(adjacentFile.seeks - planner.getRequestsSaved(), plannedFile.seeks);
+
+      // reading the payload is more expensive than a seek
+      planner = new IoPlanner(0, 1000);
+      assertEquals(expected, read(new LocalInputFile(path), ParquetReadOptions.builder().withIoPlanner(planner),
+          filteredRowGroups));
+      assertEquals(0, planner.getRequestsSaved());
+      assertEquals(0, planner.getBytesOverRead());
+    }
+  }
+
+  private List<String> read(InputFile file, ParquetReadOptions.Builder options,
+      boolean filteredRowGroups) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetFileReader reader = new ParquetFileReader(file, options
+        .withRecordFilter(FilterCompat.get(lt(longColumn("id"), 15000L)))
+        .build())) {
+      reader.setRequestedSchema(PROJECTION);
+      MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(PROJECTION);
+      PageReadStore pages;
+      while ((pages = filteredRowGroups ? reader.readNextFilteredRowGroup() : reader.readNextRowGroup()) != null) {
+        RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(PROJECTION));
+        for (long i = 0, n = pages.getRowCount(); i < n; ++i) {
+          records.add(recordReader.read().toString());
+        }
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestLocalInputOutputFile {
+
+  private static final int RECORD_COUNT = 20000;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @ClassRule
+  public static final TemporaryFolder TEMP = new TemporaryFolder();
+
+  private static java.nio.file.Path path;
+  private static List<String> expected;
+
+  @BeforeClass
+  public static void writeFile() throws IOException {
+    path = TEMP.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    expected = new ArrayList<>();
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withCompressionCodec(CompressionCodecName.SNAPPY)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        Group group = factory.newGroup().append("id", (long) i).append("name", "name_" + i);
+        writer.write(group);
+        expected.add(group.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testChannelReads() throws IOException {
+    assertEquals(expected, read(new LocalInputFile(path), ParquetReadOptions.builder().build()));
+    assertEquals(expected, read(new LocalInputFile(path), ParquetReadOptions.builder().useVectoredIo().build()));
+  }
+
+  @Test
+  public void testMemoryMappedReads() throws IOException {
+    assertEquals(expected, read(new LocalInputFile(path, true), ParquetReadOptions.builder().build()));
+    // the chunks are slices of the mapping
+    assertEquals(expected, read(new LocalInputFile(path, true), ParquetReadOptions.builder().useVectoredIo().build()));
+    assertEquals(expected, read(new LocalInputFile(path, true), ParquetReadOptions.builder()
+        .useStreamingPageReads()
+        .withStreamingWindowSize(1024)
+        .build()));
+  }
+
+  private static List<String> read(InputFile file, ParquetReadOptions options) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetFileReader reader = new ParquetFileReader(file, options)) {
+      MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(SCHEMA);
+      PageReadStore pages;
+      while ((pages = reader.readNextRowGroup()) != null) {
+        RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(SCHEMA));
+        for (long i = 0, n = pages.getRowCount(); i < n; ++i) {
+          records.add(recordReader.read().toString());
+        }
+      }
+    }
+    return records;
+  }
+}
@@ -159,4 +159,78 @@ public class TestLruCache {
     assertEquals(0, cache.size());
   }
 
+  private static final class WeightedValue implements LruCache.Value<String, WeightedValue> {
+    private final long weight;
+
+    public WeightedValue(long weight) {
+      this.weight = weight;
+    }
+
+    @Override
+    public boolean isCurrent(String key) {
+      return true;
+    }
+
+    @Override
+    public boolean isNewerThan(WeightedValue otherValue) {
+      return false;
+    }
+
+    @Override
+    public long getWeight() {
+      return weight;
+    }
+  }
+
+  @Test
+  public void testMaxWeight() {
+    LruCache<String, WeightedValue> cache = LruCache.weighted(100);
+
+    cache.put("a", new WeightedValue(40));
+    cache.put("b", new WeightedValue(40));
+    assertEquals(80, cache.weight());
+    // make "b" the least recently used
+    assertNotNull(cache.getCurrentValue("a"));
+
+    cache.put("c", new WeightedValue(40));
+    assertEquals(2, cache.size());
+    assertEquals(80, cache.weight());
+    assertNull(cache.getCurrentValue("b"));
+    assertNotNull(cache.getCurrentValue("a"));
+    assertNotNull(cache.getCurrentValue("c"));
+    assertEquals(1, cache.evictionCount());
+
+    // overwriting a value replaces its weight
+    cache.put("a", new WeightedValue(10));
+    assertEquals(50, cache.weight());
+
+    // a value heavier than the cache is not inserted
+    cache.put("d", new WeightedValue(101));
+    assertNull(cache.getCurrentValue("d"));
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.evictionCount());
+
+    cache.remove("c");
+    assertEquals(10, cache.weight());
+    cache.clear();
+    assertEquals(0, cache.weight());
+  }
+
+  @Test
+  public void testCounters() {
+    LruCache<String, SimpleValue> cache = new LruCache<String, SimpleValue>(1);
+
+    SimpleValue value = new SimpleValue(true, true);
+    assertNull(cache.getCurrentValue(DEFAULT_KEY));
+    cache.put(DEFAULT_KEY, value);
+    assertEquals(value, cache.getCurrentValue(DEFAULT_KEY));
+    assertEquals(value, cache.getCurrentValue(DEFAULT_KEY));
+    value.setCurrent(false);
+    assertNull(cache.getCurrentValue(DEFAULT_KEY));
+
+    assertEquals(2, cache.hitCount());
+    assertEquals(2, cache.missCount());
+    assertEquals(0, cache.evictionCount());
+  }
+
 }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestLruParquetMetadataCache {
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final Configuration conf = new Configuration();
+
+  private Path writeFile(int recordCount) throws IOException {
+    File f = temp.newFile();
+    f.delete();
+    Path file = new Path(f.getAbsolutePath());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withRowGroupSize(16 * 1024)
+        .build()) {
+      for (int i = 0; i < recordCount; ++i) {
+        writer.write(factory.newGroup().append("id", (long) i).append("name", "name_" + i));
+      }
+    }
+    return file;
+  }
+
+  private static ParquetMetadata readFooter(InputFile file, ParquetReadOptions options) throws IOException {
+    try (ParquetFileReader reader = ParquetFileReader.open(file, options)) {
+      return reader.getFooter();
+    }
+  }
+
+  @Test
+  public void testCachedFooters() throws IOException {
+    Path file = writeFile(10000);
+    LruParquetMetadataCache cache = new LruParquetMetadataCache(1 << 20);
+    ParquetReadOptions options = ParquetReadOptions.builder().withMetadataCache(cache).build();
+
+    ParquetMetadata footer = readFooter(HadoopInputFile.fromPath(file, conf), options);
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getSize());
+    assertTrue(cache.getEstimatedBytes() >= LruParquetMetadataCache.estimateSize(footer));
+    assertTrue("The file should have several row groups", footer.getBlocks().size() > 1);
+
+    assertSame(footer, readFooter(HadoopInputFile.fromPath(file, conf), options));
+    // the same file read without the Hadoop file system is another entry
+    java.nio.file.Path localPath = new File(file.toUri().getPath()).toPath();
+    ParquetMetadata localFooter = readFooter(new LocalInputFile(localPath), options);
+    assertSame(localFooter, readFooter(new LocalInputFile(localPath, true), options));
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getSize());
+    assertEquals(footer.getBlocks().size(), localFooter.getBlocks().size());
+  }
+
+  @Test
+  public void testModifiedFileIsReadAgain() throws IOException {
+    Path file = writeFile(100);
+    LruParquetMetadataCache cache = new LruParquetMetadataCache(1 << 20);
+    ParquetReadOptions options = ParquetReadOptions.builder().withMetadataCache(cache).build();
+
+    ParquetMetadata footer = readFooter(HadoopInputFile.fromPath(file, conf), options);
+    File f = new File(file.toUri().getPath());
+    assertTrue(f.setLastModified(f.lastModified() - 10000));
+    ParquetMetadata newFooter = readFooter(HadoopInputFile.fromPath(file, conf), options);
+    assertNotSame(footer, newFooter);
+    assertEquals(0, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testFilteredFootersShareTheCachedFooter() throws IOException {
+    Path file = writeFile(10000);
+    LruParquetMetadataCache cache = new LruParquetMetadataCache(1 << 20);
+    List<BlockMetaData> blocks = readFooter(HadoopInputFile.fromPath(file, conf),
+        ParquetReadOptions.builder().build()).getBlocks();
+    assertTrue("The file should have several row groups", blocks.size() > 2);
+    long fileLength = new File(file.toUri().getPath()).length();
+    long middle = blocks.get(1).getStartingPos() + 1;
+
+    // the splits of the file select the same row groups whether the footer is cached or not
+    long[][] ranges = { { 0, middle }, { middle, fileLength } };
+    for (long[] range : ranges) {
+      List<BlockMetaData> expected = readFooter(HadoopInputFile.fromPath(file, conf),
+          ParquetReadOptions.builder().withRange(range[0], range[1]).build()).getBlocks();
+      List<BlockMetaData> actual = readFooter(HadoopInputFile.fromPath(file, conf),
+          ParquetReadOptions.builder().withMetadataCache(cache).withRange(range[0], range[1]).build()).getBlocks();
+      assertEquals(startingPositions(expected), startingPositions(actual));
+    }
+    ParquetMetadata filtered = readFooter(HadoopInputFile.fromPath(file, conf), ParquetReadOptions.builder()
+        .withMetadataCache(cache)
+        .withOffsets(blocks.get(0).getStartingPos(), blocks.get(2).getStartingPos())
+        .build());
+    assertEquals(Arrays.asList(blocks.get(0).getStartingPos(), blocks.get(2).getStartingPos()),
+        startingPositions(filtered.getBlocks()));
+    assertEquals(blocks.get(2).getRowIndexOffset(), filtered.getBlocks().get(1).getRowIndexOffset());
+
+    assertEquals(1, cache.getSize());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2, cache.getHitCount());
+    // the cached footer keeps all the row groups
+    ParquetMetadata footer = readFooter(HadoopInputFile.fromPath(file, conf),
+        ParquetReadOptions.builder().withMetadataCache(cache).build());
+    assertEquals(startingPositions(blocks), startingPositions(footer.getBlocks()));
+  }
+
+  private static List<Long> startingPositions(List<BlockMetaData> blocks) {
+    List<Long> positions = new ArrayList<>();
+    for (BlockMetaData block : blocks) {
+      positions.add(block.getStartingPos());
+    }
+    return positions;
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    List<Path> files = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      files.add(writeFile(100));
+    }
+    long footerSize = LruParquetMetadataCache.estimateSize(
+        readFooter(HadoopInputFile.fromPath(files.get(0), conf), ParquetReadOptions.builder().build()));
+    // room for two footers
+    LruParquetMetadataCache cache = new LruParquetMetadataCache(footerSize * 2 + footerSize / 2);
+    ParquetReadOptions options = ParquetReadOptions.builder().withMetadataCache(cache).build();
+    for (Path file : files) {
+      readFooter(HadoopInputFile.fromPath(file, conf), options);
+    }
+    assertEquals(2, cache.getSize());
+    assertEquals(1, cache.getEvictionCount());
+    assertNull(cache.get(HadoopInputFile.fromPath(files.get(0), conf)));
+  }
+
+  @Test
+  public void testSharedCacheConfiguredByHadoopConf() throws IOException {
+    Path file = writeFile(100);
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.FOOTER_CACHE_ENABLED, true);
+    conf.setLong(ParquetInputFormat.FOOTER_CACHE_MAX_SIZE, 1 << 20);
+    LruParquetMetadataCache cache = LruParquetMetadataCache.shared(1 << 20);
+    ParquetReadOptions options = HadoopReadOptions.builder(conf).build();
+    assertSame(cache, options.getMetadataCache());
+    assertNull(HadoopReadOptions.builder(new Configuration()).build().getMetadataCache());
+    // a reader configured with another size does not use the same cache
+    Configuration otherConf = new Configuration(conf);
+    otherConf.setLong(ParquetInputFormat.FOOTER_CACHE_MAX_SIZE, 2 << 20);
+    assertSame(LruParquetMetadataCache.shared(2 << 20), HadoopReadOptions.builder(otherConf).build().getMetadataCache());
+    assertNotSame(cache, LruParquetMetadataCache.shared(2 << 20));
+
+    long hits = cache.getHitCount();
+    List<Group> records = new ArrayList<>();
+    for (int i = 0; i < 2; ++i) {
+      try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file).withConf(conf).build()) {
+        Group group;
+        while ((group = reader.read()) != null) {
+          records.add(group);
+        }
+      }
+    }
+    assertEquals(200, records.size());
+    assertTrue(cache.getHitCount() > hits);
+  }
+}
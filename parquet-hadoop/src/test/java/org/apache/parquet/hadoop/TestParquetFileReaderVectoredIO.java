@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.DirectByteBufferAllocator;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.hadoop.util.LatencyInjectingInputFile;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestParquetFileReaderVectoredIO {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TestParquetFileReaderVectoredIO.class);
+
+  private static final int COLUMN_COUNT = 10;
+  private static final int RECORD_COUNT = 20000;
+  private static final long LATENCY_MILLIS = 20;
+
+  private static final MessageType SCHEMA;
+  private static final MessageType PROJECTION = Types.buildMessage()
+      .required(INT64).named("c0")
+      .required(INT64).named("c3")
+      .required(INT64).named("c7")
+      .named("msg");
+
+  static {
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (int i = 0; i < COLUMN_COUNT; ++i) {
+      builder.required(INT64).named("c" + i);
+    }
+    SCHEMA = builder.named("msg");
+  }
+
+  @ClassRule
+  public static final TemporaryFolder TEMP = new TemporaryFolder();
+
+  private static Path file;
+
+  @BeforeClass
+  public static void writeFile() throws IOException {
+    File f = TEMP.newFile();
+    f.delete();
+    file = new Path(f.getAbsolutePath());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        Group group = factory.newGroup();
+        for (int c = 0; c < COLUMN_COUNT; ++c) {
+          group.add("c" + c, (long) i * COLUMN_COUNT + c);
+        }
+        writer.write(group);
+      }
+    }
+  }
+
+  @Test
+  public void testVectoredReadsReturnSameData() throws IOException {
+    List<String> sequential = read(ParquetReadOptions.builder().build(), 0);
+    assertEquals(RECORD_COUNT, sequential.size());
+    assertEquals(sequential, read(ParquetReadOptions.builder().useVectoredIo().withVectoredIoMergeGap(0).build(), 0));
+    assertEquals(sequential,
+        read(ParquetReadOptions.builder().useVectoredIo().withVectoredIoMergeGap(1024 * 1024).build(), 0));
+    // ranges are split at the allocation size
+    assertEquals(sequential, read(ParquetReadOptions.builder().useVectoredIo().withVectoredIoMergeGap(1024 * 1024)
+        .withMaxAllocationInBytes(1000).build(), 0));
+  }
+
+  @Test
+  public void testVectoredReadsOnHighLatencyStore() throws IOException {
+    LatencyInjectingInputFile sequentialFile = newLatencyInjectingFile();
+    long start = System.nanoTime();
+    List<String> sequential = read(sequentialFile, ParquetReadOptions.builder().build());
+    long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+
+    LatencyInjectingInputFile vectoredFile = newLatencyInjectingFile();
+    start = System.nanoTime();
+    List<String> vectored = read(vectoredFile,
+        ParquetReadOptions.builder().useVectoredIo().withVectoredIoMergeGap(1024 * 1024).build());
+    long vectoredMillis = (System.nanoTime() - start) / 1_000_000;
+
+    LOG.info("Sequential reads: {} requests in {} ms; vectored reads: {} requests in {} ms",
+        sequentialFile.getRequestCount(), sequentialMillis, vectoredFile.getRequestCount(), vectoredMillis);
+    assertEquals(sequential, vectored);
+    assertTrue("Merged vectored reads should issue fewer requests",
+        vectoredFile.getRequestCount() < sequentialFile.getRequestCount());
+  }
+
+  @Test
+  public void testMergedVectoredReadsOnLocalFileSystem() throws IOException {
+    InputFile inputFile = HadoopInputFile.fromPath(file, new Configuration());
+    List<String> sequential = read(inputFile, ParquetReadOptions.builder().build());
+
+    IoCallCounter unmergedCalls = new IoCallCounter();
+    assertEquals(sequential, read(inputFile, ParquetReadOptions.builder()
+        .useVectoredIo()
+        .withVectoredIoMergeGap(0)
+        .withReadMetrics(unmergedCalls)
+        .build()));
+    IoCallCounter mergedCalls = new IoCallCounter();
+    assertEquals(sequential, read(inputFile, ParquetReadOptions.builder()
+        .useVectoredIo()
+        .withVectoredIoMergeGap(1024 * 1024)
+        .withReadMetrics(mergedCalls)
+        .build()));
+    assertTrue("Merged vectored reads should issue fewer requests",
+        mergedCalls.ioCalls.get() < unmergedCalls.ioCalls.get());
+  }
+
+  @Test
+  public void testVectoredReadsOfHadoopStream() throws IOException {
+    byte[] content = Files.readAllBytes(new File(file.toString()).toPath());
+    InputFile inputFile = HadoopInputFile.fromPath(file, new Configuration());
+    List<ByteBufferAllocator> allocators = Arrays.asList(new HeapByteBufferAllocator(),
+        new DirectByteBufferAllocator());
+    for (ByteBufferAllocator allocator : allocators) {
+      try (SeekableInputStream stream = inputFile.newStream()) {
+        assertTrue(stream.readVectoredAvailable());
+        stream.seek(100);
+        // larger than the copy buffer of the direct buffers
+        List<ParquetFileRange> ranges = Arrays.asList(new ParquetFileRange(4, 20000),
+            new ParquetFileRange(30000, 10), new ParquetFileRange(content.length - 8, 8));
+        stream.readVectored(ranges, allocator);
+        for (ParquetFileRange range : ranges) {
+          ByteBuffer data = range.getDataReadFuture().join();
+          byte[] bytes = new byte[data.remaining()];
+          data.get(bytes);
+          assertArrayEquals(Arrays.copyOfRange(content, (int) range.getOffset(),
+              (int) range.getOffset() + range.getLength()), bytes);
+          allocator.release(data);
+        }
+        // the positioned reads do not move the stream
+        assertEquals(100, stream.getPos());
+      }
+    }
+  }
+
+  private static class IoCallCounter implements ParquetReadMetrics {
+    private final AtomicInteger ioCalls = new AtomicInteger();
+
+    @Override
+    public void bytesRead(String file, long bytesRequested, long bytesRead, int ioCalls) {
+      this.ioCalls.addAndGet(ioCalls);
+    }
+  }
+
+  private static LatencyInjectingInputFile newLatencyInjectingFile() throws IOException {
+    return new LatencyInjectingInputFile(HadoopInputFile.fromPath(file, new Configuration()), LATENCY_MILLIS);
+  }
+
+  private static List<String> read(ParquetReadOptions options, long latencyMillis) throws IOException {
+    return read(new LatencyInjectingInputFile(HadoopInputFile.fromPath(file, new Configuration()), latencyMillis),
+        options);
+  }
+
+  private static List<String> read(InputFile inputFile, ParquetReadOptions options) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetFileReader reader = new ParquetFileReader(inputFile, options)) {
+      assertTrue("The test file should have several row groups", reader.getRowGroups().size() > 1);
+      reader.setRequestedSchema(PROJECTION);
+      MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(PROJECTION, SCHEMA);
+      PageReadStore pages;
+      while ((pages = reader.readNextRowGroup()) != null) {
+        RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(PROJECTION));
+        for (long i = 0, n = pages.getRowCount(); i < n; ++i) {
+          records.add(recordReader.read().toString());
+        }
+      }
+    }
+    return records;
+  }
+}
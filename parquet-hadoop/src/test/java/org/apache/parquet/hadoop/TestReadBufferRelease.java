@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.bytes.PoolingByteBufferAllocator;
+import org.apache.parquet.bytes.TrackingByteBufferAllocator;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestReadBufferRelease {
+
+  private static final int RECORD_COUNT = 30000;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] {
+        { CompressionCodecName.UNCOMPRESSED },
+        { CompressionCodecName.SNAPPY } });
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final CompressionCodecName codec;
+  private Path file;
+  private List<String> expected;
+  private TrackingByteBufferAllocator allocator;
+  private PoolingByteBufferAllocator pool;
+
+  public TestReadBufferRelease(CompressionCodecName codec) {
+    this.codec = codec;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    File f = temp.newFile();
+    f.delete();
+    file = new Path(f.getAbsolutePath());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    expected = new ArrayList<>();
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withCompressionCodec(codec)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        Group group = factory.newGroup().append("id", (long) i).append("name", "name_" + i);
+        writer.write(group);
+        expected.add(group.toString());
+      }
+    }
+    allocator = TrackingByteBufferAllocator.wrap(new HeapByteBufferAllocator());
+    pool = new PoolingByteBufferAllocator(allocator);
+  }
+
+  @After
+  public void checkReleased() {
+    pool.close();
+    // fails with the allocation stack trace of a leaked buffer
+    allocator.close();
+  }
+
+  @Test
+  public void testSequentialReads() throws IOException {
+    assertEquals(expected, readAll(builder()));
+    assertEquals(expected, readAll(builder().useVectoredIo()));
+    assertTrue("The buffers of the row groups should be reused", pool.getPooledBytes() > 0);
+  }
+
+  @Test
+  public void testPrefetchedAndParallelReads() throws IOException {
+    assertEquals(expected, readAll(builder().withPrefetchRowGroups(2)));
+    assertEquals(expected, readAll(builder().useParallelDecompression()));
+    assertEquals(expected, readAll(builder().withPrefetchRowGroups(2).useParallelDecompression()));
+  }
+
+  @Test
+  public void testPartialReads() throws IOException {
+    // the prefetched row groups are released on close
+    try (ParquetReader<Group> reader = builder().withPrefetchRowGroups(3).build()) {
+      assertEquals(expected.get(0), reader.read().toString());
+    }
+    try (ParquetReader<Group> reader = builder().useParallelDecompression().build()) {
+      assertEquals(expected.get(0), reader.read().toString());
+    }
+  }
+
+  @Test
+  public void testFilteredReads() throws IOException {
+    FilterCompat.Filter filter = FilterCompat.get(FilterApi.lt(FilterApi.longColumn("id"), 1000L));
+    assertEquals(expected.subList(0, 1000), readAll(builder().withFilter(filter)));
+  }
+
+  @Test
+  public void testRecordBuffersKeptByDefault() throws IOException {
+    PoolingByteBufferAllocator untracked = new PoolingByteBufferAllocator(new HeapByteBufferAllocator());
+    List<Group> records = new ArrayList<>();
+    try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), file)
+        .withAllocator(untracked)
+        .withPrefetchRowGroups(2)
+        .build()) {
+      Group group;
+      while ((group = reader.read()) != null) {
+        records.add(group);
+      }
+    }
+    // the records may reference the buffers of their row group so they are not reused
+    assertEquals(0, untracked.getPooledBytes());
+    List<String> actual = new ArrayList<>();
+    for (Group group : records) {
+      actual.add(group.toString());
+    }
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testRandomAccessRowGroups() throws IOException {
+    ParquetReadOptions options = ParquetReadOptions.builder().withAllocator(pool).build();
+    try (ParquetFileReader reader = new ParquetFileReader(HadoopInputFile.fromPath(file, new Configuration()),
+        options)) {
+      assertTrue(reader.getRowGroups().size() > 1);
+      // the row groups read by index are owned by the caller
+      try (PageReadStore first = reader.readRowGroup(1); PageReadStore second = reader.readRowGroup(0)) {
+        assertEquals(reader.getRowGroups().get(1).getRowCount(), first.getRowCount());
+        assertEquals(reader.getRowGroups().get(0).getRowCount(), second.getRowCount());
+      }
+    }
+  }
+
+  private ParquetReader.Builder<Group> builder() {
+    return ParquetReader.builder(new GroupReadSupport(), file).withAllocator(pool).useRecordBufferRelease();
+  }
+
+  private static List<String> readAll(ParquetReader.Builder<Group> builder) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetReader<Group> reader = builder.build()) {
+      Group group;
+      while ((group = reader.read()) != null) {
+        records.add(group.toString());
+      }
+    }
+    return records;
+  }
+}
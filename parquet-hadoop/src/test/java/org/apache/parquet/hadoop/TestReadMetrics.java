@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetReadMetrics.FilterLayer;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestReadMetrics {
+
+  private static final int RECORD_COUNT = 20000;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private Path path;
+
+  @Before
+  public void writeFile() throws IOException {
+    path = temp.getRoot().toPath().resolve("test.parquet");
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withCompressionCodec(CompressionCodecName.SNAPPY)
+        .withRowGroupSize(64 * 1024)
+        .withPageRowCountLimit(1000)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        writer.write(factory.newGroup().append("id", (long) i).append("name", "name_" + i));
+      }
+    }
+  }
+
+  @Test
+  public void testPageReads() throws IOException {
+    CountingReadMetrics metrics = new CountingReadMetrics();
+    try (ParquetFileReader reader = new ParquetFileReader(new LocalInputFile(path),
+        ParquetReadOptions.builder().withReadMetrics(metrics).build())) {
+      // the footer
+      assertEquals(1, metrics.bytesReads.get());
+      long footerBytes = metrics.bytesRequested.get();
+      assertTrue(footerBytes > 0);
+
+      long chunkBytes = 0;
+      for (BlockMetaData block : reader.getFooter().getBlocks()) {
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          chunkBytes += column.getTotalSize();
+        }
+      }
+      while (reader.readNextRowGroup() != null) {
+      }
+      assertEquals(footerBytes + chunkBytes, metrics.bytesRequested.get());
+      assertEquals(metrics.bytesRequested.get(), metrics.bytesRead.get());
+      // the pages are decompressed when read so nothing is decompressed yet
+      assertEquals(0, metrics.pages.get());
+    }
+  }
+
+  @Test
+  public void testRecordReads() throws IOException {
+    CountingReadMetrics metrics = new CountingReadMetrics();
+    // the row groups before 15000 are dropped by the statistics, the pages before by the column index and the
+    // remaining records by the record filter
+    FilterCompat.Filter filter = FilterCompat.get(and(
+        gtEq(longColumn("id"), 15000L),
+        notEq(binaryColumn("name"), Binary.fromString("name_15500"))));
+    long count = 0;
+    try (ParquetReader<Group> reader = new GroupReaderBuilder(new LocalInputFile(path))
+        .withFilter(filter)
+        .withReadMetrics(metrics)
+        .build()) {
+      while (reader.read() != null) {
+        ++count;
+      }
+    }
+    assertEquals(RECORD_COUNT - 15000 - 1, count);
+    assertEquals(count, metrics.records.get());
+    assertTrue(metrics.skipped(FilterLayer.STATISTICS) > 0);
+    assertTrue(metrics.skipped(FilterLayer.COLUMN_INDEX) > 0);
+    assertTrue(metrics.skipped(FilterLayer.RECORD) > 0);
+    // every row is either returned or skipped by a filter
+    long skipped = 0;
+    for (FilterLayer layer : FilterLayer.values()) {
+      skipped += metrics.skipped(layer);
+    }
+    assertEquals(RECORD_COUNT, count + skipped);
+
+    assertTrue(metrics.pages.get() > 0);
+    assertTrue(metrics.compressedBytes.get() > 0);
+    assertTrue(metrics.uncompressedBytes.get() > 0);
+    assertTrue(metrics.bytesRead.get() >= metrics.bytesRequested.get());
+  }
+
+  private static class GroupReaderBuilder extends ParquetReader.Builder<Group> {
+    private GroupReaderBuilder(InputFile file) {
+      super(file);
+    }
+
+    @Override
+    protected ReadSupport<Group> getReadSupport() {
+      return new GroupReadSupport();
+    }
+  }
+
+  private static class CountingReadMetrics implements ParquetReadMetrics {
+    private final AtomicLong bytesReads = new AtomicLong();
+    private final AtomicLong bytesRequested = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+    private final Map<FilterLayer, AtomicLong> skipped = new EnumMap<>(FilterLayer.class);
+
+    private CountingReadMetrics() {
+      for (FilterLayer layer : FilterLayer.values()) {
+        skipped.put(layer, new AtomicLong());
+      }
+    }
+
+    long skipped(FilterLayer layer) {
+      return skipped.get(layer).get();
+    }
+
+    @Override
+    public void bytesRead(String file, long bytesRequested, long bytesRead, int ioCalls) {
+      this.bytesReads.incrementAndGet();
+      this.bytesRequested.addAndGet(bytesRequested);
+      this.bytesRead.addAndGet(bytesRead);
+    }
+
+    @Override
+    public void pageDecompressed(String file, ColumnDescriptor column, long compressedSize, long uncompressedSize,
+        long decompressionNanos) {
+      pages.incrementAndGet();
+      compressedBytes.addAndGet(compressedSize);
+      uncompressedBytes.addAndGet(uncompressedSize);
+    }
+
+    @Override
+    public void recordsRead(String file, long recordCount, long decodeNanos) {
+      records.addAndGet(recordCount);
+    }
+
+    @Override
+    public void rowsSkipped(String file, FilterLayer layer, long rowCount) {
+      skipped.get(layer).addAndGet(rowCount);
+    }
+  }
+}
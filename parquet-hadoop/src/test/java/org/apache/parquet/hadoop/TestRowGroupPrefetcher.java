@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.hadoop.util.LatencyInjectingInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestRowGroupPrefetcher {
+
+  private static final int RECORD_COUNT = 20000;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @ClassRule
+  public static final TemporaryFolder TEMP = new TemporaryFolder();
+
+  private static Path file;
+  private static List<String> expected;
+
+  @BeforeClass
+  public static void writeFile() throws IOException {
+    File f = TEMP.newFile();
+    f.delete();
+    file = new Path(f.getAbsolutePath());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    expected = new ArrayList<>();
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withRowGroupSize(32 * 1024)
+        .withPageSize(4 * 1024)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        Group group = factory.newGroup().append("id", (long) i).append("name", "name_" + i);
+        writer.write(group);
+        expected.add(group.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testPrefetchedRecordsMatch() throws IOException {
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file)));
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file).withPrefetchRowGroups(1)));
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file).withPrefetchRowGroups(4)));
+    // the memory budget is exceeded by every row group so they are read one at a time
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file)
+        .withPrefetchRowGroups(4)
+        .withPrefetchMemoryBudget(1)));
+  }
+
+  @Test
+  public void testPrefetchConfiguredByHadoopConf() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setInt(ParquetInputFormat.PREFETCH_ROW_GROUPS, 2);
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file).withConf(conf)));
+  }
+
+  @Test
+  public void testRowGroupsInOrder() throws IOException {
+    List<Long> expectedRowCounts = new ArrayList<>();
+    try (ParquetFileReader reader = openReader()) {
+      assertTrue("The test file should have several row groups", reader.getRowGroups().size() > 2);
+      PageReadStore pages;
+      while ((pages = reader.readNextFilteredRowGroup()) != null) {
+        expectedRowCounts.add(pages.getRowCount());
+      }
+    }
+
+    List<Long> rowCounts = new ArrayList<>();
+    try (ParquetFileReader reader = openReader();
+        RowGroupPrefetcher prefetcher = new RowGroupPrefetcher(reader, 2, Long.MAX_VALUE, true)) {
+      PageReadStore pages;
+      while ((pages = prefetcher.readNextRowGroup()) != null) {
+        rowCounts.add(pages.getRowCount());
+      }
+      // stays exhausted
+      assertNull(prefetcher.readNextRowGroup());
+    }
+    assertEquals(expectedRowCounts, rowCounts);
+  }
+
+  @Test
+  public void testCloseWhileReadingAhead() throws IOException {
+    LatencyInjectingInputFile inputFile =
+        new LatencyInjectingInputFile(HadoopInputFile.fromPath(file, new Configuration()), 50);
+    try (ParquetFileReader reader = new ParquetFileReader(inputFile, ParquetReadOptions.builder().build())) {
+      RowGroupPrefetcher prefetcher = new RowGroupPrefetcher(reader, 3, Long.MAX_VALUE, true);
+      assertEquals(reader.getRowGroups().get(0).getRowCount(), prefetcher.readNextRowGroup().getRowCount());
+      // returns once the read in flight completes so the reader can be closed safely
+      prefetcher.close();
+      try {
+        prefetcher.readNextRowGroup();
+        fail("Reading from a closed prefetcher should fail");
+      } catch (IOException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testInterruptedClose() throws IOException {
+    LatencyInjectingInputFile inputFile =
+        new LatencyInjectingInputFile(HadoopInputFile.fromPath(file, new Configuration()), 50);
+    try (ParquetFileReader reader = new ParquetFileReader(inputFile, ParquetReadOptions.builder().build())) {
+      RowGroupPrefetcher prefetcher = new RowGroupPrefetcher(reader, 3, Long.MAX_VALUE, true);
+      assertEquals(reader.getRowGroups().get(0).getRowCount(), prefetcher.readNextRowGroup().getRowCount());
+      Thread.currentThread().interrupt();
+      // cancels the read in flight and waits for it before returning with the interrupt status restored
+      prefetcher.close();
+      assertTrue("The interrupt status should be restored", Thread.interrupted());
+      try {
+        prefetcher.readNextRowGroup();
+        fail("Reading from a closed prefetcher should fail");
+      } catch (IOException e) {
+        // expected
+      }
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRowGroupCount() throws IOException {
+    try (ParquetFileReader reader = openReader()) {
+      new RowGroupPrefetcher(reader, 0, Long.MAX_VALUE, true);
+    }
+  }
+
+  private static ParquetFileReader openReader() throws IOException {
+    return ParquetFileReader.open(HadoopInputFile.fromPath(file, new Configuration()));
+  }
+
+  private static List<String> readAll(ParquetReader.Builder<Group> builder) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetReader<Group> reader = builder.build()) {
+      Group group;
+      while ((group = reader.read()) != null) {
+        records.add(group.toString());
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class TestStreamingPageReads {
+
+  private static final int RECORD_COUNT = 30000;
+  private static final int WINDOW_SIZE = 1024;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("name")
+      .optional(DOUBLE).named("value")
+      .named("msg");
+
+  @Parameterized.Parameters(name = "{0} {1}")
+  public static Collection<Object[]> params() {
+    return Arrays.asList(new Object[][] {
+        { CompressionCodecName.GZIP, WriterVersion.PARQUET_1_0 },
+        { CompressionCodecName.SNAPPY, WriterVersion.PARQUET_2_0 },
+        { CompressionCodecName.UNCOMPRESSED, WriterVersion.PARQUET_2_0 } });
+  }
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private final CompressionCodecName codec;
+  private final WriterVersion writerVersion;
+  private Path file;
+  private List<String> expected;
+
+  public TestStreamingPageReads(CompressionCodecName codec, WriterVersion writerVersion) {
+    this.codec = codec;
+    this.writerVersion = writerVersion;
+  }
+
+  @Before
+  public void writeFile() throws IOException {
+    File f = temp.newFile();
+    f.delete();
+    file = new Path(f.getAbsolutePath());
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    expected = new ArrayList<>();
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(file)
+        .withType(SCHEMA)
+        .withCompressionCodec(codec)
+        .withWriterVersion(writerVersion)
+        .withRowGroupSize(256 * 1024)
+        .withPageSize(4 * 1024)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        Group group = factory.newGroup()
+            .append("id", (long) i)
+            .append("name", "name_" + (i % 100));
+        if (i % 3 != 0) {
+          group.append("value", i * 1.5);
+        }
+        writer.write(group);
+        expected.add(group.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testStreamedRecordsMatch() throws IOException {
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file).useStreamingPageReads()));
+    // most pages are larger than the window so they are read directly
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file)
+        .useStreamingPageReads()
+        .withStreamingWindowSize(100)));
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file)
+        .useStreamingPageReads()
+        .withStreamingWindowSize(WINDOW_SIZE)
+        .usePageChecksumVerification()));
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file)
+        .useStreamingPageReads()
+        .withStreamingWindowSize(WINDOW_SIZE)
+        .withPrefetchRowGroups(2)));
+  }
+
+  @Test
+  public void testStreamingConfiguredByHadoopConf() throws IOException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.STREAMING_PAGE_READS_ENABLED, true);
+    conf.setInt(ParquetInputFormat.STREAMING_WINDOW_SIZE, WINDOW_SIZE);
+    assertEquals(expected, readAll(ParquetReader.builder(new GroupReadSupport(), file).withConf(conf)));
+  }
+
+  @Test
+  public void testStreamingWithColumnIndexFiltering() throws IOException {
+    FilterCompat.Filter filter = FilterCompat.get(FilterApi.lt(FilterApi.longColumn("id"), 1000L));
+    assertEquals(expected.subList(0, 1000), readAll(ParquetReader.builder(new GroupReadSupport(), file)
+        .withFilter(filter)
+        .useStreamingPageReads()
+        .withStreamingWindowSize(WINDOW_SIZE)));
+  }
+
+  @Test
+  public void testStreamedRowGroupHoldsOnlyTheWindows() throws IOException {
+    try (ParquetFileReader reader = new ParquetFileReader(HadoopInputFile.fromPath(file, new Configuration()),
+        ParquetReadOptions.builder().build())) {
+      ColumnChunkPageReadStore rowGroup = (ColumnChunkPageReadStore) reader.readNextRowGroup();
+      assertTrue("The row groups should be larger than the windows",
+          rowGroup.getCompressedSize() > SCHEMA.getColumns().size() * WINDOW_SIZE);
+    }
+    try (ParquetFileReader reader = new ParquetFileReader(HadoopInputFile.fromPath(file, new Configuration()),
+        ParquetReadOptions.builder().useStreamingPageReads().withStreamingWindowSize(WINDOW_SIZE).build())) {
+      ColumnChunkPageReadStore rowGroup = (ColumnChunkPageReadStore) reader.readNextRowGroup();
+      assertEquals(SCHEMA.getColumns().size() * WINDOW_SIZE, rowGroup.getCompressedSize());
+    }
+  }
+
+  private static List<String> readAll(ParquetReader.Builder<Group> builder) throws IOException {
+    List<String> records = new ArrayList<>();
+    try (ParquetReader<Group> reader = builder.build()) {
+      Group group;
+      while ((group = reader.read()) != null) {
+        records.add(group.toString());
+      }
+    }
+    return records;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ParquetWriteMetrics;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestWriteMetrics {
+
+  private static final int RECORD_COUNT = 20000;
+
+  private static final MessageType SCHEMA = Types.buildMessage()
+      .required(INT64).named("id")
+      .required(BINARY).named("category")
+      .required(BINARY).named("name")
+      .named("msg");
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  private static class CountingWriteMetrics implements ParquetWriteMetrics {
+    private final Map<String, Integer> pagesEncoded = new HashMap<>();
+    private final Map<String, Long> valuesEncoded = new HashMap<>();
+    private long uncompressedBytes = 0;
+    private long compressedBytes = 0;
+    private final Set<String> fallbacks = new HashSet<>();
+    private final Map<String, Integer> bloomFilterSizes = new HashMap<>();
+    private int rowGroups = 0;
+    private long rows = 0;
+    private long rowGroupBytes = 0;
+
+    @Override
+    public void pageEncoded(ColumnDescriptor column, int valueCount, long encodedSize, long encodeNanos) {
+      pagesEncoded.merge(column.getPath()[0], 1, Integer::sum);
+      valuesEncoded.merge(column.getPath()[0], (long) valueCount, Long::sum);
+      assertTrue(encodedSize > 0);
+      assertTrue(encodeNanos >= 0);
+    }
+
+    @Override
+    public void pageCompressed(ColumnDescriptor column, long uncompressedSize, long compressedSize,
+        long compressNanos) {
+      uncompressedBytes += uncompressedSize;
+      compressedBytes += compressedSize;
+      assertTrue(compressNanos >= 0);
+    }
+
+    @Override
+    public void dictionaryFallback(ColumnDescriptor column) {
+      // reported once per column chunk
+      fallbacks.add(column.getPath()[0]);
+    }
+
+    @Override
+    public void bloomFilterWritten(ColumnDescriptor column, int size) {
+      bloomFilterSizes.merge(column.getPath()[0], size, Integer::sum);
+    }
+
+    @Override
+    public void rowGroupFlushed(long rowCount, long size, long flushNanos, long endBlockNanos) {
+      rowGroups += 1;
+      rows += rowCount;
+      rowGroupBytes += size;
+      assertTrue(flushNanos >= endBlockNanos);
+    }
+  }
+
+  @Test
+  public void testWriteMetrics() throws IOException {
+    Path path = temp.getRoot().toPath().resolve("test.parquet");
+    CountingWriteMetrics metrics = new CountingWriteMetrics();
+    SimpleGroupFactory factory = new SimpleGroupFactory(SCHEMA);
+    try (ParquetWriter<Group> writer = ExampleParquetWriter.builder(new LocalOutputFile(path))
+        .withType(SCHEMA)
+        .withCompressionCodec(CompressionCodecName.SNAPPY)
+        .withRowGroupSize(64 * 1024)
+        .withPageSize(4 * 1024)
+        // the distinct names do not fit in the dictionary
+        .withDictionaryPageSize(1024)
+        .withBloomFilterEnabled("id", true)
+        .withWriteMetrics(metrics)
+        .build()) {
+      for (int i = 0; i < RECORD_COUNT; ++i) {
+        writer.write(factory.newGroup()
+            .append("id", (long) i)
+            .append("category", "category_" + (i % 10))
+            .append("name", "name_" + i));
+      }
+    }
+
+    for (String column : new String[] { "id", "category", "name" }) {
+      assertTrue(metrics.pagesEncoded.get(column) > 0);
+      assertEquals(RECORD_COUNT, (long) metrics.valuesEncoded.get(column));
+    }
+    assertTrue(metrics.uncompressedBytes > 0);
+    assertTrue(metrics.compressedBytes > 0);
+    assertTrue(metrics.fallbacks.contains("name"));
+    assertFalse(metrics.fallbacks.contains("category"));
+    assertTrue(metrics.bloomFilterSizes.get("id") > 0);
+    assertFalse(metrics.bloomFilterSizes.containsKey("name"));
+
+    try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(path))) {
+      ParquetMetadata footer = reader.getFooter();
+      assertEquals(footer.getBlocks().size(), metrics.rowGroups);
+      assertEquals(RECORD_COUNT, metrics.rows);
+      long compressedSize = 0;
+      for (BlockMetaData block : footer.getBlocks()) {
+        compressedSize += block.getCompressedSize();
+      }
+      // the row groups also hold the page headers
+      assertTrue(metrics.rowGroupBytes >= compressedSize);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * Test stand-in for a high-latency store (e.g. an object store): every request pays a fixed latency. A request is
+ * the first read after a seek, or one range of a vectored read. The ranges of a vectored read are requested
+ * concurrently so their latencies overlap.
+ */
+public class LatencyInjectingInputFile implements InputFile {
+
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "latency-injecting-read");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final InputFile file;
+  private final long latencyMillis;
+  private final AtomicInteger requestCount = new AtomicInteger();
+
+  public LatencyInjectingInputFile(InputFile file, long latencyMillis) {
+    this.file = file;
+    this.latencyMillis = latencyMillis;
+  }
+
+  /**
+   * @return the number of requests issued to the underlying file so far
+   */
+  public int getRequestCount() {
+    return requestCount.get();
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    return file.getLength();
+  }
+
+  @Override
+  public SeekableInputStream newStream() throws IOException {
+    return new LatencyInjectingInputStream(file.newStream());
+  }
+
+  @Override
+  public String toString() {
+    return file.toString();
+  }
+
+  private void request() throws IOException {
+    requestCount.incrementAndGet();
+    try {
+      Thread.sleep(latencyMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the injected latency");
+    }
+  }
+
+  private class LatencyInjectingInputStream extends SeekableInputStream {
+    private final SeekableInputStream stream;
+    private SeekableInputStream positionedStream;
+    private boolean requested = false;
+
+    LatencyInjectingInputStream(SeekableInputStream stream) {
+      this.stream = stream;
+    }
+
+    private void beforeRead() throws IOException {
+      if (!requested) {
+        request();
+        requested = true;
+      }
+    }
+
+    @Override
+    public long getPos() throws IOException {
+      return stream.getPos();
+    }
+
+    @Override
+    public void seek(long newPos) throws IOException {
+      if (newPos != stream.getPos()) {
+        requested = false;
+      }
+      stream.seek(newPos);
+    }
+
+    @Override
+    public int read() throws IOException {
+      beforeRead();
+      return stream.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      beforeRead();
+      return stream.read(b, off, len);
+    }
+
+    @Override
+    public void readFully(byte[] bytes) throws IOException {
+      beforeRead();
+      stream.readFully(bytes);
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+      beforeRead();
+      stream.readFully(bytes, start, len);
+    }
+
+    @Override
+    public int read(ByteBuffer buf) throws IOException {
+      beforeRead();
+      return stream.read(buf);
+    }
+
+    @Override
+    public void readFully(ByteBuffer buf) throws IOException {
+      beforeRead();
+      stream.readFully(buf);
+    }
+
+    @Override
+    public boolean readVectoredAvailable() {
+      return true;
+    }
+
+    @Override
+    public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+      if (positionedStream == null) {
+        positionedStream = file.newStream();
+      }
+      for (ParquetFileRange range : ranges) {
+        ByteBuffer buffer = allocator.allocate(range.getLength());
+        range.setDataReadFuture(CompletableFuture.supplyAsync(() -> {
+          try {
+            request();
+            synchronized (positionedStream) {
+              positionedStream.seek(range.getOffset());
+              positionedStream.readFully(buffer);
+            }
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          buffer.flip();
+          return buffer;
+        }, EXECUTOR));
+      }
+      // the position of this stream is undefined after a vectored read
+      requested = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        stream.close();
+      } finally {
+        if (positionedStream != null) {
+          positionedStream.close();
+        }
+      }
+    }
+  }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.parquet.column.values.bitpacking;
 
+import jdk.incubator.vector.IntVector;
 import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,11 @@ import java.util.stream.Collectors;
 /**
  * Utility class for big data applications (such as Apache Spark and Apache Flink).
  * For Intel CPU, Flags containing avx512vbmi and avx512_vbmi2 can have better performance gains.
+ * <p>
+ * Besides the bit unpacking, it decodes the miniblocks of the delta encoding and the byte stream split encoding with
+ * 512 bits vectors when the JVM supports them on this CPU (see {@link #getSupportVectorFromVectorSpecies()}). The
+ * RLE/bit-packing hybrid encoding is decoded by {@link RunLengthBitPackingHybridVectorDecoder} and the values are bit
+ * packed by {@link ParquetWriteRouter}.
  */
 public class ParquetReadRouter {
   private static final Logger LOG = LoggerFactory.getLogger(ParquetReadRouter.class);
@@ -50,8 +56,12 @@ public class ParquetReadRouter {
 
   private static final VectorSupport vectorSupport;
 
+  // the kernels other than the bit unpacking only need 512 bits vectors, not the byte permutations of avx512vbmi
+  private static final VectorSupport kernelVectorSupport;
+
   static {
     vectorSupport = getSupportVectorFromCPUFlags();
+    kernelVectorSupport = getSupportVectorFromVectorSpecies();
   }
 
   // Dispatches to use vector when available. Directly call readBatchUsing512Vector() if you are sure about it.
@@ -69,13 +79,19 @@ public class ParquetReadRouter {
   public static void readBatchUsing512Vector(int bitWidth, ByteBufferInputStream in, int currentCount, int[] currentBuffer) throws IOException {
     BytePacker packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
     BytePacker packerVector = Packer.LITTLE_ENDIAN.newBytePackerVector(bitWidth);
-    int valueIndex = 0;
+    int totalByteCount = currentCount * bitWidth / BITS_PER_BYTE;
+    ByteBuffer buffer = in.slice(totalByteCount);
+    unpackUsing512Vector(packer, packerVector, buffer, totalByteCount, currentBuffer, 0);
+  }
+
+  // Unpacks the values of totalByteCount bytes from the position of the buffer into the output at valueIndex
+  static void unpackUsing512Vector(BytePacker packer, BytePacker packerVector, ByteBuffer buffer, int totalByteCount,
+                                   int[] currentBuffer, int valueIndex) {
+    int bitWidth = packer.getBitWidth();
     int byteIndex = 0;
     int unpackCount = packerVector.getUnpackCount();
     int inputByteCountPerVector = packerVector.getUnpackCount() / BITS_PER_BYTE * bitWidth;
-    int totalByteCount = currentCount * bitWidth / BITS_PER_BYTE;
     int totalByteCountVector = totalByteCount - BYTES_PER_VECTOR_512;
-    ByteBuffer buffer = in.slice(totalByteCount);
     if (buffer.hasArray()) {
       for (; byteIndex < totalByteCountVector; byteIndex += inputByteCountPerVector, valueIndex += unpackCount) {
         packerVector.unpackValuesUsingVector(buffer.array(), buffer.arrayOffset() + buffer.position() + byteIndex, currentBuffer, valueIndex);
@@ -105,6 +121,202 @@ public class ParquetReadRouter {
     }
   }
 
+  /**
+   * Reads a miniblock of the delta binary packed encoding of INT32 values: the deltas bit packed on bitWidth bits are
+   * unpacked (with the Java Vector API on CPUs with avx512vbmi and avx512_vbmi2) and replaced by the values, computed
+   * with 512 bits vectors when supported.
+   *
+   * @param bitWidth the bit width of the deltas of the miniblock
+   * @param in the stream of the page, positioned at the first byte of the miniblock
+   * @param count the number of values of the miniblock, a multiple of 8
+   * @param minDelta the minimum delta of the block of the miniblock
+   * @param previous the value preceding the miniblock
+   * @param values the output values
+   * @param offset where to write to in values
+   * @throws IOException if the stream has fewer bytes than the miniblock
+   */
+  public static void readDeltaMiniBlock(int bitWidth, ByteBufferInputStream in, int count, int minDelta, int previous,
+                                        int[] values, int offset) throws IOException {
+    if (vectorSupport == VectorSupport.VECTOR_512 && kernelVectorSupport == VectorSupport.VECTOR_512) {
+      readDeltaMiniBlockUsing512Vector(bitWidth, in, count, minDelta, previous, values, offset);
+    } else {
+      readDeltaMiniBlockScalar(bitWidth, in, count, minDelta, previous, values, offset);
+    }
+  }
+
+  // Call the method directly if your computer system contains avx512vbmi and avx512_vbmi2 CPU Flags
+  public static void readDeltaMiniBlockUsing512Vector(int bitWidth, ByteBufferInputStream in, int count, int minDelta,
+                                                      int previous, int[] values, int offset) throws IOException {
+    int totalByteCount = count * bitWidth / BITS_PER_BYTE;
+    if (bitWidth == 0) {
+      // the packers of width 0 leave the output as is
+      Arrays.fill(values, offset, offset + count, 0);
+    } else {
+      unpackUsing512Vector(Packer.LITTLE_ENDIAN.newBytePacker(bitWidth),
+          Packer.LITTLE_ENDIAN.newBytePackerVector(bitWidth), in.slice(totalByteCount), totalByteCount, values, offset);
+    }
+    int vectorCount = count - count % VectorKernels512LE.INT_LANES;
+    VectorKernels512LE.prefixSum(values, offset, vectorCount, minDelta, previous);
+    if (vectorCount < count) {
+      prefixSum(values, offset + vectorCount, count - vectorCount, minDelta,
+          vectorCount == 0 ? previous : values[offset + vectorCount - 1]);
+    }
+  }
+
+  // Call the method directly if your computer system doesn't support 512 bits vectors
+  public static void readDeltaMiniBlockScalar(int bitWidth, ByteBufferInputStream in, int count, int minDelta,
+                                              int previous, int[] values, int offset) throws IOException {
+    if (bitWidth == 0) {
+      Arrays.fill(values, offset, offset + count, 0);
+    } else {
+      BytePacker packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+      ByteBuffer buffer = in.slice(count * bitWidth / BITS_PER_BYTE);
+      for (int valueIndex = 0, byteIndex = buffer.position(); valueIndex < count;
+           valueIndex += NUM_VALUES_TO_PACK, byteIndex += bitWidth) {
+        packer.unpack8Values(buffer, byteIndex, values, offset + valueIndex);
+      }
+    }
+    prefixSum(values, offset, count, minDelta, previous);
+  }
+
+  private static void prefixSum(int[] values, int offset, int count, int minDelta, int previous) {
+    for (int i = offset, end = offset + count; i < end; ++i) {
+      previous += values[i] + minDelta;
+      values[i] = previous;
+    }
+  }
+
+  /**
+   * Reads a miniblock of the delta binary packed encoding of INT64 values: the deltas bit packed on bitWidth bits are
+   * unpacked and replaced by the values, computed with 512 bits vectors when supported.
+   *
+   * @param bitWidth the bit width of the deltas of the miniblock
+   * @param in the stream of the page, positioned at the first byte of the miniblock
+   * @param count the number of values of the miniblock, a multiple of 8
+   * @param minDelta the minimum delta of the block of the miniblock
+   * @param previous the value preceding the miniblock
+   * @param values the output values
+   * @param offset where to write to in values
+   * @throws IOException if the stream has fewer bytes than the miniblock
+   */
+  public static void readDeltaMiniBlock(int bitWidth, ByteBufferInputStream in, int count, long minDelta,
+                                        long previous, long[] values, int offset) throws IOException {
+    if (kernelVectorSupport == VectorSupport.VECTOR_512) {
+      readDeltaMiniBlockUsing512Vector(bitWidth, in, count, minDelta, previous, values, offset);
+    } else {
+      readDeltaMiniBlockScalar(bitWidth, in, count, minDelta, previous, values, offset);
+    }
+  }
+
+  // Call the method directly if your computer system supports 512 bits vectors
+  public static void readDeltaMiniBlockUsing512Vector(int bitWidth, ByteBufferInputStream in, int count, long minDelta,
+                                                      long previous, long[] values, int offset) throws IOException {
+    unpackDeltas(bitWidth, in, count, values, offset);
+    int vectorCount = count - count % VectorKernels512LE.LONG_LANES;
+    VectorKernels512LE.prefixSum(values, offset, vectorCount, minDelta, previous);
+    if (vectorCount < count) {
+      prefixSum(values, offset + vectorCount, count - vectorCount, minDelta,
+          vectorCount == 0 ? previous : values[offset + vectorCount - 1]);
+    }
+  }
+
+  // Call the method directly if your computer system doesn't support 512 bits vectors
+  public static void readDeltaMiniBlockScalar(int bitWidth, ByteBufferInputStream in, int count, long minDelta,
+                                              long previous, long[] values, int offset) throws IOException {
+    unpackDeltas(bitWidth, in, count, values, offset);
+    prefixSum(values, offset, count, minDelta, previous);
+  }
+
+  private static void unpackDeltas(int bitWidth, ByteBufferInputStream in, int count, long[] values, int offset)
+      throws EOFException {
+    if (bitWidth == 0) {
+      Arrays.fill(values, offset, offset + count, 0L);
+      return;
+    }
+    BytePackerForLong packer = Packer.LITTLE_ENDIAN.newBytePackerForLong(bitWidth);
+    ByteBuffer buffer = in.slice(count * bitWidth / BITS_PER_BYTE);
+    for (int valueIndex = 0, byteIndex = buffer.position(); valueIndex < count;
+         valueIndex += NUM_VALUES_TO_PACK, byteIndex += bitWidth) {
+      packer.unpack8Values(buffer, byteIndex, values, offset + valueIndex);
+    }
+  }
+
+  private static void prefixSum(long[] values, int offset, int count, long minDelta, long previous) {
+    for (int i = offset, end = offset + count; i < end; ++i) {
+      previous += values[i] + minDelta;
+      values[i] = previous;
+    }
+  }
+
+  /**
+   * Reads values of the byte stream split encoding: the bytes of the values, split in one stream per byte, are
+   * interleaved back into little endian values, with 512 bits vectors when supported for the values of 4 and 8 bytes.
+   *
+   * @param elementSize the size of the values in bytes, also the number of streams
+   * @param streams the streams of the page, one after the other
+   * @param valueCount the number of values of the page, the length of each stream
+   * @param start the index of the first value to read
+   * @param count the number of values to read
+   * @param output the output bytes, elementSize bytes per value
+   * @param outPos where to write to in output
+   */
+  public static void readByteStreamSplit(int elementSize, byte[] streams, int valueCount, int start, int count,
+                                         byte[] output, int outPos) {
+    if (kernelVectorSupport == VectorSupport.VECTOR_512) {
+      readByteStreamSplitUsing512Vector(elementSize, streams, valueCount, start, count, output, outPos);
+    } else {
+      readByteStreamSplitScalar(elementSize, streams, valueCount, start, count, output, outPos);
+    }
+  }
+
+  // Call the method directly if your computer system supports 512 bits vectors
+  public static void readByteStreamSplitUsing512Vector(int elementSize, byte[] streams, int valueCount, int start,
+                                                       int count, byte[] output, int outPos) {
+    int vectorCount;
+    switch (elementSize) {
+      case 4:
+        vectorCount = count - count % VectorKernels512LE.INT_LANES;
+        VectorKernels512LE.interleave4(streams, valueCount, start, vectorCount, output, outPos);
+        break;
+      case 8:
+        vectorCount = count - count % VectorKernels512LE.LONG_LANES;
+        VectorKernels512LE.interleave8(streams, valueCount, start, vectorCount, output, outPos);
+        break;
+      default:
+        vectorCount = 0;
+    }
+    readByteStreamSplitScalar(elementSize, streams, valueCount, start + vectorCount, count - vectorCount, output,
+        outPos + vectorCount * elementSize);
+  }
+
+  // Call the method directly if your computer system doesn't support 512 bits vectors
+  public static void readByteStreamSplitScalar(int elementSize, byte[] streams, int valueCount, int start, int count,
+                                               byte[] output, int outPos) {
+    for (int i = start, end = start + count; i < end; ++i) {
+      for (int stream = 0; stream < elementSize; ++stream) {
+        output[outPos++] = streams[stream * valueCount + i];
+      }
+    }
+  }
+
+  static VectorSupport getVectorSupport() {
+    return vectorSupport;
+  }
+
+  /**
+   * @return VECTOR_512 if the JVM compiles the 512 bits vectors of the Java Vector API to the instructions of this CPU
+   */
+  public static VectorSupport getSupportVectorFromVectorSpecies() {
+    try {
+      if (IntVector.SPECIES_PREFERRED.vectorBitSize() >= 512) {
+        return VectorSupport.VECTOR_512;
+      }
+    } catch (LinkageError e) {
+      LOG.warn("The Java Vector API is not available, add the JVM option --add-modules=jdk.incubator.vector");
+    }
+    return VectorSupport.NONE;
+  }
+
   public static VectorSupport getSupportVectorFromCPUFlags() {
     try {
       String os = System.getProperty("os.name");
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bitpacking;
+
+/**
+ * Utility class for big data applications (such as Apache Spark and Apache Flink) bit packing the values they write,
+ * e.g. the bit-packed runs of the RLE/bit-packing hybrid encoding, with the Java Vector API when the JVM supports
+ * 512 bits vectors on this CPU (see {@link ParquetReadRouter#getSupportVectorFromVectorSpecies()}).
+ */
+public class ParquetWriteRouter {
+
+  // values are bit packed 8 at a time, so writing bitWidth bytes will always work
+  private static final int NUM_VALUES_TO_PACK = 8;
+
+  // register of avx512 are 512 bits, and can store up to 64 bytes
+  private static final int BYTES_PER_VECTOR_512 = 64;
+
+  // Packs with the scalar packers: on JDK 17 the vector kernel is not faster than pack8Values yet (see
+  // EncodingVectorKernelsBenchmarks), so call writeBatchUsing512Vector() directly to use it.
+  public static void write(int bitWidth, int[] values, int valueIndex, int count, byte[] output, int outPos) {
+    writeBatch(bitWidth, values, valueIndex, count, output, outPos);
+  }
+
+  /**
+   * Packs count values, a multiple of 8, into count * bitWidth / 8 bytes. The values of at most 8 bits (the levels,
+   * the booleans and the ids of the small dictionaries) are packed 64 at a time with 512 bits vectors and byte
+   * permutations (avx512vbmi), the values left and the wider values are packed by {@link BytePacker#pack8Values}.
+   *
+   * @param bitWidth the bit width of the values, from 0 to 32
+   * @param values the values to pack
+   * @param valueIndex where to read from in values
+   * @param count the number of values, a multiple of 8
+   * @param output the output bytes
+   * @param outPos where to write to in output
+   */
+  public static void writeBatchUsing512Vector(int bitWidth, int[] values, int valueIndex, int count, byte[] output,
+                                              int outPos) {
+    int end = valueIndex + count;
+    if (bitWidth > 0 && bitWidth <= VectorKernels512LE.MAX_PACK_BIT_WIDTH) {
+      int bytesPerVector = VectorKernels512LE.PACK_COUNT / Byte.SIZE * bitWidth;
+      // a vector of 64 bytes is written for each 64 values, the last ones are packed by the packer not to write past
+      // the bytes of the values
+      int outEnd = outPos + count / Byte.SIZE * bitWidth;
+      for (; valueIndex + VectorKernels512LE.PACK_COUNT <= end && outPos + BYTES_PER_VECTOR_512 <= outEnd;
+           valueIndex += VectorKernels512LE.PACK_COUNT, outPos += bytesPerVector) {
+        VectorKernels512LE.pack64Values(bitWidth, values, valueIndex, output, outPos);
+      }
+    }
+    writeBatch(bitWidth, values, valueIndex, end - valueIndex, output, outPos);
+  }
+
+  // Call the method directly if your computer system doesn't support 512 bits vectors
+  public static void writeBatch(int bitWidth, int[] values, int valueIndex, int count, byte[] output, int outPos) {
+    BytePacker packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+    for (int end = valueIndex + count; valueIndex < end; valueIndex += NUM_VALUES_TO_PACK, outPos += bitWidth) {
+      packer.pack8Values(values, valueIndex, output, outPos);
+    }
+  }
+}
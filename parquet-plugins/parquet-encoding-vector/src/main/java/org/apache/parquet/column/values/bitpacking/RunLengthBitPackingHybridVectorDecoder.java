@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bitpacking;
+
+import org.apache.parquet.Preconditions;
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.BytesUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes the values of the RLE/bit-packing hybrid encoding (the repetition and definition levels, the dictionary
+ * ids), for big data applications (such as Apache Spark and Apache Flink) reading the levels of a batch at once.
+ * The RLE runs are filled and the bit-packed runs are unpacked with the Java Vector API on CPUs with avx512vbmi and
+ * avx512_vbmi2, straight into the destination when {@link #readInts(int[], int, int)} reads them completely.
+ */
+public class RunLengthBitPackingHybridVectorDecoder {
+
+  private enum Mode { RLE, PACKED }
+
+  private final int bitWidth;
+  private final ByteBufferInputStream in;
+  private final BytePacker packer;
+  // null if the bit-packed runs are unpacked without the Java Vector API
+  private final BytePacker packerVector;
+
+  private Mode mode;
+  private int currentCount;
+  private int currentValue;
+  // the bytes of the current bit-packed run and its values, unpacked on first use
+  private ByteBuffer packedBytes;
+  private int packedCount;
+  private boolean unpacked;
+  private int[] currentBuffer = new int[0];
+
+  public RunLengthBitPackingHybridVectorDecoder(int bitWidth, ByteBufferInputStream in) {
+    this(bitWidth, in, ParquetReadRouter.getVectorSupport());
+  }
+
+  /**
+   * @param bitWidth the bit width of the values, from 0 to 32
+   * @param in the stream of the encoded values
+   * @param vectorSupport VECTOR_512 to unpack the bit-packed runs with the Java Vector API
+   */
+  public RunLengthBitPackingHybridVectorDecoder(int bitWidth, ByteBufferInputStream in, VectorSupport vectorSupport) {
+    Preconditions.checkArgument(bitWidth >= 0 && bitWidth <= 32, "bitWidth must be >= 0 and <= 32");
+    this.bitWidth = bitWidth;
+    this.in = in;
+    this.packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+    this.packerVector = vectorSupport == VectorSupport.VECTOR_512 && bitWidth > 0
+        ? Packer.LITTLE_ENDIAN.newBytePackerVector(bitWidth) : null;
+  }
+
+  public int readInt() throws IOException {
+    if (currentCount == 0) {
+      readNext();
+    }
+    --currentCount;
+    if (mode == Mode.RLE) {
+      return currentValue;
+    }
+    if (!unpacked) {
+      unpack(currentBuffer, 0);
+    }
+    return currentBuffer[packedCount - 1 - currentCount];
+  }
+
+  /**
+   * Reads the next values in bulk.
+   *
+   * @param values the destination of the values
+   * @param offset the index of the first value to read in the destination
+   * @param length the number of values to read
+   * @throws IOException if the values cannot be read
+   */
+  public void readInts(int[] values, int offset, int length) throws IOException {
+    int end = offset + length;
+    while (offset < end) {
+      if (currentCount == 0) {
+        readNext();
+      }
+      int count = Math.min(currentCount, end - offset);
+      if (mode == Mode.RLE) {
+        Arrays.fill(values, offset, offset + count, currentValue);
+      } else if (!unpacked && count == packedCount) {
+        unpack(values, offset);
+      } else {
+        if (!unpacked) {
+          unpack(currentBuffer, 0);
+        }
+        System.arraycopy(currentBuffer, packedCount - currentCount, values, offset, count);
+      }
+      currentCount -= count;
+      offset += count;
+    }
+  }
+
+  private void unpack(int[] values, int offset) {
+    if (bitWidth == 0) {
+      Arrays.fill(values, offset, offset + packedCount, 0);
+    } else if (packerVector != null) {
+      ParquetReadRouter.unpackUsing512Vector(packer, packerVector, packedBytes, packedBytes.remaining(), values,
+          offset);
+    } else {
+      for (int valueIndex = 0, byteIndex = packedBytes.position(); valueIndex < packedCount;
+           valueIndex += 8, byteIndex += bitWidth) {
+        packer.unpack8Values(packedBytes, byteIndex, values, offset + valueIndex);
+      }
+    }
+    unpacked = true;
+  }
+
+  private void readNext() throws IOException {
+    Preconditions.checkArgument(in.available() > 0, "Reading past RLE/BitPacking stream.");
+    int header = BytesUtils.readUnsignedVarInt(in);
+    if ((header & 1) == 0) {
+      mode = Mode.RLE;
+      currentCount = header >>> 1;
+      currentValue = BytesUtils.readIntLittleEndianPaddedOnBitWidth(in, bitWidth);
+    } else {
+      mode = Mode.PACKED;
+      int numGroups = header >>> 1;
+      currentCount = numGroups * 8;
+      packedCount = currentCount;
+      if (currentBuffer.length < currentCount) {
+        currentBuffer = new int[currentCount];
+      }
+      int byteCount = numGroups * bitWidth;
+      if (in.available() >= byteCount) {
+        packedBytes = in.slice(byteCount);
+      } else {
+        // at the end of the stream the last run may be truncated, the missing bytes are unpacked as zeros
+        byte[] bytes = new byte[byteCount];
+        in.read(bytes, 0, in.available());
+        packedBytes = ByteBuffer.wrap(bytes);
+      }
+      unpacked = false;
+    }
+  }
+}
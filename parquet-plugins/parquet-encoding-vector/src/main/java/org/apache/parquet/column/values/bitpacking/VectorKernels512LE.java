@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bitpacking;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+
+/**
+ * The kernels of the encodings other than the bit unpacking of {@link ByteBitPacking512VectorLE}, written with 512
+ * bits vectors: the running sums of the delta encoding, the byte transposition of the byte stream split encoding and
+ * the bit packing. They only process whole vectors, the callers handle the values left.
+ */
+final class VectorKernels512LE {
+  private static final VectorSpecies<Byte> BYTE_SPECIES_64 = ByteVector.SPECIES_64;
+  private static final VectorSpecies<Byte> BYTE_SPECIES_128 = ByteVector.SPECIES_128;
+  private static final VectorSpecies<Byte> BYTE_SPECIES_512 = ByteVector.SPECIES_512;
+  private static final VectorSpecies<Integer> INT_SPECIES_512 = IntVector.SPECIES_512;
+  private static final VectorSpecies<Long> LONG_SPECIES_512 = LongVector.SPECIES_512;
+
+  static final int INT_LANES = INT_SPECIES_512.length();
+  static final int LONG_LANES = LONG_SPECIES_512.length();
+
+  // the values are packed 64 at a time: 8 groups of 8 values, each packed into bitWidth bytes
+  static final int PACK_COUNT = 64;
+  static final int MAX_PACK_BIT_WIDTH = 8;
+
+  // broadcast the last lane, the carry of the running sums
+  private static final VectorShuffle<Integer> INT_LAST_LANE = VectorShuffle.fromOp(INT_SPECIES_512, i -> INT_LANES - 1);
+  private static final VectorShuffle<Long> LONG_LAST_LANE = VectorShuffle.fromOp(LONG_SPECIES_512, i -> LONG_LANES - 1);
+
+  // the shuffles moving the lanes up by 1, 2, 4 and 8 lanes for the steps of the running sums, and the masks of the
+  // lanes moved
+  private static final VectorShuffle<Integer> INT_SHIFT_1 = shift(INT_SPECIES_512, 1);
+  private static final VectorShuffle<Integer> INT_SHIFT_2 = shift(INT_SPECIES_512, 2);
+  private static final VectorShuffle<Integer> INT_SHIFT_4 = shift(INT_SPECIES_512, 4);
+  private static final VectorShuffle<Integer> INT_SHIFT_8 = shift(INT_SPECIES_512, 8);
+  private static final VectorMask<Integer> INT_SHIFT_MASK_1 = shiftMask(INT_SPECIES_512, 1);
+  private static final VectorMask<Integer> INT_SHIFT_MASK_2 = shiftMask(INT_SPECIES_512, 2);
+  private static final VectorMask<Integer> INT_SHIFT_MASK_4 = shiftMask(INT_SPECIES_512, 4);
+  private static final VectorMask<Integer> INT_SHIFT_MASK_8 = shiftMask(INT_SPECIES_512, 8);
+  private static final VectorShuffle<Long> LONG_SHIFT_1 = shift(LONG_SPECIES_512, 1);
+  private static final VectorShuffle<Long> LONG_SHIFT_2 = shift(LONG_SPECIES_512, 2);
+  private static final VectorShuffle<Long> LONG_SHIFT_4 = shift(LONG_SPECIES_512, 4);
+  private static final VectorMask<Long> LONG_SHIFT_MASK_1 = shiftMask(LONG_SPECIES_512, 1);
+  private static final VectorMask<Long> LONG_SHIFT_MASK_2 = shiftMask(LONG_SPECIES_512, 2);
+  private static final VectorMask<Long> LONG_SHIFT_MASK_4 = shiftMask(LONG_SPECIES_512, 4);
+
+  // move the even and the odd lanes of a vector to the lower half and to the upper half
+  private static final VectorShuffle<Long> EVEN_LANES = VectorShuffle.fromOp(LONG_SPECIES_512, i -> 2 * i % LONG_LANES);
+  private static final VectorShuffle<Long> ODD_LANES =
+    VectorShuffle.fromOp(LONG_SPECIES_512, i -> (2 * i + 1) % LONG_LANES);
+  private static final VectorMask<Long> UPPER_HALF = VectorMask.fromLong(LONG_SPECIES_512, 0xF0);
+
+  // for each bit width, the shuffle moving the bitWidth low bytes of the 8 longs next to each other
+  private static final VectorShuffle<Byte>[] PACKED_BYTES = packedBytes();
+
+  private VectorKernels512LE() {
+  }
+
+  private static <E> VectorShuffle<E> shift(VectorSpecies<E> species, int shift) {
+    return VectorShuffle.fromOp(species, i -> Math.max(0, i - shift));
+  }
+
+  private static <E> VectorMask<E> shiftMask(VectorSpecies<E> species, int shift) {
+    return VectorMask.fromLong(species, -1L << shift);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static VectorShuffle<Byte>[] packedBytes() {
+    VectorShuffle<Byte>[] shuffles = new VectorShuffle[MAX_PACK_BIT_WIDTH + 1];
+    for (int bitWidth = 1; bitWidth <= MAX_PACK_BIT_WIDTH; ++bitWidth) {
+      int width = bitWidth;
+      shuffles[bitWidth] = VectorShuffle.fromOp(BYTE_SPECIES_512,
+        i -> i < LONG_LANES * width ? i / width * Long.BYTES + i % width : 0);
+    }
+    return shuffles;
+  }
+
+  /**
+   * Replaces the deltas of the values by the values: each value is the previous one plus its delta plus minDelta.
+   *
+   * @param values the deltas to replace
+   * @param offset the index of the first delta
+   * @param count the number of deltas, a multiple of {@link #INT_LANES}
+   * @param minDelta the minimum delta added to each delta
+   * @param previous the value preceding the first delta
+   */
+  static void prefixSum(int[] values, int offset, int count, int minDelta, int previous) {
+    IntVector carry = IntVector.broadcast(INT_SPECIES_512, previous);
+    for (int i = offset, end = offset + count; i < end; i += INT_LANES) {
+      IntVector sums = IntVector.fromArray(INT_SPECIES_512, values, i).add(minDelta);
+      // adds each lane to the following ones in log2(lanes) steps
+      sums = sums.add(sums.rearrange(INT_SHIFT_1), INT_SHIFT_MASK_1);
+      sums = sums.add(sums.rearrange(INT_SHIFT_2), INT_SHIFT_MASK_2);
+      sums = sums.add(sums.rearrange(INT_SHIFT_4), INT_SHIFT_MASK_4);
+      sums = sums.add(sums.rearrange(INT_SHIFT_8), INT_SHIFT_MASK_8);
+      sums = sums.add(carry);
+      sums.intoArray(values, i);
+      carry = sums.rearrange(INT_LAST_LANE);
+    }
+  }
+
+  /**
+   * Replaces the deltas of the values by the values: each value is the previous one plus its delta plus minDelta.
+   *
+   * @param values the deltas to replace
+   * @param offset the index of the first delta
+   * @param count the number of deltas, a multiple of {@link #LONG_LANES}
+   * @param minDelta the minimum delta added to each delta
+   * @param previous the value preceding the first delta
+   */
+  static void prefixSum(long[] values, int offset, int count, long minDelta, long previous) {
+    LongVector carry = LongVector.broadcast(LONG_SPECIES_512, previous);
+    for (int i = offset, end = offset + count; i < end; i += LONG_LANES) {
+      LongVector sums = LongVector.fromArray(LONG_SPECIES_512, values, i).add(minDelta);
+      sums = sums.add(sums.rearrange(LONG_SHIFT_1), LONG_SHIFT_MASK_1);
+      sums = sums.add(sums.rearrange(LONG_SHIFT_2), LONG_SHIFT_MASK_2);
+      sums = sums.add(sums.rearrange(LONG_SHIFT_4), LONG_SHIFT_MASK_4);
+      sums = sums.add(carry);
+      sums.intoArray(values, i);
+      carry = sums.rearrange(LONG_LAST_LANE);
+    }
+  }
+
+  /**
+   * Interleaves the bytes of values of 4 bytes split in 4 streams.
+   *
+   * @param streams the streams, one after the other
+   * @param streamLength the length of each stream
+   * @param start the index in the streams of the first value
+   * @param count the number of values, a multiple of {@link #INT_LANES}
+   * @param output the output bytes
+   * @param outPos where to write to in output
+   */
+  static void interleave4(byte[] streams, int streamLength, int start, int count, byte[] output, int outPos) {
+    for (int i = start, end = start + count; i < end; i += INT_LANES, outPos += INT_LANES * 4) {
+      IntVector values = streamBytes4(streams, i);
+      for (int stream = 1; stream < 4; ++stream) {
+        values = values.or(streamBytes4(streams, stream * streamLength + i).lanewise(VectorOperators.LSHL, 8 * stream));
+      }
+      values.intoByteArray(output, outPos, ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+
+  private static IntVector streamBytes4(byte[] streams, int index) {
+    return ((IntVector) ByteVector.fromArray(BYTE_SPECIES_128, streams, index)
+      .convertShape(VectorOperators.B2I, INT_SPECIES_512, 0))
+      .and(0xFF);
+  }
+
+  /**
+   * Interleaves the bytes of values of 8 bytes split in 8 streams.
+   *
+   * @param streams the streams, one after the other
+   * @param streamLength the length of each stream
+   * @param start the index in the streams of the first value
+   * @param count the number of values, a multiple of {@link #LONG_LANES}
+   * @param output the output bytes
+   * @param outPos where to write to in output
+   */
+  static void interleave8(byte[] streams, int streamLength, int start, int count, byte[] output, int outPos) {
+    for (int i = start, end = start + count; i < end; i += LONG_LANES, outPos += LONG_LANES * 8) {
+      LongVector values = streamBytes8(streams, i);
+      for (int stream = 1; stream < 8; ++stream) {
+        values = values.or(streamBytes8(streams, stream * streamLength + i).lanewise(VectorOperators.LSHL, 8 * stream));
+      }
+      values.intoByteArray(output, outPos, ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+
+  private static LongVector streamBytes8(byte[] streams, int index) {
+    return ((LongVector) ByteVector.fromArray(BYTE_SPECIES_64, streams, index)
+      .convertShape(VectorOperators.B2L, LONG_SPECIES_512, 0))
+      .and(0xFFL);
+  }
+
+  /**
+   * Packs {@link #PACK_COUNT} values of at most {@link #MAX_PACK_BIT_WIDTH} bits into bitWidth * 8 bytes, as
+   * {@link BytePacker#pack8Values} does 8 values at a time. The adjacent values are merged in the lanes of longs by
+   * pairs, then by groups of 4 and of 8, and the bytes of the groups are moved next to each other. A whole vector of
+   * 64 bytes is written, the bytes following the packed ones are overwritten.
+   *
+   * @param bitWidth the bit width, from 1 to {@link #MAX_PACK_BIT_WIDTH}
+   * @param input the input values
+   * @param inPos where to read from in input
+   * @param output the output bytes
+   * @param outPos where to write to in output
+   */
+  static void pack64Values(int bitWidth, int[] input, int inPos, byte[] output, int outPos) {
+    int valueMask = (1 << bitWidth) - 1;
+    LongVector quads0 = merge(pairs(input, inPos, valueMask, bitWidth),
+      pairs(input, inPos + INT_LANES, valueMask, bitWidth), 2 * bitWidth);
+    LongVector quads1 = merge(pairs(input, inPos + 2 * INT_LANES, valueMask, bitWidth),
+      pairs(input, inPos + 3 * INT_LANES, valueMask, bitWidth), 2 * bitWidth);
+    merge(quads0, quads1, 4 * bitWidth)
+      .reinterpretAsBytes()
+      .rearrange(PACKED_BYTES[bitWidth])
+      .intoArray(output, outPos);
+  }
+
+  // merges the values of the lanes of 16 ints by pairs, in the lanes of 8 longs
+  private static LongVector pairs(int[] input, int index, int valueMask, int bitWidth) {
+    LongVector values = IntVector.fromArray(INT_SPECIES_512, input, index).and(valueMask).reinterpretAsLongs();
+    return values.and(0xFFFFFFFFL)
+      .or(values.lanewise(VectorOperators.LSHR, 32).lanewise(VectorOperators.LSHL, bitWidth));
+  }
+
+  // merges the adjacent lanes of the concatenation of two vectors, each holding the given number of bits
+  private static LongVector merge(LongVector first, LongVector second, int bits) {
+    LongVector even = first.rearrange(EVEN_LANES).blend(second.rearrange(EVEN_LANES), UPPER_HALF);
+    LongVector odd = first.rearrange(ODD_LANES).blend(second.rearrange(ODD_LANES), UPPER_HALF);
+    return even.or(odd.lanewise(VectorOperators.LSHL, bits));
+  }
+}
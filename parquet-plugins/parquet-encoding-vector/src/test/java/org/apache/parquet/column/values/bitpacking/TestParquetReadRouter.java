@@ -26,8 +26,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 
 public class TestParquetReadRouter {
   private static final Logger LOG = LoggerFactory.getLogger(TestParquetReadRouter.class);
@@ -56,4 +60,109 @@ public class TestParquetReadRouter {
       assertArrayEquals(output, outputBatchVector);
     }
   }
+
+  @Test
+  public void testReadDeltaMiniBlock() throws IOException {
+    Random random = new Random(42);
+    // miniblocks of 32 values leave values after the last vector of 16 ints or 8 longs when starting at an odd offset
+    for (int count : new int[] {8, 32, 64}) {
+      for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+        int[] deltas = new int[count];
+        for (int i = 0; i < count; i++) {
+          deltas[i] = bitWidth == 0 ? 0 : random.nextInt() >>> (32 - bitWidth);
+        }
+        byte[] input = pack(bitWidth, deltas);
+        int minDelta = random.nextInt();
+        int previous = random.nextInt();
+        int[] expected = new int[count + 1];
+        expected[0] = previous;
+        for (int i = 0; i < count; i++) {
+          expected[i + 1] = expected[i] + deltas[i] + minDelta;
+        }
+        long[] expectedLongs = new long[count + 1];
+        expectedLongs[0] = previous;
+        for (int i = 0; i < count; i++) {
+          expectedLongs[i + 1] = expectedLongs[i] + (deltas[i] & 0xFFFFFFFFL) + minDelta;
+        }
+
+        int[] values = new int[count + 1];
+        values[0] = previous;
+        ParquetReadRouter.readDeltaMiniBlock(bitWidth, wrap(input), count, minDelta, previous, values, 1);
+        assertArrayEquals(expected, values);
+        ParquetReadRouter.readDeltaMiniBlockScalar(bitWidth, wrap(input), count, minDelta, previous, values, 1);
+        assertArrayEquals(expected, values);
+        long[] longValues = new long[count + 1];
+        longValues[0] = previous;
+        ParquetReadRouter.readDeltaMiniBlock(bitWidth, wrap(input), count, (long) minDelta, previous, longValues, 1);
+        assertArrayEquals(expectedLongs, longValues);
+        ParquetReadRouter.readDeltaMiniBlockScalar(bitWidth, wrap(input), count, (long) minDelta, previous,
+            longValues, 1);
+        assertArrayEquals(expectedLongs, longValues);
+
+        if (ParquetReadRouter.getSupportVectorFromVectorSpecies() == VectorSupport.VECTOR_512) {
+          longValues = new long[count + 1];
+          longValues[0] = previous;
+          ParquetReadRouter.readDeltaMiniBlockUsing512Vector(bitWidth, wrap(input), count, (long) minDelta, previous,
+              longValues, 1);
+          assertArrayEquals(expectedLongs, longValues);
+          if (ParquetReadRouter.getSupportVectorFromCPUFlags() == VectorSupport.VECTOR_512) {
+            // the values are overwritten even with a bit width of 0
+            values = new int[count + 1];
+            Arrays.fill(values, -1);
+            values[0] = previous;
+            ParquetReadRouter.readDeltaMiniBlockUsing512Vector(bitWidth, wrap(input), count, minDelta, previous,
+                values, 1);
+            assertArrayEquals(expected, values);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testReadByteStreamSplit() {
+    Random random = new Random(42);
+    int valueCount = 1000;
+    for (int elementSize : new int[] {2, 4, 8}) {
+      byte[] streams = new byte[valueCount * elementSize];
+      random.nextBytes(streams);
+      byte[] expected = new byte[valueCount * elementSize];
+      for (int i = 0; i < valueCount; i++) {
+        for (int stream = 0; stream < elementSize; stream++) {
+          expected[i * elementSize + stream] = streams[stream * valueCount + i];
+        }
+      }
+      // reads the values in batches not aligned on the vectors
+      byte[] output = new byte[valueCount * elementSize];
+      byte[] outputVector = new byte[valueCount * elementSize];
+      for (int start = 0, count = 1; start < valueCount;
+           start += count, count = Math.min(count * 3, valueCount - start)) {
+        ParquetReadRouter.readByteStreamSplit(elementSize, streams, valueCount, start, count, output,
+            start * elementSize);
+        ParquetReadRouter.readByteStreamSplitUsing512Vector(elementSize, streams, valueCount, start, count,
+            outputVector, start * elementSize);
+      }
+      assertArrayEquals(expected, output);
+      assertArrayEquals(expected, outputVector);
+    }
+    ByteBuffer floats = ByteBuffer.wrap(new byte[8]).order(ByteOrder.LITTLE_ENDIAN);
+    // 1.0f and 3.0f are 0x3F800000 and 0x40400000
+    byte[] streams = {0x00, 0x00, 0x00, 0x00, (byte) 0x80, 0x40, 0x3F, 0x40};
+    ParquetReadRouter.readByteStreamSplit(4, streams, 2, 0, 2, floats.array(), 0);
+    assertEquals(1.0f, floats.getFloat(0), 0);
+    assertEquals(3.0f, floats.getFloat(4), 0);
+  }
+
+  private static byte[] pack(int bitWidth, int[] values) {
+    byte[] packed = new byte[values.length * bitWidth / 8];
+    BytePacker packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+    for (int i = 0; i < values.length; i += 8) {
+      packer.pack8Values(values, i, packed, i / 8 * bitWidth);
+    }
+    return packed;
+  }
+
+  private static ByteBufferInputStream wrap(byte[] bytes) {
+    return ByteBufferInputStream.wrap(ByteBuffer.wrap(bytes));
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bitpacking;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class TestParquetWriteRouter {
+
+  // several blocks of 512 values packed with vectors and values left packed 8 at a time
+  private static final int valueCount = 512 * 3 + 8 * 5;
+
+  @Test
+  public void testWrite() {
+    Random random = new Random(42);
+    for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+      int[] values = new int[valueCount + 8];
+      for (int i = 0; i < values.length; i++) {
+        // the bits above bitWidth are ignored
+        values[i] = random.nextInt();
+      }
+      byte[] expected = new byte[valueCount * bitWidth / 8];
+      BytePacker packer = Packer.LITTLE_ENDIAN.newBytePacker(bitWidth);
+      for (int i = 0; i < valueCount; i += 8) {
+        packer.pack8Values(values, 8 + i, expected, i / 8 * bitWidth);
+      }
+
+      byte[] output = new byte[expected.length];
+      ParquetWriteRouter.write(bitWidth, values, 8, valueCount, output, 0);
+      assertArrayEquals(expected, output);
+      output = new byte[expected.length];
+      ParquetWriteRouter.writeBatch(bitWidth, values, 8, valueCount, output, 0);
+      assertArrayEquals(expected, output);
+    }
+  }
+
+  @Test
+  public void testWriteUsing512Vector() {
+    Assume.assumeTrue(ParquetReadRouter.getSupportVectorFromVectorSpecies() == VectorSupport.VECTOR_512);
+    Random random = new Random(42);
+    for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+      int[] values = new int[valueCount];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = random.nextInt();
+      }
+      byte[] expected = new byte[valueCount * bitWidth / 8 + 3];
+      ParquetWriteRouter.writeBatch(bitWidth, values, 0, valueCount, expected, 3);
+      byte[] output = new byte[expected.length];
+      ParquetWriteRouter.writeBatchUsing512Vector(bitWidth, values, 0, valueCount, output, 3);
+      assertArrayEquals(expected, output);
+    }
+  }
+}
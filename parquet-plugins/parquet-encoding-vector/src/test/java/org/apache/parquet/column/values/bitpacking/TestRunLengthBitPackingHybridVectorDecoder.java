@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.values.bitpacking;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestRunLengthBitPackingHybridVectorDecoder {
+
+  private static final int valueCount = 10000;
+
+  @Test
+  public void testReadInts() throws IOException {
+    for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+      int[] values = generateValues(bitWidth);
+      ByteBuffer encoded = encode(bitWidth, values);
+      assertReadInts(values, new RunLengthBitPackingHybridVectorDecoder(bitWidth, wrap(encoded),
+          VectorSupport.NONE));
+      assertReadInts(values, new RunLengthBitPackingHybridVectorDecoder(bitWidth, wrap(encoded)));
+      assertReadInt(values, new RunLengthBitPackingHybridVectorDecoder(bitWidth, wrap(encoded)));
+    }
+  }
+
+  @Test
+  public void testReadIntsUsing512Vector() throws IOException {
+    Assume.assumeTrue(ParquetReadRouter.getSupportVectorFromCPUFlags() == VectorSupport.VECTOR_512);
+    for (int bitWidth = 0; bitWidth <= 32; bitWidth++) {
+      int[] values = generateValues(bitWidth);
+      ByteBuffer encoded = encode(bitWidth, values);
+      assertReadInts(values, new RunLengthBitPackingHybridVectorDecoder(bitWidth, wrap(encoded),
+          VectorSupport.VECTOR_512));
+      // the bit-packed runs of direct buffers are unpacked without copy
+      ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+      direct.put(encoded.duplicate()).flip();
+      assertReadInts(values, new RunLengthBitPackingHybridVectorDecoder(bitWidth, wrap(direct),
+          VectorSupport.VECTOR_512));
+    }
+  }
+
+  @Test
+  public void testTruncatedBitPackedRun() throws IOException {
+    // a bit-packed run of 8 values of 3 bits with only the first byte, the missing values are zeros
+    byte[] encoded = {(1 << 1) | 1, (byte) 0b10_001_101};
+    int[] values = new int[8];
+    new RunLengthBitPackingHybridVectorDecoder(3, wrap(ByteBuffer.wrap(encoded))).readInts(values, 0, 8);
+    assertArrayEquals(new int[] {5, 1, 2, 0, 0, 0, 0, 0}, values);
+  }
+
+  // runs of repeated values and of random values, of random lengths
+  private static int[] generateValues(int bitWidth) {
+    Random random = new Random(bitWidth);
+    int[] values = new int[valueCount];
+    for (int i = 0; i < valueCount; ) {
+      int runLength = Math.min(valueCount - i, 1 + random.nextInt(300));
+      int value = bitWidth == 0 ? 0 : random.nextInt() >>> (32 - bitWidth);
+      boolean repeated = random.nextBoolean();
+      for (int end = i + runLength; i < end; i++) {
+        values[i] = repeated || bitWidth == 0 ? value : random.nextInt() >>> (32 - bitWidth);
+      }
+    }
+    return values;
+  }
+
+  private static ByteBuffer encode(int bitWidth, int[] values) throws IOException {
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(bitWidth, 64, 64 * 1024,
+        new HeapByteBufferAllocator());
+    for (int value : values) {
+      encoder.writeInt(value);
+    }
+    return encoder.toBytes().toByteBuffer();
+  }
+
+  private static ByteBufferInputStream wrap(ByteBuffer buffer) {
+    return ByteBufferInputStream.wrap(buffer.duplicate());
+  }
+
+  // reads the values in batches ending inside the runs
+  private static void assertReadInts(int[] expected, RunLengthBitPackingHybridVectorDecoder decoder)
+      throws IOException {
+    int[] values = new int[expected.length];
+    Random random = new Random(42);
+    for (int offset = 0; offset < values.length; ) {
+      int length = Math.min(values.length - offset, 1 + random.nextInt(1000));
+      decoder.readInts(values, offset, length);
+      offset += length;
+    }
+    assertArrayEquals(expected, values);
+  }
+
+  private static void assertReadInt(int[] expected, RunLengthBitPackingHybridVectorDecoder decoder)
+      throws IOException {
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], decoder.readInt());
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.events.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import org.apache.parquet.events.ParquetEvents;
+
+/**
+ * The {@link ParquetEvents} recorded by JDK Flight Recorder, loaded by {@link ParquetEvents} when this module is on
+ * the class path. The events are only instantiated if their type is enabled in a running recording.
+ */
+public class JfrParquetEvents extends ParquetEvents {
+
+  private final Map<Type, EventType> eventTypes = new EnumMap<>(Type.class);
+
+  public JfrParquetEvents() {
+    if (!FlightRecorder.isAvailable()) {
+      throw new UnsupportedOperationException("JDK Flight Recorder is not available");
+    }
+    for (Type type : Type.values()) {
+      eventTypes.put(type, EventType.getEventType(newEvent(type).getClass()));
+    }
+  }
+
+  @Override
+  protected boolean enabled(Type type) {
+    return eventTypes.get(type).isEnabled();
+  }
+
+  @Override
+  protected Event start(Type type) {
+    // checked first so nothing is allocated for the events not recorded
+    if (!enabled(type)) {
+      return null;
+    }
+    ParquetEvent event = newEvent(type);
+    event.begin();
+    return event;
+  }
+
+  private static ParquetEvent newEvent(Type type) {
+    switch (type) {
+      case CHUNKS_READ:
+        return new ParquetEventTypes.ChunksRead();
+      case PAGE_DECRYPT:
+        return new ParquetEventTypes.PageDecrypt();
+      case PAGE_DECOMPRESS:
+        return new ParquetEventTypes.PageDecompress();
+      case PAGE_DECODE:
+        return new ParquetEventTypes.PageDecode();
+      case PAGE_COMPRESS:
+        return new ParquetEventTypes.PageCompress();
+      case BLOCK_WRITE:
+        return new ParquetEventTypes.BlockWrite();
+      case FOOTER_WRITE:
+        return new ParquetEventTypes.FooterWrite();
+      default:
+        throw new IllegalArgumentException("Unknown event type: " + type);
+    }
+  }
+}
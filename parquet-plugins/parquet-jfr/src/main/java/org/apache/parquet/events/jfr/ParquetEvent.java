@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import org.apache.parquet.events.ParquetEvents;
+
+/**
+ * The base of the Flight Recorder events of Parquet. The events are instantiated when they are started and their
+ * fields are only set if they are committed to a recording.
+ */
+@Category("Parquet")
+abstract class ParquetEvent extends Event implements ParquetEvents.Event {
+
+  @Label("File")
+  String file;
+
+  @Label("Column")
+  String column;
+
+  @Override
+  public void commit(String file, String column, long size, long otherSize) {
+    end();
+    if (shouldCommit()) {
+      this.file = file;
+      this.column = column;
+      setSizes(size, otherSize);
+      commit();
+    }
+  }
+
+  /**
+   * @param size the first size of the event, see {@link ParquetEvents.Type}
+   * @param otherSize the second size of the event, see {@link ParquetEvents.Type}
+   */
+  abstract void setSizes(long size, long otherSize);
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.events.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.apache.parquet.events.ParquetEvents;
+
+/**
+ * The Flight Recorder events of the readers and the writers, one per {@link ParquetEvents.Type}. The page events are
+ * emitted for every page so they are disabled by default and must be enabled in the recording settings.
+ */
+final class ParquetEventTypes {
+
+  private ParquetEventTypes() {
+  }
+
+  @Name("org.apache.parquet.ChunksRead")
+  @Label("Column Chunks Read")
+  @Description("A range of consecutive column chunks read from a file")
+  static final class ChunksRead extends ParquetEvent {
+    @Label("Offset")
+    long offset;
+
+    @Label("Length")
+    @DataAmount
+    long length;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      offset = size;
+      length = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.PageDecrypt")
+  @Enabled(false)
+  @StackTrace(false)
+  @Label("Page Decrypt")
+  @Description("A page decrypted by a reader")
+  static final class PageDecrypt extends ParquetEvent {
+    @Label("Encrypted Size")
+    @DataAmount
+    long encryptedSize;
+
+    @Label("Decrypted Size")
+    @DataAmount
+    long decryptedSize;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      encryptedSize = size;
+      decryptedSize = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.PageDecompress")
+  @Enabled(false)
+  @StackTrace(false)
+  @Label("Page Decompress")
+  @Description("A page decompressed by a reader")
+  static final class PageDecompress extends ParquetEvent {
+    @Label("Compressed Size")
+    @DataAmount
+    long compressedSize;
+
+    @Label("Uncompressed Size")
+    @DataAmount
+    long uncompressedSize;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      compressedSize = size;
+      uncompressedSize = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.PageDecode")
+  @Enabled(false)
+  @StackTrace(false)
+  @Label("Page Decode")
+  @Description("The decoders of a page initialized by a column reader")
+  static final class PageDecode extends ParquetEvent {
+    @Label("Uncompressed Size")
+    @DataAmount
+    long uncompressedSize;
+
+    @Label("Value Count")
+    long valueCount;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      uncompressedSize = size;
+      valueCount = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.PageCompress")
+  @Enabled(false)
+  @StackTrace(false)
+  @Label("Page Compress")
+  @Description("A page compressed by a writer")
+  static final class PageCompress extends ParquetEvent {
+    @Label("Uncompressed Size")
+    @DataAmount
+    long uncompressedSize;
+
+    @Label("Compressed Size")
+    @DataAmount
+    long compressedSize;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      uncompressedSize = size;
+      compressedSize = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.BlockWrite")
+  @Label("Row Group Write")
+  @Description("A row group written, from its start to its end")
+  static final class BlockWrite extends ParquetEvent {
+    @Label("Row Count")
+    long rowCount;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      rowCount = size;
+      this.size = otherSize;
+    }
+  }
+
+  @Name("org.apache.parquet.FooterWrite")
+  @Label("Footer Write")
+  @Description("The footer of a file written, with the column indexes, the offset indexes and the Bloom filters")
+  static final class FooterWrite extends ParquetEvent {
+    @Label("Row Group Count")
+    long rowGroupCount;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Override
+    void setSizes(long size, long otherSize) {
+      rowGroupCount = size;
+      this.size = otherSize;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.events.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.parquet.events.ParquetEvents;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestJfrParquetEvents {
+
+  @Rule
+  public final TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testEventsRecorded() throws IOException {
+    assertTrue(ParquetEvents.isAvailable());
+    Path dump = temp.getRoot().toPath().resolve("events.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("org.apache.parquet.PageDecompress");
+      recording.enable("org.apache.parquet.BlockWrite");
+      recording.start();
+      assertTrue(ParquetEvents.isEnabled(ParquetEvents.Type.PAGE_DECOMPRESS));
+      ParquetEvents.begin(ParquetEvents.Type.PAGE_DECOMPRESS).commit("file.parquet", "a.b", 10, 100);
+      ParquetEvents.begin(ParquetEvents.Type.BLOCK_WRITE).commit("file.parquet", null, 1000, 4096);
+      // the page events are disabled by default
+      assertFalse(ParquetEvents.isEnabled(ParquetEvents.Type.PAGE_COMPRESS));
+      assertNull(ParquetEvents.begin(ParquetEvents.Type.PAGE_COMPRESS));
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+    assertEquals(2, events.size());
+    for (RecordedEvent event : events) {
+      assertEquals("file.parquet", event.getString("file"));
+      switch (event.getEventType().getName()) {
+        case "org.apache.parquet.PageDecompress":
+          assertEquals("a.b", event.getString("column"));
+          assertEquals(10, event.getLong("compressedSize"));
+          assertEquals(100, event.getLong("uncompressedSize"));
+          break;
+        case "org.apache.parquet.BlockWrite":
+          assertNull(event.getString("column"));
+          assertEquals(1000, event.getLong("rowCount"));
+          assertEquals(4096, event.getLong("size"));
+          break;
+        default:
+          throw new AssertionError("Unexpected event " + event);
+      }
+    }
+  }
+
+  @Test
+  public void testEventsNotRecorded() {
+    // no recording is running
+    for (ParquetEvents.Type type : ParquetEvents.Type.values()) {
+      assertFalse(ParquetEvents.isEnabled(type));
+      assertNull(ParquetEvents.begin(type));
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.plugins.benchmarks;
+
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.column.values.bitpacking.ParquetReadRouter;
+import org.apache.parquet.column.values.bitpacking.ParquetWriteRouter;
+import org.apache.parquet.column.values.bitpacking.RunLengthBitPackingHybridVectorDecoder;
+import org.apache.parquet.column.values.bitpacking.VectorSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and vector kernels of the hybrid, delta and byte stream split decoding and of the bit packing.
+ * This class uses the java17 vector API, add VM options --add-modules=jdk.incubator.vector
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1, batchSize = 100000)
+@Measurement(iterations = 1, batchSize = 100000)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncodingVectorKernelsBenchmarks {
+
+  /**
+   * The range of bitWidth is 1 ~ 32, change it directly if test other bitWidth.
+   */
+  private static final int bitWidth = 7;
+  private static final int values = 1024;
+  private final int[] input = new int[values];
+  private final int[] output = new int[values];
+  private final long[] outputLongs = new long[values];
+  private final byte[] packed = new byte[values * bitWidth / 8];
+  // a single bit-packed run of the hybrid encoding: the varint header (values / 8) << 1 | 1, then the packed values
+  private final byte[] hybrid = new byte[2 + packed.length];
+  private final byte[] streams = new byte[values * 8];
+  private final byte[] outputBytes = new byte[values * 8];
+
+  @Setup(Level.Trial)
+  public void getInputValues() {
+    for (int i = 0; i < values; i++) {
+      input[i] = i & ((1 << bitWidth) - 1);
+    }
+    for (int i = 0; i < streams.length; i++) {
+      streams[i] = (byte) i;
+    }
+    ParquetWriteRouter.writeBatch(bitWidth, input, 0, values, packed, 0);
+    int header = values / 8 << 1 | 1;
+    hybrid[0] = (byte) (header & 0x7F | 0x80);
+    hybrid[1] = (byte) (header >>> 7);
+    System.arraycopy(packed, 0, hybrid, 2, packed.length);
+  }
+
+  @Benchmark
+  public void testReadHybrid() throws IOException {
+    new RunLengthBitPackingHybridVectorDecoder(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(hybrid)),
+        VectorSupport.NONE).readInts(output, 0, values);
+  }
+
+  @Benchmark
+  public void testReadHybridVector() throws IOException {
+    new RunLengthBitPackingHybridVectorDecoder(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(hybrid)),
+        VectorSupport.VECTOR_512).readInts(output, 0, values);
+  }
+
+  @Benchmark
+  public void testReadDeltaMiniBlock() throws IOException {
+    ParquetReadRouter.readDeltaMiniBlockScalar(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(packed)), values,
+        -3, 0, output, 0);
+  }
+
+  @Benchmark
+  public void testReadDeltaMiniBlockVector() throws IOException {
+    ParquetReadRouter.readDeltaMiniBlockUsing512Vector(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(packed)),
+        values, -3, 0, output, 0);
+  }
+
+  @Benchmark
+  public void testReadDeltaMiniBlockLong() throws IOException {
+    ParquetReadRouter.readDeltaMiniBlockScalar(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(packed)), values,
+        -3L, 0L, outputLongs, 0);
+  }
+
+  @Benchmark
+  public void testReadDeltaMiniBlockLongVector() throws IOException {
+    ParquetReadRouter.readDeltaMiniBlockUsing512Vector(bitWidth, ByteBufferInputStream.wrap(ByteBuffer.wrap(packed)),
+        values, -3L, 0L, outputLongs, 0);
+  }
+
+  @Benchmark
+  public void testReadByteStreamSplit() {
+    ParquetReadRouter.readByteStreamSplitScalar(8, streams, values, 0, values, outputBytes, 0);
+  }
+
+  @Benchmark
+  public void testReadByteStreamSplitVector() {
+    ParquetReadRouter.readByteStreamSplitUsing512Vector(8, streams, values, 0, values, outputBytes, 0);
+  }
+
+  @Benchmark
+  public void testPack() {
+    ParquetWriteRouter.writeBatch(bitWidth, input, 0, values, outputBytes, 0);
+  }
+
+  @Benchmark
+  public void testPackVector() {
+    ParquetWriteRouter.writeBatchUsing512Vector(bitWidth, input, 0, values, outputBytes, 0);
+  }
+}